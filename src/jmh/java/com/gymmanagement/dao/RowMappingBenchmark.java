@@ -0,0 +1,67 @@
+package com.gymmanagement.dao;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.rowset.CachedRowSet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.gymmanagement.model.WorkoutClass;
+
+/**
+ * Maps a page of class rows by column name and with a compiled {@link MapperCache} mapper.
+ *
+ * <p>The rows are held in memory, so this measures the mapping alone, not the driver's network
+ * or decoding cost. Run with {@code mvn -Pbenchmark test-compile exec:exec}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RowMappingBenchmark {
+    private static final String SQL = "SELECT * FROM workout_classes";
+
+    @Param({"10000", "100000"})
+    private int rows;
+
+    private CachedRowSet rs;
+    private MapperCache<WorkoutClass> cache;
+
+    @Setup(Level.Trial)
+    public void createRows() throws SQLException {
+        rs = RowFixtures.rows(rows, RowFixtures.classColumns());
+        cache = new MapperCache<>(WorkoutClassDAO::compileClassMapper);
+    }
+
+    @Benchmark
+    public void byName(Blackhole bh) throws SQLException {
+        rs.beforeFirst();
+        while (rs.next()) {
+            bh.consume(RowFixtures.classByName(rs));
+        }
+    }
+
+    @Benchmark
+    public void byCompiledMapper(Blackhole bh) throws SQLException {
+        rs.beforeFirst();
+        RowMapper<WorkoutClass> mapper = cache.forQuery(SQL, rs);
+        while (rs.next()) {
+            bh.consume(mapper.mapRow(rs));
+        }
+    }
+}
@@ -1,22 +1,34 @@
 package com.gymmanagement;
 
 import java.io.IOException;
-import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.sql.Connection;
-import java.sql.DatabaseMetaData;
-import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Scanner;
 
+import com.gymmanagement.config.AppProperties;
 import com.gymmanagement.config.DatabaseConfig;
+import com.gymmanagement.config.SchemaMigrator;
+import com.gymmanagement.dao.QueryPlanAdvisor;
 import com.gymmanagement.exception.DatabaseException;
 import com.gymmanagement.menu.AdminMenu;
 import com.gymmanagement.menu.MemberMenu;
 import com.gymmanagement.menu.TrainerMenu;
+import com.gymmanagement.model.ImportReport;
 import com.gymmanagement.model.User;
+import com.gymmanagement.service.ClassSeriesMaterializer;
+import com.gymmanagement.service.ClassSeriesService;
+import com.gymmanagement.service.EnrollmentReconciler;
+import com.gymmanagement.service.EntitlementService;
+import com.gymmanagement.service.ImportExportService;
+import com.gymmanagement.service.MembershipExpiryService;
 import com.gymmanagement.service.MembershipService;
+import com.gymmanagement.service.OccupancyAnalyticsService;
+import com.gymmanagement.service.OccupancyRollupJob;
+import com.gymmanagement.service.RevenueAnalyticsService;
+import com.gymmanagement.service.RevenueBackfillJob;
 import com.gymmanagement.service.UserService;
 import com.gymmanagement.service.WorkoutClassService;
 
@@ -30,8 +42,17 @@ public final class App {
     private final Scanner scanner;
     private final UserService userService;
     private final MembershipService membershipService;
+    private final RevenueAnalyticsService revenueAnalyticsService;
+    private final OccupancyAnalyticsService occupancyAnalyticsService;
     private final WorkoutClassService classService; // Existing service
     private final WorkoutClassService workoutClassService; // Newly added service
+    private final ClassSeriesService classSeriesService;
+    private final EnrollmentReconciler enrollmentReconciler;
+    private final ClassSeriesMaterializer classSeriesMaterializer;
+    private final RevenueBackfillJob revenueBackfillJob;
+    private final OccupancyRollupJob occupancyRollupJob;
+    private final MembershipExpiryService membershipExpiryService;
+    private final EntitlementService entitlementService;
     private User currentUser;
 
     /**
@@ -41,82 +62,145 @@ public final class App {
         this.scanner = new Scanner(System.in);
         this.userService = new UserService();
         this.membershipService = new MembershipService();
+        this.revenueAnalyticsService = new RevenueAnalyticsService();
+        this.occupancyAnalyticsService = new OccupancyAnalyticsService();
         this.classService = new WorkoutClassService();
         this.workoutClassService = new WorkoutClassService(); // Initialize new service here
+        this.classSeriesService = new ClassSeriesService();
+        this.enrollmentReconciler = new EnrollmentReconciler(
+            AppProperties.get().getLong("enrollment.reconcileIntervalMillis", 300_000L));
+        this.classSeriesMaterializer = new ClassSeriesMaterializer(
+            AppProperties.get().getLong("classes.seriesMaterializeIntervalMillis", 3_600_000L));
+        this.revenueBackfillJob = new RevenueBackfillJob(
+            AppProperties.get().getInt("revenue.backfillChunkDays", 31));
+        this.occupancyRollupJob = new OccupancyRollupJob(
+            AppProperties.get().getLong("analytics.occupancyIntervalMillis", 3_600_000L),
+            AppProperties.get().getInt("analytics.occupancyChunkClasses", 500));
+        this.membershipExpiryService = new MembershipExpiryService(
+            AppProperties.get().getLong("membership.expiryIntervalMillis", 3_600_000L),
+            AppProperties.get().getInt("membership.expiryChunkSize", 5000));
+        this.entitlementService = new EntitlementService();
+        this.membershipExpiryService.addListener(entitlementService);
     }
 
     /**
      * Main method to start the application.
      * 
-     * @param args Command-line arguments (not used).
+     * @param args Command-line arguments. {@code --check-indexes} applies migrations, reports
+     *             DAO queries that no index can serve, and exits without starting the menus.
+     *             {@code --import-users <file>}, {@code --import-memberships <file>},
+     *             {@code --export-users <file>} and {@code --export-memberships <file>} transfer
+     *             data as CSV and exit.
      */
     public static void main(String[] args) {
+        if (Arrays.asList(args).contains("--check-indexes")) {
+            checkIndexes();
+            return;
+        }
+        if (args.length == 2 && args[0].matches("--(import|export)-(users|memberships)")) {
+            transfer(args[0].substring(2), Paths.get(args[1]));
+            return;
+        }
         new App().run();
     }
 
     /**
-     * Runs the application, handling database initialization and menu navigation.
+     * Runs the application, bringing the database schema up to date before showing the menus.
      */
     private void run() {
         try (scanner) {
-            if (!databaseInitialized()) {
-                initializeDatabase(
-                    "src/main/resources/sql/schema.sql",
-                    "src/main/resources/sql/data.sql"
-                );
-            }
+            SchemaMigrator.migrate();
+            loadEntitlements();
+            enrollmentReconciler.start();
+            classSeriesMaterializer.start();
+            revenueBackfillJob.start();
+            occupancyRollupJob.start();
+            membershipExpiryService.start();
             start();
         } catch (IOException | SQLException e) {
             System.err.println("Application error: " + e.getMessage());
+        } finally {
+            enrollmentReconciler.shutdown();
+            classSeriesMaterializer.shutdown();
+            revenueBackfillJob.shutdown();
+            occupancyRollupJob.shutdown();
+            membershipExpiryService.shutdown();
+            DatabaseConfig.shutdown();
         }
     }
 
     /**
-     * Checks if the database is already initialized by verifying the existence of required tables.
-     * 
-     * @return {@code true} if the database is initialized, {@code false} otherwise.
-     * @throws SQLException If a database access error occurs.
+     * Loads the active-membership index. If it cannot be loaded, entitlement checks fall back
+     * to the database, so the application still starts.
      */
-    private boolean databaseInitialized() throws SQLException {
-        try (Connection conn = DatabaseConfig.getConnection()) {
-            DatabaseMetaData meta = conn.getMetaData();
-            try (ResultSet tables = meta.getTables(null, null, "users", null)) {
-                return tables.next(); // Returns true if users table exists
-            }
+    private void loadEntitlements() {
+        try {
+            entitlementService.load();
+        } catch (DatabaseException e) {
+            System.err.println("Warning: could not load active memberships: " + e.getMessage());
         }
     }
 
     /**
-     * Initializes the database by executing SQL scripts for schema creation and data population.
-     * 
-     * @param schemaPath Path to the SQL schema file.
-     * @param dataPath Path to the SQL data file.
-     * @throws SQLException If a database error occurs during initialization.
-     * @throws IOException If an error occurs while reading the SQL files.
+     * Applies pending migrations, then prints every DAO query whose plan still needs a
+     * sequential scan when index scans are available.
      */
-    private void initializeDatabase(String schemaPath, String dataPath) throws SQLException, IOException {
-        try (Connection conn = DatabaseConfig.getConnection();
-             Statement stmt = conn.createStatement()) {
-
-            executeSqlFile(stmt, schemaPath, "Database schema initialized");
-            executeSqlFile(stmt, dataPath, "Database data loaded");
+    private static void checkIndexes() {
+        try {
+            SchemaMigrator.migrate();
+            QueryPlanAdvisor advisor = new QueryPlanAdvisor();
+            List<QueryPlanAdvisor.Finding> findings = advisor.check();
+            System.out.println("Checked " + advisor.getQueryNames().size() + " queries.");
+            if (findings.isEmpty()) {
+                System.out.println("Every query can be served by an index.");
+            }
+            for (QueryPlanAdvisor.Finding finding : findings) {
+                System.out.println("\nSequential scan on " + finding.getTable() + " in " + finding.getQuery() + ":");
+                System.out.print(finding.getPlan());
+            }
+        } catch (IOException | SQLException | DatabaseException e) {
+            System.err.println("Index check failed: " + e.getMessage());
+        } finally {
+            DatabaseConfig.shutdown();
         }
     }
 
     /**
-     * Executes the contents of a SQL file.
+     * Applies pending migrations, then imports or exports one CSV file. Rows rejected by an
+     * import are written to {@code <file>.rejected.csv}.
      * 
-     * @param stmt The {@link Statement} object for executing SQL commands.
-     * @param filePath Path to the SQL file.
-     * @param successMessage Message displayed upon successful execution.
-     * @throws IOException If an error occurs while reading the SQL file.
-     * @throws SQLException If a database error occurs during execution.
+     * @param command One of {@code import-users}, {@code import-memberships},
+     *                {@code export-users} or {@code export-memberships}.
+     * @param file The CSV file to read or write.
      */
-    private void executeSqlFile(Statement stmt, String filePath, String successMessage) throws IOException, SQLException {
-        System.out.println("Loading " + filePath + "...");
-        String sql = new String(Files.readAllBytes(Paths.get(filePath)));
-        stmt.execute(sql);
-        System.out.println(successMessage);
+    private static void transfer(String command, Path file) {
+        try {
+            SchemaMigrator.migrate();
+            ImportExportService service = new ImportExportService();
+            Path quarantine = Paths.get(file + ".rejected.csv");
+            ImportReport report = null;
+            switch (command) {
+                case "import-users":
+                    report = service.importUsers(file, quarantine, System.out::println);
+                    break;
+                case "import-memberships":
+                    report = service.importMemberships(file, quarantine, System.out::println);
+                    break;
+                case "export-users":
+                    System.out.println("Exported " + service.exportUsers(file) + " users to " + file);
+                    break;
+                default:
+                    System.out.println("Exported " + service.exportMemberships(file) + " memberships to " + file);
+                    break;
+            }
+            if (report != null && report.getRejected() > 0) {
+                System.out.println("Rejected rows are listed in " + quarantine);
+            }
+        } catch (IOException | SQLException | DatabaseException e) {
+            System.err.println("Transfer failed: " + e.getMessage());
+        } finally {
+            DatabaseConfig.shutdown();
+        }
     }
 
     /**
@@ -252,10 +336,11 @@ public final class App {
             System.out.println("Unknown role!");
         } else switch (role) {
             case "ADMIN":
-                new AdminMenu(scanner, userService, membershipService, classService).show();
+                new AdminMenu(scanner, userService, membershipService, revenueAnalyticsService,
+                    occupancyAnalyticsService, classService).show();
                 break;
             case "TRAINER":
-                new TrainerMenu(scanner, membershipService, classService, currentUser).show();
+                new TrainerMenu(scanner, membershipService, classService, classSeriesService, currentUser).show();
                 break;
             case "MEMBER":
                 new MemberMenu(scanner, membershipService, classService, currentUser).show();
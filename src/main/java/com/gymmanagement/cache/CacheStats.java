@@ -0,0 +1,89 @@
+package com.gymmanagement.cache;
+
+/**
+ * Immutable snapshot of a cache's hit, miss and eviction counters.
+ */
+public final class CacheStats {
+    private final long hits;
+    private final long negativeHits;
+    private final long misses;
+    private final long evictions;
+    private final long invalidations;
+    private final int size;
+
+    /**
+     * Creates a snapshot.
+     *
+     * @param hits Lookups answered with a cached value.
+     * @param negativeHits Lookups answered from a cached "not found" entry.
+     * @param misses Lookups that had to go to the database.
+     * @param evictions Entries dropped because the cache was full or the entry expired.
+     * @param invalidations Entries dropped because the underlying row changed.
+     * @param size Number of entries currently cached.
+     */
+    public CacheStats(long hits, long negativeHits, long misses, long evictions, long invalidations, int size) {
+        this.hits = hits;
+        this.negativeHits = negativeHits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.invalidations = invalidations;
+        this.size = size;
+    }
+
+    /**
+     * @return Lookups answered with a cached value.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return Lookups answered from a cached "not found" entry.
+     */
+    public long getNegativeHits() {
+        return negativeHits;
+    }
+
+    /**
+     * @return Lookups that had to go to the database.
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return Entries dropped because the cache was full or the entry expired.
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return Entries dropped because the underlying row changed.
+     */
+    public long getInvalidations() {
+        return invalidations;
+    }
+
+    /**
+     * @return Number of entries currently cached.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return Fraction of lookups served without a database query, between 0 and 1.
+     */
+    public double getHitRatio() {
+        long served = hits + negativeHits;
+        long total = served + misses;
+        return total == 0 ? 0.0 : served / (double) total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CacheStats[hits=%d, negativeHits=%d, misses=%d, evictions=%d, invalidations=%d, size=%d, hitRatio=%.2f]",
+            hits, negativeHits, misses, evictions, invalidations, size, getHitRatio());
+    }
+}
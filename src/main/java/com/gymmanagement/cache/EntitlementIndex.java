@@ -0,0 +1,319 @@
+package com.gymmanagement.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * In-memory index of the date ranges in which each user holds an active membership.
+ *
+ * <p>Entries live in an array indexed directly by user ID, and each entry is immutable: its
+ * ranges are kept as epoch-day arrays, once merged across types for the "any membership" check
+ * and once per membership for type checks. A lookup is therefore an array read plus a search
+ * over that one user's handful of ranges, and allocates nothing. Writers replace a user's entry
+ * as a whole, so readers never lock.</p>
+ *
+ * <p>While a full reload is being built, ranges added and users removed by writers are also
+ * recorded and replayed onto the new index before it is installed. Adding the same range twice
+ * is harmless.</p>
+ */
+public final class EntitlementIndex {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private volatile AtomicReferenceArray<Entry> byUser = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+    private volatile boolean loaded;
+    private List<Range> pending;
+    private List<Integer> pendingRemovals;
+
+    /**
+     * One membership's validity period.
+     */
+    public static final class Range {
+        private final int userId;
+        private final String type;
+        private final int startDay;
+        private final int endDay;
+
+        /**
+         * Creates a range.
+         *
+         * @param userId The member's user ID.
+         * @param type The membership type.
+         * @param startDay First valid day, as an epoch day.
+         * @param endDay Last valid day, as an epoch day.
+         */
+        public Range(int userId, String type, int startDay, int endDay) {
+            this.userId = userId;
+            this.type = type;
+            this.startDay = startDay;
+            this.endDay = endDay;
+        }
+    }
+
+    /**
+     * Immutable ranges of one user. {@code merged} holds start/end pairs of the union of all
+     * ranges, sorted and non-overlapping; the other arrays hold each membership separately.
+     */
+    private static final class Entry {
+        private final int[] merged;
+        private final int[] starts;
+        private final int[] ends;
+        private final String[] types;
+
+        private Entry(int[] starts, int[] ends, String[] types) {
+            this.starts = starts;
+            this.ends = ends;
+            this.types = types;
+            this.merged = merge(starts, ends);
+        }
+    }
+
+    /**
+     * Creates an empty, not yet loaded index.
+     */
+    public EntitlementIndex() {}
+
+    /**
+     * Reports whether a full load has been installed.
+     *
+     * @return {@code true} once {@link #finishLoad(Builder)} has run.
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Checks whether a user holds any active membership on a day.
+     *
+     * @param userId The user ID.
+     * @param epochDay The day, as an epoch day.
+     * @return {@code true} if some membership of the user covers the day.
+     */
+    public boolean covers(int userId, long epochDay) {
+        Entry entry = entry(userId);
+        if (entry == null) {
+            return false;
+        }
+        int[] merged = entry.merged;
+        // Binary search for the last range starting on or before the day
+        int low = 0;
+        int high = merged.length / 2 - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (merged[mid * 2] <= epochDay) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found >= 0 && merged[found * 2 + 1] >= epochDay;
+    }
+
+    /**
+     * Checks whether a user holds an active membership of a given type on a day.
+     *
+     * @param userId The user ID.
+     * @param type The membership type.
+     * @param epochDay The day, as an epoch day.
+     * @return {@code true} if a membership of that type covers the day.
+     */
+    public boolean covers(int userId, String type, long epochDay) {
+        Entry entry = entry(userId);
+        if (entry == null) {
+            return false;
+        }
+        for (int i = 0; i < entry.starts.length && entry.starts[i] <= epochDay; i++) {
+            if (entry.ends[i] >= epochDay && entry.types[i].equals(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds one membership's range.
+     *
+     * @param range The range to add.
+     */
+    public synchronized void add(Range range) {
+        if (pending != null) {
+            pending.add(range);
+        }
+        byUser = put(byUser, range);
+    }
+
+    /**
+     * Drops every range of a user that ended before a day.
+     *
+     * @param userId The user ID.
+     * @param epochDay The first day to keep.
+     */
+    public synchronized void prune(int userId, long epochDay) {
+        Entry entry = entry(userId);
+        if (entry == null) {
+            return;
+        }
+        int kept = 0;
+        for (int end : entry.ends) {
+            if (end >= epochDay) {
+                kept++;
+            }
+        }
+        if (kept == entry.ends.length) {
+            return;
+        }
+        int[] starts = new int[kept];
+        int[] ends = new int[kept];
+        String[] types = new String[kept];
+        for (int i = 0, j = 0; i < entry.ends.length; i++) {
+            if (entry.ends[i] >= epochDay) {
+                starts[j] = entry.starts[i];
+                ends[j] = entry.ends[i];
+                types[j] = entry.types[i];
+                j++;
+            }
+        }
+        byUser.set(userId, kept == 0 ? null : new Entry(starts, ends, types));
+    }
+
+    /**
+     * Drops every range of a user, for example once the user has been deleted.
+     *
+     * @param userId The user ID.
+     */
+    public synchronized void remove(int userId) {
+        if (pendingRemovals != null) {
+            pendingRemovals.add(userId);
+        }
+        clear(byUser, userId);
+    }
+
+    /**
+     * Starts a full reload. Ranges added and users removed from now until
+     * {@link #finishLoad(Builder)} are replayed onto the reloaded index.
+     *
+     * @return A builder to feed the loaded ranges into.
+     */
+    public synchronized Builder beginLoad() {
+        pending = new ArrayList<>();
+        pendingRemovals = new ArrayList<>();
+        return new Builder();
+    }
+
+    /**
+     * Installs a reloaded index, replaying any ranges added while it was being built.
+     *
+     * @param builder The builder returned by {@link #beginLoad()}.
+     */
+    public synchronized void finishLoad(Builder builder) {
+        AtomicReferenceArray<Entry> users = builder.users;
+        if (pending != null) {
+            for (Range range : pending) {
+                users = put(users, range);
+            }
+            pending = null;
+        }
+        if (pendingRemovals != null) {
+            // After the adds: a removed user gains no ranges later
+            for (int userId : pendingRemovals) {
+                clear(users, userId);
+            }
+            pendingRemovals = null;
+        }
+        byUser = users;
+        loaded = true;
+    }
+
+    /**
+     * Abandons a reload started with {@link #beginLoad()}; the current index stays in place.
+     */
+    public synchronized void abortLoad() {
+        pending = null;
+        pendingRemovals = null;
+    }
+
+    /**
+     * Collects ranges for a full reload, off to the side of the live index.
+     */
+    public static final class Builder {
+        private AtomicReferenceArray<Entry> users = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+
+        private Builder() {}
+
+        /**
+         * Adds one membership's range to the reload.
+         *
+         * @param range The range to add.
+         */
+        public void add(Range range) {
+            users = put(users, range);
+        }
+    }
+
+    private Entry entry(int userId) {
+        AtomicReferenceArray<Entry> users = byUser;
+        return userId >= 0 && userId < users.length() ? users.get(userId) : null;
+    }
+
+    private static void clear(AtomicReferenceArray<Entry> users, int userId) {
+        if (userId >= 0 && userId < users.length()) {
+            users.set(userId, null);
+        }
+    }
+
+    private static AtomicReferenceArray<Entry> put(AtomicReferenceArray<Entry> users, Range range) {
+        if (range.userId < 0 || range.endDay < range.startDay) {
+            return users;
+        }
+        if (range.userId >= users.length()) {
+            AtomicReferenceArray<Entry> grown = new AtomicReferenceArray<>(
+                Math.max(users.length() * 2, range.userId + 1));
+            for (int i = 0; i < users.length(); i++) {
+                grown.set(i, users.get(i));
+            }
+            users = grown;
+        }
+
+        Entry entry = users.get(range.userId);
+        int size = entry == null ? 0 : entry.starts.length;
+        int at = 0;
+        while (at < size && entry.starts[at] <= range.startDay) {
+            at++;
+        }
+        int[] starts = new int[size + 1];
+        int[] ends = new int[size + 1];
+        String[] types = new String[size + 1];
+        if (entry != null) {
+            System.arraycopy(entry.starts, 0, starts, 0, at);
+            System.arraycopy(entry.ends, 0, ends, 0, at);
+            System.arraycopy(entry.types, 0, types, 0, at);
+            System.arraycopy(entry.starts, at, starts, at + 1, size - at);
+            System.arraycopy(entry.ends, at, ends, at + 1, size - at);
+            System.arraycopy(entry.types, at, types, at + 1, size - at);
+        }
+        starts[at] = range.startDay;
+        ends[at] = range.endDay;
+        types[at] = range.type;
+        users.set(range.userId, new Entry(starts, ends, types));
+        return users;
+    }
+
+    private static int[] merge(int[] starts, int[] ends) {
+        int[] merged = new int[starts.length * 2];
+        int count = 0;
+        for (int i = 0; i < starts.length; i++) {
+            // starts are sorted, so a range either extends the last merged one or begins a new one
+            if (count > 0 && starts[i] <= merged[count * 2 - 1] + 1) {
+                merged[count * 2 - 1] = Math.max(merged[count * 2 - 1], ends[i]);
+            } else {
+                merged[count * 2] = starts[i];
+                merged[count * 2 + 1] = ends[i];
+                count++;
+            }
+        }
+        return Arrays.copyOf(merged, count * 2);
+    }
+}
@@ -0,0 +1,263 @@
+package com.gymmanagement.cache;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.gymmanagement.exception.DatabaseException;
+import com.gymmanagement.model.User;
+
+/**
+ * Bounded read-through cache of {@link User} rows, indexed by username and by user ID.
+ *
+ * <p>Entries are evicted in least-recently-used order once the cache is full and expire after
+ * a fixed time-to-live. Lookups for usernames that do not exist are cached as well, with a
+ * shorter time-to-live, so repeated attempts with a bad username do not reach the database.
+ * Callers always receive their own copy of a cached user, so mutating a returned object never
+ * changes what other callers see.</p>
+ */
+public final class UserCache {
+
+    /**
+     * Loads a user from the database on a cache miss.
+     *
+     * @param <K> The lookup key type.
+     */
+    @FunctionalInterface
+    public interface Loader<K> {
+        /**
+         * @param key The lookup key.
+         * @return The user, or {@code null} if none exists.
+         * @throws DatabaseException If the lookup fails.
+         */
+        User load(K key) throws DatabaseException;
+    }
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+
+    private final LinkedHashMap<String, CachedUser> byUsername;
+    private final Map<Integer, String> usernameById = new HashMap<>();
+    private long generation;
+
+    private long hits;
+    private long negativeHits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param maxEntries Maximum number of usernames (found or not) kept in the cache.
+     * @param ttlMillis How long a found user stays cached.
+     * @param negativeTtlMillis How long a "no such username" result stays cached.
+     */
+    public UserCache(int maxEntries, long ttlMillis, long negativeTtlMillis) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Cache size must be at least 1.");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.negativeTtlMillis = negativeTtlMillis;
+        this.byUsername = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedUser> eldest) {
+                if (size() > UserCache.this.maxEntries) {
+                    unindex(eldest.getValue());
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the user with the given username, loading it on a miss.
+     *
+     * @param username The username to look up.
+     * @param loader Loads the user from the database on a miss.
+     * @return A copy of the user, or {@code null} if no such username exists.
+     * @throws DatabaseException If the loader fails.
+     */
+    public User getByUsername(String username, Loader<String> loader) throws DatabaseException {
+        long observedGeneration;
+        synchronized (this) {
+            CachedUser entry = liveEntry(username);
+            if (entry != null) {
+                if (entry.user == null) {
+                    negativeHits++;
+                    return null;
+                }
+                hits++;
+                return copyOf(entry.user);
+            }
+            misses++;
+            observedGeneration = generation;
+        }
+        User loaded = loader.load(username);
+        store(username, loaded, observedGeneration);
+        return copyOf(loaded);
+    }
+
+    /**
+     * Returns the user with the given ID, loading it on a miss.
+     *
+     * @param userId The user ID to look up.
+     * @param loader Loads the user from the database on a miss.
+     * @return A copy of the user, or {@code null} if no such user exists.
+     * @throws DatabaseException If the loader fails.
+     */
+    public User getById(int userId, Loader<Integer> loader) throws DatabaseException {
+        long observedGeneration;
+        synchronized (this) {
+            String username = usernameById.get(userId);
+            CachedUser entry = username != null ? liveEntry(username) : null;
+            if (entry != null && entry.user != null) {
+                hits++;
+                return copyOf(entry.user);
+            }
+            misses++;
+            observedGeneration = generation;
+        }
+        User loaded = loader.load(userId);
+        if (loaded != null) {
+            store(loaded.getUsername(), loaded, observedGeneration);
+        }
+        return copyOf(loaded);
+    }
+
+    /**
+     * Drops any cached entry, found or not, for a username.
+     *
+     * @param username The username whose row changed.
+     */
+    public synchronized void invalidateUsername(String username) {
+        generation++;
+        CachedUser removed = byUsername.remove(username);
+        if (removed != null) {
+            unindex(removed);
+            invalidations++;
+        }
+    }
+
+    /**
+     * Drops the cached entry for a user ID.
+     *
+     * @param userId The ID of the user whose row changed.
+     */
+    public synchronized void invalidateId(int userId) {
+        generation++;
+        String username = usernameById.remove(userId);
+        if (username != null && byUsername.remove(username) != null) {
+            invalidations++;
+        }
+    }
+
+    /**
+     * Drops every cached entry.
+     */
+    public synchronized void clear() {
+        generation++;
+        invalidations += byUsername.size();
+        byUsername.clear();
+        usernameById.clear();
+    }
+
+    /**
+     * Takes a snapshot of the cache's counters, first purging expired entries so the size is accurate.
+     *
+     * @return A {@link CacheStats} snapshot.
+     */
+    public synchronized CacheStats getStats() {
+        long now = System.currentTimeMillis();
+        Iterator<CachedUser> it = byUsername.values().iterator();
+        while (it.hasNext()) {
+            CachedUser entry = it.next();
+            if (entry.expiresAt <= now) {
+                it.remove();
+                unindex(entry);
+                evictions++;
+            }
+        }
+        return new CacheStats(hits, negativeHits, misses, evictions, invalidations, byUsername.size());
+    }
+
+    /**
+     * Caches a loaded result unless an invalidation happened while it was being loaded,
+     * in which case the result may already be stale.
+     */
+    private synchronized void store(String username, User user, long observedGeneration) {
+        if (generation != observedGeneration) {
+            return;
+        }
+        long ttl = user != null ? ttlMillis : negativeTtlMillis;
+        if (ttl <= 0) {
+            return;
+        }
+        CachedUser previous = byUsername.put(username, new CachedUser(copyOf(user), System.currentTimeMillis() + ttl));
+        if (previous != null) {
+            unindex(previous);
+        }
+        if (user != null) {
+            usernameById.put(user.getId(), username);
+        }
+    }
+
+    /**
+     * Returns the entry for a username if it has not expired, purging it otherwise.
+     */
+    private CachedUser liveEntry(String username) {
+        CachedUser entry = byUsername.get(username);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            byUsername.remove(username);
+            unindex(entry);
+            evictions++;
+            return null;
+        }
+        return entry;
+    }
+
+    private void unindex(CachedUser entry) {
+        if (entry.user != null) {
+            usernameById.remove(entry.user.getId());
+        }
+    }
+
+    private static User copyOf(User source) {
+        if (source == null) {
+            return null;
+        }
+        User copy = new User();
+        copy.setId(source.getId());
+        copy.setUsername(source.getUsername());
+        copy.setPasswordHash(source.getPasswordHash());
+        copy.setEmail(source.getEmail());
+        copy.setPhoneNumber(source.getPhoneNumber());
+        copy.setAddress(source.getAddress());
+        copy.setRole(source.getRole());
+        copy.setCreatedAt(source.getCreatedAt());
+        return copy;
+    }
+
+    /**
+     * A cached lookup result; {@code user} is {@code null} for a cached "not found".
+     */
+    private static final class CachedUser {
+        private final User user;
+        private final long expiresAt;
+
+        private CachedUser(User user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
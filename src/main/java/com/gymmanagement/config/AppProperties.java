@@ -0,0 +1,212 @@
+package com.gymmanagement.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Read-only view of the application's configuration.
+ *
+ * <p>Values are resolved in the following order, the first match winning:</p>
+ * <ol>
+ *   <li>A JVM system property with the same key (e.g. {@code -Ddb.url=...}).</li>
+ *   <li>An environment variable named after the key, upper-cased, with dots and dashes
+ *       replaced by underscores and prefixed with {@code GYM_} (e.g. {@code GYM_DB_URL}).</li>
+ *   <li>An external properties file named by the {@code gym.config} system property or the
+ *       {@code GYM_CONFIG} environment variable.</li>
+ *   <li>The bundled {@code application.properties} on the classpath.</li>
+ * </ol>
+ *
+ * This allows a deployment to be tuned without rebuilding the shaded jar.
+ */
+public final class AppProperties {
+    private static final Logger logger = LoggerFactory.getLogger(AppProperties.class);
+    private static final String BUNDLED_RESOURCE = "/application.properties";
+    private static final String CONFIG_FILE_PROPERTY = "gym.config";
+    private static final String CONFIG_FILE_ENV = "GYM_CONFIG";
+    private static final String ENV_PREFIX = "GYM_";
+
+    private static volatile AppProperties instance;
+
+    private final Properties fileProperties;
+    private final Properties systemProperties;
+    private final Map<String, String> environment;
+
+    /**
+     * Creates a view over explicitly supplied sources.
+     *
+     * @param fileProperties Values loaded from properties files.
+     * @param systemProperties JVM system properties used as overrides.
+     * @param environment Environment variables used as overrides.
+     */
+    public AppProperties(Properties fileProperties, Properties systemProperties, Map<String, String> environment) {
+        this.fileProperties = fileProperties;
+        this.systemProperties = systemProperties;
+        this.environment = environment;
+    }
+
+    /**
+     * Returns the process-wide configuration, loading it on first use.
+     *
+     * @return The shared {@link AppProperties} instance.
+     */
+    public static AppProperties get() {
+        AppProperties current = instance;
+        if (current != null) {
+            return current;
+        }
+        synchronized (AppProperties.class) {
+            if (instance == null) {
+                instance = new AppProperties(loadFiles(), System.getProperties(), System.getenv());
+            }
+            return instance;
+        }
+    }
+
+    /**
+     * Retrieves a string value.
+     *
+     * @param key The property key (e.g. {@code db.url}).
+     * @param defaultValue The value returned when the key is not configured.
+     * @return The configured value, or {@code defaultValue}.
+     */
+    public String getString(String key, String defaultValue) {
+        String value = lookup(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Retrieves an integer value.
+     *
+     * @param key The property key.
+     * @param defaultValue The value returned when the key is not configured.
+     * @return The configured value, or {@code defaultValue}.
+     * @throws IllegalArgumentException If the configured value is not a valid integer.
+     */
+    public int getInt(String key, int defaultValue) {
+        String value = lookup(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid integer for '" + key + "': " + value, e);
+        }
+    }
+
+    /**
+     * Retrieves a long value.
+     *
+     * @param key The property key.
+     * @param defaultValue The value returned when the key is not configured.
+     * @return The configured value, or {@code defaultValue}.
+     * @throws IllegalArgumentException If the configured value is not a valid number.
+     */
+    public long getLong(String key, long defaultValue) {
+        String value = lookup(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for '" + key + "': " + value, e);
+        }
+    }
+
+    /**
+     * Retrieves a boolean value.
+     *
+     * @param key The property key.
+     * @param defaultValue The value returned when the key is not configured.
+     * @return The configured value, or {@code defaultValue}.
+     */
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = lookup(key);
+        return value != null ? Boolean.parseBoolean(value) : defaultValue;
+    }
+
+    /**
+     * Retrieves a comma-separated list value.
+     *
+     * @param key The property key.
+     * @return The trimmed, non-empty list entries, or an empty list if the key is not configured.
+     */
+    public List<String> getList(String key) {
+        String value = lookup(key);
+        if (value == null) {
+            return Collections.emptyList();
+        }
+        List<String> items = new ArrayList<>();
+        for (String item : value.split(",")) {
+            if (!item.trim().isEmpty()) {
+                items.add(item.trim());
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Checks whether a key has been configured in any source.
+     *
+     * @param key The property key.
+     * @return {@code true} if a value exists for the key.
+     */
+    public boolean contains(String key) {
+        return lookup(key) != null;
+    }
+
+    private String lookup(String key) {
+        String value = systemProperties.getProperty(key);
+        if (value == null) {
+            value = environment.get(toEnvironmentName(key));
+        }
+        if (value == null) {
+            value = fileProperties.getProperty(key);
+        }
+        return (value == null || value.trim().isEmpty()) ? null : value.trim();
+    }
+
+    private static String toEnvironmentName(String key) {
+        return ENV_PREFIX + key.toUpperCase().replace('.', '_').replace('-', '_');
+    }
+
+    /**
+     * Loads the bundled properties, then layers the optional external file on top.
+     */
+    private static Properties loadFiles() {
+        Properties props = new Properties();
+        try (InputStream in = AppProperties.class.getResourceAsStream(BUNDLED_RESOURCE)) {
+            if (in != null) {
+                props.load(in);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not read bundled {}", BUNDLED_RESOURCE, e);
+        }
+
+        String external = System.getProperty(CONFIG_FILE_PROPERTY, System.getenv(CONFIG_FILE_ENV));
+        if (external != null && !external.trim().isEmpty()) {
+            Path path = Paths.get(external.trim());
+            try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                props.load(reader);
+                logger.info("Loaded configuration overrides from {}", path);
+            } catch (IOException e) {
+                logger.warn("Could not read configuration file {}", path, e);
+            }
+        }
+        return props;
+    }
+}
@@ -0,0 +1,486 @@
+package com.gymmanagement.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded, self-validating pool of JDBC connections.
+ *
+ * <p>Callers borrow connections with {@link #getConnection()} and return them by calling
+ * {@link Connection#close()} on the handle they received, so existing try-with-resources
+ * blocks keep working unchanged. A background housekeeper evicts idle and aged connections,
+ * tops the pool back up to its minimum size and reports connections held past the leak
+ * detection threshold.</p>
+ */
+public final class ConnectionPool implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPool.class);
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final String name;
+    private final String url;
+    private final Properties connectionProperties;
+    private final PoolSettings settings;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+    private int total;
+    private int waiters;
+    private boolean closed;
+
+    private final AtomicLong totalAcquired = new AtomicLong();
+    private final AtomicLong acquireTimeouts = new AtomicLong();
+    private final AtomicLong leaksDetected = new AtomicLong();
+    private final AtomicLong totalAcquireNanos = new AtomicLong();
+    private final AtomicLongArray acquireHistogram = new AtomicLongArray(PoolStats.BUCKET_BOUNDS_MILLIS.length + 1);
+
+    private final ScheduledExecutorService housekeeper;
+
+    /**
+     * Creates a pool and starts its background housekeeper.
+     *
+     * @param name A short name used in log messages and thread names.
+     * @param url The JDBC URL of the database.
+     * @param connectionProperties Driver properties (user, password and driver tuning options).
+     * @param settings Sizing and timing settings for the pool.
+     */
+    public ConnectionPool(String name, String url, Properties connectionProperties, PoolSettings settings) {
+        if (settings.getMinSize() > settings.getMaxSize()) {
+            throw new IllegalArgumentException("Minimum pool size cannot exceed maximum pool size.");
+        }
+        this.name = name;
+        this.url = url;
+        this.connectionProperties = connectionProperties;
+        this.settings = settings;
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "db-pool-" + name + "-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = settings.getHousekeepingPeriodMillis();
+        housekeeper.scheduleWithFixedDelay(this::housekeep, 0, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection from the pool, opening a new one if the pool has spare capacity
+     * and waiting up to the acquire timeout otherwise.
+     *
+     * @return A pooled {@link Connection}; closing it returns it to the pool.
+     * @throws SQLException If no connection became available in time or a new connection could not be opened.
+     */
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(settings.getAcquireTimeoutMillis());
+
+        while (true) {
+            PooledConnection candidate = null;
+            boolean mayOpen = false;
+
+            lock.lock();
+            try {
+                while (true) {
+                    if (closed) {
+                        throw new SQLException("Connection pool '" + name + "' is closed.");
+                    }
+                    if (!idle.isEmpty()) {
+                        candidate = idle.pollFirst();
+                        break;
+                    }
+                    if (total < settings.getMaxSize()) {
+                        total++;
+                        mayOpen = true;
+                        break;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        acquireTimeouts.incrementAndGet();
+                        throw new SQLException("Timed out after " + settings.getAcquireTimeoutMillis()
+                            + " ms waiting for a connection from pool '" + name + "'.");
+                    }
+                    waiters++;
+                    try {
+                        available.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for a database connection.", e);
+                    } finally {
+                        waiters--;
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (mayOpen) {
+                candidate = openConnection();
+            } else if (!isUsable(candidate)) {
+                discard(candidate);
+                continue;
+            }
+            return lend(candidate, start);
+        }
+    }
+
+    /**
+     * Takes a snapshot of the pool's current state and acquire-time histogram.
+     *
+     * @return A {@link PoolStats} snapshot.
+     */
+    public PoolStats getStats() {
+        int idleCount;
+        int totalCount;
+        int waiting;
+        lock.lock();
+        try {
+            idleCount = idle.size();
+            totalCount = total;
+            waiting = waiters;
+        } finally {
+            lock.unlock();
+        }
+        long[] histogram = new long[acquireHistogram.length()];
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] = acquireHistogram.get(i);
+        }
+        return new PoolStats(totalCount - idleCount, idleCount, waiting, totalAcquired.get(),
+            acquireTimeouts.get(), leaksDetected.get(), histogram, totalAcquireNanos.get());
+    }
+
+    /**
+     * Closes every idle connection and stops the housekeeper. Borrowed connections are
+     * closed as they are returned.
+     */
+    @Override
+    public void close() {
+        List<PooledConnection> toClose;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            toClose = new ArrayList<>(idle);
+            total -= idle.size();
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        housekeeper.shutdownNow();
+        toClose.forEach(this::closeQuietly);
+        logger.info("Connection pool '{}' closed", name);
+    }
+
+    /**
+     * Opens a new physical connection. The caller must already have reserved a slot in {@code total}.
+     */
+    private PooledConnection openConnection() throws SQLException {
+        try {
+            Connection physical = DriverManager.getConnection(url, connectionProperties);
+            return new PooledConnection(physical);
+        } catch (SQLException | RuntimeException e) {
+            lock.lock();
+            try {
+                total--;
+                available.signal();
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Checks whether an idle connection can be handed out again. Connections past their
+     * maximum lifetime are rejected; connections idle longer than the validation interval
+     * are probed with {@link Connection#isValid(int)}.
+     */
+    private boolean isUsable(PooledConnection pc) {
+        long now = System.currentTimeMillis();
+        if (isExpired(pc, now)) {
+            return false;
+        }
+        if (now - pc.lastReturnedAt < settings.getValidationIntervalMillis()) {
+            return true;
+        }
+        try {
+            return pc.physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private boolean isExpired(PooledConnection pc, long now) {
+        return settings.getMaxLifetimeMillis() > 0 && now - pc.createdAt >= settings.getMaxLifetimeMillis();
+    }
+
+    /**
+     * Marks a connection as borrowed, records acquire metrics and wraps it in a proxy handle.
+     */
+    private Connection lend(PooledConnection pc, long startNanos) {
+        pc.borrowedAt = System.currentTimeMillis();
+        pc.leakReported = false;
+        pc.borrowSite = settings.getLeakDetectionThresholdMillis() > 0
+            ? new Exception("Connection borrowed here")
+            : null;
+        borrowed.add(pc);
+        recordAcquire(System.nanoTime() - startNanos);
+        return (Connection) Proxy.newProxyInstance(
+            ConnectionPool.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            new Handle(pc));
+    }
+
+    private void recordAcquire(long elapsedNanos) {
+        totalAcquired.incrementAndGet();
+        totalAcquireNanos.addAndGet(elapsedNanos);
+        long millis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        int bucket = 0;
+        while (bucket < PoolStats.BUCKET_BOUNDS_MILLIS.length && millis >= PoolStats.BUCKET_BOUNDS_MILLIS[bucket]) {
+            bucket++;
+        }
+        acquireHistogram.incrementAndGet(bucket);
+    }
+
+    /**
+     * Returns a borrowed connection to the pool after resetting any session state the caller changed.
+     * Connections that cannot be reset are discarded instead.
+     */
+    private void release(PooledConnection pc) {
+        borrowed.remove(pc);
+        if (!reset(pc)) {
+            discard(pc);
+            return;
+        }
+        pc.lastReturnedAt = System.currentTimeMillis();
+        lock.lock();
+        try {
+            if (!closed && !isExpired(pc, pc.lastReturnedAt)) {
+                idle.addFirst(pc);
+                available.signal();
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        discard(pc);
+    }
+
+    private boolean reset(PooledConnection pc) {
+        try {
+            if (pc.physical.isClosed()) {
+                return false;
+            }
+            if (!pc.physical.getAutoCommit()) {
+                pc.physical.rollback();
+                pc.physical.setAutoCommit(true);
+            }
+            if (pc.physical.isReadOnly()) {
+                pc.physical.setReadOnly(false);
+            }
+            if (pc.physical.getTransactionIsolation() != pc.defaultIsolation) {
+                pc.physical.setTransactionIsolation(pc.defaultIsolation);
+            }
+            pc.physical.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            logger.warn("Discarding connection from pool '{}' that could not be reset", name, e);
+            return false;
+        }
+    }
+
+    private void discard(PooledConnection pc) {
+        lock.lock();
+        try {
+            total--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+        closeQuietly(pc);
+    }
+
+    private void closeQuietly(PooledConnection pc) {
+        try {
+            pc.physical.close();
+        } catch (SQLException e) {
+            logger.debug("Error closing pooled connection", e);
+        }
+    }
+
+    /**
+     * Periodic maintenance: evicts idle and aged connections, refills the pool to its
+     * minimum size and reports connections that have been borrowed for too long.
+     */
+    private void housekeep() {
+        try {
+            evictIdle();
+            fillToMinimum();
+            detectLeaks();
+        } catch (RuntimeException e) {
+            logger.error("Housekeeping failed for pool '{}'", name, e);
+        }
+    }
+
+    private void evictIdle() {
+        long now = System.currentTimeMillis();
+        List<PooledConnection> evicted = new ArrayList<>();
+        lock.lock();
+        try {
+            // Oldest returns sit at the tail of the deque
+            Iterator<PooledConnection> it = idle.descendingIterator();
+            while (it.hasNext()) {
+                PooledConnection pc = it.next();
+                boolean idleTooLong = settings.getIdleTimeoutMillis() > 0
+                    && now - pc.lastReturnedAt >= settings.getIdleTimeoutMillis()
+                    && total - evicted.size() > settings.getMinSize();
+                if (idleTooLong || isExpired(pc, now)) {
+                    it.remove();
+                    evicted.add(pc);
+                }
+            }
+            total -= evicted.size();
+        } finally {
+            lock.unlock();
+        }
+        evicted.forEach(this::closeQuietly);
+    }
+
+    private void fillToMinimum() {
+        while (true) {
+            lock.lock();
+            try {
+                if (closed || total >= settings.getMinSize()) {
+                    return;
+                }
+                total++;
+            } finally {
+                lock.unlock();
+            }
+            PooledConnection pc;
+            try {
+                pc = openConnection();
+            } catch (SQLException e) {
+                logger.warn("Could not open connection for pool '{}': {}", name, e.getMessage());
+                return;
+            }
+            pc.lastReturnedAt = System.currentTimeMillis();
+            lock.lock();
+            try {
+                if (!closed) {
+                    idle.addLast(pc);
+                    available.signal();
+                    continue;
+                }
+                total--;
+            } finally {
+                lock.unlock();
+            }
+            closeQuietly(pc);
+            return;
+        }
+    }
+
+    private void detectLeaks() {
+        long threshold = settings.getLeakDetectionThresholdMillis();
+        if (threshold <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (PooledConnection pc : borrowed) {
+            if (!pc.leakReported && now - pc.borrowedAt >= threshold) {
+                pc.leakReported = true;
+                leaksDetected.incrementAndGet();
+                logger.warn("Possible connection leak in pool '{}': connection held for {} ms",
+                    name, now - pc.borrowedAt, pc.borrowSite);
+            }
+        }
+    }
+
+    /**
+     * A physical connection together with the bookkeeping the pool needs for it.
+     */
+    private static final class PooledConnection {
+        private final Connection physical;
+        private final long createdAt;
+        private final int defaultIsolation;
+        private volatile long lastReturnedAt;
+        private volatile long borrowedAt;
+        private volatile boolean leakReported;
+        private volatile Exception borrowSite;
+
+        private PooledConnection(Connection physical) throws SQLException {
+            this.physical = physical;
+            this.createdAt = System.currentTimeMillis();
+            this.defaultIsolation = physical.getTransactionIsolation();
+            this.lastReturnedAt = createdAt;
+        }
+    }
+
+    /**
+     * Proxy handler for a borrowed connection. {@code close()} returns the physical connection
+     * to the pool; any use after that fails as it would on a closed connection.
+     */
+    private final class Handle implements InvocationHandler {
+        private final PooledConnection pc;
+        private boolean returned;
+
+        private Handle(PooledConnection pc) {
+            this.pc = pc;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(pc);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || pc.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled[" + name + "]" + pc.physical;
+                default:
+                    break;
+            }
+            if (returned) {
+                throw new SQLException("Connection has already been returned to the pool.");
+            }
+            try {
+                return method.invoke(pc.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
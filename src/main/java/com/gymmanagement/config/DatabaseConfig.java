@@ -4,17 +4,30 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Utility class for managing PostgreSQL database connections and executing SQL commands from files.
+ *
+ * <p>Connection settings are read from {@link AppProperties} and resolved per {@link Workload},
+ * so interactive and reporting work can use different pool sizes, timeouts and fetch sizes.
+ * Each workload is served from its own {@link ConnectionPool}, created on first use. The
+ * reporting workload, if read replicas are configured for it, spreads its connections across
+ * them and falls back to the primary if no replica is reachable.</p>
  */
 public class DatabaseConfig {
-    private static final String URL = "jdbc:postgresql://localhost:5432/gym_management";
-    private static final String USER = "dataadmin";
-    private static final String PASSWORD = "password";
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseConfig.class);
+
+    private static final Map<Workload, WorkloadPools> pools = new ConcurrentHashMap<>();
 
     /**
      * Default private constructor to prevent instantiation.
@@ -22,18 +35,146 @@ public class DatabaseConfig {
     private DatabaseConfig() {}
 
     /**
-     * Establishes a connection to the PostgreSQL database.
+     * Borrows a connection for interactive ({@link Workload#OLTP}) work.
+     * Closing the returned connection hands it back to the pool.
      * 
      * @return A {@link Connection} instance for interacting with the database.
-     * @throws SQLException If the database driver is not found or the connection fails.
+     * @throws SQLException If the database driver is not found or no connection could be obtained.
      */
     public static Connection getConnection() throws SQLException {
+        return getConnection(Workload.OLTP);
+    }
+
+    /**
+     * Borrows a connection configured for the given workload.
+     * Closing the returned connection hands it back to the pool.
+     * 
+     * @param workload The kind of work the connection will be used for.
+     * @return A {@link Connection} instance for interacting with the database.
+     * @throws SQLException If the database driver is not found or no connection could be obtained.
+     */
+    public static Connection getConnection(Workload workload) throws SQLException {
+        return pools(workload).getConnection();
+    }
+
+    /**
+     * Retrieves the resolved settings for a workload.
+     * 
+     * @param workload The workload to look up.
+     * @return The {@link DatabaseSettings} in effect for the workload.
+     */
+    public static DatabaseSettings getSettings(Workload workload) {
+        return DatabaseSettings.load(AppProperties.get(), workload);
+    }
+
+    /**
+     * Takes a snapshot of the {@link Workload#OLTP} primary pool's state and acquire-time histogram.
+     * 
+     * @return A {@link PoolStats} snapshot.
+     * @throws SQLException If the database driver is not found.
+     */
+    public static PoolStats getPoolStats() throws SQLException {
+        return getPoolStats(Workload.OLTP).get(0);
+    }
+
+    /**
+     * Takes a snapshot of every pool serving a workload: the primary pool first,
+     * followed by one pool per configured replica.
+     * 
+     * @param workload The workload to inspect.
+     * @return A list of {@link PoolStats} snapshots.
+     * @throws SQLException If the database driver is not found.
+     */
+    public static List<PoolStats> getPoolStats(Workload workload) throws SQLException {
+        WorkloadPools workloadPools = pools(workload);
+        List<PoolStats> stats = new ArrayList<>();
+        stats.add(workloadPools.primary.getStats());
+        workloadPools.replicas.forEach(replica -> stats.add(replica.getStats()));
+        return stats;
+    }
+
+    /**
+     * Closes every pool and the idle connections they hold.
+     * A later call to {@link #getConnection()} creates fresh pools.
+     */
+    public static synchronized void shutdown() {
+        pools.values().forEach(WorkloadPools::close);
+        pools.clear();
+    }
+
+    /**
+     * Returns the pools for a workload, creating them on first use.
+     * 
+     * @param workload The workload whose pools are needed.
+     * @return The pools serving the workload.
+     * @throws SQLException If the PostgreSQL JDBC driver is not found.
+     */
+    private static WorkloadPools pools(Workload workload) throws SQLException {
+        WorkloadPools existing = pools.get(workload);
+        return existing != null ? existing : createPools(workload);
+    }
+
+    /**
+     * Creates the pools for a workload unless another thread already has.
+     * 
+     * @param workload The workload whose pools are needed.
+     * @return The pools serving the workload.
+     * @throws SQLException If the PostgreSQL JDBC driver is not found.
+     */
+    private static synchronized WorkloadPools createPools(Workload workload) throws SQLException {
+        WorkloadPools existing = pools.get(workload);
+        if (existing != null) {
+            return existing;
+        }
         try {
             Class.forName("org.postgresql.Driver");
-            return DriverManager.getConnection(URL, USER, PASSWORD);
         } catch (ClassNotFoundException e) {
             throw new SQLException("PostgreSQL JDBC Driver not found.", e);
         }
+        WorkloadPools created = new WorkloadPools(getSettings(workload));
+        pools.put(workload, created);
+        return created;
+    }
+
+    /**
+     * The primary pool for a workload plus one pool per configured read replica.
+     */
+    private static final class WorkloadPools {
+        private final ConnectionPool primary;
+        private final List<ConnectionPool> replicas = new ArrayList<>();
+        private final AtomicInteger nextReplica = new AtomicInteger();
+
+        private WorkloadPools(DatabaseSettings settings) {
+            String name = settings.getWorkload().getKey();
+            this.primary = new ConnectionPool(name, settings.getUrl(),
+                settings.toConnectionProperties(), settings.getPoolSettings());
+            List<String> replicaUrls = settings.getReplicaUrls();
+            for (int i = 0; i < replicaUrls.size(); i++) {
+                replicas.add(new ConnectionPool(name + "-replica" + (i + 1), replicaUrls.get(i),
+                    settings.toConnectionProperties(), settings.getPoolSettings()));
+            }
+        }
+
+        private Connection getConnection() throws SQLException {
+            if (replicas.isEmpty()) {
+                return primary.getConnection();
+            }
+            int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                ConnectionPool replica = replicas.get((start + i) % replicas.size());
+                try {
+                    return replica.getConnection();
+                } catch (SQLException e) {
+                    logger.warn("Replica unavailable, trying next: {}", e.getMessage());
+                }
+            }
+            return primary.getConnection();
+        }
+
+        private void close() {
+            primary.close();
+            replicas.forEach(ConnectionPool::close);
+        }
     }
 
     /**
@@ -0,0 +1,169 @@
+package com.gymmanagement.config;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Resolved database connection settings for a single {@link Workload}.
+ *
+ * <p>Every value is looked up first under {@code db.<workload>.<key>} and then under
+ * {@code db.<key>}, so a profile only needs to list the settings it changes. Read replicas are
+ * the exception: only {@link Workload#REPORTING}, whose queries never write, reads
+ * {@code db.reporting.replicaUrls}, and there is no shared fallback.</p>
+ */
+public final class DatabaseSettings {
+    private static final String DEFAULT_URL = "jdbc:postgresql://localhost:5432/gym_management";
+    private static final String DEFAULT_USER = "dataadmin";
+    private static final String DEFAULT_PASSWORD = "password";
+
+    private final Workload workload;
+    private final String url;
+    private final List<String> replicaUrls;
+    private final String user;
+    private final String password;
+    private final PoolSettings poolSettings;
+    private final long statementTimeoutMillis;
+    private final int fetchSize;
+    private final int prepareThreshold;
+    private final boolean reWriteBatchedInserts;
+
+    private DatabaseSettings(Workload workload, AppProperties props) {
+        this.workload = workload;
+        this.url = props.getString(key("url"), props.getString("db.url", DEFAULT_URL));
+        // A standby rejects writes, so only the read-only workload may be sent to one
+        this.replicaUrls = workload == Workload.REPORTING
+            ? props.getList(key("replicaUrls"))
+            : Collections.<String>emptyList();
+        this.user = string(props, "user", DEFAULT_USER);
+        this.password = string(props, "password", DEFAULT_PASSWORD);
+        this.statementTimeoutMillis = number(props, "statementTimeoutMillis", 0);
+        this.fetchSize = (int) number(props, "fetchSize", 0);
+        this.prepareThreshold = (int) number(props, "prepareThreshold", 5);
+        this.reWriteBatchedInserts = props.getBoolean(key("reWriteBatchedInserts"),
+            props.getBoolean("db.reWriteBatchedInserts", true));
+
+        PoolSettings pool = new PoolSettings();
+        pool.setMaxSize((int) number(props, "pool.maxSize", pool.getMaxSize()));
+        pool.setMinSize((int) number(props, "pool.minSize", pool.getMinSize()));
+        pool.setIdleTimeoutMillis(number(props, "pool.idleTimeoutMillis", pool.getIdleTimeoutMillis()));
+        pool.setMaxLifetimeMillis(number(props, "pool.maxLifetimeMillis", pool.getMaxLifetimeMillis()));
+        pool.setAcquireTimeoutMillis(number(props, "pool.acquireTimeoutMillis", pool.getAcquireTimeoutMillis()));
+        pool.setLeakDetectionThresholdMillis(
+            number(props, "pool.leakDetectionThresholdMillis", pool.getLeakDetectionThresholdMillis()));
+        pool.setValidationIntervalMillis(
+            number(props, "pool.validationIntervalMillis", pool.getValidationIntervalMillis()));
+        pool.setHousekeepingPeriodMillis(
+            number(props, "pool.housekeepingPeriodMillis", pool.getHousekeepingPeriodMillis()));
+        this.poolSettings = pool;
+    }
+
+    /**
+     * Resolves the settings for a workload from the given configuration.
+     *
+     * @param props The configuration to read from.
+     * @param workload The workload whose profile should be applied.
+     * @return The resolved {@link DatabaseSettings}.
+     * @throws IllegalArgumentException If a configured value is malformed.
+     */
+    public static DatabaseSettings load(AppProperties props, Workload workload) {
+        return new DatabaseSettings(workload, props);
+    }
+
+    /**
+     * Builds the driver properties passed to {@link java.sql.DriverManager} for each new connection.
+     *
+     * @return Driver properties including credentials and PostgreSQL tuning options.
+     */
+    public Properties toConnectionProperties() {
+        Properties props = new Properties();
+        props.setProperty("user", user);
+        props.setProperty("password", password);
+        props.setProperty("prepareThreshold", Integer.toString(prepareThreshold));
+        props.setProperty("reWriteBatchedInserts", Boolean.toString(reWriteBatchedInserts));
+        props.setProperty("ApplicationName", "gym-management-" + workload.getKey());
+        if (fetchSize > 0) {
+            props.setProperty("defaultRowFetchSize", Integer.toString(fetchSize));
+        }
+        if (statementTimeoutMillis > 0) {
+            props.setProperty("options", "-c statement_timeout=" + statementTimeoutMillis);
+        }
+        return props;
+    }
+
+    /**
+     * @return The workload these settings apply to.
+     */
+    public Workload getWorkload() {
+        return workload;
+    }
+
+    /**
+     * @return JDBC URL of the primary database.
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * @return JDBC URLs of read replicas to use for this workload; always empty except for
+     *         {@link Workload#REPORTING}.
+     */
+    public List<String> getReplicaUrls() {
+        return replicaUrls;
+    }
+
+    /**
+     * @return Database user name.
+     */
+    public String getUser() {
+        return user;
+    }
+
+    /**
+     * @return Connection pool sizing and timing settings.
+     */
+    public PoolSettings getPoolSettings() {
+        return poolSettings;
+    }
+
+    /**
+     * @return Server-side statement timeout in milliseconds, or {@code 0} for no limit.
+     */
+    public long getStatementTimeoutMillis() {
+        return statementTimeoutMillis;
+    }
+
+    /**
+     * @return Default number of rows fetched per round trip, or {@code 0} for the driver default.
+     */
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * @return Number of executions before the driver switches to a server-side prepared statement.
+     */
+    public int getPrepareThreshold() {
+        return prepareThreshold;
+    }
+
+    /**
+     * @return Whether the driver rewrites batched inserts into multi-row statements.
+     */
+    public boolean isReWriteBatchedInserts() {
+        return reWriteBatchedInserts;
+    }
+
+    private String key(String name) {
+        return "db." + workload.getKey() + "." + name;
+    }
+
+    private String string(AppProperties props, String name, String defaultValue) {
+        return props.getString(key(name), props.getString("db." + name, defaultValue));
+    }
+
+    private long number(AppProperties props, String name, long defaultValue) {
+        return props.getLong(key(name), props.getLong("db." + name, defaultValue));
+    }
+}
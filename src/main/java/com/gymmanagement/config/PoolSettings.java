@@ -0,0 +1,177 @@
+package com.gymmanagement.config;
+
+/**
+ * Sizing and timing settings for a {@link ConnectionPool}.
+ * All durations are expressed in milliseconds.
+ */
+public class PoolSettings {
+    private int minSize = 2;
+    private int maxSize = 10;
+    private long idleTimeoutMillis = 10 * 60_000L;
+    private long maxLifetimeMillis = 30 * 60_000L;
+    private long acquireTimeoutMillis = 5_000L;
+    private long leakDetectionThresholdMillis = 60_000L;
+    private long validationIntervalMillis = 5_000L;
+    private long housekeepingPeriodMillis = 30_000L;
+
+    /**
+     * Creates settings populated with the default values.
+     */
+    public PoolSettings() {}
+
+    /**
+     * Retrieves the number of connections kept open even when idle.
+     *
+     * @return Minimum pool size.
+     */
+    public int getMinSize() {
+        return minSize;
+    }
+
+    /**
+     * Updates the number of connections kept open even when idle.
+     *
+     * @param minSize Minimum pool size (zero or more).
+     * @throws IllegalArgumentException If the value is negative.
+     */
+    public void setMinSize(int minSize) {
+        if (minSize < 0) {
+            throw new IllegalArgumentException("Minimum pool size cannot be negative.");
+        }
+        this.minSize = minSize;
+    }
+
+    /**
+     * Retrieves the maximum number of physical connections the pool may open.
+     *
+     * @return Maximum pool size.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Updates the maximum number of physical connections the pool may open.
+     *
+     * @param maxSize Maximum pool size (at least 1).
+     * @throws IllegalArgumentException If the value is less than 1.
+     */
+    public void setMaxSize(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Maximum pool size must be at least 1.");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Retrieves how long a connection may sit idle before it is evicted.
+     *
+     * @return Idle timeout in milliseconds.
+     */
+    public long getIdleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+
+    /**
+     * Updates how long a connection may sit idle before it is evicted.
+     *
+     * @param idleTimeoutMillis Idle timeout in milliseconds.
+     */
+    public void setIdleTimeoutMillis(long idleTimeoutMillis) {
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    /**
+     * Retrieves the maximum age of a physical connection before it is retired.
+     *
+     * @return Maximum lifetime in milliseconds.
+     */
+    public long getMaxLifetimeMillis() {
+        return maxLifetimeMillis;
+    }
+
+    /**
+     * Updates the maximum age of a physical connection before it is retired.
+     *
+     * @param maxLifetimeMillis Maximum lifetime in milliseconds.
+     */
+    public void setMaxLifetimeMillis(long maxLifetimeMillis) {
+        this.maxLifetimeMillis = maxLifetimeMillis;
+    }
+
+    /**
+     * Retrieves how long a caller waits for a free connection before failing.
+     *
+     * @return Acquire timeout in milliseconds.
+     */
+    public long getAcquireTimeoutMillis() {
+        return acquireTimeoutMillis;
+    }
+
+    /**
+     * Updates how long a caller waits for a free connection before failing.
+     *
+     * @param acquireTimeoutMillis Acquire timeout in milliseconds.
+     */
+    public void setAcquireTimeoutMillis(long acquireTimeoutMillis) {
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    /**
+     * Retrieves how long a connection may be borrowed before it is reported as a possible leak.
+     *
+     * @return Leak detection threshold in milliseconds, or {@code 0} if disabled.
+     */
+    public long getLeakDetectionThresholdMillis() {
+        return leakDetectionThresholdMillis;
+    }
+
+    /**
+     * Updates how long a connection may be borrowed before it is reported as a possible leak.
+     *
+     * @param leakDetectionThresholdMillis Threshold in milliseconds, or {@code 0} to disable.
+     */
+    public void setLeakDetectionThresholdMillis(long leakDetectionThresholdMillis) {
+        this.leakDetectionThresholdMillis = leakDetectionThresholdMillis;
+    }
+
+    /**
+     * Retrieves how long a connection may be idle before it is validated again on checkout.
+     *
+     * @return Validation interval in milliseconds.
+     */
+    public long getValidationIntervalMillis() {
+        return validationIntervalMillis;
+    }
+
+    /**
+     * Updates how long a connection may be idle before it is validated again on checkout.
+     *
+     * @param validationIntervalMillis Validation interval in milliseconds.
+     */
+    public void setValidationIntervalMillis(long validationIntervalMillis) {
+        this.validationIntervalMillis = validationIntervalMillis;
+    }
+
+    /**
+     * Retrieves how often the background housekeeper runs.
+     *
+     * @return Housekeeping period in milliseconds.
+     */
+    public long getHousekeepingPeriodMillis() {
+        return housekeepingPeriodMillis;
+    }
+
+    /**
+     * Updates how often the background housekeeper runs.
+     *
+     * @param housekeepingPeriodMillis Housekeeping period in milliseconds (must be positive).
+     * @throws IllegalArgumentException If the value is not positive.
+     */
+    public void setHousekeepingPeriodMillis(long housekeepingPeriodMillis) {
+        if (housekeepingPeriodMillis <= 0) {
+            throw new IllegalArgumentException("Housekeeping period must be positive.");
+        }
+        this.housekeepingPeriodMillis = housekeepingPeriodMillis;
+    }
+}
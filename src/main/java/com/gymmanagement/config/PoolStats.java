@@ -0,0 +1,109 @@
+package com.gymmanagement.config;
+
+import java.util.Arrays;
+
+/**
+ * Immutable snapshot of a {@link ConnectionPool}'s state and acquire-time histogram.
+ */
+public final class PoolStats {
+    /**
+     * Upper bounds (exclusive, in milliseconds) of the acquire-time histogram buckets.
+     * The final bucket collects every acquisition that took longer than the last bound.
+     */
+    public static final long[] BUCKET_BOUNDS_MILLIS = {1, 5, 10, 50, 100, 500, 1000};
+
+    private final int active;
+    private final int idle;
+    private final int waiters;
+    private final long totalAcquired;
+    private final long acquireTimeouts;
+    private final long leaksDetected;
+    private final long[] acquireHistogram;
+    private final long totalAcquireNanos;
+
+    PoolStats(int active, int idle, int waiters, long totalAcquired, long acquireTimeouts,
+              long leaksDetected, long[] acquireHistogram, long totalAcquireNanos) {
+        this.active = active;
+        this.idle = idle;
+        this.waiters = waiters;
+        this.totalAcquired = totalAcquired;
+        this.acquireTimeouts = acquireTimeouts;
+        this.leaksDetected = leaksDetected;
+        this.acquireHistogram = acquireHistogram;
+        this.totalAcquireNanos = totalAcquireNanos;
+    }
+
+    /**
+     * @return Number of connections currently borrowed by callers.
+     */
+    public int getActive() {
+        return active;
+    }
+
+    /**
+     * @return Number of open connections waiting in the pool.
+     */
+    public int getIdle() {
+        return idle;
+    }
+
+    /**
+     * @return Number of open physical connections (active plus idle).
+     */
+    public int getTotal() {
+        return active + idle;
+    }
+
+    /**
+     * @return Number of callers currently blocked waiting for a connection.
+     */
+    public int getWaiters() {
+        return waiters;
+    }
+
+    /**
+     * @return Number of successful acquisitions since the pool started.
+     */
+    public long getTotalAcquired() {
+        return totalAcquired;
+    }
+
+    /**
+     * @return Number of acquisitions that gave up after the acquire timeout.
+     */
+    public long getAcquireTimeouts() {
+        return acquireTimeouts;
+    }
+
+    /**
+     * @return Number of borrowed connections reported as possible leaks.
+     */
+    public long getLeaksDetected() {
+        return leaksDetected;
+    }
+
+    /**
+     * Retrieves the acquire-time histogram counts, one entry per bucket in
+     * {@link #BUCKET_BOUNDS_MILLIS} plus a final overflow bucket.
+     *
+     * @return A copy of the histogram counts.
+     */
+    public long[] getAcquireHistogram() {
+        return acquireHistogram.clone();
+    }
+
+    /**
+     * @return Mean time spent acquiring a connection, in milliseconds.
+     */
+    public double getMeanAcquireMillis() {
+        return totalAcquired == 0 ? 0.0 : (totalAcquireNanos / (double) totalAcquired) / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "PoolStats[active=%d, idle=%d, waiters=%d, acquired=%d, timeouts=%d, leaks=%d, meanAcquire=%.3fms, histogram=%s]",
+            active, idle, waiters, totalAcquired, acquireTimeouts, leaksDetected,
+            getMeanAcquireMillis(), Arrays.toString(acquireHistogram));
+    }
+}
@@ -0,0 +1,201 @@
+package com.gymmanagement.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Brings the database schema up to date by applying versioned SQL scripts in order.
+ *
+ * <p>Each script is applied once, in its own transaction, and recorded in the
+ * {@code schema_migrations} table together with a checksum of its contents. A database that
+ * was created before migrations existed (it has a {@code users} table but no history) is
+ * baselined: the original schema and seed scripts are recorded as applied without running
+ * them, and only the later scripts are executed.</p>
+ *
+ * <p>Migrations hold a PostgreSQL advisory lock while they run, so two instances starting
+ * at the same time cannot apply the same script twice.</p>
+ */
+public final class SchemaMigrator {
+    /** Arbitrary key for {@code pg_advisory_lock}, shared by every instance of the application. */
+    private static final long LOCK_KEY = 4_711_202_501L;
+
+    /** The last version an existing, unversioned database is assumed to already contain. */
+    private static final int BASELINE_VERSION = 2;
+
+    private static final List<Migration> MIGRATIONS = List.of(
+        new Migration(1, "Initial schema", "sql/schema.sql"),
+        new Migration(2, "Sample data", "sql/data.sql"),
+        new Migration(3, "Class waitlist", "sql/migrations/V3__class_waitlist.sql"),
+        new Migration(4, "Hot path indexes", "sql/migrations/V4__hot_path_indexes.sql"),
+        new Migration(5, "Revenue summary", "sql/migrations/V5__revenue_summary.sql"),
+        new Migration(6, "Daily revenue rollup", "sql/migrations/V6__revenue_daily.sql"),
+        new Migration(7, "Membership status", "sql/migrations/V7__membership_status.sql"),
+        new Migration(8, "Class search indexes", "sql/migrations/V8__class_search_indexes.sql"),
+        new Migration(9, "Trainer schedule exclusion", "sql/migrations/V9__trainer_schedule_exclusion.sql"),
+        new Migration(10, "Class series", "sql/migrations/V10__class_series.sql"),
+        new Migration(11, "Class occupancy", "sql/migrations/V11__class_occupancy.sql"),
+        new Migration(12, "Occupancy change tracking", "sql/migrations/V12__occupancy_change_tracking.sql")
+    );
+
+    private SchemaMigrator() {}
+
+    /**
+     * Applies every migration the database has not seen yet.
+     *
+     * @return The number of migrations applied by this call.
+     * @throws SQLException If a migration fails; that migration is rolled back and later ones are not attempted.
+     * @throws IOException If a migration script cannot be read.
+     */
+    public static int migrate() throws SQLException, IOException {
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("SELECT pg_advisory_lock(" + LOCK_KEY + ")");
+            }
+            try {
+                return migrate(conn);
+            } finally {
+                // Session-level locks outlive the borrow, so release before the connection goes back to the pool
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("SELECT pg_advisory_unlock(" + LOCK_KEY + ")");
+                }
+            }
+        }
+    }
+
+    private static int migrate(Connection conn) throws SQLException, IOException {
+        createHistoryTable(conn);
+        Map<Integer, Long> applied = loadHistory(conn);
+        if (applied.isEmpty() && tableExists(conn, "users")) {
+            baseline(conn);
+            applied = loadHistory(conn);
+        }
+
+        int count = 0;
+        for (Migration migration : MIGRATIONS) {
+            String sql = migration.read();
+            long checksum = checksum(sql);
+            Long recorded = applied.get(migration.version);
+            if (recorded == null) {
+                apply(conn, migration, sql, checksum);
+                count++;
+            } else if (recorded != checksum) {
+                System.err.println("Warning: migration V" + migration.version + " (" + migration.description
+                    + ") has changed since it was applied.");
+            }
+        }
+        return count;
+    }
+
+    private static void apply(Connection conn, Migration migration, String sql, long checksum) throws SQLException {
+        System.out.println("Applying migration V" + migration.version + ": " + migration.description + "...");
+        long start = System.nanoTime();
+        conn.setAutoCommit(false);
+        try {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(sql);
+            }
+            record(conn, migration, checksum, (System.nanoTime() - start) / 1_000_000L, false);
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw new SQLException("Migration V" + migration.version + " failed: " + e.getMessage(), e);
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    private static void baseline(Connection conn) throws SQLException, IOException {
+        System.out.println("Existing database found; recording migrations up to V" + BASELINE_VERSION + " as applied.");
+        for (Migration migration : MIGRATIONS) {
+            if (migration.version <= BASELINE_VERSION) {
+                record(conn, migration, checksum(migration.read()), 0L, true);
+            }
+        }
+    }
+
+    private static void createHistoryTable(Connection conn) throws SQLException {
+        String sql = "CREATE TABLE IF NOT EXISTS schema_migrations ("
+                   + "version INTEGER PRIMARY KEY, "
+                   + "description VARCHAR(200) NOT NULL, "
+                   + "checksum BIGINT NOT NULL, "
+                   + "execution_ms BIGINT NOT NULL, "
+                   + "baseline BOOLEAN NOT NULL DEFAULT FALSE, "
+                   + "applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)";
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+
+    private static Map<Integer, Long> loadHistory(Connection conn) throws SQLException {
+        Map<Integer, Long> applied = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM schema_migrations")) {
+            while (rs.next()) {
+                applied.put(rs.getInt(1), rs.getLong(2));
+            }
+        }
+        return applied;
+    }
+
+    private static void record(Connection conn, Migration migration, long checksum, long executionMillis,
+                               boolean baseline) throws SQLException {
+        String sql = "INSERT INTO schema_migrations (version, description, checksum, execution_ms, baseline) "
+                   + "VALUES (?, ?, ?, ?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, migration.version);
+            stmt.setString(2, migration.description);
+            stmt.setLong(3, checksum);
+            stmt.setLong(4, executionMillis);
+            stmt.setBoolean(5, baseline);
+            stmt.executeUpdate();
+        }
+    }
+
+    private static boolean tableExists(Connection conn, String table) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        try (ResultSet tables = meta.getTables(null, null, table, null)) {
+            return tables.next();
+        }
+    }
+
+    private static long checksum(String sql) {
+        CRC32 crc = new CRC32();
+        crc.update(sql.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    /**
+     * A versioned SQL script on the classpath.
+     */
+    private static final class Migration {
+        private final int version;
+        private final String description;
+        private final String resource;
+
+        Migration(int version, String description, String resource) {
+            this.version = version;
+            this.description = description;
+            this.resource = resource;
+        }
+
+        String read() throws IOException {
+            try (InputStream in = SchemaMigrator.class.getClassLoader().getResourceAsStream(resource)) {
+                if (in == null) {
+                    throw new IOException("Migration script not found on classpath: " + resource);
+                }
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        }
+    }
+}
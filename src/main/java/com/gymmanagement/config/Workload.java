@@ -0,0 +1,30 @@
+package com.gymmanagement.config;
+
+/**
+ * Kinds of database work that can be given their own connection settings.
+ *
+ * <p>Each workload reads its settings from keys prefixed with {@code db.<name>.},
+ * falling back to the shared {@code db.} keys when a value is not overridden.</p>
+ */
+public enum Workload {
+    /** Short interactive transactions: logins, enrollments, purchases. */
+    OLTP("oltp"),
+
+    /** Long-running read-only queries: admin listings, revenue reports, exports. */
+    REPORTING("reporting");
+
+    private final String key;
+
+    Workload(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Retrieves the name used for this workload in configuration keys.
+     *
+     * @return The configuration key segment (e.g. {@code "reporting"}).
+     */
+    public String getKey() {
+        return key;
+    }
+}
@@ -0,0 +1,219 @@
+package com.gymmanagement.dao;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.gymmanagement.config.DatabaseConfig;
+import com.gymmanagement.config.Workload;
+import com.gymmanagement.exception.DatabaseException;
+import com.gymmanagement.util.CsvWriter;
+
+/**
+ * Moves users and memberships in and out of the database in bulk with PostgreSQL {@code COPY}.
+ *
+ * <p>An import chunk is copied into a temporary staging table and then moved into the real
+ * table with one set-based statement, all in one transaction. Rows that cannot be stored, such
+ * as a username that is already taken, are reported back by line number instead of failing the
+ * chunk. Exports stream {@code COPY ... TO STDOUT} straight to the caller's writer.</p>
+ */
+public class BulkTransferDAO {
+    private static final Logger logger = LoggerFactory.getLogger(BulkTransferDAO.class);
+
+    /** Column order of a user row passed to {@link #importUsers(Map)}, and of the user export. */
+    public static final List<String> USER_COLUMNS =
+        List.of("username", "password_hash", "email", "phone_number", "address", "role");
+
+    /** Column order of a membership row passed to {@link #importMemberships(Map)}, and of the membership export. */
+    public static final List<String> MEMBERSHIP_COLUMNS =
+        List.of("username", "type", "description", "start_date", "end_date", "price", "payment_status");
+
+    /**
+     * Default constructor for creating an instance of the DAO.
+     */
+    public BulkTransferDAO() {}
+
+    /**
+     * Stores a chunk of validated user rows in one transaction.
+     * 
+     * @param rows Rows keyed by their line in the source file, fields in {@link #USER_COLUMNS} order.
+     *             Usernames and emails must be unique within the chunk.
+     * @return The rejected rows as line number to reason; rows not listed were stored.
+     * @throws DatabaseException If the chunk cannot be stored; none of its rows are stored in that case.
+     */
+    public Map<Long, String> importUsers(Map<Long, List<String>> rows) throws DatabaseException {
+        String stageSql = "CREATE TEMP TABLE IF NOT EXISTS import_users ("
+                        + "line BIGINT, username VARCHAR(50), password_hash VARCHAR(100), email VARCHAR(100), "
+                        + "phone_number VARCHAR(20), address TEXT, role VARCHAR(20)) ON COMMIT DELETE ROWS";
+        String copySql = "COPY import_users (line, username, password_hash, email, phone_number, address, role) "
+                       + "FROM STDIN WITH (FORMAT csv)";
+        String moveSql = "WITH ins AS ("
+                       + "INSERT INTO users (username, password_hash, email, phone_number, address, role) "
+                       + "SELECT username, password_hash, email, phone_number, address, role "
+                       + "FROM import_users ORDER BY line "
+                       + "ON CONFLICT DO NOTHING RETURNING username) "
+                       + "SELECT s.line FROM import_users s LEFT JOIN ins ON ins.username = s.username "
+                       + "WHERE ins.username IS NULL";
+
+        Map<Long, String> rejected = new LinkedHashMap<>();
+        try {
+            importChunk(stageSql, copySql, moveSql, rows, line -> rejected.put(line, "username or email already exists"));
+        } catch (SQLException | IOException e) {
+            logger.error("User import chunk failed", e);
+            throw new DatabaseException("User import failed.", e);
+        } finally {
+            // Cached "no such username" results may now be wrong
+            UserDAO.clearCache();
+        }
+        return rejected;
+    }
+
+    /**
+     * Stores a chunk of validated membership rows in one transaction, adding them to the
+     * revenue summary and daily rollup in the same statement. Memberships that have already
+     * ended are stored as expired.
+     * 
+     * @param rows Rows keyed by their line in the source file, fields in {@link #MEMBERSHIP_COLUMNS} order.
+     * @return The rejected rows as line number to reason; rows not listed were stored.
+     * @throws DatabaseException If the chunk cannot be stored; none of its rows are stored in that case.
+     */
+    public Map<Long, String> importMemberships(Map<Long, List<String>> rows) throws DatabaseException {
+        String stageSql = "CREATE TEMP TABLE IF NOT EXISTS import_memberships ("
+                        + "line BIGINT, username VARCHAR(50), type VARCHAR(50), description TEXT, "
+                        + "start_date DATE, end_date DATE, price DECIMAL(10, 2), payment_status VARCHAR(20)) "
+                        + "ON COMMIT DELETE ROWS";
+        String copySql = "COPY import_memberships (line, username, type, description, start_date, end_date, price, payment_status) "
+                       + "FROM STDIN WITH (FORMAT csv)";
+        String moveSql = "WITH src AS ("
+                       + "SELECT s.*, u.user_id FROM import_memberships s LEFT JOIN users u ON u.username = s.username), "
+                       + "ins AS ("
+                       + "INSERT INTO memberships (user_id, type, description, start_date, end_date, price, payment_status, status) "
+                       + "SELECT user_id, type, description, start_date, end_date, price, payment_status, "
+                       + "CASE WHEN end_date < CURRENT_DATE THEN 'EXPIRED' ELSE 'ACTIVE' END "
+                       + "FROM src WHERE user_id IS NOT NULL ORDER BY line "
+                       + "RETURNING type, price, payment_status, start_date), "
+                       + "summary AS ("
+                       + "INSERT INTO revenue_summary (type, membership_count, total_price, paid_count, paid_revenue) "
+                       + "SELECT type, COUNT(*), SUM(price), COUNT(*) FILTER (WHERE payment_status = 'PAID'), "
+                       + "COALESCE(SUM(price) FILTER (WHERE payment_status = 'PAID'), 0) FROM ins GROUP BY type "
+                       + "ON CONFLICT (type) DO UPDATE SET "
+                       + "membership_count = revenue_summary.membership_count + EXCLUDED.membership_count, "
+                       + "total_price = revenue_summary.total_price + EXCLUDED.total_price, "
+                       + "paid_count = revenue_summary.paid_count + EXCLUDED.paid_count, "
+                       + "paid_revenue = revenue_summary.paid_revenue + EXCLUDED.paid_revenue), "
+                       + "daily AS ("
+                       + "INSERT INTO revenue_daily (day, type, membership_count, total_price, paid_count, paid_revenue) "
+                       + "SELECT start_date, type, COUNT(*), SUM(price), COUNT(*) FILTER (WHERE payment_status = 'PAID'), "
+                       + "COALESCE(SUM(price) FILTER (WHERE payment_status = 'PAID'), 0) FROM ins GROUP BY start_date, type "
+                       + "ON CONFLICT (day, type) DO UPDATE SET "
+                       + "membership_count = revenue_daily.membership_count + EXCLUDED.membership_count, "
+                       + "total_price = revenue_daily.total_price + EXCLUDED.total_price, "
+                       + "paid_count = revenue_daily.paid_count + EXCLUDED.paid_count, "
+                       + "paid_revenue = revenue_daily.paid_revenue + EXCLUDED.paid_revenue) "
+                       + "SELECT line FROM src WHERE user_id IS NULL";
+
+        Map<Long, String> rejected = new LinkedHashMap<>();
+        try {
+            importChunk(stageSql, copySql, moveSql, rows, line -> rejected.put(line, "unknown username"));
+        } catch (SQLException | IOException e) {
+            logger.error("Membership import chunk failed", e);
+            throw new DatabaseException("Membership import failed.", e);
+        } finally {
+            MembershipDAO.invalidateRevenueSnapshot();
+        }
+        return rejected;
+    }
+
+    /**
+     * Writes every user as CSV with a header row, in the column order the importer reads.
+     * 
+     * @param out Receives the CSV text; it is not closed.
+     * @return The number of users written.
+     * @throws DatabaseException If the export fails.
+     */
+    public long exportUsers(Writer out) throws DatabaseException {
+        return export("COPY (SELECT username, password_hash, email, phone_number, address, role "
+                    + "FROM users ORDER BY user_id) TO STDOUT WITH (FORMAT csv, HEADER)", out);
+    }
+
+    /**
+     * Writes every membership as CSV with a header row, in the column order the importer reads.
+     * Members are identified by username so the file can be loaded into another database.
+     * 
+     * @param out Receives the CSV text; it is not closed.
+     * @return The number of memberships written.
+     * @throws DatabaseException If the export fails.
+     */
+    public long exportMemberships(Writer out) throws DatabaseException {
+        return export("COPY (SELECT u.username, m.type, m.description, m.start_date, m.end_date, m.price, m.payment_status "
+                    + "FROM memberships m JOIN users u ON u.user_id = m.user_id ORDER BY m.membership_id) "
+                    + "TO STDOUT WITH (FORMAT csv, HEADER)", out);
+    }
+
+    /**
+     * Receives the line numbers of rows the move statement left behind.
+     */
+    @FunctionalInterface
+    private interface RejectionSink {
+        void reject(long line);
+    }
+
+    private void importChunk(String stageSql, String copySql, String moveSql, Map<Long, List<String>> rows,
+                             RejectionSink rejections) throws SQLException, IOException {
+        StringWriter buffer = new StringWriter();
+        CsvWriter csv = new CsvWriter(buffer);
+        List<String> record = new ArrayList<>();
+        for (Map.Entry<Long, List<String>> row : rows.entrySet()) {
+            record.clear();
+            record.add(Long.toString(row.getKey()));
+            record.addAll(row.getValue());
+            csv.write(record);
+        }
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute(stageSql);
+                }
+                CopyManager copy = conn.unwrap(PGConnection.class).getCopyAPI();
+                copy.copyIn(copySql, new StringReader(buffer.toString()));
+                try (PreparedStatement stmt = conn.prepareStatement(moveSql);
+                     ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        rejections.reject(rs.getLong(1));
+                    }
+                }
+                conn.commit();
+            } catch (SQLException | IOException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private long export(String copySql, Writer out) throws DatabaseException {
+        try (Connection conn = DatabaseConfig.getConnection(Workload.REPORTING)) {
+            CopyManager copy = conn.unwrap(PGConnection.class).getCopyAPI();
+            return copy.copyOut(copySql, out);
+        } catch (SQLException | IOException e) {
+            logger.error("Export failed", e);
+            throw new DatabaseException("Export failed.", e);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.gymmanagement.dao;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.gymmanagement.exception.DatabaseException;
+
+/**
+ * In-memory ledger of remaining seats per workout class.
+ *
+ * <p>Each class has its own atomic counter, seeded from the database the first time the class
+ * is seen. Seats are reserved with a compare-and-set loop, so contention on one popular class
+ * never blocks enrollments in another, and a full class is rejected without a database round
+ * trip. The database remains the authority: callers confirm every reservation with a conditional
+ * update and {@link #invalidate(int) invalidate} the counter whenever the two disagree.</p>
+ *
+ * <p>A counter that has reached zero is re-read from the database once it is older than the
+ * refresh interval, so seats freed by another application instance are eventually noticed.</p>
+ */
+public final class CapacityLedger {
+
+    /**
+     * Reads the number of free seats in a class from the database.
+     */
+    @FunctionalInterface
+    public interface SeatLoader {
+        /**
+         * @param classId The class to look up.
+         * @return The number of free seats, or {@code -1} if the class does not exist.
+         * @throws DatabaseException If the lookup fails.
+         */
+        int remainingSeats(int classId) throws DatabaseException;
+    }
+
+    private final ConcurrentMap<Integer, Slot> slots = new ConcurrentHashMap<>();
+    private final long refreshMillis;
+    private final AtomicLong reservations = new AtomicLong();
+    private final AtomicLong fastRejections = new AtomicLong();
+
+    /**
+     * Creates an empty ledger.
+     *
+     * @param refreshMillis How old a zero-seat counter must be before it is re-read from the database.
+     */
+    public CapacityLedger(long refreshMillis) {
+        this.refreshMillis = refreshMillis;
+    }
+
+    /**
+     * Reserves up to {@code seats} seats in a class.
+     *
+     * @param classId The class to reserve seats in.
+     * @param seats The number of seats wanted (at least 1).
+     * @param loader Seeds the counter from the database if the class is not yet tracked.
+     * @return The number of seats actually reserved, between 0 and {@code seats}.
+     * @throws DatabaseException If the counter had to be seeded and the lookup failed.
+     */
+    public int tryReserve(int classId, int seats, SeatLoader loader) throws DatabaseException {
+        if (seats < 1) {
+            throw new IllegalArgumentException("At least one seat must be requested.");
+        }
+        Slot slot = slot(classId, loader);
+        if (slot == null) {
+            fastRejections.incrementAndGet();
+            return 0;
+        }
+        int granted = slot.take(seats);
+        if (granted == 0 && System.currentTimeMillis() - slot.loadedAt >= refreshMillis) {
+            // The counter may be stale-low; re-read it once and retry
+            slots.remove(classId, slot);
+            slot = slot(classId, loader);
+            granted = slot != null ? slot.take(seats) : 0;
+        }
+        if (granted == 0) {
+            fastRejections.incrementAndGet();
+        } else {
+            reservations.addAndGet(granted);
+        }
+        return granted;
+    }
+
+    /**
+     * Returns previously reserved seats that were not used.
+     *
+     * @param classId The class the seats belong to.
+     * @param seats The number of seats to give back.
+     */
+    public void release(int classId, int seats) {
+        Slot slot = slots.get(classId);
+        if (slot != null && seats > 0) {
+            slot.seats.addAndGet(seats);
+        }
+    }
+
+    /**
+     * Forgets the counter for a class so it is re-read from the database on next use.
+     * Call this whenever the class's capacity changes or the ledger disagreed with the database.
+     *
+     * @param classId The class to forget.
+     */
+    public void invalidate(int classId) {
+        slots.remove(classId);
+    }
+
+    /**
+     * Retrieves the tracked number of free seats in a class.
+     *
+     * @param classId The class to look up.
+     * @return The tracked number of free seats, or {@code -1} if the class is not tracked.
+     */
+    public int remaining(int classId) {
+        Slot slot = slots.get(classId);
+        return slot != null ? slot.seats.get() : -1;
+    }
+
+    /**
+     * @return Number of seats reserved through the ledger since startup.
+     */
+    public long getReservations() {
+        return reservations.get();
+    }
+
+    /**
+     * @return Number of reservation attempts rejected without touching the database.
+     */
+    public long getFastRejections() {
+        return fastRejections.get();
+    }
+
+    private Slot slot(int classId, SeatLoader loader) throws DatabaseException {
+        Slot slot = slots.get(classId);
+        if (slot != null) {
+            return slot;
+        }
+        int remaining = loader.remainingSeats(classId);
+        if (remaining < 0) {
+            return null;
+        }
+        Slot seeded = new Slot(remaining);
+        Slot existing = slots.putIfAbsent(classId, seeded);
+        return existing != null ? existing : seeded;
+    }
+
+    /**
+     * Free-seat counter for one class.
+     */
+    private static final class Slot {
+        private final AtomicInteger seats;
+        private final long loadedAt = System.currentTimeMillis();
+
+        private Slot(int seats) {
+            this.seats = new AtomicInteger(seats);
+        }
+
+        /**
+         * Atomically takes as many of the wanted seats as are free.
+         */
+        private int take(int wanted) {
+            while (true) {
+                int current = seats.get();
+                if (current <= 0) {
+                    return 0;
+                }
+                int granted = Math.min(current, wanted);
+                if (seats.compareAndSet(current, current - granted)) {
+                    return granted;
+                }
+            }
+        }
+    }
+}
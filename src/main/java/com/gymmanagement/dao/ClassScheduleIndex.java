@@ -0,0 +1,233 @@
+package com.gymmanagement.dao;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import com.gymmanagement.model.ClassListing;
+import com.gymmanagement.model.ClassQuery;
+
+/**
+ * In-memory index of the classes that start on or after a window start (midnight of the day it
+ * was loaded), with one map per class type ordered by start time.
+ *
+ * <p>A search only walks the sub-map between its start and end times, so its cost depends on
+ * the classes in that range and not on how much class history the table holds. Each start
+ * time maps to an immutable map of class ID to listing that is replaced as a whole on write,
+ * so searches never lock. As in {@link RevenueRollupStore}, a generation counter stops a slow
+ * reload from installing rows that were read before a concurrent write was applied.</p>
+ *
+ * <p>The index is dropped once it is older than the refresh interval, so classes changed by
+ * another application instance are eventually picked up and the window start moves forward.</p>
+ */
+public final class ClassScheduleIndex {
+    private static final Comparator<ClassListing> BY_START =
+        Comparator.comparing(ClassListing::getSchedule).thenComparingInt(ClassListing::getId);
+
+    private final long refreshMillis;
+    private volatile Snapshot snapshot;
+    private long generation;
+
+    /**
+     * Creates an empty index; the first search loads it.
+     *
+     * @param refreshMillis How long a loaded index is used before it is reloaded.
+     */
+    public ClassScheduleIndex(long refreshMillis) {
+        this.refreshMillis = refreshMillis;
+    }
+
+    /**
+     * Answers a search from memory.
+     *
+     * @param query The search criteria.
+     * @return Copies of the matching listings ordered by start time, or {@code null} if the
+     *         index is not loaded, is due for a refresh, or the query starts before its window.
+     */
+    public List<ClassListing> search(ClassQuery query) {
+        Snapshot current = snapshot;
+        if (current == null || System.currentTimeMillis() - current.loadedAt >= refreshMillis
+                || query.getFrom().isBefore(current.windowStart)) {
+            return null;
+        }
+
+        Collection<ConcurrentSkipListMap<LocalDateTime, Map<Integer, ClassListing>>> timelines;
+        if (query.getType() == null) {
+            timelines = current.byType.values();
+        } else {
+            ConcurrentSkipListMap<LocalDateTime, Map<Integer, ClassListing>> timeline = current.byType.get(query.getType());
+            timelines = timeline == null ? List.of() : List.of(timeline);
+        }
+
+        // Each timeline contributes at most `limit` matches; the merged result is cut to the limit
+        List<ClassListing> found = new ArrayList<>();
+        for (ConcurrentSkipListMap<LocalDateTime, Map<Integer, ClassListing>> timeline : timelines) {
+            NavigableMap<LocalDateTime, Map<Integer, ClassListing>> range = query.getTo() == null
+                ? timeline.tailMap(query.getFrom(), true)
+                : timeline.subMap(query.getFrom(), true, query.getTo(), false);
+            int matched = 0;
+            scan:
+            for (Map<Integer, ClassListing> atStart : range.values()) {
+                for (ClassListing listing : atStart.values()) {
+                    if (query.matches(listing)) {
+                        found.add(listing);
+                        if (++matched == query.getLimit()) {
+                            break scan;
+                        }
+                    }
+                }
+            }
+        }
+        found.sort(BY_START);
+
+        List<ClassListing> results = new ArrayList<>(Math.min(found.size(), query.getLimit()));
+        for (ClassListing listing : found.subList(0, Math.min(found.size(), query.getLimit()))) {
+            results.add(copyOf(listing, listing.getCurrentEnrollment()));
+        }
+        return results;
+    }
+
+    /**
+     * Returns a token to pass to {@link #replace(List, LocalDateTime, long)} once a reload has been read.
+     *
+     * @return The current generation.
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Installs freshly loaded classes, unless a write was applied since {@code loadedAt} was taken.
+     *
+     * @param loaded Every class starting on or after {@code windowStart}.
+     * @param windowStart The earliest start time the loaded classes cover.
+     * @param loadedAt The value of {@link #generation()} taken before the classes were read.
+     * @return {@code true} if the classes were installed.
+     */
+    public synchronized boolean replace(List<ClassListing> loaded, LocalDateTime windowStart, long loadedAt) {
+        if (loadedAt != generation) {
+            return false;
+        }
+        Snapshot next = new Snapshot(windowStart);
+        loaded.forEach(listing -> next.add(copyOf(listing, listing.getCurrentEnrollment())));
+        snapshot = next;
+        return true;
+    }
+
+    /**
+     * Applies a committed insert or update of a class, moving it if its start time or type changed.
+     *
+     * @param listing The class as it is now stored.
+     */
+    public synchronized void put(ClassListing listing) {
+        generation++;
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        current.remove(listing.getId());
+        if (!listing.getSchedule().isBefore(current.windowStart)) {
+            current.add(copyOf(listing, listing.getCurrentEnrollment()));
+        }
+    }
+
+    /**
+     * Applies a committed delete of a class.
+     *
+     * @param classId The ID of the deleted class.
+     */
+    public synchronized void remove(int classId) {
+        generation++;
+        Snapshot current = snapshot;
+        if (current != null) {
+            current.remove(classId);
+        }
+    }
+
+    /**
+     * Applies a committed change to a class's enrollment count.
+     *
+     * @param classId The ID of the class.
+     * @param delta The number of members added (positive) or removed (negative).
+     */
+    public synchronized void adjustEnrollment(int classId, int delta) {
+        generation++;
+        Snapshot current = snapshot;
+        if (current == null || delta == 0) {
+            return;
+        }
+        ClassListing listing = current.remove(classId);
+        if (listing != null) {
+            current.add(copyOf(listing, Math.max(0, listing.getCurrentEnrollment() + delta)));
+        }
+    }
+
+    /**
+     * Drops the loaded classes so the next search reloads them from the database.
+     */
+    public synchronized void invalidate() {
+        generation++;
+        snapshot = null;
+    }
+
+    private static ClassListing copyOf(ClassListing source, int currentEnrollment) {
+        ClassListing copy = new ClassListing();
+        copy.setId(source.getId());
+        copy.setName(source.getName());
+        copy.setType(source.getType());
+        copy.setTrainerId(source.getTrainerId());
+        copy.setSchedule(source.getSchedule());
+        copy.setDurationMinutes(source.getDurationMinutes());
+        copy.setMaxCapacity(source.getMaxCapacity());
+        copy.setCurrentEnrollment(currentEnrollment);
+        return copy;
+    }
+
+    /**
+     * One loaded generation of the index. The timelines are read without locking; the ID map is
+     * only touched by writers, which hold the index's lock.
+     */
+    private static final class Snapshot {
+        private final LocalDateTime windowStart;
+        private final long loadedAt = System.currentTimeMillis();
+        private final ConcurrentMap<String, ConcurrentSkipListMap<LocalDateTime, Map<Integer, ClassListing>>> byType =
+            new ConcurrentHashMap<>();
+        private final Map<Integer, ClassListing> byId = new HashMap<>();
+
+        private Snapshot(LocalDateTime windowStart) {
+            this.windowStart = windowStart;
+        }
+
+        private void add(ClassListing listing) {
+            byId.put(listing.getId(), listing);
+            byType.computeIfAbsent(listing.getType(), t -> new ConcurrentSkipListMap<>())
+                .compute(listing.getSchedule(), (start, classes) -> {
+                    Map<Integer, ClassListing> next = classes == null ? new TreeMap<>() : new TreeMap<>(classes);
+                    next.put(listing.getId(), listing);
+                    return Collections.unmodifiableMap(next);
+                });
+        }
+
+        private ClassListing remove(int classId) {
+            ClassListing listing = byId.remove(classId);
+            if (listing != null) {
+                byType.get(listing.getType()).computeIfPresent(listing.getSchedule(), (start, classes) -> {
+                    Map<Integer, ClassListing> next = new TreeMap<>(classes);
+                    next.remove(classId);
+                    return next.isEmpty() ? null : Collections.unmodifiableMap(next);
+                });
+            }
+            return listing;
+        }
+    }
+}
@@ -0,0 +1,409 @@
+package com.gymmanagement.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.gymmanagement.config.DatabaseConfig;
+import com.gymmanagement.exception.DatabaseException;
+import com.gymmanagement.model.ClassSeries;
+import com.gymmanagement.model.RecurrenceRule;
+import com.gymmanagement.model.WorkoutClass;
+
+/**
+ * DAO (Data Access Object) class for the {@code class_series} table and the
+ * {@code workout_classes} rows materialized from it.
+ *
+ * <p>Occurrences are inserted with one statement per batch of series, whatever the number of
+ * occurrences, by joining arrays of series IDs and start times against {@code class_series}.
+ * The insert skips occurrences that already exist or would double-book the trainer, so
+ * materializing the same window twice, or from two instances at once, is harmless. Edits to a
+ * series reach every future occurrence through a single set-based update.</p>
+ */
+public class ClassSeriesDAO {
+    private static final Logger logger = LoggerFactory.getLogger(ClassSeriesDAO.class);
+
+    /** SQLState raised when a write breaks an exclusion constraint, such as a trainer's overlapping classes. */
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
+    /** SQLState raised when a write breaks a unique index. */
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private static final String SERIES_COLUMNS = "series_id, name, description, type, trainer_id, starts_at, "
+                                               + "duration_minutes, max_capacity, rrule, materialized_until, complete";
+
+    /**
+     * Inserts occurrences, taking every column but the start from the series row. The series'
+     * {@code starts_at} must still match, so occurrences computed before a concurrent edit of the
+     * series time are dropped rather than inserted at the old time.
+     */
+    private static final String INSERT_OCCURRENCES_SQL =
+        "INSERT INTO workout_classes (name, description, type, trainer_id, schedule, duration_minutes, "
+        + "max_capacity, series_id) "
+        + "SELECT s.name, s.description, s.type, s.trainer_id, t.schedule, s.duration_minutes, s.max_capacity, "
+        + "s.series_id FROM unnest(?::int[], ?::timestamp[], ?::timestamp[]) AS t(series_id, starts_at, schedule) "
+        + "JOIN class_series s ON s.series_id = t.series_id AND s.starts_at = t.starts_at "
+        + "ON CONFLICT DO NOTHING RETURNING " + WorkoutClassDAO.CLASS_COLUMNS;
+
+    private static final MapperCache<ClassSeries> SERIES_MAPPERS =
+        new MapperCache<>(ClassSeriesDAO::compileSeriesMapper);
+
+    /**
+     * Default constructor for creating an instance of ClassSeriesDAO.
+     */
+    public ClassSeriesDAO() {}
+
+    /**
+     * Creates a series and its first occurrences in one transaction.
+     *
+     * @param series The series to insert, with {@code materializedUntil} and {@code complete}
+     *               describing the occurrences passed in; its ID is set once it is created.
+     * @param occurrences The start times of the occurrences to insert now.
+     * @return The classes created. Occurrences that would overlap another of the trainer's
+     *         classes are skipped.
+     * @throws DatabaseException If a database access error occurs; nothing is created in that case.
+     */
+    public List<WorkoutClass> create(ClassSeries series, List<LocalDateTime> occurrences) throws DatabaseException {
+        String sql = "INSERT INTO class_series (name, description, type, trainer_id, starts_at, duration_minutes, "
+                   + "max_capacity, rrule, materialized_until, complete) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+                   + "RETURNING series_id";
+        List<WorkoutClass> created;
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, series.getName());
+                stmt.setString(2, series.getDescription());
+                stmt.setString(3, series.getType());
+                stmt.setInt(4, series.getTrainerId());
+                stmt.setTimestamp(5, Timestamp.valueOf(series.getStartsAt()));
+                stmt.setInt(6, series.getDurationMinutes());
+                stmt.setInt(7, series.getMaxCapacity());
+                stmt.setString(8, series.getRule().toString());
+                stmt.setTimestamp(9, Timestamp.valueOf(series.getMaterializedUntil()));
+                stmt.setBoolean(10, series.isComplete());
+                try (ResultSet rs = stmt.executeQuery()) {
+                    rs.next();
+                    series.setId(rs.getInt(1));
+                }
+            }
+            created = insertOccurrences(conn, Collections.singletonList(series),
+                Collections.singletonMap(series.getId(), occurrences));
+            conn.commit();
+        } catch (SQLException e) {
+            logger.error("Failed to create class series for trainer ID: {}", series.getTrainerId(), e);
+            throw new DatabaseException("Failed to create class series", e);
+        }
+
+        WorkoutClassDAO.applyCommitted(created);
+        return created;
+    }
+
+    /**
+     * Retrieves the series whose occurrences have not been materialized up to a given time,
+     * least advanced first.
+     *
+     * @param windowEnd The end of the rolling window.
+     * @param limit The maximum number of series to return.
+     * @return Up to {@code limit} series; fewer once nothing more is due.
+     * @throws DatabaseException If a database access error occurs or the operation fails.
+     */
+    public List<ClassSeries> findDue(LocalDateTime windowEnd, int limit) throws DatabaseException {
+        String sql = "SELECT " + SERIES_COLUMNS + " FROM class_series "
+                   + "WHERE NOT complete AND materialized_until < ? "
+                   + "ORDER BY materialized_until, series_id LIMIT ?";
+        List<ClassSeries> due = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setTimestamp(1, Timestamp.valueOf(windowEnd));
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper<ClassSeries> mapper = SERIES_MAPPERS.forQuery(sql, rs);
+                while (rs.next()) {
+                    due.add(mapper.mapRow(rs));
+                }
+            }
+            return due;
+        } catch (SQLException e) {
+            logger.error("Failed to find class series due before {}", windowEnd, e);
+            throw new DatabaseException("Failed to find class series", e);
+        }
+    }
+
+    /**
+     * Materializes the occurrences of a batch of series with one insert, and advances each
+     * series' watermark with one update, in a single transaction.
+     *
+     * @param batch The series, with {@code materializedUntil} and {@code complete} set to the
+     *              values they should have once the occurrences are stored.
+     * @param occurrences The start times to insert, keyed by series ID.
+     * @return The classes created.
+     * @throws DatabaseException If a database access error occurs; nothing is changed in that case.
+     */
+    public List<WorkoutClass> materialize(List<ClassSeries> batch, Map<Integer, List<LocalDateTime>> occurrences)
+            throws DatabaseException {
+        String sql = "UPDATE class_series s SET materialized_until = GREATEST(s.materialized_until, t.until), "
+                   + "complete = t.complete "
+                   + "FROM unnest(?::int[], ?::timestamp[], ?::timestamp[], ?::boolean[]) "
+                   + "AS t(series_id, starts_at, until, complete) "
+                   + "WHERE s.series_id = t.series_id AND s.starts_at = t.starts_at";
+        List<WorkoutClass> created;
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            created = insertOccurrences(conn, batch, occurrences);
+
+            Integer[] ids = new Integer[batch.size()];
+            Timestamp[] startsAt = new Timestamp[batch.size()];
+            Timestamp[] until = new Timestamp[batch.size()];
+            Boolean[] complete = new Boolean[batch.size()];
+            for (int i = 0; i < batch.size(); i++) {
+                ClassSeries series = batch.get(i);
+                ids[i] = series.getId();
+                startsAt[i] = Timestamp.valueOf(series.getStartsAt());
+                until[i] = Timestamp.valueOf(series.getMaterializedUntil());
+                complete[i] = series.isComplete();
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setArray(1, conn.createArrayOf("int4", ids));
+                stmt.setArray(2, conn.createArrayOf("timestamp", startsAt));
+                stmt.setArray(3, conn.createArrayOf("timestamp", until));
+                stmt.setArray(4, conn.createArrayOf("bool", complete));
+                stmt.executeUpdate();
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            logger.error("Failed to materialize {} class series", batch.size(), e);
+            throw new DatabaseException("Failed to materialize class series", e);
+        }
+
+        WorkoutClassDAO.applyCommitted(created);
+        return created;
+    }
+
+    /**
+     * Retrieves the series led by a trainer.
+     *
+     * @param trainerId The ID of the trainer.
+     * @return A {@link List} of {@link ClassSeries} ordered by first start.
+     * @throws DatabaseException If a database access error occurs or the operation fails.
+     */
+    public List<ClassSeries> findByTrainerId(int trainerId) throws DatabaseException {
+        String sql = "SELECT " + SERIES_COLUMNS + " FROM class_series WHERE trainer_id = ? ORDER BY starts_at, series_id";
+        List<ClassSeries> series = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, trainerId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper<ClassSeries> mapper = SERIES_MAPPERS.forQuery(sql, rs);
+                while (rs.next()) {
+                    series.add(mapper.mapRow(rs));
+                }
+            }
+            return series;
+        } catch (SQLException e) {
+            logger.error("Failed to retrieve class series for trainer ID: {}", trainerId, e);
+            throw new DatabaseException("Failed to find trainer's class series", e);
+        }
+    }
+
+    /**
+     * Retrieves a series by its ID.
+     *
+     * @param seriesId The ID of the series.
+     * @return The {@link ClassSeries}, or {@code null} if no series exists with the given ID.
+     * @throws DatabaseException If a database access error occurs or the operation fails.
+     */
+    public ClassSeries findById(int seriesId) throws DatabaseException {
+        String sql = "SELECT " + SERIES_COLUMNS + " FROM class_series WHERE series_id = ?";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, seriesId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? SERIES_MAPPERS.forQuery(sql, rs).mapRow(rs) : null;
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to find class series ID: {}", seriesId, e);
+            throw new DatabaseException("Failed to find class series", e);
+        }
+    }
+
+    /**
+     * Updates a series and applies the change to every occurrence starting at or after a given
+     * time with one statement. A change of {@code startsAt} moves those occurrences, and the
+     * series' watermark, by the same amount. Capacity is never lowered below a class's current
+     * enrollment. The recurrence rule itself is not changed.
+     *
+     * @param series The series with its new name, description, type, start, duration and capacity.
+     * @param from Occurrences starting before this time are left as they are.
+     * @return The occurrences as they are now stored, or {@code null} if the series does not
+     *         exist or a moved occurrence would overlap another of the trainer's classes.
+     * @throws DatabaseException If a database access error occurs; nothing is changed in that case.
+     */
+    public List<WorkoutClass> update(ClassSeries series, LocalDateTime from) throws DatabaseException {
+        String lockSql = "SELECT starts_at FROM class_series WHERE series_id = ? FOR UPDATE";
+        String seriesSql = "UPDATE class_series SET name = ?, description = ?, type = ?, starts_at = ?, "
+                         + "duration_minutes = ?, max_capacity = ?, "
+                         + "materialized_until = materialized_until + ? * INTERVAL '1 minute' WHERE series_id = ?";
+        String classesSql = "UPDATE workout_classes SET name = ?, description = ?, type = ?, "
+                          + "schedule = schedule + ? * INTERVAL '1 minute', duration_minutes = ?, "
+                          + "max_capacity = GREATEST(?, current_enrollment) "
+                          + "WHERE series_id = ? AND schedule >= ? RETURNING " + WorkoutClassDAO.CLASS_COLUMNS;
+        List<WorkoutClass> updated = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            long shiftMinutes;
+            try (PreparedStatement stmt = conn.prepareStatement(lockSql)) {
+                stmt.setInt(1, series.getId());
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (!rs.next()) {
+                        conn.rollback();
+                        return null;
+                    }
+                    shiftMinutes = Duration.between(rs.getTimestamp(1).toLocalDateTime(), series.getStartsAt()).toMinutes();
+                }
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement(seriesSql)) {
+                stmt.setString(1, series.getName());
+                stmt.setString(2, series.getDescription());
+                stmt.setString(3, series.getType());
+                stmt.setTimestamp(4, Timestamp.valueOf(series.getStartsAt()));
+                stmt.setInt(5, series.getDurationMinutes());
+                stmt.setInt(6, series.getMaxCapacity());
+                stmt.setLong(7, shiftMinutes);
+                stmt.setInt(8, series.getId());
+                stmt.executeUpdate();
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement(classesSql)) {
+                stmt.setString(1, series.getName());
+                stmt.setString(2, series.getDescription());
+                stmt.setString(3, series.getType());
+                stmt.setLong(4, shiftMinutes);
+                stmt.setInt(5, series.getDurationMinutes());
+                stmt.setInt(6, series.getMaxCapacity());
+                stmt.setInt(7, series.getId());
+                stmt.setTimestamp(8, Timestamp.valueOf(from));
+                try (ResultSet rs = stmt.executeQuery()) {
+                    RowMapper<WorkoutClass> mapper = WorkoutClassDAO.classMapper(classesSql, rs);
+                    while (rs.next()) {
+                        updated.add(mapper.mapRow(rs));
+                    }
+                }
+            }
+
+            conn.commit();
+        } catch (SQLException e) {
+            if (EXCLUSION_VIOLATION.equals(e.getSQLState()) || UNIQUE_VIOLATION.equals(e.getSQLState())) {
+                logger.warn("Update of class series ID {} would overlap other classes", series.getId());
+                return null;
+            }
+            logger.error("Failed to update class series ID: {}", series.getId(), e);
+            throw new DatabaseException("Failed to update class series", e);
+        }
+
+        WorkoutClassDAO.applyCommitted(updated);
+        return updated;
+    }
+
+    /**
+     * Inserts the occurrences of a batch of series with a single statement.
+     *
+     * @param conn The connection holding the open transaction.
+     * @param batch The series the occurrences belong to.
+     * @param occurrences The start times to insert, keyed by series ID.
+     * @return The classes created; occurrences that already exist or would double-book the
+     *         trainer are skipped.
+     * @throws SQLException If a database access error occurs.
+     */
+    private List<WorkoutClass> insertOccurrences(Connection conn, List<ClassSeries> batch,
+                                                 Map<Integer, List<LocalDateTime>> occurrences) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        List<Timestamp> startsAt = new ArrayList<>();
+        List<Timestamp> schedules = new ArrayList<>();
+        for (ClassSeries series : batch) {
+            Timestamp start = Timestamp.valueOf(series.getStartsAt());
+            for (LocalDateTime occurrence : occurrences.getOrDefault(series.getId(), Collections.emptyList())) {
+                ids.add(series.getId());
+                startsAt.add(start);
+                schedules.add(Timestamp.valueOf(occurrence));
+            }
+        }
+        List<WorkoutClass> created = new ArrayList<>();
+        if (ids.isEmpty()) {
+            return created;
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_OCCURRENCES_SQL)) {
+            stmt.setArray(1, conn.createArrayOf("int4", ids.toArray()));
+            stmt.setArray(2, conn.createArrayOf("timestamp", startsAt.toArray()));
+            stmt.setArray(3, conn.createArrayOf("timestamp", schedules.toArray()));
+            try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper<WorkoutClass> mapper = WorkoutClassDAO.classMapper(INSERT_OCCURRENCES_SQL, rs);
+                while (rs.next()) {
+                    created.add(mapper.mapRow(rs));
+                }
+            }
+        }
+        if (created.size() < ids.size()) {
+            logger.info("Skipped {} of {} class occurrences that already existed or overlapped a trainer's classes",
+                ids.size() - created.size(), ids.size());
+        }
+        return created;
+    }
+
+    /**
+     * Compiles a mapper that reads a {@link ClassSeries} by column index.
+     *
+     * @param columns The columns returned by the query.
+     * @return A {@link RowMapper} producing {@link ClassSeries} objects.
+     * @throws SQLException If the query does not return a series column.
+     */
+    private static RowMapper<ClassSeries> compileSeriesMapper(ColumnIndexes columns) throws SQLException {
+        int id = columns.require("series_id");
+        int name = columns.require("name");
+        int description = columns.require("description");
+        int type = columns.require("type");
+        int trainerId = columns.require("trainer_id");
+        int startsAt = columns.require("starts_at");
+        int durationMinutes = columns.require("duration_minutes");
+        int maxCapacity = columns.require("max_capacity");
+        int rrule = columns.require("rrule");
+        int materializedUntil = columns.require("materialized_until");
+        int complete = columns.require("complete");
+        return rs -> {
+            ClassSeries series = new ClassSeries();
+            series.setId(rs.getInt(id));
+            series.setName(rs.getString(name));
+            series.setDescription(rs.getString(description));
+            series.setType(rs.getString(type));
+            series.setTrainerId(rs.getInt(trainerId));
+            series.setStartsAt(rs.getTimestamp(startsAt).toLocalDateTime());
+            series.setDurationMinutes(rs.getInt(durationMinutes));
+            series.setMaxCapacity(rs.getInt(maxCapacity));
+            series.setRule(RecurrenceRule.parse(rs.getString(rrule)));
+            series.setMaterializedUntil(rs.getTimestamp(materializedUntil).toLocalDateTime());
+            series.setComplete(rs.getBoolean(complete));
+            return series;
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package com.gymmanagement.dao;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Column label to 1-based index lookup, built once from a query's {@link ResultSetMetaData}.
+ * Labels are matched case-insensitively, as JDBC does for name-based getters.
+ */
+final class ColumnIndexes {
+    private final Map<String, Integer> indexes;
+
+    private ColumnIndexes(Map<String, Integer> indexes) {
+        this.indexes = indexes;
+    }
+
+    /**
+     * Reads the column labels of a result set. If a label repeats, the first column wins,
+     * matching {@code ResultSet.findColumn}.
+     *
+     * @param meta The result set's metadata.
+     * @return The lookup table.
+     * @throws SQLException If the metadata cannot be read.
+     */
+    static ColumnIndexes of(ResultSetMetaData meta) throws SQLException {
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = meta.getColumnCount(); i >= 1; i--) {
+            indexes.put(meta.getColumnLabel(i).toLowerCase(Locale.ROOT), i);
+        }
+        return new ColumnIndexes(indexes);
+    }
+
+    /**
+     * Finds the index of a column the query must return.
+     *
+     * @param label The column label.
+     * @return The 1-based column index.
+     * @throws SQLException If the query does not return the column.
+     */
+    int require(String label) throws SQLException {
+        Integer index = indexes.get(label.toLowerCase(Locale.ROOT));
+        if (index == null) {
+            throw new SQLException("Query does not return column: " + label);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,56 @@
+package com.gymmanagement.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.function.Consumer;
+
+import com.gymmanagement.config.DatabaseConfig;
+import com.gymmanagement.config.Workload;
+
+/**
+ * Reads large result sets row by row through a server-side cursor.
+ *
+ * <p>The PostgreSQL driver only honours a fetch size when autocommit is off, so the query runs
+ * inside a read-only transaction on a {@link Workload#REPORTING} connection and rows are fetched
+ * in chunks of the reporting fetch size. Only one chunk is held in memory at a time.</p>
+ */
+final class CursorReader {
+    private static final int DEFAULT_FETCH_SIZE = 500;
+
+    private CursorReader() {}
+
+    /**
+     * Runs a query and hands each mapped row to a callback as it is read.
+     *
+     * @param <T> The type produced for each row.
+     * @param sql The query to run; it must not take parameters.
+     * @param mappers Supplies the compiled mapper for the query.
+     * @param action Receives each mapped row.
+     * @return The number of rows read.
+     * @throws SQLException If a database access error occurs.
+     */
+    static <T> long forEach(String sql, MapperCache<T> mappers, Consumer<? super T> action) throws SQLException {
+        int fetchSize = DatabaseConfig.getSettings(Workload.REPORTING).getFetchSize();
+        long rows = 0;
+
+        try (Connection conn = DatabaseConfig.getConnection(Workload.REPORTING)) {
+            conn.setAutoCommit(false);
+            conn.setReadOnly(true);
+            try (PreparedStatement stmt = conn.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                stmt.setFetchSize(fetchSize > 0 ? fetchSize : DEFAULT_FETCH_SIZE);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    RowMapper<T> mapper = mappers.forQuery(sql, rs);
+                    while (rs.next()) {
+                        action.accept(mapper.mapRow(rs));
+                        rows++;
+                    }
+                }
+            }
+            conn.commit();
+        }
+        return rows;
+    }
+}
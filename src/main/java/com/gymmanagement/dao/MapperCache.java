@@ -0,0 +1,69 @@
+package com.gymmanagement.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Caches one compiled {@link RowMapper} per SQL string.
+ *
+ * <p>Looking a column up by name makes the driver search the column labels for every column of
+ * every row. A compiled mapper instead resolves each column's index once, from the first result
+ * set a query produces, and reads by index from then on. Because a given SQL string always
+ * returns the same columns, the compiled mapper is reused for every later execution.</p>
+ *
+ * @param <T> The type the mappers produce.
+ */
+final class MapperCache<T> {
+
+    /**
+     * Builds a mapper for a particular column layout.
+     *
+     * @param <T> The type the mapper produces.
+     */
+    @FunctionalInterface
+    interface Compiler<T> {
+
+        /**
+         * Resolves the column indexes the mapper needs and returns a mapper that reads by index.
+         *
+         * @param columns The query's columns.
+         * @return The compiled mapper.
+         * @throws SQLException If a required column is missing.
+         */
+        RowMapper<T> compile(ColumnIndexes columns) throws SQLException;
+    }
+
+    private final Compiler<T> compiler;
+    private final ConcurrentMap<String, RowMapper<T>> mappers = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param compiler Builds a mapper for each new query.
+     */
+    MapperCache(Compiler<T> compiler) {
+        this.compiler = compiler;
+    }
+
+    /**
+     * Returns the mapper for a query, compiling it from the result set's metadata on first use.
+     *
+     * @param sql The SQL string that produced the result set; used as the cache key.
+     * @param rs The query's result set.
+     * @return The compiled mapper.
+     * @throws SQLException If the metadata cannot be read or a required column is missing.
+     */
+    RowMapper<T> forQuery(String sql, ResultSet rs) throws SQLException {
+        RowMapper<T> mapper = mappers.get(sql);
+        if (mapper == null) {
+            mapper = compiler.compile(ColumnIndexes.of(rs.getMetaData()));
+            RowMapper<T> existing = mappers.putIfAbsent(sql, mapper);
+            if (existing != null) {
+                mapper = existing;
+            }
+        }
+        return mapper;
+    }
+}
@@ -1,29 +1,52 @@
 package com.gymmanagement.dao;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.sql.Connection;
 import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.gymmanagement.config.DatabaseConfig;
+import com.gymmanagement.config.Workload;
 import com.gymmanagement.exception.DatabaseException;
 import com.gymmanagement.model.Membership;
+import com.gymmanagement.model.MembershipExpiry;
+import com.gymmanagement.model.RevenueReport;
+import com.gymmanagement.model.TypeRevenue;
 
 /**
  * Data Access Object (DAO) class for performing database operations on memberships.
  * Provides methods for creating, retrieving, and calculating data related to memberships.
+ *
+ * <p>Every write through this DAO also updates the {@code revenue_summary} and
+ * {@code revenue_daily} tables in the same transaction and, after commit, their shared in-memory
+ * copies ({@link RevenueAggregateStore} and the store behind {@link RevenueRollupDAO}), so revenue
+ * reports never have to scan {@code memberships}.</p>
  */
 public class MembershipDAO {
     private static final Logger logger = LoggerFactory.getLogger(MembershipDAO.class);
+    private static final MapperCache<Membership> MEMBERSHIP_MAPPERS =
+        new MapperCache<>(MembershipDAO::compileMembershipMapper);
+    private static final String PAID = "PAID";
+    private static final String MEMBERSHIP_COLUMNS =
+        "membership_id, user_id, type, description, start_date, end_date, price, payment_status, status";
+
+    /** Revenue totals per membership type, shared by every DAO instance. */
+    private static final RevenueAggregateStore REVENUE = new RevenueAggregateStore();
 
     /**
      * Default constructor for creating an instance of the DAO.
@@ -31,7 +54,8 @@ public class MembershipDAO {
     public MembershipDAO() {}
 
     /**
-     * Creates a new membership in the database.
+     * Creates a new membership in the database and adds it to the revenue summary and the
+     * daily revenue rollup in the same transaction.
      * 
      * @param membership The {@link Membership} object containing membership details.
      * @return {@code true} if the membership was created successfully, {@code false} otherwise.
@@ -40,16 +64,86 @@ public class MembershipDAO {
     public boolean create(Membership membership) throws DatabaseException {
         String sql = "INSERT INTO memberships (user_id, type, description, start_date, end_date, price, payment_status) "
                    + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        BigDecimal price = toMoney(membership.getPrice());
+        boolean paid = PAID.equals(membership.getPaymentStatus());
+        BigDecimal paidRevenue = paid ? price : BigDecimal.ZERO;
         
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            setMembershipParameters(stmt, membership);
-            return stmt.executeUpdate() > 0;
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                setMembershipParameters(stmt, membership);
+                if (stmt.executeUpdate() == 0) {
+                    conn.rollback();
+                    return false;
+                }
+            }
+            adjustSummary(conn, membership.getType(), 1, price, paid ? 1 : 0, paidRevenue);
+            RevenueRollupDAO.adjustDay(conn, membership.getStartDate(), membership.getType(),
+                1, price, paid ? 1 : 0, paidRevenue);
+            conn.commit();
         } catch (SQLException e) {
             logger.error("Create failed for user {}", membership.getUserId(), e);
             throw new DatabaseException("Membership creation failed.", e);
         }
+
+        REVENUE.apply(membership.getType(), 1, price, paid ? 1 : 0, paidRevenue);
+        RevenueRollupDAO.applyCommitted(membership.getStartDate(), membership.getType(),
+            1, price, paid ? 1 : 0, paidRevenue);
+        return true;
+    }
+
+    /**
+     * Changes a membership's payment status and moves its price into or out of paid revenue
+     * in the revenue summary and the daily revenue rollup, in the same transaction.
+     * 
+     * @param membershipId The ID of the membership.
+     * @param paymentStatus The new payment status, for example {@code PAID}.
+     * @return {@code true} if the membership exists, {@code false} otherwise.
+     * @throws DatabaseException If a database access error occurs or the operation fails.
+     */
+    public boolean updatePaymentStatus(int membershipId, String paymentStatus) throws DatabaseException {
+        String sql = "UPDATE memberships m SET payment_status = ? "
+                   + "FROM (SELECT membership_id, payment_status FROM memberships WHERE membership_id = ? FOR UPDATE) old "
+                   + "WHERE m.membership_id = old.membership_id "
+                   + "RETURNING m.type, m.price, old.payment_status, m.start_date";
+        String type;
+        BigDecimal price;
+        LocalDate startDate;
+        int paidCountDelta;
+        BigDecimal paidDelta;
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, paymentStatus);
+                stmt.setInt(2, membershipId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (!rs.next()) {
+                        conn.rollback();
+                        return false;
+                    }
+                    type = rs.getString(1);
+                    price = rs.getBigDecimal(2);
+                    paidCountDelta = (PAID.equals(paymentStatus) ? 1 : 0) - (PAID.equals(rs.getString(3)) ? 1 : 0);
+                    startDate = rs.getDate(4).toLocalDate();
+                }
+            }
+            paidDelta = price.multiply(BigDecimal.valueOf(paidCountDelta));
+            if (paidCountDelta != 0) {
+                adjustSummary(conn, type, 0, BigDecimal.ZERO, paidCountDelta, paidDelta);
+                RevenueRollupDAO.adjustDay(conn, startDate, type, 0, BigDecimal.ZERO, paidCountDelta, paidDelta);
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            logger.error("Payment status update failed for membership {}", membershipId, e);
+            throw new DatabaseException("Payment status update failed.", e);
+        }
+
+        if (paidCountDelta != 0) {
+            REVENUE.apply(type, 0, BigDecimal.ZERO, paidCountDelta, paidDelta);
+            RevenueRollupDAO.applyCommitted(startDate, type, 0, BigDecimal.ZERO, paidCountDelta, paidDelta);
+        }
+        return true;
     }
 
     /**
@@ -60,7 +154,7 @@ public class MembershipDAO {
      * @throws DatabaseException If a database access error occurs or the operation fails.
      */
     public List<Membership> findByUserId(int userId) throws DatabaseException {
-        String sql = "SELECT * FROM memberships WHERE user_id = ?";
+        String sql = "SELECT " + MEMBERSHIP_COLUMNS + " FROM memberships WHERE user_id = ?";
         List<Membership> memberships = new ArrayList<>();
         
         try (Connection conn = DatabaseConfig.getConnection();
@@ -68,8 +162,9 @@ public class MembershipDAO {
             
             stmt.setInt(1, userId);
             try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper<Membership> mapper = MEMBERSHIP_MAPPERS.forQuery(sql, rs);
                 while (rs.next()) {
-                    memberships.add(mapResultSetToMembership(rs));
+                    memberships.add(mapper.mapRow(rs));
                 }
             }
             return memberships;
@@ -80,62 +175,285 @@ public class MembershipDAO {
     }
 
     /**
-     * Calculates the total revenue grouped by membership type.
+     * Streams every active membership that has not ended yet, ordered by user, without holding
+     * the whole result in memory.
      * 
-     * @return A {@link Map} where the key is the membership type and the value is the total revenue.
-     * @throws SQLException If a database access error occurs.
+     * @param action Receives each membership as it is read.
+     * @return The number of memberships read.
+     * @throws DatabaseException If a database access error occurs or the operation fails.
      */
-    public Map<String, Double> calculateRevenueByType() throws SQLException {
-        Map<String, Double> revenueByType = new LinkedHashMap<>();
-        String sql = "SELECT type, SUM(price) FROM memberships GROUP BY type";
-        
+    public long streamActive(Consumer<? super Membership> action) throws DatabaseException {
+        String sql = "SELECT " + MEMBERSHIP_COLUMNS + " FROM memberships "
+                   + "WHERE status = 'ACTIVE' AND end_date >= CURRENT_DATE ORDER BY user_id";
+        try {
+            return CursorReader.forEach(sql, MEMBERSHIP_MAPPERS, action);
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to retrieve active memberships.", e);
+        }
+    }
+
+    /**
+     * Checks whether a user holds an active membership on a day.
+     * 
+     * @param userId The ID of the user.
+     * @param day The day to check.
+     * @return {@code true} if an active membership covers the day.
+     * @throws DatabaseException If a database access error occurs or the operation fails.
+     */
+    public boolean hasActiveMembership(int userId, LocalDate day) throws DatabaseException {
+        String sql = "SELECT EXISTS (SELECT 1 FROM memberships WHERE user_id = ? AND status = 'ACTIVE' "
+                   + "AND start_date <= ? AND end_date >= ?)";
+
         try (Connection conn = DatabaseConfig.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            while (rs.next()) {
-                revenueByType.put(rs.getString(1), rs.getDouble(2));
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, userId);
+            stmt.setDate(2, Date.valueOf(day));
+            stmt.setDate(3, Date.valueOf(day));
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
             }
+        } catch (SQLException e) {
+            logger.error("Active membership check failed for user {}", userId, e);
+            throw new DatabaseException("Active membership check failed.", e);
         }
-        return revenueByType;
     }
 
     /**
-     * Counts memberships grouped by membership type.
+     * Expires the next chunk of active memberships whose end date is before {@code today}, oldest
+     * end date first, in a single statement. Rows locked by another expiry run are skipped, so
+     * concurrent runs share the work instead of waiting on each other.
      * 
-     * @return A {@link Map} where the key is the membership type and the value is the count of memberships.
-     * @throws SQLException If a database access error occurs.
+     * @param today The current date; memberships ending on this day stay active.
+     * @param limit The maximum number of memberships to expire.
+     * @return The expired memberships in end date order; fewer than {@code limit} once nothing more is due.
+     * @throws DatabaseException If a database access error occurs; no membership is changed in that case.
      */
-    public Map<String, Integer> countMembershipsByType() throws SQLException {
-        Map<String, Integer> counts = new LinkedHashMap<>();
-        String sql = "SELECT type, COUNT(*) FROM memberships GROUP BY type";
-        
+    public List<MembershipExpiry> expireDue(LocalDate today, int limit) throws DatabaseException {
+        String sql = "WITH due AS ("
+                   + "SELECT membership_id FROM memberships "
+                   + "WHERE status = 'ACTIVE' AND end_date < ? "
+                   + "ORDER BY end_date, membership_id LIMIT ? FOR UPDATE SKIP LOCKED) "
+                   + "UPDATE memberships m SET status = 'EXPIRED' FROM due "
+                   + "WHERE m.membership_id = due.membership_id "
+                   + "RETURNING m.membership_id, m.user_id, m.type, m.end_date";
+        List<MembershipExpiry> expired = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setDate(1, Date.valueOf(today));
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    expired.add(new MembershipExpiry(rs.getInt(1), rs.getInt(2), rs.getString(3),
+                        rs.getDate(4).toLocalDate()));
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to expire memberships due before {}", today, e);
+            throw new DatabaseException("Failed to expire memberships.", e);
+        }
+        // UPDATE ... RETURNING does not keep the CTE's order
+        expired.sort(Comparator.comparing(MembershipExpiry::getEndDate)
+            .thenComparingInt(MembershipExpiry::getMembershipId));
+        return expired;
+    }
+
+    /**
+     * Retrieves revenue totals per membership type from the revenue summary. The totals are
+     * served from memory; the {@code revenue_summary} table is only read on first use or after
+     * a rebuild, and {@code memberships} is never scanned.
+     * 
+     * @return An unmodifiable {@link Map} of membership type to {@link TypeRevenue}, ordered by type.
+     * @throws DatabaseException If the summary has to be loaded and the read fails.
+     */
+    public Map<String, TypeRevenue> getRevenueSummary() throws DatabaseException {
+        Map<String, TypeRevenue> current = REVENUE.snapshot();
+        if (current != null) {
+            return current;
+        }
+
+        String sql = "SELECT type, membership_count, total_price, paid_count, paid_revenue FROM revenue_summary";
+        Map<String, TypeRevenue> loaded = new TreeMap<>();
+        long generation = REVENUE.generation();
+
         try (Connection conn = DatabaseConfig.getConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
-            
+
             while (rs.next()) {
-                counts.put(rs.getString(1), rs.getInt(2));
+                String type = rs.getString(1);
+                loaded.put(type, new TypeRevenue(type, rs.getLong(2), rs.getBigDecimal(3), rs.getLong(4), rs.getBigDecimal(5)));
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to load revenue summary", e);
+            throw new DatabaseException("Failed to load revenue summary.", e);
+        }
+
+        REVENUE.replace(loaded, generation);
+        return Collections.unmodifiableMap(loaded);
+    }
+
+    /**
+     * Computes a revenue report directly from the {@code memberships} table in one grouped
+     * query. Per-type rows and the grand total come from the same statement, so they are read
+     * from a single snapshot and always agree.
+     * 
+     * @return The {@link RevenueReport}.
+     * @throws DatabaseException If a database access error occurs.
+     */
+    public RevenueReport computeRevenueReport() throws DatabaseException {
+        String sql = "SELECT GROUPING(type), type, COUNT(*), COALESCE(SUM(price), 0), "
+                   + "COUNT(*) FILTER (WHERE payment_status = 'PAID'), "
+                   + "COALESCE(SUM(price) FILTER (WHERE payment_status = 'PAID'), 0) "
+                   + "FROM memberships GROUP BY GROUPING SETS ((type), ())";
+        Map<String, TypeRevenue> byType = new TreeMap<>();
+        TypeRevenue total = null;
+
+        try (Connection conn = DatabaseConfig.getConnection(Workload.REPORTING)) {
+            conn.setReadOnly(true);
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(sql)) {
+
+                while (rs.next()) {
+                    // The empty grouping set yields exactly one row, even when there are no memberships
+                    boolean grandTotal = rs.getInt(1) == 1;
+                    String type = grandTotal ? RevenueReport.TOTAL : rs.getString(2);
+                    TypeRevenue totals = new TypeRevenue(type, rs.getLong(3), rs.getBigDecimal(4),
+                        rs.getLong(5), rs.getBigDecimal(6));
+                    if (grandTotal) {
+                        total = totals;
+                    } else {
+                        byType.put(type, totals);
+                    }
+                }
             }
+        } catch (SQLException e) {
+            logger.error("Failed to compute revenue report", e);
+            throw new DatabaseException("Failed to compute revenue report.", e);
         }
-        return counts;
+        return new RevenueReport(byType, total);
     }
 
     /**
-     * Calculates the total revenue from paid memberships.
+     * Recomputes the revenue summary from the {@code memberships} table, repairing any drift.
+     * Membership writes are held back while the summary is rebuilt.
      * 
-     * @return The total revenue as a {@code double}. Returns 0.0 if no paid memberships exist.
+     * @return The rebuilt totals per membership type.
+     * @throws DatabaseException If a database access error occurs; the old summary is kept in that case.
+     */
+    public Map<String, TypeRevenue> rebuildRevenueSummary() throws DatabaseException {
+        String rebuildSql = "INSERT INTO revenue_summary (type, membership_count, total_price, paid_count, paid_revenue) "
+                          + "SELECT type, COUNT(*), COALESCE(SUM(price), 0), "
+                          + "COUNT(*) FILTER (WHERE payment_status = 'PAID'), "
+                          + "COALESCE(SUM(price) FILTER (WHERE payment_status = 'PAID'), 0) "
+                          + "FROM memberships GROUP BY type";
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                // memberships first, then revenue_summary: the same order every writer uses
+                stmt.execute("LOCK TABLE memberships IN SHARE MODE");
+                stmt.executeUpdate("DELETE FROM revenue_summary");
+                stmt.executeUpdate(rebuildSql);
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            logger.error("Failed to rebuild revenue summary", e);
+            throw new DatabaseException("Failed to rebuild revenue summary.", e);
+        } finally {
+            REVENUE.invalidate();
+        }
+        return getRevenueSummary();
+    }
+
+    /**
+     * Deletes every membership a user holds and subtracts them from the revenue summary and the
+     * daily revenue rollup, inside the caller's transaction. Call {@link #invalidateRevenueSnapshot()} once it commits.
+     * 
+     * @param conn The connection holding the open transaction.
+     * @param userId The ID of the user.
      * @throws SQLException If a database access error occurs.
      */
-    public double calculateTotalRevenue() throws SQLException {
-        String sql = "SELECT SUM(price) AS total FROM memberships WHERE payment_status = 'PAID'";
-        
-        try (Connection conn = DatabaseConfig.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            return rs.next() ? rs.getDouble("total") : 0.0;
+    static void deleteAllForUser(Connection conn, int userId) throws SQLException {
+        String deleteSql = "DELETE FROM memberships WHERE user_id = ? RETURNING type, price, payment_status, start_date";
+        Map<String, TypeRevenue> removed = new TreeMap<>();
+        Map<LocalDate, Map<String, TypeRevenue>> removedByDay = new TreeMap<>();
+
+        try (PreparedStatement stmt = conn.prepareStatement(deleteSql)) {
+            stmt.setInt(1, userId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String type = rs.getString(1);
+                    BigDecimal price = rs.getBigDecimal(2);
+                    boolean paid = PAID.equals(rs.getString(3));
+                    TypeRevenue one = new TypeRevenue(type, 1, price, paid ? 1 : 0, paid ? price : BigDecimal.ZERO);
+                    removed.merge(type, one, TypeRevenue::plus);
+                    removedByDay.computeIfAbsent(rs.getDate(4).toLocalDate(), day -> new TreeMap<>())
+                        .merge(type, one, TypeRevenue::plus);
+                }
+            }
         }
+        for (TypeRevenue totals : removed.values()) {
+            adjustSummary(conn, totals.getType(), -totals.getMembershipCount(), totals.getTotalPrice().negate(),
+                -totals.getPaidCount(), totals.getPaidRevenue().negate());
+        }
+        for (Map.Entry<LocalDate, Map<String, TypeRevenue>> day : removedByDay.entrySet()) {
+            for (TypeRevenue totals : day.getValue().values()) {
+                RevenueRollupDAO.adjustDay(conn, day.getKey(), totals.getType(), -totals.getMembershipCount(),
+                    totals.getTotalPrice().negate(), -totals.getPaidCount(), totals.getPaidRevenue().negate());
+            }
+        }
+    }
+
+    /**
+     * Drops the in-memory revenue snapshot and daily rollup so the next report reloads them
+     * from their tables.
+     */
+    static void invalidateRevenueSnapshot() {
+        REVENUE.invalidate();
+        RevenueRollupDAO.invalidate();
+    }
+
+    /**
+     * Adds a change to one type's row in the revenue summary, creating the row if needed.
+     * 
+     * @param conn The connection holding the open transaction.
+     * @param type The membership type.
+     * @param countDelta Change in the number of memberships.
+     * @param priceDelta Change in the summed price.
+     * @param paidCountDelta Change in the number of paid memberships.
+     * @param paidDelta Change in paid revenue.
+     * @throws SQLException If a database access error occurs.
+     */
+    private static void adjustSummary(Connection conn, String type, long countDelta, BigDecimal priceDelta,
+                                      long paidCountDelta, BigDecimal paidDelta) throws SQLException {
+        String sql = "INSERT INTO revenue_summary (type, membership_count, total_price, paid_count, paid_revenue) "
+                   + "VALUES (?, ?, ?, ?, ?) ON CONFLICT (type) DO UPDATE SET "
+                   + "membership_count = revenue_summary.membership_count + EXCLUDED.membership_count, "
+                   + "total_price = revenue_summary.total_price + EXCLUDED.total_price, "
+                   + "paid_count = revenue_summary.paid_count + EXCLUDED.paid_count, "
+                   + "paid_revenue = revenue_summary.paid_revenue + EXCLUDED.paid_revenue";
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, type);
+            stmt.setLong(2, countDelta);
+            stmt.setBigDecimal(3, priceDelta);
+            stmt.setLong(4, paidCountDelta);
+            stmt.setBigDecimal(5, paidDelta);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Converts a price to the two-decimal form stored in the database.
+     * 
+     * @param price The price.
+     * @return The price as a {@link BigDecimal} with scale 2.
+     */
+    private static BigDecimal toMoney(double price) {
+        return BigDecimal.valueOf(price).setScale(2, RoundingMode.HALF_UP);
     }
 
     /**
@@ -156,22 +474,34 @@ public class MembershipDAO {
     }
 
     /**
-     * Maps the result set of a database query to a {@link Membership} object.
+     * Compiles a mapper that reads a {@link Membership} by column index.
      * 
-     * @param rs The {@link ResultSet} from a database query.
-     * @return A {@link Membership} object populated with data from the result set.
-     * @throws SQLException If an error occurs while reading the result set.
-     */
-    private Membership mapResultSetToMembership(ResultSet rs) throws SQLException {
-        Membership m = new Membership();
-        m.setId(rs.getInt("membership_id"));
-        m.setUserId(rs.getInt("user_id"));
-        m.setType(rs.getString("type"));
-        m.setDescription(rs.getString("description"));
-        m.setStartDate(rs.getDate("start_date").toLocalDate());
-        m.setEndDate(rs.getDate("end_date").toLocalDate());
-        m.setPrice(rs.getDouble("price"));
-        m.setPaymentStatus(rs.getString("payment_status"));
-        return m;
+     * @param columns The columns returned by the query.
+     * @return A {@link RowMapper} producing {@link Membership} objects.
+     * @throws SQLException If the query does not return a membership column.
+     */
+    static RowMapper<Membership> compileMembershipMapper(ColumnIndexes columns) throws SQLException {
+        int id = columns.require("membership_id");
+        int userId = columns.require("user_id");
+        int type = columns.require("type");
+        int description = columns.require("description");
+        int startDate = columns.require("start_date");
+        int endDate = columns.require("end_date");
+        int price = columns.require("price");
+        int paymentStatus = columns.require("payment_status");
+        int status = columns.require("status");
+        return rs -> {
+            Membership m = new Membership();
+            m.setId(rs.getInt(id));
+            m.setUserId(rs.getInt(userId));
+            m.setType(rs.getString(type));
+            m.setDescription(rs.getString(description));
+            m.setStartDate(rs.getDate(startDate).toLocalDate());
+            m.setEndDate(rs.getDate(endDate).toLocalDate());
+            m.setPrice(rs.getDouble(price));
+            m.setPaymentStatus(rs.getString(paymentStatus));
+            m.setStatus(rs.getString(status));
+            return m;
+        };
     }
 }
@@ -0,0 +1,274 @@
+package com.gymmanagement.dao;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.gymmanagement.config.DatabaseConfig;
+import com.gymmanagement.config.Workload;
+import com.gymmanagement.exception.DatabaseException;
+import com.gymmanagement.model.OccupancyStats;
+import com.gymmanagement.model.SlotStats;
+
+/**
+ * Data Access Object for the {@code class_slot_stats} rollup: class occupancy per week, type,
+ * trainer, weekday and start hour.
+ *
+ * <p>Triggers on {@code workout_classes}, {@code class_enrollments} and {@code class_waitlist}
+ * record every class whose slot, capacity, enrollments or waitlist change in
+ * {@code occupancy_dirty_classes}. {@link #processNextChunk(LocalDateTime, int)} recounts those
+ * classes once they have started. What each class added to the rollup is kept in
+ * {@code class_occupancy_counted}, so a recount first takes the old figures out of the slot they
+ * were added to and then adds the class as it stands now. A class moved to another slot, deleted,
+ * back-dated or enrolled in after it started is therefore counted once, in its current slot.</p>
+ */
+public class OccupancyRollupDAO {
+    private static final Logger logger = LoggerFactory.getLogger(OccupancyRollupDAO.class);
+    private static final String ROLLUP = "class_slot_stats";
+
+    /**
+     * Default constructor for creating an instance of the DAO.
+     */
+    public OccupancyRollupDAO() {}
+
+    /**
+     * Retrieves the time of the last pass that counted every changed class which had started.
+     *
+     * @return The time, or {@code null} if no pass has caught up since the rollup was reset.
+     * @throws DatabaseException If a database access error occurs.
+     */
+    public LocalDateTime getProcessedThrough() throws DatabaseException {
+        String sql = "SELECT processed_through FROM occupancy_rollup_state WHERE rollup = ?";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, ROLLUP);
+            try (ResultSet rs = stmt.executeQuery()) {
+                Timestamp through = rs.next() ? rs.getTimestamp(1) : null;
+                return through == null ? null : through.toLocalDateTime();
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to read occupancy rollup state", e);
+            throw new DatabaseException("Failed to read occupancy rollup state.", e);
+        }
+    }
+
+    /**
+     * Recounts the next changed classes in one transaction. A class is recounted once it has
+     * started, or straight away if it was counted before and has since been deleted or moved
+     * into the future; in that case it is counted again once it starts. Enrollments and waitlist
+     * entries are counted per class with index lookups.
+     *
+     * <p>The state row is locked for the whole transaction, so concurrent runs take turns. The
+     * changed classes are locked as well, so an enrollment made during the recount waits for it
+     * to commit and then marks the class for the next one.</p>
+     *
+     * @param now Classes starting after this are left for a later run.
+     * @param chunkSize Number of classes to recount; at least 1.
+     * @return The number of classes recounted; fewer than {@code chunkSize} once every started
+     *         class has been counted.
+     * @throws DatabaseException If a database access error occurs; the chunk is rolled back.
+     */
+    public int processNextChunk(LocalDateTime now, int chunkSize) throws DatabaseException {
+        String stateSql = "INSERT INTO occupancy_rollup_state (rollup) VALUES (?) ON CONFLICT (rollup) DO NOTHING";
+        String lockSql = "SELECT processed_through FROM occupancy_rollup_state WHERE rollup = ? FOR UPDATE";
+        String pickSql = "SELECT d.class_id FROM occupancy_dirty_classes d "
+                       + "LEFT JOIN workout_classes w ON w.class_id = d.class_id "
+                       + "WHERE w.class_id IS NULL OR w.schedule <= ? "
+                       + "OR EXISTS (SELECT 1 FROM class_occupancy_counted c WHERE c.class_id = d.class_id) "
+                       + "ORDER BY d.class_id LIMIT ? FOR UPDATE OF d";
+        String subtractSql = "WITH old AS (DELETE FROM class_occupancy_counted WHERE class_id = ANY(?) RETURNING *) "
+                           + "UPDATE class_slot_stats s SET "
+                           + "class_count = s.class_count - o.class_count, "
+                           + "seats_offered = s.seats_offered - o.seats_offered, "
+                           + "seats_taken = s.seats_taken - o.seats_taken, "
+                           + "waitlisted = s.waitlisted - o.waitlisted, "
+                           + "lead_minutes = s.lead_minutes - o.lead_minutes "
+                           + "FROM (SELECT week_start, type, trainer_id, weekday, hour, COUNT(*) AS class_count, "
+                           + "SUM(seats_offered) AS seats_offered, SUM(seats_taken) AS seats_taken, "
+                           + "SUM(waitlisted) AS waitlisted, SUM(lead_minutes) AS lead_minutes "
+                           + "FROM old GROUP BY 1, 2, 3, 4, 5) o "
+                           + "WHERE s.week_start = o.week_start AND s.type = o.type AND s.trainer_id = o.trainer_id "
+                           + "AND s.weekday = o.weekday AND s.hour = o.hour";
+        String addSql = "WITH counted AS (INSERT INTO class_occupancy_counted (class_id, week_start, type, trainer_id, "
+                      + "weekday, hour, seats_offered, seats_taken, waitlisted, lead_minutes) "
+                      + "SELECT w.class_id, date_trunc('week', w.schedule)::date, w.type, COALESCE(w.trainer_id, 0), "
+                      + "EXTRACT(ISODOW FROM w.schedule)::smallint, EXTRACT(HOUR FROM w.schedule)::smallint, "
+                      + "w.max_capacity, e.taken, q.waiting, e.lead_minutes "
+                      + "FROM workout_classes w "
+                      + "CROSS JOIN LATERAL (SELECT COUNT(*) AS taken, COALESCE(SUM(GREATEST("
+                      + "EXTRACT(EPOCH FROM w.schedule - ce.enrolled_at), 0)) / 60, 0)::bigint AS lead_minutes "
+                      + "FROM class_enrollments ce WHERE ce.class_id = w.class_id) e "
+                      + "CROSS JOIN LATERAL (SELECT COUNT(*) AS waiting "
+                      + "FROM class_waitlist cw WHERE cw.class_id = w.class_id) q "
+                      + "WHERE w.class_id = ANY(?) AND w.schedule <= ? RETURNING *) "
+                      + "INSERT INTO class_slot_stats (week_start, type, trainer_id, weekday, hour, "
+                      + "class_count, seats_offered, seats_taken, waitlisted, lead_minutes) "
+                      + "SELECT week_start, type, trainer_id, weekday, hour, COUNT(*), SUM(seats_offered), "
+                      + "SUM(seats_taken), SUM(waitlisted), SUM(lead_minutes) FROM counted GROUP BY 1, 2, 3, 4, 5 "
+                      + "ON CONFLICT (week_start, type, trainer_id, weekday, hour) DO UPDATE SET "
+                      + "class_count = class_slot_stats.class_count + EXCLUDED.class_count, "
+                      + "seats_offered = class_slot_stats.seats_offered + EXCLUDED.seats_offered, "
+                      + "seats_taken = class_slot_stats.seats_taken + EXCLUDED.seats_taken, "
+                      + "waitlisted = class_slot_stats.waitlisted + EXCLUDED.waitlisted, "
+                      + "lead_minutes = class_slot_stats.lead_minutes + EXCLUDED.lead_minutes";
+        // Classes taken out because they moved into the future stay marked until they start
+        String doneSql = "DELETE FROM occupancy_dirty_classes d WHERE d.class_id = ANY(?) AND NOT EXISTS "
+                       + "(SELECT 1 FROM workout_classes w WHERE w.class_id = d.class_id AND w.schedule > ?)";
+        String advanceSql = "UPDATE occupancy_rollup_state SET processed_through = ? WHERE rollup = ?";
+        int limit = Math.max(1, chunkSize);
+        List<Integer> classIds = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                try (PreparedStatement stmt = conn.prepareStatement(stateSql)) {
+                    stmt.setString(1, ROLLUP);
+                    stmt.executeUpdate();
+                }
+                try (PreparedStatement stmt = conn.prepareStatement(lockSql)) {
+                    stmt.setString(1, ROLLUP);
+                    stmt.executeQuery().close();
+                }
+
+                try (PreparedStatement stmt = conn.prepareStatement(pickSql)) {
+                    stmt.setTimestamp(1, Timestamp.valueOf(now));
+                    stmt.setInt(2, limit);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            classIds.add(rs.getInt(1));
+                        }
+                    }
+                }
+
+                if (!classIds.isEmpty()) {
+                    Array ids = conn.createArrayOf("integer", classIds.toArray());
+                    try (PreparedStatement stmt = conn.prepareStatement(subtractSql)) {
+                        stmt.setArray(1, ids);
+                        stmt.executeUpdate();
+                    }
+                    try (PreparedStatement stmt = conn.prepareStatement(addSql)) {
+                        stmt.setArray(1, ids);
+                        stmt.setTimestamp(2, Timestamp.valueOf(now));
+                        stmt.executeUpdate();
+                    }
+                    try (PreparedStatement stmt = conn.prepareStatement(doneSql)) {
+                        stmt.setArray(1, ids);
+                        stmt.setTimestamp(2, Timestamp.valueOf(now));
+                        stmt.executeUpdate();
+                    }
+                }
+                if (classIds.size() < limit) {
+                    try (PreparedStatement stmt = conn.prepareStatement(advanceSql)) {
+                        stmt.setTimestamp(1, Timestamp.valueOf(now));
+                        stmt.setString(2, ROLLUP);
+                        stmt.executeUpdate();
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            logger.error("Occupancy rollup chunk failed", e);
+            throw new DatabaseException("Occupancy rollup chunk failed.", e);
+        }
+        return classIds.size();
+    }
+
+    /**
+     * Empties the rollup and marks every class as changed, so the next runs count the whole
+     * history again. Reports show partial figures until they have caught up.
+     *
+     * @throws DatabaseException If a database access error occurs; nothing is reset.
+     */
+    public void resetRollup() throws DatabaseException {
+        String stateSql = "INSERT INTO occupancy_rollup_state (rollup) VALUES (?) ON CONFLICT (rollup) DO NOTHING";
+        String lockSql = "SELECT processed_through FROM occupancy_rollup_state WHERE rollup = ? FOR UPDATE";
+        String markSql = "INSERT INTO occupancy_dirty_classes (class_id) SELECT class_id FROM workout_classes "
+                       + "ON CONFLICT (class_id) DO NOTHING";
+        String resetSql = "UPDATE occupancy_rollup_state SET processed_through = NULL WHERE rollup = ?";
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                try (PreparedStatement stmt = conn.prepareStatement(stateSql)) {
+                    stmt.setString(1, ROLLUP);
+                    stmt.executeUpdate();
+                }
+                try (PreparedStatement stmt = conn.prepareStatement(lockSql)) {
+                    stmt.setString(1, ROLLUP);
+                    stmt.executeQuery().close();
+                }
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.executeUpdate("DELETE FROM class_slot_stats");
+                    stmt.executeUpdate("DELETE FROM class_occupancy_counted");
+                    stmt.executeUpdate(markSql);
+                }
+                try (PreparedStatement stmt = conn.prepareStatement(resetSql)) {
+                    stmt.setString(1, ROLLUP);
+                    stmt.executeUpdate();
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to reset occupancy rollup", e);
+            throw new DatabaseException("Failed to reset occupancy rollup.", e);
+        }
+    }
+
+    /**
+     * Retrieves the slots of a range of weeks.
+     *
+     * @param fromWeek Any day of the first week to include.
+     * @param toWeek Any day of the last week to include.
+     * @return The slots that still hold a class, ordered by week, type, weekday and hour; empty
+     *         if the range is empty.
+     * @throws DatabaseException If a database access error occurs.
+     */
+    public List<SlotStats> findSlotStats(LocalDate fromWeek, LocalDate toWeek) throws DatabaseException {
+        String sql = "SELECT week_start, type, trainer_id, weekday, hour, class_count, seats_offered, "
+                   + "seats_taken, waitlisted, lead_minutes FROM class_slot_stats "
+                   + "WHERE week_start BETWEEN date_trunc('week', ?::date)::date AND ? AND class_count > 0 "
+                   + "ORDER BY week_start, type, weekday, hour, trainer_id";
+        List<SlotStats> slots = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection(Workload.REPORTING);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setDate(1, Date.valueOf(fromWeek));
+            stmt.setDate(2, Date.valueOf(toWeek));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String type = rs.getString(2);
+                    OccupancyStats totals = new OccupancyStats(type, rs.getLong(6), rs.getLong(7),
+                        rs.getLong(8), rs.getLong(9), rs.getLong(10));
+                    slots.add(new SlotStats(rs.getDate(1).toLocalDate(), type, rs.getInt(3),
+                        DayOfWeek.of(rs.getInt(4)), rs.getInt(5), totals));
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to read class slot stats", e);
+            throw new DatabaseException("Failed to read class slot stats.", e);
+        }
+        return slots;
+    }
+}
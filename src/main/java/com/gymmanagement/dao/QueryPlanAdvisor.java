@@ -0,0 +1,173 @@
+package com.gymmanagement.dao;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.gymmanagement.config.DatabaseConfig;
+import com.gymmanagement.exception.DatabaseException;
+
+/**
+ * Checks the DAO hot-path queries for missing indexes by asking PostgreSQL for their plans.
+ *
+ * <p>On a small table the planner prefers a sequential scan even when an index exists, so a
+ * plain {@code EXPLAIN} would flag almost everything on a development database. Each query is
+ * therefore explained with {@code enable_seqscan} turned off: a sequential scan that still
+ * appears means no index can serve that query at all.</p>
+ */
+public class QueryPlanAdvisor {
+    private static final Logger logger = LoggerFactory.getLogger(QueryPlanAdvisor.class);
+    private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (\\S+)");
+
+    /** Representative forms of the lookups the DAOs run, with sample parameter values. */
+    private static final Map<String, String> QUERIES = new LinkedHashMap<>();
+
+    static {
+        QUERIES.put("UserDAO.findByUsername",
+            "SELECT user_id FROM users WHERE username = 'admin'");
+        QUERIES.put("UserDAO.findById",
+            "SELECT user_id FROM users WHERE user_id = 1");
+        QUERIES.put("MembershipDAO.findByUserId",
+            "SELECT membership_id FROM memberships WHERE user_id = 1");
+        QUERIES.put("MembershipDAO.expireDue",
+            "SELECT membership_id FROM memberships WHERE status = 'ACTIVE' AND end_date < CURRENT_DATE "
+            + "ORDER BY end_date, membership_id LIMIT 5000");
+        QUERIES.put("WorkoutClassDAO.findAllListings",
+            "SELECT class_id FROM workout_classes ORDER BY schedule LIMIT 20");
+        QUERIES.put("WorkoutClassDAO.search (by type)",
+            "SELECT class_id FROM workout_classes WHERE schedule >= CURRENT_TIMESTAMP AND type = 'Yoga' "
+            + "ORDER BY schedule, class_id LIMIT 50");
+        QUERIES.put("WorkoutClassDAO.search (by trainer)",
+            "SELECT class_id FROM workout_classes WHERE schedule >= CURRENT_TIMESTAMP AND trainer_id = 1 "
+            + "ORDER BY schedule, class_id LIMIT 50");
+        QUERIES.put("WorkoutClassDAO.findByTrainerId",
+            "SELECT class_id FROM workout_classes WHERE trainer_id = 1");
+        QUERIES.put("WorkoutClassDAO.findClassesByUserId",
+            "SELECT wc.class_id FROM workout_classes wc "
+            + "JOIN class_enrollments ce ON wc.class_id = ce.class_id WHERE ce.member_id = 1");
+        QUERIES.put("WorkoutClassDAO.enrollMembers (duplicate check)",
+            "SELECT member_id FROM class_enrollments WHERE class_id = 1");
+        QUERIES.put("ClassSeriesDAO.findDue",
+            "SELECT series_id FROM class_series WHERE NOT complete AND materialized_until < CURRENT_TIMESTAMP "
+            + "ORDER BY materialized_until, series_id LIMIT 500");
+        QUERIES.put("ClassSeriesDAO.update (future occurrences)",
+            "SELECT class_id FROM workout_classes WHERE series_id = 1 AND schedule >= CURRENT_TIMESTAMP");
+        QUERIES.put("OccupancyRollupDAO.processNextChunk",
+            "SELECT d.class_id FROM occupancy_dirty_classes d "
+            + "LEFT JOIN workout_classes w ON w.class_id = d.class_id "
+            + "WHERE w.class_id IS NULL OR w.schedule <= CURRENT_TIMESTAMP "
+            + "OR EXISTS (SELECT 1 FROM class_occupancy_counted c WHERE c.class_id = d.class_id) "
+            + "ORDER BY d.class_id LIMIT 500");
+        QUERIES.put("OccupancyRollupDAO.findSlotStats",
+            "SELECT type FROM class_slot_stats WHERE week_start BETWEEN DATE '2025-01-06' AND DATE '2025-03-31'");
+        QUERIES.put("WaitlistDAO.findByClassId",
+            "SELECT waitlist_id FROM class_waitlist WHERE class_id = 1 ORDER BY waitlist_id");
+    }
+
+    /**
+     * A query whose plan still reads a whole table.
+     */
+    public static final class Finding {
+        private final String query;
+        private final String table;
+        private final String plan;
+
+        Finding(String query, String table, String plan) {
+            this.query = query;
+            this.table = table;
+            this.plan = plan;
+        }
+
+        /**
+         * Retrieves the name of the DAO query.
+         *
+         * @return The query name.
+         */
+        public String getQuery() {
+            return query;
+        }
+
+        /**
+         * Retrieves the table that is scanned sequentially.
+         *
+         * @return The table name.
+         */
+        public String getTable() {
+            return table;
+        }
+
+        /**
+         * Retrieves the full text of the query plan.
+         *
+         * @return The {@code EXPLAIN} output.
+         */
+        public String getPlan() {
+            return plan;
+        }
+    }
+
+    /**
+     * Default constructor for creating an instance of QueryPlanAdvisor.
+     */
+    public QueryPlanAdvisor() {}
+
+    /**
+     * Explains every registered query and reports the ones no index can serve.
+     *
+     * @return One {@link Finding} per sequentially scanned table per query; empty if all queries are indexed.
+     * @throws DatabaseException If a query cannot be explained.
+     */
+    public List<Finding> check() throws DatabaseException {
+        List<Finding> findings = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            conn.setReadOnly(true);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("SET LOCAL enable_seqscan = off");
+                for (Map.Entry<String, String> query : QUERIES.entrySet()) {
+                    String plan = explain(stmt, query.getValue());
+                    Matcher matcher = SEQ_SCAN.matcher(plan);
+                    while (matcher.find()) {
+                        findings.add(new Finding(query.getKey(), matcher.group(1), plan));
+                    }
+                }
+            } finally {
+                conn.rollback();
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to check query plans", e);
+            throw new DatabaseException("Failed to check query plans", e);
+        }
+        return findings;
+    }
+
+    /**
+     * Retrieves the names of the queries this advisor checks.
+     *
+     * @return The query names, in check order.
+     */
+    public List<String> getQueryNames() {
+        return new ArrayList<>(QUERIES.keySet());
+    }
+
+    private String explain(Statement stmt, String sql) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (ResultSet rs = stmt.executeQuery("EXPLAIN " + sql)) {
+            while (rs.next()) {
+                plan.append(rs.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+}
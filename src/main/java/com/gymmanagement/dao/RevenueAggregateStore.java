@@ -0,0 +1,89 @@
+package com.gymmanagement.dao;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.gymmanagement.model.TypeRevenue;
+
+/**
+ * In-memory copy of the {@code revenue_summary} table.
+ *
+ * <p>The snapshot is an immutable map that is swapped as a whole, so readers never lock. Writers
+ * apply the same deltas they committed to the table. A generation counter stops a slow reload
+ * from installing totals that were read before a concurrent write was applied.</p>
+ */
+public final class RevenueAggregateStore {
+    private volatile Map<String, TypeRevenue> snapshot;
+    private long generation;
+
+    /**
+     * Creates an empty store; the first read loads it.
+     */
+    public RevenueAggregateStore() {}
+
+    /**
+     * Returns the current snapshot.
+     *
+     * @return An unmodifiable map of type to totals, ordered by type, or {@code null} if not loaded.
+     */
+    public Map<String, TypeRevenue> snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Returns a token to pass to {@link #replace(Map, long)} once a reload has been read.
+     *
+     * @return The current generation.
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Installs freshly loaded totals, unless a write was applied since {@code loadedAt} was taken.
+     *
+     * @param totals The totals read from the database.
+     * @param loadedAt The value of {@link #generation()} taken before the totals were read.
+     * @return {@code true} if the totals were installed.
+     */
+    public synchronized boolean replace(Map<String, TypeRevenue> totals, long loadedAt) {
+        if (loadedAt != generation) {
+            return false;
+        }
+        snapshot = Collections.unmodifiableMap(new TreeMap<>(totals));
+        return true;
+    }
+
+    /**
+     * Applies a committed change to one type's totals.
+     *
+     * @param type The membership type.
+     * @param countDelta Change in the number of memberships.
+     * @param priceDelta Change in the summed price.
+     * @param paidCountDelta Change in the number of paid memberships.
+     * @param paidDelta Change in paid revenue.
+     */
+    public synchronized void apply(String type, long countDelta, BigDecimal priceDelta,
+                                   long paidCountDelta, BigDecimal paidDelta) {
+        generation++;
+        Map<String, TypeRevenue> current = snapshot;
+        if (current == null) {
+            return;
+        }
+        Map<String, TypeRevenue> next = new TreeMap<>(current);
+        TypeRevenue totals = next.getOrDefault(type,
+            new TypeRevenue(type, 0, BigDecimal.ZERO, 0, BigDecimal.ZERO));
+        next.put(type, totals.plus(countDelta, priceDelta, paidCountDelta, paidDelta));
+        snapshot = Collections.unmodifiableMap(next);
+    }
+
+    /**
+     * Drops the snapshot so the next read reloads it.
+     */
+    public synchronized void invalidate() {
+        generation++;
+        snapshot = null;
+    }
+}
@@ -0,0 +1,333 @@
+package com.gymmanagement.dao;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.gymmanagement.config.DatabaseConfig;
+import com.gymmanagement.config.Workload;
+import com.gymmanagement.exception.DatabaseException;
+import com.gymmanagement.model.RevenueBucket;
+import com.gymmanagement.model.RevenueReport;
+import com.gymmanagement.model.TimeGranularity;
+import com.gymmanagement.model.TypeRevenue;
+
+/**
+ * Data Access Object for the {@code revenue_daily} rollup: membership revenue per start date
+ * and type.
+ *
+ * <p>{@link MembershipDAO} keeps the rollup current by adding the delta of every membership
+ * write in the same transaction. History from before the rollup existed is filled in by
+ * {@link #backfillNextChunk(int)}, one bounded range of days per transaction. Range queries are
+ * answered from an in-memory {@link RevenueRollupStore}, so they never scan {@code memberships}.</p>
+ */
+public class RevenueRollupDAO {
+    private static final Logger logger = LoggerFactory.getLogger(RevenueRollupDAO.class);
+    private static final String ROLLUP = "revenue_daily";
+
+    /** Per-day revenue totals, shared by every DAO instance. */
+    private static final RevenueRollupStore DAILY = new RevenueRollupStore();
+
+    /**
+     * Default constructor for creating an instance of the DAO.
+     */
+    public RevenueRollupDAO() {}
+
+    /**
+     * Retrieves revenue for a date range, grouped into time buckets. Every bucket that overlaps
+     * the range is returned, including empty ones, so the series has no gaps.
+     * 
+     * @param from First start date to include.
+     * @param to Last start date to include.
+     * @param granularity Size of the buckets.
+     * @param type Membership type to report on, or {@code null} for all types together.
+     * @return The buckets in date order; empty if {@code from} is after {@code to}.
+     * @throws DatabaseException If the rollup has to be loaded and the read fails.
+     */
+    public List<RevenueBucket> findRevenue(LocalDate from, LocalDate to, TimeGranularity granularity,
+                                           String type) throws DatabaseException {
+        List<RevenueBucket> series = new ArrayList<>();
+        if (from.isAfter(to)) {
+            return series;
+        }
+
+        TypeRevenue empty = new TypeRevenue(type == null ? RevenueReport.TOTAL : type,
+            0, BigDecimal.ZERO, 0, BigDecimal.ZERO);
+        Map<LocalDate, TypeRevenue> buckets = new LinkedHashMap<>();
+        for (LocalDate start = granularity.bucketStart(from); !start.isAfter(to); start = granularity.next(start)) {
+            buckets.put(start, empty);
+        }
+
+        for (Map.Entry<LocalDate, Map<String, TypeRevenue>> day : loadDays().subMap(from, true, to, true).entrySet()) {
+            LocalDate bucket = granularity.bucketStart(day.getKey());
+            TypeRevenue totals = buckets.get(bucket);
+            for (TypeRevenue dayTotals : day.getValue().values()) {
+                if (type == null || type.equals(dayTotals.getType())) {
+                    totals = totals.plus(dayTotals);
+                }
+            }
+            buckets.put(bucket, totals);
+        }
+
+        buckets.forEach((start, totals) -> series.add(new RevenueBucket(start, granularity, totals)));
+        return series;
+    }
+
+    /**
+     * Retrieves revenue per membership type for a date range.
+     * 
+     * @param from First start date to include.
+     * @param to Last start date to include.
+     * @return A map of type to totals, ordered by type; types with no memberships in the range are left out.
+     * @throws DatabaseException If the rollup has to be loaded and the read fails.
+     */
+    public Map<String, TypeRevenue> findRevenueByType(LocalDate from, LocalDate to) throws DatabaseException {
+        Map<String, TypeRevenue> byType = new TreeMap<>();
+        if (from.isAfter(to)) {
+            return byType;
+        }
+        for (Map<String, TypeRevenue> day : loadDays().subMap(from, true, to, true).values()) {
+            for (TypeRevenue dayTotals : day.values()) {
+                byType.merge(dayTotals.getType(), dayTotals, TypeRevenue::plus);
+            }
+        }
+        return byType;
+    }
+
+    /**
+     * Retrieves the last start date the backfill has processed.
+     * 
+     * @return The date, or {@code null} if the backfill has not started.
+     * @throws DatabaseException If a database access error occurs.
+     */
+    public LocalDate getBackfilledThrough() throws DatabaseException {
+        String sql = "SELECT backfilled_through FROM revenue_rollup_state WHERE rollup = ?";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, ROLLUP);
+            try (ResultSet rs = stmt.executeQuery()) {
+                Date through = rs.next() ? rs.getDate(1) : null;
+                return through == null ? null : through.toLocalDate();
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to read rollup backfill state", e);
+            throw new DatabaseException("Failed to read rollup backfill state.", e);
+        }
+    }
+
+    /**
+     * Recomputes the rollup for the next range of start dates after the backfill position, in
+     * one transaction. Membership writes are held back only for the duration of the chunk.
+     * Recomputing a range that was already maintained incrementally gives the same totals, so
+     * a chunk can safely be repeated.
+     * 
+     * @param chunkDays Number of days to process; at least 1.
+     * @return The new backfill position, or {@code null} if there was nothing left to process.
+     * @throws DatabaseException If a database access error occurs; the chunk is rolled back.
+     */
+    public LocalDate backfillNextChunk(int chunkDays) throws DatabaseException {
+        String stateSql = "INSERT INTO revenue_rollup_state (rollup) VALUES (?) ON CONFLICT (rollup) DO NOTHING";
+        String positionSql = "SELECT backfilled_through FROM revenue_rollup_state WHERE rollup = ? FOR UPDATE";
+        String rangeSql = "SELECT MIN(start_date), MAX(start_date) FROM memberships "
+                        + "WHERE start_date > COALESCE(?, DATE '-infinity')";
+        String deleteSql = "DELETE FROM revenue_daily WHERE day BETWEEN ? AND ?";
+        String insertSql = "INSERT INTO revenue_daily (day, type, membership_count, total_price, paid_count, paid_revenue) "
+                         + "SELECT start_date, type, COUNT(*), COALESCE(SUM(price), 0), "
+                         + "COUNT(*) FILTER (WHERE payment_status = 'PAID'), "
+                         + "COALESCE(SUM(price) FILTER (WHERE payment_status = 'PAID'), 0) "
+                         + "FROM memberships WHERE start_date BETWEEN ? AND ? GROUP BY start_date, type";
+        String advanceSql = "UPDATE revenue_rollup_state SET backfilled_through = ? WHERE rollup = ?";
+        LocalDate through;
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                try (Statement stmt = conn.createStatement()) {
+                    // memberships before the rollup tables: the same order every writer uses
+                    stmt.execute("LOCK TABLE memberships IN SHARE MODE");
+                }
+                try (PreparedStatement stmt = conn.prepareStatement(stateSql)) {
+                    stmt.setString(1, ROLLUP);
+                    stmt.executeUpdate();
+                }
+
+                Date position;
+                try (PreparedStatement stmt = conn.prepareStatement(positionSql)) {
+                    stmt.setString(1, ROLLUP);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        rs.next();
+                        position = rs.getDate(1);
+                    }
+                }
+
+                LocalDate from;
+                LocalDate last;
+                try (PreparedStatement stmt = conn.prepareStatement(rangeSql)) {
+                    stmt.setDate(1, position);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        rs.next();
+                        if (rs.getDate(1) == null) {
+                            conn.rollback();
+                            return null;
+                        }
+                        // Jump straight to the next start date that exists, skipping empty stretches
+                        from = rs.getDate(1).toLocalDate();
+                        last = rs.getDate(2).toLocalDate();
+                    }
+                }
+                through = from.plusDays(Math.max(1, chunkDays) - 1L);
+                if (through.isAfter(last)) {
+                    through = last;
+                }
+
+                for (String sql : new String[] {deleteSql, insertSql}) {
+                    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                        stmt.setDate(1, Date.valueOf(from));
+                        stmt.setDate(2, Date.valueOf(through));
+                        stmt.executeUpdate();
+                    }
+                }
+                try (PreparedStatement stmt = conn.prepareStatement(advanceSql)) {
+                    stmt.setDate(1, Date.valueOf(through));
+                    stmt.setString(2, ROLLUP);
+                    stmt.executeUpdate();
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            logger.error("Rollup backfill chunk failed", e);
+            throw new DatabaseException("Rollup backfill chunk failed.", e);
+        } finally {
+            DAILY.invalidate();
+        }
+        return through;
+    }
+
+    /**
+     * Moves the backfill position back to the start, so the next backfill recomputes the
+     * whole history. Existing rollup rows are kept and stay in use until they are recomputed.
+     * 
+     * @throws DatabaseException If a database access error occurs.
+     */
+    public void resetBackfill() throws DatabaseException {
+        String sql = "UPDATE revenue_rollup_state SET backfilled_through = NULL WHERE rollup = ?";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, ROLLUP);
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            logger.error("Failed to reset rollup backfill", e);
+            throw new DatabaseException("Failed to reset rollup backfill.", e);
+        }
+    }
+
+    /**
+     * Adds a change to one type's row for one day, inside the caller's transaction. Call
+     * {@link #applyCommitted} with the same values once it commits.
+     * 
+     * @param conn The connection holding the open transaction.
+     * @param day The membership start date.
+     * @param type The membership type.
+     * @param countDelta Change in the number of memberships.
+     * @param priceDelta Change in the summed price.
+     * @param paidCountDelta Change in the number of paid memberships.
+     * @param paidDelta Change in paid revenue.
+     * @throws SQLException If a database access error occurs.
+     */
+    static void adjustDay(Connection conn, LocalDate day, String type, long countDelta, BigDecimal priceDelta,
+                          long paidCountDelta, BigDecimal paidDelta) throws SQLException {
+        String sql = "INSERT INTO revenue_daily (day, type, membership_count, total_price, paid_count, paid_revenue) "
+                   + "VALUES (?, ?, ?, ?, ?, ?) ON CONFLICT (day, type) DO UPDATE SET "
+                   + "membership_count = revenue_daily.membership_count + EXCLUDED.membership_count, "
+                   + "total_price = revenue_daily.total_price + EXCLUDED.total_price, "
+                   + "paid_count = revenue_daily.paid_count + EXCLUDED.paid_count, "
+                   + "paid_revenue = revenue_daily.paid_revenue + EXCLUDED.paid_revenue";
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setDate(1, Date.valueOf(day));
+            stmt.setString(2, type);
+            stmt.setLong(3, countDelta);
+            stmt.setBigDecimal(4, priceDelta);
+            stmt.setLong(5, paidCountDelta);
+            stmt.setBigDecimal(6, paidDelta);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Applies a committed change to the in-memory rollup.
+     * 
+     * @param day The membership start date.
+     * @param type The membership type.
+     * @param countDelta Change in the number of memberships.
+     * @param priceDelta Change in the summed price.
+     * @param paidCountDelta Change in the number of paid memberships.
+     * @param paidDelta Change in paid revenue.
+     */
+    static void applyCommitted(LocalDate day, String type, long countDelta, BigDecimal priceDelta,
+                               long paidCountDelta, BigDecimal paidDelta) {
+        DAILY.apply(day, type, countDelta, priceDelta, paidCountDelta, paidDelta);
+    }
+
+    /**
+     * Drops the in-memory rollup so the next query reloads it from the table.
+     */
+    static void invalidate() {
+        DAILY.invalidate();
+    }
+
+    /**
+     * Returns the in-memory rollup, loading it from {@code revenue_daily} on first use.
+     * 
+     * @return Per-day totals ordered by day.
+     * @throws DatabaseException If the rollup cannot be loaded.
+     */
+    private NavigableMap<LocalDate, Map<String, TypeRevenue>> loadDays() throws DatabaseException {
+        NavigableMap<LocalDate, Map<String, TypeRevenue>> current = DAILY.snapshot();
+        if (current != null) {
+            return current;
+        }
+
+        String sql = "SELECT day, type, membership_count, total_price, paid_count, paid_revenue FROM revenue_daily";
+        NavigableMap<LocalDate, Map<String, TypeRevenue>> loaded = new TreeMap<>();
+        long generation = DAILY.generation();
+
+        try (Connection conn = DatabaseConfig.getConnection(Workload.REPORTING);
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                String type = rs.getString(2);
+                loaded.computeIfAbsent(rs.getDate(1).toLocalDate(), day -> new TreeMap<>())
+                    .put(type, new TypeRevenue(type, rs.getLong(3), rs.getBigDecimal(4), rs.getLong(5), rs.getBigDecimal(6)));
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to load revenue rollup", e);
+            throw new DatabaseException("Failed to load revenue rollup.", e);
+        }
+
+        DAILY.replace(loaded, generation);
+        return loaded;
+    }
+}
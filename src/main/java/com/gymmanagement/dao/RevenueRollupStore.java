@@ -0,0 +1,96 @@
+package com.gymmanagement.dao;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import com.gymmanagement.model.TypeRevenue;
+
+/**
+ * In-memory copy of the {@code revenue_daily} rollup, ordered by day so that any date range
+ * is a sub-map view.
+ *
+ * <p>Each day holds an immutable map of type to totals that is replaced as a whole on write,
+ * so range readers never lock. As in {@link RevenueAggregateStore}, a generation counter stops a
+ * slow reload from installing rows that were read before a concurrent write was applied.</p>
+ */
+public final class RevenueRollupStore {
+    private volatile NavigableMap<LocalDate, Map<String, TypeRevenue>> days;
+    private long generation;
+
+    /**
+     * Creates an empty store; the first read loads it.
+     */
+    public RevenueRollupStore() {}
+
+    /**
+     * Returns the loaded rollup.
+     *
+     * @return The per-day totals ordered by day, or {@code null} if not loaded.
+     */
+    public NavigableMap<LocalDate, Map<String, TypeRevenue>> snapshot() {
+        return days;
+    }
+
+    /**
+     * Returns a token to pass to {@link #replace(NavigableMap, long)} once a reload has been read.
+     *
+     * @return The current generation.
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Installs freshly loaded rows, unless a write was applied since {@code loadedAt} was taken.
+     *
+     * @param loaded The per-day totals read from the database.
+     * @param loadedAt The value of {@link #generation()} taken before the rows were read.
+     * @return {@code true} if the rows were installed.
+     */
+    public synchronized boolean replace(NavigableMap<LocalDate, Map<String, TypeRevenue>> loaded, long loadedAt) {
+        if (loadedAt != generation) {
+            return false;
+        }
+        days = new ConcurrentSkipListMap<>(loaded);
+        return true;
+    }
+
+    /**
+     * Applies a committed change to one type's totals on one day.
+     *
+     * @param day The membership start date.
+     * @param type The membership type.
+     * @param countDelta Change in the number of memberships.
+     * @param priceDelta Change in the summed price.
+     * @param paidCountDelta Change in the number of paid memberships.
+     * @param paidDelta Change in paid revenue.
+     */
+    public synchronized void apply(LocalDate day, String type, long countDelta, BigDecimal priceDelta,
+                                   long paidCountDelta, BigDecimal paidDelta) {
+        generation++;
+        NavigableMap<LocalDate, Map<String, TypeRevenue>> current = days;
+        if (current == null) {
+            return;
+        }
+        current.compute(day, (d, types) -> {
+            Map<String, TypeRevenue> next = types == null ? new TreeMap<>() : new TreeMap<>(types);
+            TypeRevenue totals = next.getOrDefault(type,
+                new TypeRevenue(type, 0, BigDecimal.ZERO, 0, BigDecimal.ZERO));
+            next.put(type, totals.plus(countDelta, priceDelta, paidCountDelta, paidDelta));
+            return Collections.unmodifiableMap(next);
+        });
+    }
+
+    /**
+     * Drops the loaded rows so the next read reloads them from the database.
+     */
+    public synchronized void invalidate() {
+        generation++;
+        days = null;
+    }
+}
@@ -0,0 +1,22 @@
+package com.gymmanagement.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Converts the current row of a {@link ResultSet} into an object.
+ *
+ * @param <T> The type produced for each row.
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    /**
+     * Maps the row the result set is currently positioned on. Implementations must not move the cursor.
+     *
+     * @param rs The {@link ResultSet}, positioned on a row.
+     * @return The mapped object.
+     * @throws SQLException If a column cannot be read.
+     */
+    T mapRow(ResultSet rs) throws SQLException;
+}
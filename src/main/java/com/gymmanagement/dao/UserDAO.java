@@ -6,17 +6,41 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
+import com.gymmanagement.cache.CacheStats;
+import com.gymmanagement.cache.UserCache;
+import com.gymmanagement.config.AppProperties;
 import com.gymmanagement.config.DatabaseConfig;
 import com.gymmanagement.exception.DatabaseException;
 import com.gymmanagement.model.User;
+import com.gymmanagement.model.UserSummary;
 
 /**
  * Data Access Object (DAO) class for performing database operations on users.
  * Provides methods for creating, retrieving, and deleting user records in the database.
+ *
+ * <p>Single-user lookups are served through a shared {@link UserCache}; every write through
+ * this DAO invalidates the affected entries.</p>
  */
 public class UserDAO {
+    private static final UserCache CACHE = new UserCache(
+        AppProperties.get().getInt("cache.users.maxEntries", 10_000),
+        AppProperties.get().getLong("cache.users.ttlMillis", 300_000L),
+        AppProperties.get().getLong("cache.users.negativeTtlMillis", 30_000L));
+
+    /** Columns read into a full {@link User}. */
+    private static final String USER_COLUMNS =
+        "user_id, username, password_hash, email, phone_number, address, role";
+
+    /** Columns read into a {@link UserSummary}; skips the password hash and address. */
+    private static final String SUMMARY_COLUMNS = "user_id, username, email, phone_number, role";
+
+    private static final MapperCache<User> USER_MAPPERS = new MapperCache<>(UserDAO::compileUserMapper);
+    private static final MapperCache<UserSummary> SUMMARY_MAPPERS = new MapperCache<>(UserDAO::compileSummaryMapper);
 
     /**
      * Default constructor for creating an instance of the DAO.
@@ -31,19 +55,71 @@ public class UserDAO {
      * @throws DatabaseException If a database access error occurs or the operation fails.
      */
     public User findByUsername(String username) throws DatabaseException {
-        String sql = "SELECT * FROM users WHERE username = ?";
+        return CACHE.getByUsername(username, this::loadByUsername);
+    }
+
+    /**
+     * Retrieves a user from the database by their user ID.
+     * 
+     * @param userId The ID of the user to search for.
+     * @return The {@link User} object if found, or {@code null} if no user exists with the given ID.
+     * @throws DatabaseException If a database access error occurs or the operation fails.
+     */
+    public User findById(int userId) throws DatabaseException {
+        return CACHE.getById(userId, this::loadById);
+    }
+
+    /**
+     * Takes a snapshot of the shared user cache's hit, miss and eviction counters.
+     * 
+     * @return A {@link CacheStats} snapshot.
+     */
+    public CacheStats getCacheStats() {
+        return CACHE.getStats();
+    }
+
+    /**
+     * Loads a user by username directly from the database, bypassing the cache.
+     * 
+     * @param username The username to search for.
+     * @return The {@link User} if found, or {@code null} otherwise.
+     * @throws DatabaseException If a database access error occurs.
+     */
+    private User loadByUsername(String username) throws DatabaseException {
+        String sql = "SELECT " + USER_COLUMNS + " FROM users WHERE username = ?";
         try (Connection conn = DatabaseConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setString(1, username);
             try (ResultSet rs = stmt.executeQuery()) {
-                return rs.next() ? mapResultSetToUser(rs) : null;
+                return rs.next() ? USER_MAPPERS.forQuery(sql, rs).mapRow(rs) : null;
             }
         } catch (SQLException e) {
             throw new DatabaseException("User lookup failed: " + username, e);
         }
     }
 
+    /**
+     * Loads a user by ID directly from the database, bypassing the cache.
+     * 
+     * @param userId The user ID to search for.
+     * @return The {@link User} if found, or {@code null} otherwise.
+     * @throws DatabaseException If a database access error occurs.
+     */
+    private User loadById(int userId) throws DatabaseException {
+        String sql = "SELECT " + USER_COLUMNS + " FROM users WHERE user_id = ?";
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setInt(1, userId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? USER_MAPPERS.forQuery(sql, rs).mapRow(rs) : null;
+            }
+        } catch (SQLException e) {
+            throw new DatabaseException("User lookup failed: " + userId, e);
+        }
+    }
+
     /**
      * Creates a new user in the database.
      * 
@@ -71,7 +147,96 @@ public class UserDAO {
             return false;
         } catch (SQLException e) {
             throw new DatabaseException("User creation failed.", e);
+        } finally {
+            // Drop any cached "not found" for this username, whether or not the insert won
+            CACHE.invalidateUsername(user.getUsername());
+        }
+    }
+
+    /**
+     * Finds existing users that hold any of the given usernames or email addresses, in one query.
+     *
+     * @param usernames The usernames to look for.
+     * @param emails The email addresses to look for.
+     * @return The username and email of every matching user, keyed by username.
+     * @throws DatabaseException If a database access error occurs or the operation fails.
+     */
+    public Map<String, String> findTakenIdentities(List<String> usernames, List<String> emails)
+            throws DatabaseException {
+        String sql = "SELECT username, email FROM users WHERE username = ANY(?) OR email = ANY(?)";
+        Map<String, String> taken = new LinkedHashMap<>();
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setArray(1, conn.createArrayOf("varchar", usernames.toArray()));
+            stmt.setArray(2, conn.createArrayOf("varchar", emails.toArray()));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    taken.put(rs.getString(1), rs.getString(2));
+                }
+            }
+            return taken;
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to check usernames and emails.", e);
+        }
+    }
+
+    /**
+     * Inserts users whose passwords are already hashed, {@code batchSize} rows per statement.
+     *
+     * <p>Each statement inserts its rows from arrays with {@code ON CONFLICT DO NOTHING}, so a
+     * username or email claimed by a concurrent registration skips that row instead of failing
+     * the batch. Every statement commits on its own; users inserted by earlier batches stay
+     * registered if a later batch fails.</p>
+     *
+     * @param users The users to insert; each inserted user has its ID set.
+     * @param batchSize The maximum number of users per statement.
+     * @return The IDs of the inserted users, keyed by username. Users missing from the map were
+     *         skipped because of a conflict.
+     * @throws DatabaseException If a database access error occurs or the operation fails.
+     */
+    public Map<String, Integer> createAll(List<User> users, int batchSize) throws DatabaseException {
+        String sql = "INSERT INTO users (username, password_hash, email, phone_number, address, role) "
+                   + "SELECT * FROM unnest(?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], ?::text[], ?::varchar[]) "
+                   + "ON CONFLICT DO NOTHING RETURNING user_id, username";
+        Map<String, Integer> created = new LinkedHashMap<>();
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int from = 0; from < users.size(); from += batchSize) {
+                List<User> batch = users.subList(from, Math.min(users.size(), from + batchSize));
+                Object[][] columns = new Object[6][batch.size()];
+                for (int i = 0; i < batch.size(); i++) {
+                    User user = batch.get(i);
+                    columns[0][i] = user.getUsername();
+                    columns[1][i] = user.getPasswordHash();
+                    columns[2][i] = user.getEmail();
+                    columns[3][i] = user.getPhoneNumber();
+                    columns[4][i] = user.getAddress();
+                    columns[5][i] = user.getRole();
+                }
+                for (int c = 0; c < columns.length; c++) {
+                    stmt.setArray(c + 1, conn.createArrayOf(c == 4 ? "text" : "varchar", columns[c]));
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        created.put(rs.getString(2), rs.getInt(1));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseException("Bulk user creation failed.", e);
+        } finally {
+            // Drop cached "not found" entries, including for users a failed batch did not insert
+            for (User user : users) {
+                CACHE.invalidateUsername(user.getUsername());
+                Integer id = created.get(user.getUsername());
+                if (id != null) {
+                    user.setId(id);
+                }
+            }
         }
+        return created;
     }
 
     /**
@@ -81,15 +246,16 @@ public class UserDAO {
      * @throws DatabaseException If a database access error occurs or the operation fails.
      */
     public List<User> findAll() throws DatabaseException {
-        String sql = "SELECT * FROM users";
+        String sql = "SELECT " + USER_COLUMNS + " FROM users";
         List<User> users = new ArrayList<>();
         
         try (Connection conn = DatabaseConfig.getConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             
+            RowMapper<User> mapper = USER_MAPPERS.forQuery(sql, rs);
             while (rs.next()) {
-                users.add(mapResultSetToUser(rs));
+                users.add(mapper.mapRow(rs));
             }
             return users;
         } catch (SQLException e) {
@@ -97,6 +263,134 @@ public class UserDAO {
         }
     }
     
+    /**
+     * Retrieves one page of users in ascending ID order, starting after a given ID.
+     * Each page is an index range scan on the primary key, so later pages cost the same as the first.
+     * 
+     * @param afterId Only users with a larger ID are returned; pass {@code 0} for the first page.
+     * @param limit The maximum number of users to return.
+     * @return A {@link List} of at most {@code limit} {@link User} objects.
+     * @throws DatabaseException If a database access error occurs or the operation fails.
+     */
+    public List<User> findPage(int afterId, int limit) throws DatabaseException {
+        String sql = "SELECT " + USER_COLUMNS + " FROM users WHERE user_id > ? ORDER BY user_id LIMIT ?";
+        List<User> users = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, afterId);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper<User> mapper = USER_MAPPERS.forQuery(sql, rs);
+                while (rs.next()) {
+                    users.add(mapper.mapRow(rs));
+                }
+            }
+            return users;
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to retrieve users.", e);
+        }
+    }
+
+    /**
+     * Retrieves one page of user summaries in ascending ID order, for list screens.
+     * Only the columns a {@link UserSummary} shows are read.
+     * 
+     * @param afterId Only users with a larger ID are returned; pass {@code 0} for the first page.
+     * @param limit The maximum number of users to return.
+     * @return A {@link List} of at most {@code limit} {@link UserSummary} objects.
+     * @throws DatabaseException If a database access error occurs or the operation fails.
+     */
+    public List<UserSummary> findSummaryPage(int afterId, int limit) throws DatabaseException {
+        String sql = "SELECT " + SUMMARY_COLUMNS + " FROM users WHERE user_id > ? ORDER BY user_id LIMIT ?";
+        List<UserSummary> users = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, afterId);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper<UserSummary> mapper = SUMMARY_MAPPERS.forQuery(sql, rs);
+                while (rs.next()) {
+                    users.add(mapper.mapRow(rs));
+                }
+            }
+            return users;
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to retrieve users.", e);
+        }
+    }
+
+    /**
+     * Reads every user in ascending ID order and passes each one to a callback, without
+     * holding the whole table in memory.
+     * 
+     * @param action Receives each {@link User} as it is read.
+     * @return The number of users read.
+     * @throws DatabaseException If a database access error occurs or the operation fails.
+     */
+    public long streamAll(Consumer<? super User> action) throws DatabaseException {
+        try {
+            return CursorReader.forEach("SELECT " + USER_COLUMNS + " FROM users ORDER BY user_id",
+                USER_MAPPERS, action);
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to retrieve users.", e);
+        }
+    }
+
+    /**
+     * Replaces a user's password hash, but only if it still matches the hash the caller read.
+     * This keeps a background rehash from overwriting a password that changed in the meantime.
+     * 
+     * @param userId The ID of the user to update.
+     * @param expectedHash The hash the caller believes is currently stored.
+     * @param newHash The replacement hash.
+     * @return {@code true} if the hash was replaced, {@code false} if the user is gone or the hash had changed.
+     * @throws DatabaseException If a database access error occurs or the operation fails.
+     */
+    public boolean updatePasswordHash(int userId, String expectedHash, String newHash) throws DatabaseException {
+        String sql = "UPDATE users SET password_hash = ? WHERE user_id = ? AND password_hash = ?";
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setString(1, newHash);
+            stmt.setInt(2, userId);
+            stmt.setString(3, expectedHash);
+            return stmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            throw new DatabaseException("Password hash update failed for user " + userId, e);
+        } finally {
+            CACHE.invalidateId(userId);
+        }
+    }
+
+    /**
+     * Counts users grouped by the algorithm-and-cost prefix of their password hash
+     * (e.g. {@code "$2a$10$"}), without reading the hashes themselves.
+     * 
+     * @return A {@link Map} of hash prefix to number of users.
+     * @throws DatabaseException If a database access error occurs or the operation fails.
+     */
+    public Map<String, Long> countPasswordHashPrefixes() throws DatabaseException {
+        String sql = "SELECT LEFT(password_hash, 7) AS prefix, COUNT(*) FROM users GROUP BY prefix";
+        Map<String, Long> counts = new LinkedHashMap<>();
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            
+            while (rs.next()) {
+                counts.put(rs.getString(1), rs.getLong(2));
+            }
+            return counts;
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to count password hash costs.", e);
+        }
+    }
+
     /**
      * Deletes a user from the database by their user ID.
      * 
@@ -107,16 +401,37 @@ public class UserDAO {
     public boolean delete(int userId) throws DatabaseException {
         String sql = "DELETE FROM users WHERE user_id = ?";
         
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, userId);
-            return stmt.executeUpdate() > 0;
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                // Remove memberships explicitly rather than by cascade so the revenue summary follows
+                MembershipDAO.deleteAllForUser(conn, userId);
+                boolean deleted;
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setInt(1, userId);
+                    deleted = stmt.executeUpdate() > 0;
+                }
+                conn.commit();
+                return deleted;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
         } catch (SQLException e) {
             throw new DatabaseException("User deletion failed.", e);
+        } finally {
+            CACHE.invalidateId(userId);
+            MembershipDAO.invalidateRevenueSnapshot();
         }
     }
 
+    /**
+     * Empties the shared user cache, for example after users were added in bulk outside this DAO.
+     */
+    static void clearCache() {
+        CACHE.clear();
+    }
+
     /**
      * Sets the parameters of a {@link PreparedStatement} with values from a {@link User} object.
      * 
@@ -134,21 +449,54 @@ public class UserDAO {
     }
 
     /**
-     * Maps the result set of a database query to a {@link User} object.
+     * Compiles a mapper that reads a {@link User} by column index.
+     * 
+     * @param columns The columns returned by the query.
+     * @return A {@link RowMapper} producing {@link User} objects.
+     * @throws SQLException If the query does not return a user column.
+     */
+    static RowMapper<User> compileUserMapper(ColumnIndexes columns) throws SQLException {
+        int id = columns.require("user_id");
+        int username = columns.require("username");
+        int passwordHash = columns.require("password_hash");
+        int email = columns.require("email");
+        int phoneNumber = columns.require("phone_number");
+        int address = columns.require("address");
+        int role = columns.require("role");
+        return rs -> {
+            User user = new User();
+            user.setId(rs.getInt(id));
+            user.setUsername(rs.getString(username));
+            user.setPasswordHash(rs.getString(passwordHash));
+            user.setEmail(rs.getString(email));
+            user.setPhoneNumber(rs.getString(phoneNumber));
+            user.setAddress(rs.getString(address));
+            user.setRole(rs.getString(role));
+            return user;
+        };
+    }
+
+    /**
+     * Compiles a mapper that reads a {@link UserSummary} by column index.
      * 
-     * @param rs The {@link ResultSet} from a database query.
-     * @return A {@link User} object with data from the result set.
-     * @throws SQLException If an error occurs while reading the result set.
+     * @param columns The columns returned by the query.
+     * @return A {@link RowMapper} producing {@link UserSummary} objects.
+     * @throws SQLException If the query does not return a summary column.
      */
-    private User mapResultSetToUser(ResultSet rs) throws SQLException {
-        User user = new User();
-        user.setId(rs.getInt("user_id"));
-        user.setUsername(rs.getString("username"));
-        user.setPasswordHash(rs.getString("password_hash"));
-        user.setEmail(rs.getString("email"));
-        user.setPhoneNumber(rs.getString("phone_number"));
-        user.setAddress(rs.getString("address"));
-        user.setRole(rs.getString("role"));
-        return user;
+    static RowMapper<UserSummary> compileSummaryMapper(ColumnIndexes columns) throws SQLException {
+        int id = columns.require("user_id");
+        int username = columns.require("username");
+        int email = columns.require("email");
+        int phoneNumber = columns.require("phone_number");
+        int role = columns.require("role");
+        return rs -> {
+            UserSummary summary = new UserSummary();
+            summary.setId(rs.getInt(id));
+            summary.setUsername(rs.getString(username));
+            summary.setEmail(rs.getString(email));
+            summary.setPhoneNumber(rs.getString(phoneNumber));
+            summary.setRole(rs.getString(role));
+            return summary;
+        };
     }
 }
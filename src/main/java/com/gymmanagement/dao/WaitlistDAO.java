@@ -0,0 +1,134 @@
+package com.gymmanagement.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.gymmanagement.config.DatabaseConfig;
+import com.gymmanagement.exception.DatabaseException;
+import com.gymmanagement.model.WaitlistEntry;
+
+/**
+ * DAO (Data Access Object) class for the {@code class_waitlist} table.
+ * Promotion off the waitlist happens inside the unenroll transaction in {@link WorkoutClassDAO}.
+ */
+public class WaitlistDAO {
+    private static final Logger logger = LoggerFactory.getLogger(WaitlistDAO.class);
+
+    /**
+     * Default constructor for creating an instance of WaitlistDAO.
+     */
+    public WaitlistDAO() {}
+
+    /**
+     * Appends a member to the end of a class's waitlist. The member's place in the queue is
+     * counted in the same statement from the {@code (class_id, waitlist_id)} index.
+     *
+     * @param classId The ID of the full class.
+     * @param memberId The ID of the member who wants a seat.
+     * @return The new {@link WaitlistEntry} with its position set, or {@code null} if the member is
+     *         already waiting for the class.
+     * @throws DatabaseException If a database access error occurs or the operation fails.
+     */
+    public WaitlistEntry add(int classId, int memberId) throws DatabaseException {
+        String sql = "WITH added AS (INSERT INTO class_waitlist (class_id, member_id) VALUES (?, ?) "
+                   + "ON CONFLICT (class_id, member_id) DO NOTHING "
+                   + "RETURNING waitlist_id, class_id, member_id, requested_at) "
+                   + "SELECT a.waitlist_id, a.class_id, a.member_id, a.requested_at, "
+                   + "(SELECT COUNT(*) FROM class_waitlist w WHERE w.class_id = a.class_id "
+                   + "AND w.waitlist_id < a.waitlist_id) + 1 AS position FROM added a";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, classId);
+            stmt.setInt(2, memberId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                WaitlistEntry entry = mapResultSetToEntry(rs);
+                entry.setPosition(rs.getInt("position"));
+                return entry;
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to add member ID: {} to waitlist for class ID: {}", memberId, classId, e);
+            throw new DatabaseException("Failed to join waitlist", e);
+        }
+    }
+
+    /**
+     * Removes a member from a class's waitlist.
+     *
+     * @param classId The ID of the class.
+     * @param memberId The ID of the member.
+     * @return {@code true} if the member was on the waitlist, {@code false} otherwise.
+     * @throws DatabaseException If a database access error occurs or the operation fails.
+     */
+    public boolean remove(int classId, int memberId) throws DatabaseException {
+        String sql = "DELETE FROM class_waitlist WHERE class_id = ? AND member_id = ?";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, classId);
+            stmt.setInt(2, memberId);
+            return stmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            logger.error("Failed to remove member ID: {} from waitlist for class ID: {}", memberId, classId, e);
+            throw new DatabaseException("Failed to leave waitlist", e);
+        }
+    }
+
+    /**
+     * Retrieves a class's waitlist in queue order.
+     *
+     * @param classId The ID of the class.
+     * @return A {@link List} of {@link WaitlistEntry} objects, earliest first.
+     * @throws DatabaseException If a database access error occurs or the operation fails.
+     */
+    public List<WaitlistEntry> findByClassId(int classId) throws DatabaseException {
+        String sql = "SELECT waitlist_id, class_id, member_id, requested_at FROM class_waitlist "
+                   + "WHERE class_id = ? ORDER BY waitlist_id";
+        List<WaitlistEntry> entries = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, classId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    entries.add(mapResultSetToEntry(rs));
+                }
+            }
+            return entries;
+        } catch (SQLException e) {
+            logger.error("Failed to load waitlist for class ID: {}", classId, e);
+            throw new DatabaseException("Failed to load waitlist", e);
+        }
+    }
+
+    /**
+     * Maps the result set of a database query to a {@link WaitlistEntry} object.
+     *
+     * @param rs The {@link ResultSet} containing waitlist data.
+     * @return A {@link WaitlistEntry} populated with data from the result set.
+     * @throws SQLException If an error occurs while reading the result set.
+     */
+    private WaitlistEntry mapResultSetToEntry(ResultSet rs) throws SQLException {
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setId(rs.getLong("waitlist_id"));
+        entry.setClassId(rs.getInt("class_id"));
+        entry.setMemberId(rs.getInt("member_id"));
+        Timestamp requestedAt = rs.getTimestamp("requested_at");
+        entry.setRequestedAt(requestedAt != null ? requestedAt.toLocalDateTime() : null);
+        return entry;
+    }
+}
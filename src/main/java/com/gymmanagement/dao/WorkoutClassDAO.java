@@ -6,14 +6,32 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.gymmanagement.config.AppProperties;
 import com.gymmanagement.config.DatabaseConfig;
+import com.gymmanagement.config.Workload;
 import com.gymmanagement.exception.DatabaseException;
+import com.gymmanagement.model.ClassListing;
+import com.gymmanagement.model.ClassQuery;
+import com.gymmanagement.model.EnrollmentResult;
+import com.gymmanagement.model.UnenrollmentResult;
 import com.gymmanagement.model.WorkoutClass;
 
 /**
@@ -24,6 +42,30 @@ public class WorkoutClassDAO {
 
     private static final Logger logger = LoggerFactory.getLogger(WorkoutClassDAO.class);
 
+    /** Remaining seats per class, shared by every DAO instance. */
+    private static final CapacityLedger LEDGER =
+        new CapacityLedger(AppProperties.get().getLong("enrollment.ledgerRefreshMillis", 30_000L));
+
+    /** Classes from today onward by type and start time, shared by every DAO instance. */
+    private static final ClassScheduleIndex SCHEDULE =
+        new ClassScheduleIndex(AppProperties.get().getLong("classes.searchIndexRefreshMillis", 300_000L));
+
+    /** SQLState raised when a write breaks an exclusion constraint, such as a trainer's overlapping classes. */
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
+    /** Columns read into a full {@link WorkoutClass}; shared with {@link ClassSeriesDAO}. */
+    static final String CLASS_COLUMNS = "class_id, name, description, type, trainer_id, schedule, "
+                                              + "duration_minutes, max_capacity, current_enrollment";
+
+    /** Columns read into a {@link ClassListing}; skips the description. */
+    private static final String LISTING_COLUMNS = "class_id, name, type, trainer_id, schedule, "
+                                                + "duration_minutes, max_capacity, current_enrollment";
+
+    private static final MapperCache<WorkoutClass> CLASS_MAPPERS =
+        new MapperCache<>(WorkoutClassDAO::compileClassMapper);
+    private static final MapperCache<ClassListing> LISTING_MAPPERS =
+        new MapperCache<>(WorkoutClassDAO::compileListingMapper);
+
     /**
      * Default constructor for creating an instance of WorkoutClassDAO.
      */
@@ -36,15 +78,16 @@ public class WorkoutClassDAO {
      * @throws DatabaseException If a database access error occurs or the operation fails.
      */
     public List<WorkoutClass> findAll() throws DatabaseException {
-        String sql = "SELECT * FROM workout_classes";
+        String sql = "SELECT " + CLASS_COLUMNS + " FROM workout_classes";
         List<WorkoutClass> classes = new ArrayList<>();
         
         try (Connection conn = DatabaseConfig.getConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             
+            RowMapper<WorkoutClass> mapper = CLASS_MAPPERS.forQuery(sql, rs);
             while (rs.next()) {
-                classes.add(mapResultSetToWorkoutClass(rs));
+                classes.add(mapper.mapRow(rs));
             }
             return classes;
         } catch (SQLException e) {
@@ -53,6 +96,55 @@ public class WorkoutClassDAO {
         }
     }
 
+    /**
+     * Retrieves one page of workout classes in ascending ID order, starting after a given ID.
+     * Each page is an index range scan on the primary key, so later pages cost the same as the first.
+     * 
+     * @param afterId Only classes with a larger ID are returned; pass {@code 0} for the first page.
+     * @param limit The maximum number of classes to return.
+     * @return A {@link List} of at most {@code limit} {@link WorkoutClass} objects.
+     * @throws DatabaseException If a database access error occurs or the operation fails.
+     */
+    public List<WorkoutClass> findPage(int afterId, int limit) throws DatabaseException {
+        String sql = "SELECT " + CLASS_COLUMNS + " FROM workout_classes WHERE class_id > ? ORDER BY class_id LIMIT ?";
+        List<WorkoutClass> classes = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, afterId);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper<WorkoutClass> mapper = CLASS_MAPPERS.forQuery(sql, rs);
+                while (rs.next()) {
+                    classes.add(mapper.mapRow(rs));
+                }
+            }
+            return classes;
+        } catch (SQLException e) {
+            logger.error("Failed to retrieve workout classes after ID: {}", afterId, e);
+            throw new DatabaseException("Failed to retrieve classes", e);
+        }
+    }
+
+    /**
+     * Reads every workout class in ascending ID order and passes each one to a callback,
+     * without holding the whole table in memory.
+     * 
+     * @param action Receives each {@link WorkoutClass} as it is read.
+     * @return The number of classes read.
+     * @throws DatabaseException If a database access error occurs or the operation fails.
+     */
+    public long streamAll(Consumer<? super WorkoutClass> action) throws DatabaseException {
+        try {
+            return CursorReader.forEach("SELECT " + CLASS_COLUMNS + " FROM workout_classes ORDER BY class_id",
+                CLASS_MAPPERS, action);
+        } catch (SQLException e) {
+            logger.error("Failed to stream workout classes", e);
+            throw new DatabaseException("Failed to retrieve classes", e);
+        }
+    }
+
     /**
      * Retrieves workout classes assigned to a specific trainer.
      * 
@@ -61,7 +153,7 @@ public class WorkoutClassDAO {
      * @throws DatabaseException If a database access error occurs or the operation fails.
      */
     public List<WorkoutClass> findByTrainerId(int trainerId) throws DatabaseException {
-        String sql = "SELECT * FROM workout_classes WHERE trainer_id = ?";
+        String sql = "SELECT " + CLASS_COLUMNS + " FROM workout_classes WHERE trainer_id = ?";
         List<WorkoutClass> classes = new ArrayList<>();
         
         try (Connection conn = DatabaseConfig.getConnection();
@@ -69,8 +161,9 @@ public class WorkoutClassDAO {
             
             stmt.setInt(1, trainerId);
             try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper<WorkoutClass> mapper = CLASS_MAPPERS.forQuery(sql, rs);
                 while (rs.next()) {
-                    classes.add(mapResultSetToWorkoutClass(rs));
+                    classes.add(mapper.mapRow(rs));
                 }
             }
             return classes;
@@ -88,14 +181,14 @@ public class WorkoutClassDAO {
      * @throws DatabaseException If a database access error occurs or the operation fails.
      */
     public WorkoutClass findById(int classId) throws DatabaseException {
-        String sql = "SELECT * FROM workout_classes WHERE class_id = ?";
+        String sql = "SELECT " + CLASS_COLUMNS + " FROM workout_classes WHERE class_id = ?";
         
         try (Connection conn = DatabaseConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, classId);
             try (ResultSet rs = stmt.executeQuery()) {
-                return rs.next() ? mapResultSetToWorkoutClass(rs) : null;
+                return rs.next() ? CLASS_MAPPERS.forQuery(sql, rs).mapRow(rs) : null;
             }
         } catch (SQLException e) {
             logger.error("Failed to find workout class ID: {}", classId, e);
@@ -123,8 +216,9 @@ public class WorkoutClassDAO {
     
             stmt.setInt(1, userId);
             try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper<WorkoutClass> mapper = CLASS_MAPPERS.forQuery(query, rs);
                 while (rs.next()) {
-                    enrolledClasses.add(mapResultSetToWorkoutClass(rs));
+                    enrolledClasses.add(mapper.mapRow(rs));
                 }
             }
         } catch (SQLException e) {
@@ -134,16 +228,169 @@ public class WorkoutClassDAO {
         return enrolledClasses;
     }
 
+    /**
+     * Retrieves a listing of every workout class, for list screens.
+     * 
+     * @return A {@link List} of {@link ClassListing} objects.
+     * @throws DatabaseException If a database access error occurs or the operation fails.
+     */
+    public List<ClassListing> findAllListings() throws DatabaseException {
+        return queryListings("SELECT " + LISTING_COLUMNS + " FROM workout_classes ORDER BY schedule, class_id");
+    }
+
+    /**
+     * Retrieves one page of class listings in ascending ID order, starting after a given ID.
+     * 
+     * @param afterId Only classes with a larger ID are returned; pass {@code 0} for the first page.
+     * @param limit The maximum number of classes to return.
+     * @return A {@link List} of at most {@code limit} {@link ClassListing} objects.
+     * @throws DatabaseException If a database access error occurs or the operation fails.
+     */
+    public List<ClassListing> findListingPage(int afterId, int limit) throws DatabaseException {
+        return queryListings("SELECT " + LISTING_COLUMNS + " FROM workout_classes "
+                           + "WHERE class_id > ? ORDER BY class_id LIMIT ?", afterId, limit);
+    }
+
+    /**
+     * Retrieves listings of the workout classes assigned to a trainer.
+     * 
+     * @param trainerId The ID of the trainer.
+     * @return A {@link List} of {@link ClassListing} objects.
+     * @throws DatabaseException If a database access error occurs or the operation fails.
+     */
+    public List<ClassListing> findListingsByTrainerId(int trainerId) throws DatabaseException {
+        return queryListings("SELECT " + LISTING_COLUMNS + " FROM workout_classes "
+                           + "WHERE trainer_id = ? ORDER BY schedule, class_id", trainerId);
+    }
+
+    /**
+     * Retrieves listings of the workout classes a member is enrolled in.
+     * 
+     * @param memberId The ID of the member.
+     * @return A {@link List} of {@link ClassListing} objects.
+     * @throws DatabaseException If a database access error occurs or the operation fails.
+     */
+    public List<ClassListing> findListingsByMemberId(int memberId) throws DatabaseException {
+        return queryListings("SELECT wc.class_id, wc.name, wc.type, wc.trainer_id, wc.schedule, "
+                           + "wc.duration_minutes, wc.max_capacity, wc.current_enrollment "
+                           + "FROM workout_classes wc JOIN class_enrollments ce ON wc.class_id = ce.class_id "
+                           + "WHERE ce.member_id = ? ORDER BY wc.schedule, wc.class_id", memberId);
+    }
+
+    /**
+     * Searches class listings by start time, type, trainer and free seats.
+     * 
+     * <p>Searches that start today or later are answered from the in-memory
+     * {@link ClassScheduleIndex}, loading it first if needed. Searches that reach further back,
+     * or that run while the index cannot be loaded, use an index range scan on {@code schedule}.</p>
+     * 
+     * @param query The search criteria.
+     * @return At most {@code query.getLimit()} {@link ClassListing} objects, ordered by start time.
+     * @throws DatabaseException If a database access error occurs or the operation fails.
+     */
+    public List<ClassListing> search(ClassQuery query) throws DatabaseException {
+        List<ClassListing> found = SCHEDULE.search(query);
+        if (found == null) {
+            LocalDateTime windowStart = LocalDate.now().atStartOfDay();
+            if (!query.getFrom().isBefore(windowStart) && loadScheduleIndex(windowStart)) {
+                found = SCHEDULE.search(query);
+            }
+        }
+        return found != null ? found : findListings(query);
+    }
+
+    /**
+     * Reads every class starting on or after {@code windowStart} into the schedule index.
+     * 
+     * @param windowStart The earliest start time to load.
+     * @return {@code true} if the index was installed; {@code false} if a class changed while it was read.
+     * @throws DatabaseException If a database access error occurs.
+     */
+    private boolean loadScheduleIndex(LocalDateTime windowStart) throws DatabaseException {
+        String sql = "SELECT " + LISTING_COLUMNS + " FROM workout_classes WHERE schedule >= ?";
+        long generation = SCHEDULE.generation();
+        List<ClassListing> loaded = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setTimestamp(1, Timestamp.valueOf(windowStart));
+            try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper<ClassListing> mapper = LISTING_MAPPERS.forQuery(sql, rs);
+                while (rs.next()) {
+                    loaded.add(mapper.mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to load the class schedule index", e);
+            throw new DatabaseException("Failed to retrieve classes", e);
+        }
+        return SCHEDULE.replace(loaded, windowStart, generation);
+    }
+
+    /**
+     * Answers a search from the database. Only the filters the query uses are added, so each
+     * shape of query is a range scan on {@code schedule} or on one of the composite
+     * {@code (type, schedule)} and {@code (trainer_id, schedule)} indexes.
+     * 
+     * @param query The search criteria.
+     * @return At most {@code query.getLimit()} {@link ClassListing} objects, ordered by start time.
+     * @throws DatabaseException If a database access error occurs.
+     */
+    private List<ClassListing> findListings(ClassQuery query) throws DatabaseException {
+        StringBuilder sql = new StringBuilder("SELECT " + LISTING_COLUMNS + " FROM workout_classes WHERE schedule >= ?");
+        List<Object> params = new ArrayList<>();
+        params.add(Timestamp.valueOf(query.getFrom()));
+        if (query.getTo() != null) {
+            sql.append(" AND schedule < ?");
+            params.add(Timestamp.valueOf(query.getTo()));
+        }
+        if (query.getType() != null) {
+            sql.append(" AND type = ?");
+            params.add(query.getType());
+        }
+        if (query.getTrainerId() != 0) {
+            sql.append(" AND trainer_id = ?");
+            params.add(query.getTrainerId());
+        }
+        if (query.isOpenSeatsOnly()) {
+            sql.append(" AND current_enrollment < max_capacity");
+        }
+        sql.append(" ORDER BY schedule, class_id LIMIT ?");
+        params.add(query.getLimit());
+        List<ClassListing> listings = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+
+            for (int i = 0; i < params.size(); i++) {
+                stmt.setObject(i + 1, params.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper<ClassListing> mapper = LISTING_MAPPERS.forQuery(sql.toString(), rs);
+                while (rs.next()) {
+                    listings.add(mapper.mapRow(rs));
+                }
+            }
+            return listings;
+        } catch (SQLException e) {
+            logger.error("Failed to search classes", e);
+            throw new DatabaseException("Failed to retrieve classes", e);
+        }
+    }
+
     /**
      * Creates a new workout class in the database.
      * 
-     * @param wc The {@link WorkoutClass} object containing class details to insert into the database.
-     * @return {@code true} if the class was created successfully, {@code false} otherwise.
+     * @param wc The {@link WorkoutClass} object containing class details to insert into the database;
+     *           its ID is set once the class is created.
+     * @return {@code true} if the class was created successfully, {@code false} otherwise, including
+     *         when it would overlap another class led by the same trainer.
      * @throws DatabaseException If a database access error occurs or the operation fails.
      */
     public boolean create(WorkoutClass wc) throws DatabaseException {
         String sql = "INSERT INTO workout_classes (name, description, type, trainer_id, schedule, duration_minutes, max_capacity) "
-                   + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+                   + "VALUES (?, ?, ?, ?, ?, ?, ?) RETURNING " + LISTING_COLUMNS;
         try (Connection conn = DatabaseConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
     
@@ -155,8 +402,20 @@ public class WorkoutClassDAO {
             stmt.setInt(6, wc.getDurationMinutes());
             stmt.setInt(7, wc.getMaxCapacity());
     
-            return stmt.executeUpdate() > 0;
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return false;
+                }
+                ClassListing created = LISTING_MAPPERS.forQuery(sql, rs).mapRow(rs);
+                wc.setId(created.getId());
+                SCHEDULE.put(created);
+                return true;
+            }
         } catch (SQLException e) {
+            if (EXCLUSION_VIOLATION.equals(e.getSQLState())) {
+                logger.warn("Class for trainer ID {} overlaps another of their classes", wc.getTrainerId());
+                return false;
+            }
             logger.error("Failed to create workout class", e);
             throw new DatabaseException("Failed to create workout class", e);
         }
@@ -166,12 +425,13 @@ public class WorkoutClassDAO {
      * Updates an existing workout class in the database.
      * 
      * @param wc The {@link WorkoutClass} object containing updated class details.
-     * @return {@code true} if the class was updated successfully, {@code false} otherwise.
+     * @return {@code true} if the class was updated successfully, {@code false} otherwise, including
+     *         when it would overlap another class led by the same trainer.
      * @throws DatabaseException If a database access error occurs or the operation fails.
      */
     public boolean update(WorkoutClass wc) throws DatabaseException {
         String sql = "UPDATE workout_classes SET name = ?, description = ?, type = ?, schedule = ?, "
-                   + "duration_minutes = ?, max_capacity = ? WHERE class_id = ?";
+                   + "duration_minutes = ?, max_capacity = ? WHERE class_id = ? RETURNING " + LISTING_COLUMNS;
         
         try (Connection conn = DatabaseConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -179,10 +439,23 @@ public class WorkoutClassDAO {
             setClassParameters(stmt, wc);
             stmt.setInt(7, wc.getId());
             
-            return stmt.executeUpdate() > 0;
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return false;
+                }
+                SCHEDULE.put(LISTING_MAPPERS.forQuery(sql, rs).mapRow(rs));
+                return true;
+            }
         } catch (SQLException e) {
+            if (EXCLUSION_VIOLATION.equals(e.getSQLState())) {
+                logger.warn("Class ID {} would overlap another class of the same trainer", wc.getId());
+                return false;
+            }
             logger.error("Failed to update workout class ID: {}", wc.getId(), e);
+            SCHEDULE.invalidate();
             throw new DatabaseException("Failed to update class", e);
+        } finally {
+            LEDGER.invalidate(wc.getId());
         }
     }
 
@@ -200,36 +473,58 @@ public class WorkoutClassDAO {
             PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, classId);
-            return stmt.executeUpdate() > 0;
+            boolean deleted = stmt.executeUpdate() > 0;
+            SCHEDULE.remove(classId);
+            return deleted;
         } catch (SQLException e) {
             logger.error("Failed to delete workout class ID: {}", classId, e);
+            SCHEDULE.invalidate();
             throw new DatabaseException("Failed to delete class", e);
+        } finally {
+            LEDGER.invalidate(classId);
         }
     }
 
     /**
      * Enrolls a member in a workout class if there is available capacity.
-     * Performs a capacity check, enrolls the member, and updates the current enrollment count.
+     * 
+     * <p>A seat is first reserved in the in-memory {@link CapacityLedger}, so a full class is
+     * rejected without touching the database. The reservation is then confirmed with a single
+     * conditional update that only succeeds while the class still has room, and the enrollment
+     * row is inserted in the same transaction. If either step fails the seat is handed back.
+     * A member who is already enrolled is detected by the insert itself, which skips the
+     * conflicting row instead of raising a key violation.</p>
      * 
      * @param memberId The ID of the member to enroll.
      * @param classId The ID of the class in which to enroll the member.
-     * @return {@code true} if the member was enrolled successfully, {@code false} otherwise.
+     * @return {@link EnrollmentResult#ENROLLED}, {@link EnrollmentResult#ALREADY_ENROLLED}, or
+     *         {@link EnrollmentResult#CLASS_FULL} if the class has no free seat or does not exist.
      * @throws DatabaseException If a database access error occurs or the operation fails.
      */
-    public boolean enrollMember(int memberId, int classId) throws DatabaseException {
-        String checkSql = "SELECT current_enrollment, max_capacity FROM workout_classes WHERE class_id = ?";
-        String enrollSql = "INSERT INTO class_enrollments (member_id, class_id) VALUES (?, ?)";
-        String updateSql = "UPDATE workout_classes SET current_enrollment = current_enrollment + 1 WHERE class_id = ?";
+    public EnrollmentResult enrollMember(int memberId, int classId) throws DatabaseException {
+        if (LEDGER.tryReserve(classId, 1, this::loadRemainingSeats) == 0) {
+            return EnrollmentResult.CLASS_FULL;
+        }
+
+        String reserveSql = "UPDATE workout_classes SET current_enrollment = current_enrollment + 1 "
+                          + "WHERE class_id = ? AND current_enrollment < max_capacity "
+                          + "RETURNING max_capacity - current_enrollment";
+        String enrollSql = "INSERT INTO class_enrollments (member_id, class_id) VALUES (?, ?) ON CONFLICT DO NOTHING";
+        String dequeueSql = "DELETE FROM class_waitlist WHERE class_id = ? AND member_id = ?";
+        boolean enrolled = false;
+        boolean ledgerStale = false;
         
         try (Connection conn = DatabaseConfig.getConnection()) {
             conn.setAutoCommit(false);
 
-            // Perform a capacity check to ensure the class is not full
-            try (PreparedStatement checkStmt = conn.prepareStatement(checkSql)) {
-                checkStmt.setInt(1, classId);
-                try (ResultSet rs = checkStmt.executeQuery()) {
-                    if (!rs.next() || rs.getInt("current_enrollment") >= rs.getInt("max_capacity")) {
-                        return false;
+            // Claim the seat in the database; no row means the class is full or gone
+            try (PreparedStatement reserveStmt = conn.prepareStatement(reserveSql)) {
+                reserveStmt.setInt(1, classId);
+                try (ResultSet rs = reserveStmt.executeQuery()) {
+                    if (!rs.next()) {
+                        conn.rollback();
+                        ledgerStale = true;
+                        return EnrollmentResult.CLASS_FULL;
                     }
                 }
             }
@@ -238,20 +533,526 @@ public class WorkoutClassDAO {
             try (PreparedStatement enrollStmt = conn.prepareStatement(enrollSql)) {
                 enrollStmt.setInt(1, memberId);
                 enrollStmt.setInt(2, classId);
-                enrollStmt.executeUpdate();
+                if (enrollStmt.executeUpdate() == 0) {
+                    // Already enrolled; undo the seat claimed above
+                    conn.rollback();
+                    return EnrollmentResult.ALREADY_ENROLLED;
+                }
             }
 
-            // Update the current enrollment count
-            try (PreparedStatement updateStmt = conn.prepareStatement(updateSql)) {
-                updateStmt.setInt(1, classId);
-                updateStmt.executeUpdate();
+            // A member who gets in directly no longer waits for a seat
+            try (PreparedStatement dequeueStmt = conn.prepareStatement(dequeueSql)) {
+                dequeueStmt.setInt(1, classId);
+                dequeueStmt.setInt(2, memberId);
+                dequeueStmt.executeUpdate();
             }
 
             conn.commit();
-            return true;
+            enrolled = true;
+            SCHEDULE.adjustEnrollment(classId, 1);
+            return EnrollmentResult.ENROLLED;
         } catch (SQLException e) {
             logger.error("Enrollment failed for member ID: {}, class ID: {}", memberId, classId, e);
             throw new DatabaseException("Enrollment failed", e);
+        } finally {
+            if (ledgerStale) {
+                LEDGER.invalidate(classId);
+            } else if (!enrolled) {
+                LEDGER.release(classId, 1);
+            }
+        }
+    }
+
+    /**
+     * Removes a member from a workout class. If anyone is waiting for the class, the first waiting
+     * member with an active membership and no overlapping enrollment takes the freed seat in the
+     * same transaction, so the seat
+     * is never visible as free to other callers; otherwise the enrollment count is decremented and the seat returned to
+     * the ledger.
+     * 
+     * @param memberId The ID of the member leaving the class.
+     * @param classId The ID of the class.
+     * @return An {@link UnenrollmentResult} describing what changed.
+     * @throws DatabaseException If a database access error occurs or the operation fails.
+     */
+    public UnenrollmentResult unenrollMember(int memberId, int classId) throws DatabaseException {
+        return unenrollMembers(classId, Collections.singleton(memberId)).get(memberId);
+    }
+
+    /**
+     * Removes a group of members from one workout class using a fixed number of round trips,
+     * however large the group is. Freed seats go to the waitlist first, in queue order.
+     * 
+     * @param classId The ID of the class.
+     * @param memberIds The IDs of the members to remove; duplicates are ignored.
+     * @return The outcome for each distinct member, in the order they were given.
+     * @throws DatabaseException If a database access error occurs or the operation fails.
+     */
+    public Map<Integer, UnenrollmentResult> unenrollMembers(int classId, Collection<Integer> memberIds)
+            throws DatabaseException {
+        Map<Integer, Collection<Integer>> request = new TreeMap<>();
+        request.put(classId, memberIds);
+        return unenrollMembers(request).get(classId);
+    }
+
+    /**
+     * Removes groups of members from several workout classes in a single transaction.
+     * Classes are processed in ascending ID order, as in {@link #enrollMembers(Map)}, so bulk
+     * enrollments and unenrollments cannot deadlock each other.
+     * 
+     * @param memberIdsByClass The members to remove, keyed by class ID.
+     * @return The outcome for each distinct member, keyed by class ID and then member ID.
+     * @throws DatabaseException If a database access error occurs or the operation fails.
+     */
+    public Map<Integer, Map<Integer, UnenrollmentResult>> unenrollMembers(
+            Map<Integer, ? extends Collection<Integer>> memberIdsByClass) throws DatabaseException {
+        Map<Integer, Map<Integer, UnenrollmentResult>> results = new LinkedHashMap<>();
+        Map<Integer, Integer> freed = new LinkedHashMap<>();
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            for (Map.Entry<Integer, ? extends Collection<Integer>> entry : new TreeMap<>(memberIdsByClass).entrySet()) {
+                int classId = entry.getKey();
+                results.put(classId, unenrollBatch(conn, classId, new LinkedHashSet<>(entry.getValue()), freed));
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            logger.error("Unenrollment failed for classes: {}", memberIdsByClass.keySet(), e);
+            throw new DatabaseException("Unenrollment failed", e);
+        }
+
+        // Seats only become free to others once the transaction is visible
+        freed.forEach(LEDGER::release);
+        freed.forEach((classId, seats) -> SCHEDULE.adjustEnrollment(classId, -seats));
+        return results;
+    }
+
+    /**
+     * Recomputes {@code current_enrollment} from {@code class_enrollments} for every class whose
+     * counter has drifted (for example after enrollments were removed by a cascading member
+     * delete). Classes with no enrollments are reset to zero.
+     * 
+     * <p>Drifting classes are found first with a read on a reporting connection, which takes no
+     * locks. Only those class rows are then locked, in ascending ID order like every other
+     * enrollment path, and recounted in one set-based update, so enrollments in other classes
+     * are never held back and a concurrent change to a locked class cannot be overwritten. A
+     * class that was in sync by the time it was locked is left alone.</p>
+     * 
+     * @return The IDs of the classes whose count was corrected.
+     * @throws DatabaseException If a database access error occurs or the operation fails.
+     */
+    public List<Integer> reconcileEnrollmentCounts() throws DatabaseException {
+        String candidateSql = "SELECT w.class_id FROM workout_classes w "
+                            + "LEFT JOIN (SELECT class_id, COUNT(*) AS enrolled FROM class_enrollments GROUP BY class_id) e "
+                            + "ON e.class_id = w.class_id WHERE w.current_enrollment <> COALESCE(e.enrolled, 0) "
+                            + "ORDER BY w.class_id";
+        String lockSql = "SELECT class_id FROM workout_classes WHERE class_id = ANY(?) ORDER BY class_id FOR UPDATE";
+        String reconcileSql = "UPDATE workout_classes w SET current_enrollment = c.enrolled "
+                            + "FROM (SELECT id AS class_id, (SELECT COUNT(*) FROM class_enrollments e WHERE e.class_id = id) "
+                            + "AS enrolled FROM unnest(?::integer[]) AS id) c "
+                            + "WHERE w.class_id = c.class_id AND w.current_enrollment <> c.enrolled "
+                            + "RETURNING w.class_id";
+        List<Integer> candidates = new ArrayList<>();
+        List<Integer> repaired = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection(Workload.REPORTING);
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(candidateSql)) {
+            while (rs.next()) {
+                candidates.add(rs.getInt(1));
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to find drifting enrollment counts", e);
+            throw new DatabaseException("Failed to find drifting enrollment counts", e);
+        }
+        if (candidates.isEmpty()) {
+            return repaired;
+        }
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                try (PreparedStatement lockStmt = conn.prepareStatement(lockSql)) {
+                    lockStmt.setArray(1, conn.createArrayOf("integer", candidates.toArray()));
+                    lockStmt.execute();
+                }
+                try (PreparedStatement reconcileStmt = conn.prepareStatement(reconcileSql)) {
+                    reconcileStmt.setArray(1, conn.createArrayOf("integer", candidates.toArray()));
+                    try (ResultSet rs = reconcileStmt.executeQuery()) {
+                        while (rs.next()) {
+                            repaired.add(rs.getInt(1));
+                        }
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to reconcile enrollment counts", e);
+            throw new DatabaseException("Failed to reconcile enrollment counts", e);
+        }
+
+        repaired.forEach(LEDGER::invalidate);
+        if (!repaired.isEmpty()) {
+            SCHEDULE.invalidate();
+            logger.warn("Corrected enrollment counts for classes: {}", repaired);
+        }
+        return repaired;
+    }
+
+    /**
+     * Enrolls a group of members in one workout class using a fixed number of round trips,
+     * however large the group is.
+     * 
+     * @param classId The ID of the class.
+     * @param memberIds The IDs of the members to enroll; duplicates are ignored.
+     * @return The outcome for each distinct member, in the order they were given.
+     * @throws DatabaseException If a database access error occurs or the operation fails.
+     */
+    public Map<Integer, EnrollmentResult> enrollMembers(int classId, Collection<Integer> memberIds)
+            throws DatabaseException {
+        Map<Integer, Collection<Integer>> request = new TreeMap<>();
+        request.put(classId, memberIds);
+        return enrollMembers(request).get(classId);
+    }
+
+    /**
+     * Enrolls groups of members in several workout classes in a single transaction.
+     * Each class costs a fixed number of round trips regardless of group size; classes are
+     * processed in ascending ID order so concurrent bulk enrollments cannot deadlock.
+     * 
+     * @param memberIdsByClass The members to enroll, keyed by class ID.
+     * @return The outcome for each distinct member, keyed by class ID and then member ID.
+     * @throws DatabaseException If a database access error occurs or the operation fails.
+     */
+    public Map<Integer, Map<Integer, EnrollmentResult>> enrollMembers(
+            Map<Integer, ? extends Collection<Integer>> memberIdsByClass) throws DatabaseException {
+        Map<Integer, Map<Integer, EnrollmentResult>> results = new LinkedHashMap<>();
+        Map<Integer, Integer> reserved = new LinkedHashMap<>();
+        boolean committed = false;
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            for (Map.Entry<Integer, ? extends Collection<Integer>> entry : new TreeMap<>(memberIdsByClass).entrySet()) {
+                int classId = entry.getKey();
+                results.put(classId, enrollBatch(conn, classId, new LinkedHashSet<>(entry.getValue()), reserved));
+            }
+            conn.commit();
+            committed = true;
+            results.forEach((classId, classResults) -> SCHEDULE.adjustEnrollment(classId,
+                (int) classResults.values().stream().filter(r -> r == EnrollmentResult.ENROLLED).count()));
+            return results;
+        } catch (SQLException e) {
+            logger.error("Bulk enrollment failed for classes: {}", memberIdsByClass.keySet(), e);
+            throw new DatabaseException("Bulk enrollment failed", e);
+        } finally {
+            if (!committed) {
+                reserved.forEach(LEDGER::release);
+            }
+        }
+    }
+
+    /**
+     * Enrolls a batch of members in one class within the caller's transaction.
+     * 
+     * <p>The class row is locked first, which serialises this batch against every other
+     * enrollment in the class, so the duplicate check that follows cannot be invalidated before
+     * commit. Seats are reserved once for the whole batch in the ledger, capped by the room the
+     * locked row reports, then inserted with a single JDBC batch and one counter update.</p>
+     * 
+     * @param conn The connection holding the open transaction.
+     * @param classId The ID of the class.
+     * @param memberIds The distinct members to enroll, in request order.
+     * @param reserved Collects the ledger seats held per class, to be released if the transaction fails.
+     * @return The outcome for each member.
+     * @throws SQLException If a database access error occurs.
+     * @throws DatabaseException If the ledger could not be seeded.
+     */
+    private Map<Integer, EnrollmentResult> enrollBatch(Connection conn, int classId, Set<Integer> memberIds,
+                                                       Map<Integer, Integer> reserved)
+            throws SQLException, DatabaseException {
+        String lockSql = "SELECT max_capacity - current_enrollment FROM workout_classes WHERE class_id = ? FOR UPDATE";
+        String existingSql = "SELECT member_id FROM class_enrollments WHERE class_id = ? AND member_id = ANY(?)";
+        String enrollSql = "INSERT INTO class_enrollments (member_id, class_id) VALUES (?, ?)";
+        String countSql = "UPDATE workout_classes SET current_enrollment = current_enrollment + ? WHERE class_id = ?";
+        String dequeueSql = "DELETE FROM class_waitlist WHERE class_id = ? AND member_id = ANY(?)";
+
+        Map<Integer, EnrollmentResult> results = new LinkedHashMap<>();
+        if (memberIds.isEmpty()) {
+            return results;
+        }
+
+        int room;
+        try (PreparedStatement lockStmt = conn.prepareStatement(lockSql)) {
+            lockStmt.setInt(1, classId);
+            try (ResultSet rs = lockStmt.executeQuery()) {
+                room = rs.next() ? Math.max(rs.getInt(1), 0) : 0;
+            }
+        }
+
+        Set<Integer> existing = new HashSet<>();
+        try (PreparedStatement existingStmt = conn.prepareStatement(existingSql)) {
+            existingStmt.setInt(1, classId);
+            existingStmt.setArray(2, conn.createArrayOf("integer", memberIds.toArray()));
+            try (ResultSet rs = existingStmt.executeQuery()) {
+                while (rs.next()) {
+                    existing.add(rs.getInt(1));
+                }
+            }
+        }
+
+        List<Integer> candidates = new ArrayList<>();
+        for (Integer memberId : memberIds) {
+            if (existing.contains(memberId)) {
+                results.put(memberId, EnrollmentResult.ALREADY_ENROLLED);
+            } else {
+                candidates.add(memberId);
+            }
+        }
+
+        int fromLedger = candidates.isEmpty() ? 0 : LEDGER.tryReserve(classId, candidates.size(), this::loadRemainingSeats);
+        int granted = Math.min(fromLedger, room);
+        if (granted < fromLedger) {
+            // The ledger promised more than the locked row allows; re-read it next time
+            LEDGER.invalidate(classId);
+        } else if (granted > 0) {
+            reserved.merge(classId, granted, Integer::sum);
+        }
+
+        if (granted > 0) {
+            try (PreparedStatement enrollStmt = conn.prepareStatement(enrollSql)) {
+                for (Integer memberId : candidates.subList(0, granted)) {
+                    enrollStmt.setInt(1, memberId);
+                    enrollStmt.setInt(2, classId);
+                    enrollStmt.addBatch();
+                }
+                enrollStmt.executeBatch();
+            }
+            try (PreparedStatement countStmt = conn.prepareStatement(countSql)) {
+                countStmt.setInt(1, granted);
+                countStmt.setInt(2, classId);
+                countStmt.executeUpdate();
+            }
+            try (PreparedStatement dequeueStmt = conn.prepareStatement(dequeueSql)) {
+                dequeueStmt.setInt(1, classId);
+                dequeueStmt.setArray(2, conn.createArrayOf("integer", candidates.subList(0, granted).toArray()));
+                dequeueStmt.executeUpdate();
+            }
+        }
+
+        for (int i = 0; i < candidates.size(); i++) {
+            results.put(candidates.get(i), i < granted ? EnrollmentResult.ENROLLED : EnrollmentResult.CLASS_FULL);
+        }
+        // Preserve the caller's ordering
+        Map<Integer, EnrollmentResult> ordered = new LinkedHashMap<>();
+        memberIds.forEach(memberId -> ordered.put(memberId, results.get(memberId)));
+        return ordered;
+    }
+
+    /**
+     * Removes one class's share of a bulk unenrollment inside an open transaction.
+     * 
+     * <p>The class row is locked first, as in {@link #enrollBatch}, then the enrollments are
+     * deleted in one statement. Waitlist entries for members who already hold a seat are dropped.
+     * The waitlist is then read in queue order and the freed seats go to the first members who
+     * hold an active membership today and are not enrolled in another class that overlaps this
+     * one, the same rules direct enrollment applies. Members passed over on the way lose their
+     * place, so they are not reconsidered at every freed seat.
+     * Whatever seats are left over are subtracted from the counter in one update.</p>
+     * 
+     * @param conn The connection holding the open transaction.
+     * @param classId The ID of the class.
+     * @param memberIds The distinct members to remove, in request order.
+     * @param freed Collects the seats freed per class, to be returned to the ledger after commit.
+     * @return The outcome for each member.
+     * @throws SQLException If a database access error occurs.
+     */
+    private Map<Integer, UnenrollmentResult> unenrollBatch(Connection conn, int classId, Set<Integer> memberIds,
+                                                           Map<Integer, Integer> freed) throws SQLException {
+        String lockSql = "SELECT class_id FROM workout_classes WHERE class_id = ? FOR UPDATE";
+        String removeSql = "DELETE FROM class_enrollments WHERE class_id = ? AND member_id = ANY(?) RETURNING member_id";
+        String staleSql = "DELETE FROM class_waitlist w WHERE w.class_id = ? AND EXISTS ("
+                        + "SELECT 1 FROM class_enrollments e WHERE e.class_id = w.class_id AND e.member_id = w.member_id)";
+        String waitingSql = "SELECT w.waitlist_id, w.member_id, EXISTS (SELECT 1 FROM memberships m "
+                          + "WHERE m.user_id = w.member_id AND m.status = 'ACTIVE' "
+                          + "AND m.start_date <= CURRENT_DATE AND m.end_date >= CURRENT_DATE) "
+                          + "AND NOT EXISTS (SELECT 1 FROM class_enrollments e "
+                          + "JOIN workout_classes o ON o.class_id = e.class_id "
+                          + "WHERE e.member_id = w.member_id AND o.class_id <> c.class_id "
+                          + "AND o.schedule < c.schedule + c.duration_minutes * INTERVAL '1 minute' "
+                          + "AND c.schedule < o.schedule + o.duration_minutes * INTERVAL '1 minute') "
+                          + "FROM class_waitlist w JOIN workout_classes c ON c.class_id = w.class_id "
+                          + "WHERE w.class_id = ? ORDER BY w.waitlist_id FOR UPDATE OF w SKIP LOCKED";
+        String dequeueSql = "DELETE FROM class_waitlist WHERE waitlist_id = ANY(?)";
+        String promoteSql = "INSERT INTO class_enrollments (member_id, class_id) "
+                          + "SELECT member_id, ? FROM unnest(?::integer[]) AS member_id";
+        String releaseSql = "UPDATE workout_classes SET current_enrollment = GREATEST(current_enrollment - ?, 0) "
+                          + "WHERE class_id = ?";
+        Map<Integer, UnenrollmentResult> results = new LinkedHashMap<>();
+
+        try (PreparedStatement lockStmt = conn.prepareStatement(lockSql)) {
+            lockStmt.setInt(1, classId);
+            try (ResultSet rs = lockStmt.executeQuery()) {
+                if (!rs.next()) {
+                    memberIds.forEach(id -> results.put(id, new UnenrollmentResult(false, 0)));
+                    return results;
+                }
+            }
+        }
+
+        Set<Integer> removed = new HashSet<>();
+        try (PreparedStatement removeStmt = conn.prepareStatement(removeSql)) {
+            removeStmt.setInt(1, classId);
+            removeStmt.setArray(2, conn.createArrayOf("integer", memberIds.toArray()));
+            try (ResultSet rs = removeStmt.executeQuery()) {
+                while (rs.next()) {
+                    removed.add(rs.getInt(1));
+                }
+            }
+        }
+
+        // Hand the freed seats to the earliest entitled, free waiting members who are not already enrolled
+        List<Integer> promoted = new ArrayList<>();
+        if (!removed.isEmpty()) {
+            try (PreparedStatement staleStmt = conn.prepareStatement(staleSql)) {
+                staleStmt.setInt(1, classId);
+                staleStmt.executeUpdate();
+            }
+            List<Long> dequeued = new ArrayList<>();
+            try (PreparedStatement waitingStmt = conn.prepareStatement(waitingSql)) {
+                waitingStmt.setInt(1, classId);
+                try (ResultSet rs = waitingStmt.executeQuery()) {
+                    while (promoted.size() < removed.size() && rs.next()) {
+                        dequeued.add(rs.getLong(1));
+                        if (rs.getBoolean(3)) {
+                            promoted.add(rs.getInt(2));
+                        }
+                    }
+                }
+            }
+            if (!dequeued.isEmpty()) {
+                try (PreparedStatement dequeueStmt = conn.prepareStatement(dequeueSql)) {
+                    dequeueStmt.setArray(1, conn.createArrayOf("bigint", dequeued.toArray()));
+                    dequeueStmt.executeUpdate();
+                }
+            }
+            if (!promoted.isEmpty()) {
+                try (PreparedStatement promoteStmt = conn.prepareStatement(promoteSql)) {
+                    promoteStmt.setInt(1, classId);
+                    promoteStmt.setArray(2, conn.createArrayOf("integer", promoted.toArray()));
+                    promoteStmt.executeUpdate();
+                }
+            }
+        }
+
+        int released = removed.size() - promoted.size();
+        if (released > 0) {
+            try (PreparedStatement releaseStmt = conn.prepareStatement(releaseSql)) {
+                releaseStmt.setInt(1, released);
+                releaseStmt.setInt(2, classId);
+                releaseStmt.executeUpdate();
+            }
+            freed.merge(classId, released, Integer::sum);
+        }
+
+        Iterator<Integer> successors = promoted.iterator();
+        for (int memberId : memberIds) {
+            if (removed.contains(memberId)) {
+                results.put(memberId, new UnenrollmentResult(true, successors.hasNext() ? successors.next() : 0));
+            } else {
+                results.put(memberId, new UnenrollmentResult(false, 0));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Returns the mapper for a query that selects {@link #CLASS_COLUMNS}, for DAOs that write
+     * {@code workout_classes} rows themselves.
+     * 
+     * @param sql The query.
+     * @param rs A result set produced by the query.
+     * @return A {@link RowMapper} producing {@link WorkoutClass} objects.
+     * @throws SQLException If the query does not return a class column.
+     */
+    static RowMapper<WorkoutClass> classMapper(String sql, ResultSet rs) throws SQLException {
+        return CLASS_MAPPERS.forQuery(sql, rs);
+    }
+
+    /**
+     * Applies classes inserted or updated by another DAO, such as the occurrences of a class
+     * series, to the shared search index and capacity ledger once their transaction has committed.
+     * 
+     * @param saved The classes as they are now stored.
+     */
+    static void applyCommitted(List<WorkoutClass> saved) {
+        for (WorkoutClass wc : saved) {
+            ClassListing listing = new ClassListing();
+            listing.setId(wc.getId());
+            listing.setName(wc.getName());
+            listing.setType(wc.getType());
+            listing.setTrainerId(wc.getTrainerId());
+            listing.setSchedule(wc.getSchedule());
+            listing.setDurationMinutes(wc.getDurationMinutes());
+            listing.setMaxCapacity(wc.getMaxCapacity());
+            listing.setCurrentEnrollment(wc.getCurrentEnrollment());
+            SCHEDULE.put(listing);
+            LEDGER.invalidate(wc.getId());
+        }
+    }
+
+    /**
+     * Reads the number of free seats in a class, used to seed the {@link CapacityLedger}.
+     * 
+     * @param classId The ID of the class.
+     * @return The number of free seats, or {@code -1} if the class does not exist.
+     * @throws DatabaseException If a database access error occurs.
+     */
+    private int loadRemainingSeats(int classId) throws DatabaseException {
+        String sql = "SELECT GREATEST(max_capacity - current_enrollment, 0) FROM workout_classes WHERE class_id = ?";
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setInt(1, classId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : -1;
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to read remaining seats for class ID: {}", classId, e);
+            throw new DatabaseException("Failed to read class capacity", e);
+        }
+    }
+
+    /**
+     * Runs a listing query with integer parameters and maps every row to a {@link ClassListing}.
+     * 
+     * @param sql A query selecting the listing columns.
+     * @param params Values for the query's parameters, in order.
+     * @return A {@link List} of {@link ClassListing} objects.
+     * @throws DatabaseException If a database access error occurs.
+     */
+    private List<ClassListing> queryListings(String sql, int... params) throws DatabaseException {
+        List<ClassListing> listings = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            for (int i = 0; i < params.length; i++) {
+                stmt.setInt(i + 1, params[i]);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper<ClassListing> mapper = LISTING_MAPPERS.forQuery(sql, rs);
+                while (rs.next()) {
+                    listings.add(mapper.mapRow(rs));
+                }
+            }
+            return listings;
+        } catch (SQLException e) {
+            logger.error("Failed to retrieve class listings", e);
+            throw new DatabaseException("Failed to retrieve classes", e);
         }
     }
 
@@ -273,24 +1074,64 @@ public class WorkoutClassDAO {
     }
 
     /**
-     * Maps the result set of a database query to a {@link WorkoutClass} object.
-     * Converts data retrieved from the database into a usable Java object.
+     * Compiles a mapper that reads a {@link WorkoutClass} by column index.
+     * 
+     * @param columns The columns returned by the query.
+     * @return A {@link RowMapper} producing {@link WorkoutClass} objects.
+     * @throws SQLException If the query does not return a class column.
+     */
+    static RowMapper<WorkoutClass> compileClassMapper(ColumnIndexes columns) throws SQLException {
+        int id = columns.require("class_id");
+        int name = columns.require("name");
+        int description = columns.require("description");
+        int type = columns.require("type");
+        int trainerId = columns.require("trainer_id");
+        int schedule = columns.require("schedule");
+        int durationMinutes = columns.require("duration_minutes");
+        int maxCapacity = columns.require("max_capacity");
+        int currentEnrollment = columns.require("current_enrollment");
+        return rs -> {
+            WorkoutClass wc = new WorkoutClass();
+            wc.setId(rs.getInt(id));
+            wc.setName(rs.getString(name));
+            wc.setDescription(rs.getString(description));
+            wc.setType(rs.getString(type));
+            wc.setTrainerId(rs.getInt(trainerId));
+            wc.setSchedule(rs.getTimestamp(schedule).toLocalDateTime());
+            wc.setDurationMinutes(rs.getInt(durationMinutes));
+            wc.setMaxCapacity(rs.getInt(maxCapacity));
+            wc.setCurrentEnrollment(rs.getInt(currentEnrollment));
+            return wc;
+        };
+    }
+
+    /**
+     * Compiles a mapper that reads a {@link ClassListing} by column index.
      * 
-     * @param rs The {@link ResultSet} containing class data.
-     * @return A {@link WorkoutClass} object populated with the data from the result set.
-     * @throws SQLException If an error occurs while reading the result set.
+     * @param columns The columns returned by the query.
+     * @return A {@link RowMapper} producing {@link ClassListing} objects.
+     * @throws SQLException If the query does not return a listing column.
      */
-    private WorkoutClass mapResultSetToWorkoutClass(ResultSet rs) throws SQLException {
-        WorkoutClass wc = new WorkoutClass();
-        wc.setId(rs.getInt("class_id"));
-        wc.setName(rs.getString("name"));
-        wc.setDescription(rs.getString("description"));
-        wc.setType(rs.getString("type"));
-        wc.setTrainerId(rs.getInt("trainer_id"));
-        wc.setSchedule(rs.getTimestamp("schedule").toLocalDateTime());
-        wc.setDurationMinutes(rs.getInt("duration_minutes"));
-        wc.setMaxCapacity(rs.getInt("max_capacity"));
-        wc.setCurrentEnrollment(rs.getInt("current_enrollment"));
-        return wc;
+    static RowMapper<ClassListing> compileListingMapper(ColumnIndexes columns) throws SQLException {
+        int id = columns.require("class_id");
+        int name = columns.require("name");
+        int type = columns.require("type");
+        int trainerId = columns.require("trainer_id");
+        int schedule = columns.require("schedule");
+        int durationMinutes = columns.require("duration_minutes");
+        int maxCapacity = columns.require("max_capacity");
+        int currentEnrollment = columns.require("current_enrollment");
+        return rs -> {
+            ClassListing listing = new ClassListing();
+            listing.setId(rs.getInt(id));
+            listing.setName(rs.getString(name));
+            listing.setType(rs.getString(type));
+            listing.setTrainerId(rs.getInt(trainerId));
+            listing.setSchedule(rs.getTimestamp(schedule).toLocalDateTime());
+            listing.setDurationMinutes(rs.getInt(durationMinutes));
+            listing.setMaxCapacity(rs.getInt(maxCapacity));
+            listing.setCurrentEnrollment(rs.getInt(currentEnrollment));
+            return listing;
+        };
     }
 }
@@ -1,14 +1,32 @@
 package com.gymmanagement.menu;
 
 import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
 
+import com.gymmanagement.config.AppProperties;
 import com.gymmanagement.exception.DatabaseException;
-import com.gymmanagement.model.User;
-import com.gymmanagement.model.WorkoutClass;
+import com.gymmanagement.model.ClassListing;
+import com.gymmanagement.model.OccupancyDimension;
+import com.gymmanagement.model.OccupancyStats;
+import com.gymmanagement.model.RevenueBucket;
+import com.gymmanagement.model.RevenueReport;
+import com.gymmanagement.model.SlotForecast;
+import com.gymmanagement.model.TimeGranularity;
+import com.gymmanagement.model.TypeRevenue;
+import com.gymmanagement.model.UserSummary;
 import com.gymmanagement.service.MembershipService;
+import com.gymmanagement.service.OccupancyAnalyticsService;
+import com.gymmanagement.service.RevenueAnalyticsService;
 import com.gymmanagement.service.UserService;
 import com.gymmanagement.service.WorkoutClassService;
 
@@ -18,8 +36,10 @@ import com.gymmanagement.service.WorkoutClassService;
  * <p>This class provides functionalities that allow administrators to:
  * <ul>
  *   <li>View and manage gym users</li>
- *   <li>Monitor membership revenue</li>
+ *   <li>Monitor membership revenue and rebuild the revenue summary</li>
+ *   <li>Review revenue by day, week or month</li>
  *   <li>Review available workout classes</li>
+ *   <li>Review class fill rates, an occupancy heatmap and a capacity forecast</li>
  *   <li>Logout from the admin interface</li>
  * </ul>
  * 
@@ -31,7 +51,10 @@ public class AdminMenu {
     private final Scanner scanner;
     private final UserService userService;
     private final MembershipService membershipService;
+    private final RevenueAnalyticsService revenueAnalyticsService;
+    private final OccupancyAnalyticsService occupancyAnalyticsService;
     private final WorkoutClassService classService;
+    private final int pageSize;
 
     /**
      * Constructor to initialize the admin menu.
@@ -39,14 +62,20 @@ public class AdminMenu {
      * @param scanner The {@link Scanner} for reading user input.
      * @param userService The service handling user-related operations.
      * @param membershipService The service handling membership-related operations.
+     * @param revenueAnalyticsService The service answering revenue-over-time questions.
+     * @param occupancyAnalyticsService The service answering class occupancy questions.
      * @param classService The service handling workout class-related operations.
      */
     public AdminMenu(Scanner scanner, UserService userService,
-                     MembershipService membershipService, WorkoutClassService classService) {
+                     MembershipService membershipService, RevenueAnalyticsService revenueAnalyticsService,
+                     OccupancyAnalyticsService occupancyAnalyticsService, WorkoutClassService classService) {
         this.scanner = scanner;
         this.userService = userService;
         this.membershipService = membershipService;
+        this.revenueAnalyticsService = revenueAnalyticsService;
+        this.occupancyAnalyticsService = occupancyAnalyticsService;
         this.classService = classService;
+        this.pageSize = Math.max(1, AppProperties.get().getInt("admin.pageSize", 20));
     }
 
     /**
@@ -61,7 +90,7 @@ public class AdminMenu {
     
             try {
                 handleChoice(choice);
-                if (choice == 5) { // Logout scenario
+                if (choice == 8) { // Logout scenario
                     break;
                 }
             } catch (SQLException e) {
@@ -81,7 +110,10 @@ public class AdminMenu {
         System.out.println("║  2. Delete User                   ║");
         System.out.println("║  3. View Membership Revenue       ║");
         System.out.println("║  4. View All Classes              ║");
-        System.out.println("║  5. Logout                        ║");
+        System.out.println("║  5. Rebuild Revenue Summary       ║");
+        System.out.println("║  6. Revenue Over Time             ║");
+        System.out.println("║  7. Class Occupancy               ║");
+        System.out.println("║  8. Logout                        ║");
         System.out.println("╚═══════════════════════════════════╝");
         System.out.println("");
         System.out.print("Select an option: ");
@@ -108,6 +140,15 @@ public class AdminMenu {
                 viewAllClasses();
                 break;
             case 5:
+                rebuildRevenue();
+                break;
+            case 6:
+                viewRevenueOverTime();
+                break;
+            case 7:
+                viewClassOccupancy();
+                break;
+            case 8:
                 System.out.println("Logging out...");
                 return; // Exit the Admin menu and return to start()
             default:
@@ -116,28 +157,29 @@ public class AdminMenu {
     }
 
     /**
-     * Displays all users in the system in a tabular format.
+     * Displays all users in the system in a tabular format, one page at a time.
      * 
      * @throws SQLException If a database error occurs while retrieving the users.
      */
     private void viewAllUsers() throws SQLException {
-        List<User> users = userService.getAllUsers();
-        if (users.isEmpty()) {
+        List<UserSummary> firstPage = userService.getUsersPage(0, pageSize);
+        if (firstPage.isEmpty()) {
             System.out.println("\nNo users found.");
         } else {
             System.out.println("\n=== ALL USERS ===");
             
             // Print table header
-            System.out.println(User.getTableHeader());
+            System.out.println(UserSummary.getTableHeader());
             
-            // Print each user as a row
-            users.forEach(user -> System.out.println(user.toTableRow()));
+            // Print each user as a row, fetching further pages on request
+            int shown = printPages(firstPage, afterId -> userService.getUsersPage(afterId, pageSize),
+                UserSummary::getId, UserSummary::toTableRow);
             
             // Print table footer
-            System.out.println(User.getTableFooter());
+            System.out.println(UserSummary.getTableFooter());
             
             // Show count
-            System.out.println("Total users: " + users.size());
+            System.out.println("Users shown: " + shown);
         }
     }
 
@@ -164,54 +206,279 @@ public class AdminMenu {
      */
     private void viewRevenue() {
         try {
-            double totalRevenue = membershipService.calculateTotalRevenue();
-            Map<String, Double> revenueByType = membershipService.getRevenueByMembershipType();
-            Map<String, Integer> membershipCounts = membershipService.getMembershipCounts();
-            
-            System.out.println("\n+-----------------+--------+-------------+----------+");
-            System.out.println("| Membership Type | Count  | Revenue     | % of Total |");
-            System.out.println("+-----------------+--------+-------------+----------+");
-            
-            revenueByType.forEach((type, revenue) -> {
-                int count = membershipCounts.getOrDefault(type, 0);
-                double percentage = (totalRevenue > 0) ? (revenue / totalRevenue) * 100 : 0;
-                System.out.printf("| %-15s | %-6d | $%-10.2f | %-8.1f |%n",
-                    type, count, revenue, percentage);
-            });
-            
-            System.out.println("+-----------------+--------+-------------+----------+");
-            System.out.printf("| %-15s | %-6s | $%-10.2f | %-8s |%n",
-                "TOTAL", "", totalRevenue, "100%");
-            System.out.println("+-----------------+--------+-------------+----------+");
-            
+            printRevenue(membershipService.getRevenueReport());
+        } catch (DatabaseException e) {
+            System.err.println("Error retrieving revenue data: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Recomputes the revenue summary from the membership records and displays the result.
+     */
+    private void rebuildRevenue() {
+        System.out.println("Rebuilding revenue summary...");
+        try {
+            printRevenue(membershipService.rebuildRevenueSummary());
+        } catch (DatabaseException e) {
+            System.err.println("Error rebuilding revenue summary: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Displays revenue for a date range, grouped by day, week or month, optionally for a
+     * single membership type.
+     */
+    private void viewRevenueOverTime() {
+        try {
+            System.out.print("From date (YYYY-MM-DD): ");
+            LocalDate from = LocalDate.parse(scanner.nextLine().trim());
+            System.out.print("To date (YYYY-MM-DD): ");
+            LocalDate to = LocalDate.parse(scanner.nextLine().trim());
+            System.out.print("Group by (DAY/WEEK/MONTH): ");
+            TimeGranularity granularity = TimeGranularity.valueOf(scanner.nextLine().trim().toUpperCase());
+            System.out.print("Membership type (blank for all): ");
+            String type = scanner.nextLine().trim();
+
+            List<RevenueBucket> series = revenueAnalyticsService.getRevenueSeries(
+                from, to, granularity, type.isEmpty() ? null : type);
+
+            System.out.println("\n+------------+--------+-------------+-------------+");
+            System.out.println("| Period     | Count  | Paid        | Pending     |");
+            System.out.println("+------------+--------+-------------+-------------+");
+            for (RevenueBucket bucket : series) {
+                TypeRevenue totals = bucket.getTotals();
+                System.out.printf("| %-10s | %-6d | $%-10.2f | $%-10.2f |%n",
+                    bucket.getStart(), totals.getMembershipCount(), totals.getPaidRevenue(),
+                    totals.getPendingRevenue());
+            }
+            System.out.println("+------------+--------+-------------+-------------+");
+
+            LocalDate backfilledThrough = revenueAnalyticsService.getBackfilledThrough();
+            if (backfilledThrough == null || backfilledThrough.isBefore(to)) {
+                System.out.println("Note: history is still being backfilled"
+                    + (backfilledThrough == null ? "." : " (done through " + backfilledThrough + ")."));
+            }
+        } catch (DateTimeParseException e) {
+            System.out.println("Invalid date. Use YYYY-MM-DD.");
+        } catch (IllegalArgumentException e) {
+            System.out.println("Invalid grouping. Use DAY, WEEK or MONTH.");
         } catch (DatabaseException e) {
             System.err.println("Error retrieving revenue data: " + e.getMessage());
         }
     }
 
     /**
-     * Displays all workout classes in the system in a tabular format.
+     * Shows the class occupancy reports: fill rate by type, trainer, weekday or hour, a weekday
+     * by hour heatmap, and a capacity forecast per slot.
+     */
+    private void viewClassOccupancy() {
+        System.out.println("\n1. Fill Rate");
+        System.out.println("2. Weekly Heatmap");
+        System.out.println("3. Capacity Forecast");
+        System.out.print("Select a report: ");
+        String choice = scanner.nextLine().trim();
+
+        try {
+            switch (choice) {
+                case "1":
+                    viewFillRates();
+                    break;
+                case "2":
+                    viewOccupancyHeatmap();
+                    break;
+                case "3":
+                    viewCapacityForecast();
+                    break;
+                default:
+                    System.out.println("Invalid option!");
+                    return;
+            }
+            LocalDateTime processedThrough = occupancyAnalyticsService.getProcessedThrough();
+            System.out.println("Classes counted through: "
+                + (processedThrough == null ? "none yet" : processedThrough.withNano(0)));
+        } catch (DateTimeParseException e) {
+            System.out.println("Invalid date. Use YYYY-MM-DD.");
+        } catch (IllegalArgumentException e) {
+            System.out.println("Invalid grouping. Use TYPE, TRAINER, WEEKDAY or HOUR.");
+        } catch (DatabaseException e) {
+            System.err.println("Error retrieving occupancy data: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Displays the fill rate of the classes in a range of weeks, grouped by one dimension.
+     * 
+     * @throws DatabaseException If the occupancy rollup cannot be read.
+     */
+    private void viewFillRates() throws DatabaseException {
+        System.out.print("From date (YYYY-MM-DD): ");
+        LocalDate from = LocalDate.parse(scanner.nextLine().trim());
+        System.out.print("To date (YYYY-MM-DD): ");
+        LocalDate to = LocalDate.parse(scanner.nextLine().trim());
+        System.out.print("Group by (TYPE/TRAINER/WEEKDAY/HOUR): ");
+        OccupancyDimension by = OccupancyDimension.valueOf(scanner.nextLine().trim().toUpperCase());
+
+        Map<String, OccupancyStats> groups = occupancyAnalyticsService.getFillRates(from, to, by);
+
+        System.out.println("\n+-----------------+---------+---------+---------+------------+----------+");
+        System.out.println("| Group           | Classes | Offered | Taken   | Waitlisted | % Filled |");
+        System.out.println("+-----------------+---------+---------+---------+------------+----------+");
+        for (OccupancyStats stats : groups.values()) {
+            System.out.printf("| %-15s | %-7d | %-7d | %-7d | %-10d | %-8.1f |%n",
+                stats.getLabel(), stats.getClassCount(), stats.getSeatsOffered(), stats.getSeatsTaken(),
+                stats.getWaitlisted(), stats.getFillRate());
+        }
+        System.out.println("+-----------------+---------+---------+---------+------------+----------+");
+    }
+
+    /**
+     * Displays the fill rate of the classes in a range of weeks as a weekday by start hour grid,
+     * optionally for a single class type. Only hours that had classes get a column.
+     * 
+     * @throws DatabaseException If the occupancy rollup cannot be read.
+     */
+    private void viewOccupancyHeatmap() throws DatabaseException {
+        System.out.print("From date (YYYY-MM-DD): ");
+        LocalDate from = LocalDate.parse(scanner.nextLine().trim());
+        System.out.print("To date (YYYY-MM-DD): ");
+        LocalDate to = LocalDate.parse(scanner.nextLine().trim());
+        System.out.print("Class type (blank for all): ");
+        String type = scanner.nextLine().trim();
+
+        Map<DayOfWeek, Map<Integer, OccupancyStats>> grid =
+            occupancyAnalyticsService.getHeatmap(from, to, type.isEmpty() ? null : type);
+        TreeSet<Integer> hours = new TreeSet<>();
+        grid.values().forEach(row -> hours.addAll(row.keySet()));
+        if (hours.isEmpty()) {
+            System.out.println("\nNo classes found.");
+            return;
+        }
+
+        StringBuilder border = new StringBuilder("+-----+");
+        StringBuilder header = new StringBuilder("| Day |");
+        for (int hour : hours) {
+            border.append("-------+");
+            header.append(String.format(" %02d:00 |", hour));
+        }
+        System.out.println("\n" + border);
+        System.out.println(header);
+        System.out.println(border);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            Map<Integer, OccupancyStats> row = grid.getOrDefault(day, Map.of());
+            StringBuilder line = new StringBuilder(String.format("| %-3s |", day.toString().substring(0, 3)));
+            for (int hour : hours) {
+                OccupancyStats cell = row.get(hour);
+                line.append(cell == null ? "    -- |" : String.format(" %5.1f |", cell.getFillRate()));
+            }
+            System.out.println(line);
+        }
+        System.out.println(border);
+        System.out.println("Cells show the percentage of seats filled.");
+    }
+
+    /**
+     * Displays the demand forecast for each recurring slot next to the capacity it currently
+     * offers, with the capacity that would fit the forecast.
+     * 
+     * @throws DatabaseException If the occupancy rollup cannot be read.
+     */
+    private void viewCapacityForecast() throws DatabaseException {
+        List<SlotForecast> forecasts = occupancyAnalyticsService.getForecast(LocalDate.now());
+        if (forecasts.isEmpty()) {
+            System.out.println("\nNo classes in the last " + occupancyAnalyticsService.getForecastWeeks() + " weeks.");
+            return;
+        }
+
+        System.out.println("\nDemand per class, averaged over the last "
+            + occupancyAnalyticsService.getForecastWeeks() + " complete weeks:");
+        System.out.println("+-----------------+-----+-------+-------+----------+--------+-----------+");
+        System.out.println("| Class Type      | Day | Hour  | Weeks | Capacity | Demand | Suggested |");
+        System.out.println("+-----------------+-----+-------+-------+----------+--------+-----------+");
+        for (SlotForecast forecast : forecasts) {
+            System.out.printf("| %-15s | %-3s | %02d:00 | %-5d | %-8.1f | %-6.1f | %-9d |%n",
+                forecast.getType(), forecast.getWeekday().toString().substring(0, 3), forecast.getHour(),
+                forecast.getWeeksObserved(), forecast.getAverageCapacity(), forecast.getForecastDemand(),
+                forecast.getSuggestedCapacity());
+        }
+        System.out.println("+-----------------+-----+-------+-------+----------+--------+-----------+");
+    }
+
+    /**
+     * Prints the revenue table for a revenue report.
+     * 
+     * @param report The report to print.
+     */
+    private void printRevenue(RevenueReport report) {
+        System.out.println("\n+-----------------+--------+-------------+-------------+----------+");
+        System.out.println("| Membership Type | Count  | Paid        | Pending     | % Paid   |");
+        System.out.println("+-----------------+--------+-------------+-------------+----------+");
+        
+        for (TypeRevenue totals : report.getByType().values()) {
+            System.out.printf("| %-15s | %-6d | $%-10.2f | $%-10.2f | %-8.1f |%n",
+                totals.getType(), totals.getMembershipCount(), totals.getPaidRevenue(),
+                totals.getPendingRevenue(), report.getPaidShare(totals));
+        }
+        
+        TypeRevenue total = report.getTotal();
+        System.out.println("+-----------------+--------+-------------+-------------+----------+");
+        System.out.printf("| %-15s | %-6d | $%-10.2f | $%-10.2f | %-8s |%n",
+            RevenueReport.TOTAL, total.getMembershipCount(), total.getPaidRevenue(),
+            total.getPendingRevenue(), "100%");
+        System.out.println("+-----------------+--------+-------------+-------------+----------+");
+    }
+
+    /**
+     * Displays all workout classes in the system in a tabular format, one page at a time.
      * 
      * @throws SQLException If a database error occurs while retrieving the classes.
      */
     private void viewAllClasses() throws SQLException {
-        List<WorkoutClass> classes = classService.getAllClasses();
-        if (classes.isEmpty()) {
+        List<ClassListing> firstPage = classService.getClassesPage(0, pageSize);
+        if (firstPage.isEmpty()) {
             System.out.println("\nNo classes found.");
         } else {
             System.out.println("\n=== ALL CLASSES ===");
             
             // Print table header
-            System.out.println(WorkoutClass.getTableHeader());
+            System.out.println(ClassListing.getTableHeader());
             
-            // Print each class as a row
-            classes.forEach(wc -> System.out.println(wc.toTableRow()));
+            // Print each class as a row, fetching further pages on request
+            int shown = printPages(firstPage, afterId -> classService.getClassesPage(afterId, pageSize),
+                ClassListing::getId, ClassListing::toTableRow);
             
             // Print table footer
-            System.out.println(WorkoutClass.getTableFooter());
+            System.out.println(ClassListing.getTableFooter());
             
             // Show count
-            System.out.println("Total classes: " + classes.size());
+            System.out.println("Classes shown: " + shown);
+        }
+    }
+
+    /**
+     * Prints table rows page by page. Only one page is held in memory; after each full page
+     * the admin is asked whether to continue.
+     * 
+     * @param firstPage The already loaded first page.
+     * @param nextPage Loads the page that follows a given ID.
+     * @param idOf Extracts the ID used to continue after a row.
+     * @param toRow Formats a row for the table.
+     * @return The number of rows printed.
+     */
+    private <T> int printPages(List<T> firstPage, IntFunction<List<T>> nextPage,
+                               ToIntFunction<T> idOf, Function<T, String> toRow) {
+        List<T> page = firstPage;
+        int shown = 0;
+        while (true) {
+            page.forEach(item -> System.out.println(toRow.apply(item)));
+            shown += page.size();
+            if (page.size() < pageSize) {
+                return shown;
+            }
+            System.out.print("-- Press Enter for more, or q to stop: ");
+            if (scanner.nextLine().trim().equalsIgnoreCase("q")) {
+                return shown;
+            }
+            page = nextPage.apply(idOf.applyAsInt(page.get(page.size() - 1)));
         }
     }
 }
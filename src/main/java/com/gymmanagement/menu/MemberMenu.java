@@ -1,13 +1,19 @@
 package com.gymmanagement.menu;
 
 import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Scanner;
 
 import com.gymmanagement.exception.DatabaseException;
+import com.gymmanagement.model.ClassListing;
+import com.gymmanagement.model.ClassQuery;
+import com.gymmanagement.model.EnrollmentResult;
 import com.gymmanagement.model.Membership;
+import com.gymmanagement.model.UnenrollmentResult;
 import com.gymmanagement.model.User;
-import com.gymmanagement.model.WorkoutClass;
 import com.gymmanagement.service.MembershipService;
 import com.gymmanagement.service.WorkoutClassService;
 
@@ -16,11 +22,13 @@ import com.gymmanagement.service.WorkoutClassService;
  * 
  * This class provides functionalities for gym members, allowing them to:
  * <ul>
- *   <li>Browse available workout classes</li>
+ *   <li>Browse upcoming workout classes</li>
  *   <li>View their memberships</li>
  *   <li>Purchase new memberships</li>
- *   <li>Enroll in workout classes</li>
+ *   <li>Enroll in workout classes, or join the waitlist of a full class</li>
  *   <li>View their enrolled workout classes</li>
+ *   <li>Leave a workout class</li>
+ *   <li>Search classes by date, type, trainer and free seats</li>
  *   <li>Logout from the member interface</li>
  * </ul>
  * 
@@ -82,7 +90,9 @@ public class MemberMenu {
         System.out.println("║  3. Purchase Membership           ║");
         System.out.println("║  4. Enroll in Class               ║");
         System.out.println("║  5. View Enrolled Classes         ║");
-        System.out.println("║  6. Logout                        ║");
+        System.out.println("║  6. Leave Class                   ║");
+        System.out.println("║  7. Search Classes                ║");
+        System.out.println("║  8. Logout                        ║");
         System.out.println("╚═══════════════════════════════════╝");
         System.out.println("");
         System.out.print("Select an option: ");
@@ -114,6 +124,12 @@ public class MemberMenu {
                 viewEnrolledClasses();
                 break;
             case 6:
+                leaveClass();
+                break;
+            case 7:
+                searchClasses();
+                break;
+            case 8:
                 System.out.println("Logging out...");
                 return false; // Exit the loop
             default:
@@ -123,19 +139,68 @@ public class MemberMenu {
     }
 
     /**
-     * Displays all available workout classes in a tabular format.
+     * Displays the next upcoming workout classes in a tabular format.
      * 
      * @throws SQLException If a database error occurs while retrieving the classes.
      */
     private void browseClasses() throws SQLException {
-        List<WorkoutClass> classes = classService.getAllClasses();
+        printClasses("AVAILABLE CLASSES", classService.searchClasses(ClassQuery.upcoming()));
+    }
+
+    /**
+     * Asks the member for search criteria and displays the matching classes. Blank answers
+     * leave a criterion out.
+     */
+    private void searchClasses() {
+        try {
+            System.out.print("From date (YYYY-MM-DD, blank for now): ");
+            String from = scanner.nextLine().trim();
+            System.out.print("To date (YYYY-MM-DD, blank for no end): ");
+            String to = scanner.nextLine().trim();
+            LocalDateTime start = from.isEmpty() ? LocalDateTime.now() : LocalDate.parse(from).atStartOfDay();
+            ClassQuery query = to.isEmpty()
+                ? ClassQuery.startingAt(start)
+                : ClassQuery.between(start, LocalDate.parse(to).plusDays(1).atStartOfDay());
+
+            System.out.print("Class type (blank for all): ");
+            String type = scanner.nextLine().trim();
+            if (!type.isEmpty()) {
+                query = query.withType(type);
+            }
+            System.out.print("Trainer ID (blank for all): ");
+            String trainer = scanner.nextLine().trim();
+            if (!trainer.isEmpty()) {
+                query = query.withTrainer(Integer.parseInt(trainer));
+            }
+            System.out.print("Only classes with free seats (y/n): ");
+            if (scanner.nextLine().trim().equalsIgnoreCase("y")) {
+                query = query.withOpenSeats();
+            }
+
+            printClasses("MATCHING CLASSES", classService.searchClasses(query));
+        } catch (DateTimeParseException e) {
+            System.out.println("Invalid date. Use YYYY-MM-DD.");
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid trainer ID.");
+        } catch (IllegalArgumentException e) {
+            System.out.println("Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Prints class listings as a table under a heading.
+     * 
+     * @param heading The table heading.
+     * @param classes The classes to print.
+     */
+    private void printClasses(String heading, List<ClassListing> classes) {
         if (classes.isEmpty()) {
             System.out.println("No classes available.");
         } else {
-            System.out.println("\n=== AVAILABLE CLASSES ===");
-            System.out.println(WorkoutClass.getTableHeader());
+            System.out.println("\n=== " + heading + " ===");
+            System.out.println(ClassListing.getTableHeader());
             classes.forEach(wc -> System.out.println(wc.toTableRow()));
-            System.out.println(WorkoutClass.getTableFooter());
+            System.out.println(ClassListing.getTableFooter());
         }
     }
 
@@ -201,7 +266,8 @@ public class MemberMenu {
     }
 
     /**
-     * Allows the member to enroll in a workout class.
+     * Allows the member to enroll in a workout class. If the class is full the member
+     * is placed on its waitlist instead.
      * 
      * @throws SQLException If a database error occurs while processing the enrollment.
      */
@@ -211,9 +277,49 @@ public class MemberMenu {
         int classId = scanner.nextInt();
         scanner.nextLine();
         
-        System.out.println(classService.enrollMember(currentUser.getId(), classId) 
-            ? "Enrollment successful!" 
-            : "Enrollment failed.");
+        EnrollmentResult result = classService.enrollOrWaitlist(currentUser.getId(), classId);
+        switch (result) {
+            case ENROLLED:
+                System.out.println("Enrollment successful!");
+                break;
+            case WAITLISTED:
+                int position = classService.getWaitlistPosition(currentUser.getId(), classId);
+                System.out.println(position > 0
+                    ? "Class is full. You are #" + position + " on the waitlist."
+                    : "Enrollment failed.");
+                break;
+            case ALREADY_ENROLLED:
+                System.out.println("You are already enrolled in this class.");
+                break;
+            case SCHEDULE_CONFLICT:
+                System.out.println("This class overlaps a class you are already enrolled in.");
+                break;
+            case CLASS_NOT_FOUND:
+                System.out.println("Class not found.");
+                break;
+            case NO_ACTIVE_MEMBERSHIP:
+                System.out.println("You need an active membership to join classes.");
+                break;
+            default:
+                System.out.println("Enrollment failed.");
+        }
+    }
+
+    /**
+     * Allows the member to leave a workout class they are enrolled in.
+     * 
+     * @throws DatabaseException If a database error occurs while processing the request.
+     */
+    private void leaveClass() throws SQLException, DatabaseException {
+        viewEnrolledClasses();
+        System.out.print("Enter class ID to leave: ");
+        int classId = scanner.nextInt();
+        scanner.nextLine();
+
+        UnenrollmentResult result = classService.unenrollMember(currentUser.getId(), classId);
+        System.out.println(result.isRemoved()
+            ? "You have left the class."
+            : "You are not enrolled in that class.");
     }
 
     /**
@@ -222,14 +328,14 @@ public class MemberMenu {
      * @throws SQLException If a database error occurs while retrieving the classes.
      */
     private void viewEnrolledClasses() throws SQLException, DatabaseException {
-        List<WorkoutClass> enrolledClasses = classService.getEnrolledClasses(currentUser.getId());
+        List<ClassListing> enrolledClasses = classService.getEnrolledClassListings(currentUser.getId());
         if (enrolledClasses.isEmpty()) {
             System.out.println("You are not enrolled in any classes.");
         } else {
             System.out.println("\n=== ENROLLED CLASSES ===");
-            System.out.println(WorkoutClass.getTableHeader());
+            System.out.println(ClassListing.getTableHeader());
             enrolledClasses.forEach(classObj -> System.out.println(classObj.toTableRow()));
-            System.out.println(WorkoutClass.getTableFooter());
+            System.out.println(ClassListing.getTableFooter());
         }
     }
 }
@@ -1,25 +1,33 @@
 package com.gymmanagement.menu;
 
 import java.sql.SQLException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Scanner;
 
 import com.gymmanagement.exception.DatabaseException;
+import com.gymmanagement.model.ClassListing;
+import com.gymmanagement.model.ClassSeries;
+import com.gymmanagement.model.RecurrenceRule;
 import com.gymmanagement.model.User;
 import com.gymmanagement.model.WorkoutClass;
+import com.gymmanagement.service.ClassSeriesService;
 import com.gymmanagement.service.MembershipService;
 import com.gymmanagement.service.WorkoutClassService;
 
 /**
  * Console-based menu for trainer operations, including workout class management and memberships.
- * Allows trainers to view, create, update, and delete classes, as well as purchase memberships.
+ * Allows trainers to view, create, update, and delete classes, set up weekly recurring classes,
+ * and purchase memberships.
  */
 public class TrainerMenu {
     private final Scanner scanner;
     private final MembershipService membershipService;
     private final WorkoutClassService classService;
+    private final ClassSeriesService classSeriesService;
     private final User currentUser;
 
     /**
@@ -28,12 +36,15 @@ public class TrainerMenu {
      * @param scanner The {@link Scanner} for reading user input.
      * @param membershipService Service for managing membership-related operations.
      * @param classService Service for managing workout class-related operations.
+     * @param classSeriesService Service for managing recurring class series.
      * @param currentUser The logged-in trainer as a {@link User} object.
      */
-    public TrainerMenu(Scanner scanner, MembershipService membershipService, WorkoutClassService classService, User currentUser) {
+    public TrainerMenu(Scanner scanner, MembershipService membershipService, WorkoutClassService classService,
+                       ClassSeriesService classSeriesService, User currentUser) {
         this.scanner = scanner;
         this.membershipService = membershipService;
         this.classService = classService;
+        this.classSeriesService = classSeriesService;
         this.currentUser = currentUser;
     }
 
@@ -69,7 +80,8 @@ public class TrainerMenu {
         System.out.println("║  3. Update Class                  ║");
         System.out.println("║  4. Delete Class                  ║");
         System.out.println("║  5. Purchase Membership           ║");
-        System.out.println("║  6. Logout                        ║");
+        System.out.println("║  6. Recurring Classes             ║");
+        System.out.println("║  7. Logout                        ║");
         System.out.println("╚═══════════════════════════════════╝");
         System.out.print("Select an option: ");
     }
@@ -99,6 +111,9 @@ public class TrainerMenu {
                 purchaseMembership();
                 break;
             case 6:
+                manageRecurringClasses();
+                break;
+            case 7:
                 System.out.println("Logging out...");
                 return false;
             default:
@@ -115,15 +130,15 @@ public class TrainerMenu {
      * @throws SQLException If a database error occurs while retrieving classes.
      */
     private void viewMyClasses() throws SQLException {
-        List<WorkoutClass> classes = classService.getClassesByTrainer(currentUser.getId());
+        List<ClassListing> classes = classService.getClassListingsByTrainer(currentUser.getId());
 
         if (classes.isEmpty()) {
             System.out.println("You don't have any scheduled classes.");
         } else {
             System.out.println("\n=== MY CLASSES ===");
-            System.out.println(WorkoutClass.getTableHeader());
+            System.out.println(ClassListing.getTableHeader());
             classes.forEach(wc -> System.out.println(wc.toTableRow()));
-            System.out.println(WorkoutClass.getTableFooter());
+            System.out.println(ClassListing.getTableFooter());
         }
     }
 
@@ -133,15 +148,15 @@ public class TrainerMenu {
      * @throws SQLException If a database error occurs while retrieving classes.
      */
     private void viewAllClasses() throws SQLException {
-        List<WorkoutClass> classes = classService.getAllClasses();
+        List<ClassListing> classes = classService.getClassListings();
 
         if (classes.isEmpty()) {
             System.out.println("No classes found.");
         } else {
             System.out.println("\n=== ALL AVAILABLE CLASSES ===");
-            System.out.println(WorkoutClass.getTableHeader());
+            System.out.println(ClassListing.getTableHeader());
             classes.forEach(wc -> System.out.println(wc.toTableRow()));
-            System.out.println(WorkoutClass.getTableFooter());
+            System.out.println(ClassListing.getTableFooter());
         }
     }
 
@@ -182,11 +197,203 @@ public class TrainerMenu {
         newClass.setDurationMinutes(duration);
         newClass.setMaxCapacity(capacity);
         newClass.setTrainerId(currentUser.getId());
+        if (!resolveScheduleConflict(newClass)) {
+            System.out.println("Class creation aborted.");
+            return;
+        }
 
         boolean success = classService.createClass(newClass);
         System.out.println(success ? "Class created successfully!" : "Failed to create class.");
     }
 
+    /**
+     * Checks whether a class would overlap another of the trainer's classes and, if so, offers
+     * to move it to the trainer's next free slot.
+     * 
+     * @param workoutClass The class about to be saved; its schedule is changed if the trainer accepts.
+     * @return {@code true} if the class can be saved, {@code false} if the trainer declined the suggestion.
+     * @throws DatabaseException If the trainer's schedule could not be read.
+     */
+    private boolean resolveScheduleConflict(WorkoutClass workoutClass) throws DatabaseException {
+        int conflictId = classService.findScheduleConflict(workoutClass);
+        if (conflictId == 0) {
+            return true;
+        }
+        LocalDateTime suggestion = classService.suggestNextFreeSlot(
+            workoutClass.getTrainerId(), workoutClass.getSchedule(), workoutClass.getDurationMinutes());
+        System.out.println("This overlaps your class #" + conflictId + ".");
+        System.out.print("Your next free slot is " + suggestion + ". Use it instead? (y/n): ");
+        if (!scanner.nextLine().trim().equalsIgnoreCase("y")) {
+            return false;
+        }
+        workoutClass.setSchedule(suggestion);
+        return true;
+    }
+
+    /**
+     * Shows the recurring class options: list, create or edit the trainer's series.
+     * 
+     * @throws DatabaseException If a database error occurs while handling the choice.
+     */
+    private void manageRecurringClasses() throws DatabaseException {
+        System.out.println("\n=== RECURRING CLASSES ===");
+        System.out.println("1. View My Series");
+        System.out.println("2. Create Series");
+        System.out.println("3. Edit Series");
+        System.out.println("4. Back");
+        System.out.print("Select an option: ");
+
+        int choice = scanner.nextInt();
+        scanner.nextLine();
+
+        switch (choice) {
+            case 1:
+                viewMySeries();
+                break;
+            case 2:
+                createSeries();
+                break;
+            case 3:
+                updateSeries();
+                break;
+            case 4:
+                break;
+            default:
+                System.out.println("Invalid option.");
+        }
+    }
+
+    /**
+     * Displays the recurring class series led by the trainer.
+     */
+    private void viewMySeries() {
+        List<ClassSeries> series = classSeriesService.getSeriesByTrainer(currentUser.getId());
+
+        if (series.isEmpty()) {
+            System.out.println("You don't have any recurring classes.");
+        } else {
+            System.out.println("\n=== MY RECURRING CLASSES ===");
+            System.out.println(ClassSeries.getTableHeader());
+            series.forEach(s -> System.out.println(s.toTableRow()));
+            System.out.println(ClassSeries.getTableFooter());
+        }
+    }
+
+    /**
+     * Creates a weekly recurring series based on trainer input. Classes are created up to the
+     * end of the scheduling window straight away, and later ones are added automatically.
+     * 
+     * @throws DatabaseException If a database error occurs while creating the series.
+     */
+    private void createSeries() throws DatabaseException {
+        ClassSeries series = new ClassSeries();
+        System.out.print("Class Name: ");
+        series.setName(scanner.nextLine());
+        System.out.print("Description: ");
+        series.setDescription(scanner.nextLine());
+        System.out.print("Type: ");
+        series.setType(scanner.nextLine());
+        System.out.print("First Class (YYYY-MM-DDTHH:MM): ");
+        LocalDateTime startsAt = parseSchedule(scanner.nextLine());
+        if (startsAt == null) {
+            System.out.println("Series creation aborted due to invalid schedule format.");
+            return;
+        }
+        series.setStartsAt(startsAt);
+
+        System.out.print("Duration (minutes): ");
+        series.setDurationMinutes(scanner.nextInt());
+        scanner.nextLine();
+        System.out.print("Max Capacity: ");
+        series.setMaxCapacity(scanner.nextInt());
+        scanner.nextLine();
+        series.setTrainerId(currentUser.getId());
+
+        System.out.print("Days (e.g. MO,WE,FR; blank for the first class's weekday): ");
+        String days = scanner.nextLine().trim();
+        System.out.print("Repeat every how many weeks [1]: ");
+        String weeks = scanner.nextLine().trim();
+        System.out.print("Last Date (YYYY-MM-DD; blank for no end): ");
+        String lastDate = scanner.nextLine().trim();
+        try {
+            StringBuilder rule = new StringBuilder("FREQ=WEEKLY;INTERVAL=").append(weeks.isEmpty() ? "1" : weeks);
+            if (!days.isEmpty()) {
+                rule.append(";BYDAY=").append(days);
+            }
+            if (!lastDate.isEmpty()) {
+                rule.append(";UNTIL=").append(LocalDate.parse(lastDate).toString().replace("-", ""));
+            }
+            series.setRule(RecurrenceRule.parse(rule.toString()));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            System.out.println("Invalid repeat settings: " + e.getMessage());
+            return;
+        }
+
+        List<LocalDateTime> conflicts = classSeriesService.findConflicts(series);
+        if (!conflicts.isEmpty()) {
+            System.out.println(conflicts.size() + " of these classes overlap your other classes and will be skipped:");
+            conflicts.forEach(start -> System.out.println("  " + start));
+            System.out.print("Create the series anyway? (y/n): ");
+            if (!scanner.nextLine().trim().equalsIgnoreCase("y")) {
+                System.out.println("Series creation aborted.");
+                return;
+            }
+        }
+
+        List<WorkoutClass> created = classSeriesService.createSeries(series);
+        System.out.println("Series #" + series.getId() + " created with " + created.size() + " classes over the next "
+            + classSeriesService.getWindowDays() + " days. Later classes are added automatically.");
+    }
+
+    /**
+     * Edits one of the trainer's series. The changes apply to every class in the series that
+     * has not started yet.
+     * 
+     * @throws DatabaseException If a database error occurs while updating the series.
+     */
+    private void updateSeries() throws DatabaseException {
+        viewMySeries();
+
+        System.out.print("\nEnter series ID to edit: ");
+        if (!scanner.hasNextInt()) {
+            System.out.println("Invalid input. Returning to menu.");
+            scanner.nextLine();
+            return;
+        }
+        int seriesId = scanner.nextInt();
+        scanner.nextLine();
+
+        ClassSeries series = classSeriesService.getSeriesById(seriesId);
+        if (series == null || series.getTrainerId() != currentUser.getId()) {
+            System.out.println("Series not found.");
+            return;
+        }
+
+        System.out.println("\n=== EDIT SERIES ===");
+        System.out.println("Changes apply to every upcoming class in the series. Leave blank to keep current value");
+        updateField("Class Name", series.getName(), series::setName);
+        updateField("Description", series.getDescription(), series::setDescription);
+        updateField("Type", series.getType(), series::setType);
+
+        System.out.print("Time of Day [" + series.getStartsAt().toLocalTime() + "]: ");
+        String time = scanner.nextLine().trim();
+        if (!time.isEmpty()) {
+            try {
+                series.setStartsAt(series.getStartsAt().toLocalDate().atTime(LocalTime.parse(time)));
+            } catch (DateTimeParseException e) {
+                System.out.println("Invalid time format. No changes made to the time.");
+            }
+        }
+
+        updateIntField("Duration (minutes)", series.getDurationMinutes(), series::setDurationMinutes);
+        updateIntField("Max Capacity", series.getMaxCapacity(), series::setMaxCapacity);
+
+        List<WorkoutClass> updated = classSeriesService.updateSeries(series);
+        System.out.println(updated != null
+            ? "Series updated along with " + updated.size() + " upcoming classes."
+            : "Failed to update series. A moved class may overlap another of your classes.");
+    }
+
     /**
      * Parses a date-time input provided by the user.
      * 
@@ -248,6 +455,10 @@ private void updateClass() throws SQLException, DatabaseException {
 
     updateIntField("Duration (minutes)", existingClass.getDurationMinutes(), existingClass::setDurationMinutes);
     updateIntField("Max Capacity", existingClass.getMaxCapacity(), existingClass::setMaxCapacity);
+    if (!resolveScheduleConflict(existingClass)) {
+        System.out.println("Class update aborted.");
+        return;
+    }
 
     boolean success = classService.updateClass(existingClass);
     System.out.println(success ? "Class updated successfully!" : "Failed to update class.");
@@ -0,0 +1,212 @@
+package com.gymmanagement.model;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Lightweight, read-only view of a workout class for list screens.
+ * Leaves out the description, which list screens never show.
+ */
+public class ClassListing {
+    private int id;
+    private String name;
+    private String type;
+    private int trainerId;
+    private LocalDateTime schedule;
+    private int durationMinutes;
+    private int maxCapacity;
+    private int currentEnrollment;
+
+    /**
+     * Default constructor for creating an empty listing.
+     */
+    public ClassListing() {}
+
+    /**
+     * Retrieves the unique identifier for this workout class.
+     * 
+     * @return The unique class ID.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Updates the unique identifier for this workout class.
+     * 
+     * @param id New unique class ID.
+     */
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Retrieves the name of the workout class.
+     * 
+     * @return The class name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Updates the name of the workout class.
+     * 
+     * @param name New class name.
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Retrieves the type of workout class.
+     * 
+     * @return The class type.
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Updates the type of workout class.
+     * 
+     * @param type New class type.
+     */
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    /**
+     * Retrieves the ID of the trainer leading the class.
+     * 
+     * @return The trainer ID.
+     */
+    public int getTrainerId() {
+        return trainerId;
+    }
+
+    /**
+     * Updates the ID of the trainer leading the class.
+     * 
+     * @param trainerId New trainer ID.
+     */
+    public void setTrainerId(int trainerId) {
+        this.trainerId = trainerId;
+    }
+
+    /**
+     * Retrieves the scheduled start time of the class.
+     * 
+     * @return The scheduled date and time.
+     */
+    public LocalDateTime getSchedule() {
+        return schedule;
+    }
+
+    /**
+     * Updates the scheduled start time of the class.
+     * 
+     * @param schedule New scheduled date and time.
+     */
+    public void setSchedule(LocalDateTime schedule) {
+        this.schedule = schedule;
+    }
+
+    /**
+     * Retrieves the duration of the class in minutes.
+     * 
+     * @return The duration in minutes.
+     */
+    public int getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    /**
+     * Updates the duration of the class in minutes.
+     * 
+     * @param durationMinutes New duration in minutes.
+     */
+    public void setDurationMinutes(int durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+
+    /**
+     * Retrieves the maximum number of participants allowed.
+     * 
+     * @return The maximum capacity.
+     */
+    public int getMaxCapacity() {
+        return maxCapacity;
+    }
+
+    /**
+     * Updates the maximum number of participants allowed.
+     * 
+     * @param maxCapacity New maximum capacity.
+     */
+    public void setMaxCapacity(int maxCapacity) {
+        this.maxCapacity = maxCapacity;
+    }
+
+    /**
+     * Retrieves the number of members currently enrolled.
+     * 
+     * @return The current enrollment count.
+     */
+    public int getCurrentEnrollment() {
+        return currentEnrollment;
+    }
+
+    /**
+     * Updates the number of members currently enrolled.
+     * 
+     * @param currentEnrollment New enrollment count.
+     */
+    public void setCurrentEnrollment(int currentEnrollment) {
+        this.currentEnrollment = currentEnrollment;
+    }
+
+    // --- Display Methods ---
+
+    /**
+     * Provides a formatted table header for displaying class listings.
+     * 
+     * @return A formatted string representing the table header.
+     */
+    public static String getTableHeader() {
+        return String.format(
+            "\n+------+-----------------+----------------------+----------+---------------------+----------------+----------------+%n" +
+            "| %-4s | %-15s | %-20s | %-8s | %-19s | %-14s | %-14s |%n" +
+            "+------+-----------------+----------------------+----------+---------------------+----------------+----------------+",
+            "ID", "Name", "Type", "Trainer", "Schedule", "Duration (min)", "Capacity");
+    }
+
+    /**
+     * Provides a formatted table footer for displaying class listings.
+     * 
+     * @return A formatted string representing the table footer.
+     */
+    public static String getTableFooter() {
+        return "+------+-----------------+----------------------+----------+---------------------+----------------+----------------+\n";
+    }
+
+    /**
+     * Formats the listing into a table row.
+     * 
+     * @return A formatted string representing the class in a table row.
+     */
+    public String toTableRow() {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+        String scheduleStr = (schedule != null) ? schedule.format(formatter) : "N/A";
+
+        return String.format(
+            "| %-4d | %-15s | %-20s | %-8d | %-19s | %-14d | %-14s |",
+            id,
+            name,
+            type,
+            trainerId,
+            scheduleStr,
+            durationMinutes,
+            currentEnrollment + "/" + maxCapacity);
+    }
+}
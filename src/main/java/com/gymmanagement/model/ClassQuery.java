@@ -0,0 +1,163 @@
+package com.gymmanagement.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Criteria for searching workout classes by start time, type, trainer and free seats.
+ *
+ * <p>Queries are immutable; each {@code with} method returns a narrowed copy. Results are
+ * always ordered by start time, then class ID.</p>
+ */
+public final class ClassQuery {
+    /** Number of classes returned when no limit is given. */
+    public static final int DEFAULT_LIMIT = 50;
+
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final String type;
+    private final int trainerId;
+    private final boolean openSeatsOnly;
+    private final int limit;
+
+    private ClassQuery(LocalDateTime from, LocalDateTime to, String type, int trainerId,
+                       boolean openSeatsOnly, int limit) {
+        if (from == null) {
+            throw new IllegalArgumentException("A search needs a start time");
+        }
+        if (to != null && !to.isAfter(from)) {
+            throw new IllegalArgumentException("The end of the range must be after its start");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("The limit must be at least 1");
+        }
+        this.from = from;
+        this.to = to;
+        this.type = type;
+        this.trainerId = trainerId;
+        this.openSeatsOnly = openSeatsOnly;
+        this.limit = limit;
+    }
+
+    /**
+     * Creates a query for every class that has not started yet.
+     *
+     * @return A query starting now, with no end.
+     */
+    public static ClassQuery upcoming() {
+        return startingAt(LocalDateTime.now());
+    }
+
+    /**
+     * Creates a query for every class starting at or after a given time.
+     *
+     * @param from The earliest start time, inclusive.
+     * @return A query with no end.
+     */
+    public static ClassQuery startingAt(LocalDateTime from) {
+        return new ClassQuery(from, null, null, 0, false, DEFAULT_LIMIT);
+    }
+
+    /**
+     * Creates a query for classes starting within a time range.
+     *
+     * @param from The earliest start time, inclusive.
+     * @param to The latest start time, exclusive.
+     * @return A query over the range.
+     */
+    public static ClassQuery between(LocalDateTime from, LocalDateTime to) {
+        return new ClassQuery(from, to, null, 0, false, DEFAULT_LIMIT);
+    }
+
+    /**
+     * Narrows the query to one class type.
+     *
+     * @param type The class type, or {@code null} for all types.
+     * @return A copy of this query.
+     */
+    public ClassQuery withType(String type) {
+        return new ClassQuery(from, to, type, trainerId, openSeatsOnly, limit);
+    }
+
+    /**
+     * Narrows the query to one trainer's classes.
+     *
+     * @param trainerId The trainer's user ID, or {@code 0} for all trainers.
+     * @return A copy of this query.
+     */
+    public ClassQuery withTrainer(int trainerId) {
+        return new ClassQuery(from, to, type, trainerId, openSeatsOnly, limit);
+    }
+
+    /**
+     * Narrows the query to classes with at least one free seat.
+     *
+     * @return A copy of this query.
+     */
+    public ClassQuery withOpenSeats() {
+        return new ClassQuery(from, to, type, trainerId, true, limit);
+    }
+
+    /**
+     * Caps the number of classes returned.
+     *
+     * @param limit The maximum number of classes (at least 1).
+     * @return A copy of this query.
+     */
+    public ClassQuery withLimit(int limit) {
+        return new ClassQuery(from, to, type, trainerId, openSeatsOnly, limit);
+    }
+
+    /**
+     * Checks the type, trainer and seat criteria against a class. The time range is not checked.
+     *
+     * @param listing The class to check.
+     * @return {@code true} if the class satisfies every criterion other than the time range.
+     */
+    public boolean matches(ClassListing listing) {
+        return (type == null || type.equals(listing.getType()))
+            && (trainerId == 0 || trainerId == listing.getTrainerId())
+            && (!openSeatsOnly || listing.getCurrentEnrollment() < listing.getMaxCapacity());
+    }
+
+    /**
+     * @return The earliest start time, inclusive.
+     */
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    /**
+     * @return The latest start time, exclusive, or {@code null} for no end.
+     */
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    /**
+     * @return The class type, or {@code null} for all types.
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * @return The trainer's user ID, or {@code 0} for all trainers.
+     */
+    public int getTrainerId() {
+        return trainerId;
+    }
+
+    /**
+     * @return {@code true} if only classes with a free seat are wanted.
+     */
+    public boolean isOpenSeatsOnly() {
+        return openSeatsOnly;
+    }
+
+    /**
+     * @return The maximum number of classes returned.
+     */
+    public int getLimit() {
+        return limit;
+    }
+}
@@ -0,0 +1,266 @@
+package com.gymmanagement.model;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Represents a recurring workout class: the details every occurrence shares, the start of the
+ * first occurrence, and the {@link RecurrenceRule} that places the others.
+ * Occurrences are stored as ordinary {@link WorkoutClass} rows that point back at the series.
+ */
+public class ClassSeries {
+    private int id;
+    private String name;
+    private String description;
+    private String type;
+    private int trainerId;
+    private LocalDateTime startsAt;
+    private int durationMinutes;
+    private int maxCapacity;
+    private RecurrenceRule rule;
+    private LocalDateTime materializedUntil;
+    private boolean complete;
+
+    /**
+     * Default constructor for creating a series with empty fields.
+     */
+    public ClassSeries() {}
+
+    /**
+     * Retrieves the unique identifier for this series.
+     *
+     * @return The unique series ID.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Updates the unique identifier for this series.
+     *
+     * @param id New unique series ID.
+     */
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Retrieves the name shared by every occurrence.
+     *
+     * @return The name of the classes (e.g., "Morning Yoga").
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Updates the name shared by every occurrence.
+     *
+     * @param name New name for the classes.
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Retrieves the description shared by every occurrence.
+     *
+     * @return A detailed description of the classes.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Updates the description shared by every occurrence.
+     *
+     * @param description New details about the classes.
+     */
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Retrieves the category or type of the classes.
+     *
+     * @return The type of the classes (e.g., "Cardio", "Strength").
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Updates the category or type of the classes.
+     *
+     * @param type New type or category for the classes.
+     */
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    /**
+     * Retrieves the ID of the trainer who leads the classes.
+     *
+     * @return The ID of the trainer.
+     */
+    public int getTrainerId() {
+        return trainerId;
+    }
+
+    /**
+     * Updates the ID of the trainer who leads the classes.
+     *
+     * @param trainerId The ID of the trainer.
+     */
+    public void setTrainerId(int trainerId) {
+        this.trainerId = trainerId;
+    }
+
+    /**
+     * Retrieves the start of the first occurrence, which also fixes the time of day of the others.
+     *
+     * @return The first start date and time.
+     */
+    public LocalDateTime getStartsAt() {
+        return startsAt;
+    }
+
+    /**
+     * Updates the start of the first occurrence.
+     *
+     * @param startsAt The first start date and time.
+     */
+    public void setStartsAt(LocalDateTime startsAt) {
+        this.startsAt = startsAt;
+    }
+
+    /**
+     * Retrieves the duration of each class in minutes.
+     *
+     * @return The duration in minutes.
+     */
+    public int getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    /**
+     * Updates the duration of each class in minutes.
+     *
+     * @param durationMinutes The new duration in minutes.
+     */
+    public void setDurationMinutes(int durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+
+    /**
+     * Retrieves the maximum number of members per class.
+     *
+     * @return The maximum capacity.
+     */
+    public int getMaxCapacity() {
+        return maxCapacity;
+    }
+
+    /**
+     * Updates the maximum number of members per class.
+     *
+     * @param maxCapacity The new maximum capacity.
+     */
+    public void setMaxCapacity(int maxCapacity) {
+        this.maxCapacity = maxCapacity;
+    }
+
+    /**
+     * Retrieves the rule that places the occurrences.
+     *
+     * @return The recurrence rule.
+     */
+    public RecurrenceRule getRule() {
+        return rule;
+    }
+
+    /**
+     * Updates the rule that places the occurrences.
+     *
+     * @param rule The recurrence rule.
+     */
+    public void setRule(RecurrenceRule rule) {
+        this.rule = rule;
+    }
+
+    /**
+     * Retrieves the point up to which occurrences have been stored as classes.
+     *
+     * @return The start of the part of the series not yet stored.
+     */
+    public LocalDateTime getMaterializedUntil() {
+        return materializedUntil;
+    }
+
+    /**
+     * Updates the point up to which occurrences have been stored as classes.
+     *
+     * @param materializedUntil The start of the part of the series not yet stored.
+     */
+    public void setMaterializedUntil(LocalDateTime materializedUntil) {
+        this.materializedUntil = materializedUntil;
+    }
+
+    /**
+     * Checks whether every occurrence has been stored.
+     *
+     * @return {@code true} if the rule has no occurrences left to store.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Marks whether every occurrence has been stored.
+     *
+     * @param complete {@code true} if the rule has no occurrences left to store.
+     */
+    public void setComplete(boolean complete) {
+        this.complete = complete;
+    }
+
+    /**
+     * Provides a formatted table header for displaying series in a table.
+     *
+     * @return A formatted string representing the table header.
+     */
+    public static String getTableHeader() {
+        return String.format(
+            "\n+------+-----------------+----------------------+------------------+----------------------------------+%n" +
+            "| %-4s | %-15s | %-20s | %-16s | %-32s |%n" +
+            "+------+-----------------+----------------------+------------------+----------------------------------+",
+            "ID", "Name", "Type", "First Class", "Repeats");
+    }
+
+    /**
+     * Provides a formatted table footer for displaying series.
+     *
+     * @return A formatted string representing the table footer.
+     */
+    public static String getTableFooter() {
+        return "+------+-----------------+----------------------+------------------+----------------------------------+\n";
+    }
+
+    /**
+     * Formats the details of the series into a table row.
+     *
+     * @return A formatted string representing the series in a table row.
+     */
+    public String toTableRow() {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+        String startStr = (startsAt != null) ? startsAt.format(formatter) : "N/A";
+
+        return String.format(
+            "| %-4d | %-15s | %-20s | %-16s | %-32s |",
+            id,
+            name,
+            type,
+            startStr,
+            rule);
+    }
+}
@@ -0,0 +1,27 @@
+package com.gymmanagement.model;
+
+/**
+ * Outcome of an attempt to enroll a single member in a workout class.
+ */
+public enum EnrollmentResult {
+    /** The member now holds a seat in the class. */
+    ENROLLED,
+
+    /** The member already held a seat in the class; nothing changed. */
+    ALREADY_ENROLLED,
+
+    /** The class had no free seat left for the member. */
+    CLASS_FULL,
+
+    /** The class was full, so the member was placed on its waitlist. */
+    WAITLISTED,
+
+    /** No class exists with the requested ID. */
+    CLASS_NOT_FOUND,
+
+    /** The member holds no active membership today, so they may not join classes. */
+    NO_ACTIVE_MEMBERSHIP,
+
+    /** The class overlaps another class the member is already enrolled in. */
+    SCHEDULE_CONFLICT
+}
@@ -0,0 +1,79 @@
+package com.gymmanagement.model;
+
+import java.time.LocalDate;
+
+/**
+ * Immutable metrics for one pass of the membership expiry scheduler.
+ */
+public final class ExpiryRun {
+    private final LocalDate asOf;
+    private final long expired;
+    private final int chunks;
+    private final long elapsedMillis;
+
+    /**
+     * Creates the metrics for a pass.
+     * 
+     * @param asOf The date the pass expired memberships against.
+     * @param expired Number of memberships expired.
+     * @param chunks Number of batched updates issued.
+     * @param elapsedMillis Wall-clock duration of the pass in milliseconds.
+     */
+    public ExpiryRun(LocalDate asOf, long expired, int chunks, long elapsedMillis) {
+        this.asOf = asOf;
+        this.expired = expired;
+        this.chunks = chunks;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Retrieves the date the pass expired memberships against.
+     * 
+     * @return The as-of date.
+     */
+    public LocalDate getAsOf() {
+        return asOf;
+    }
+
+    /**
+     * Retrieves the number of memberships expired.
+     * 
+     * @return The expired count.
+     */
+    public long getExpired() {
+        return expired;
+    }
+
+    /**
+     * Retrieves the number of batched updates issued.
+     * 
+     * @return The chunk count.
+     */
+    public int getChunks() {
+        return chunks;
+    }
+
+    /**
+     * Retrieves the wall-clock duration of the pass.
+     * 
+     * @return Elapsed time in milliseconds.
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Calculates how many memberships the pass expired per second.
+     * 
+     * @return The throughput, or {@code 0} for an empty pass.
+     */
+    public double getThroughputPerSecond() {
+        return expired * 1000.0 / Math.max(1L, elapsedMillis);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ExpiryRun[asOf=%s, expired=%d, chunks=%d, elapsedMillis=%d]",
+            asOf, expired, chunks, elapsedMillis);
+    }
+}
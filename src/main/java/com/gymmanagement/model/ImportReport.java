@@ -0,0 +1,80 @@
+package com.gymmanagement.model;
+
+/**
+ * Immutable progress of a bulk import: how many rows have been read, stored and rejected so far.
+ */
+public final class ImportReport {
+    private final String entity;
+    private final long rowsRead;
+    private final long imported;
+    private final long rejected;
+    private final long elapsedMillis;
+
+    /**
+     * Creates a progress snapshot.
+     * 
+     * @param entity What is being imported, for example {@code users}.
+     * @param rowsRead Data rows read from the file so far.
+     * @param imported Rows stored in the database so far.
+     * @param rejected Rows written to the quarantine file so far.
+     * @param elapsedMillis Time since the import started, in milliseconds.
+     */
+    public ImportReport(String entity, long rowsRead, long imported, long rejected, long elapsedMillis) {
+        this.entity = entity;
+        this.rowsRead = rowsRead;
+        this.imported = imported;
+        this.rejected = rejected;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Retrieves what is being imported.
+     * 
+     * @return The entity name.
+     */
+    public String getEntity() {
+        return entity;
+    }
+
+    /**
+     * Retrieves the number of data rows read from the file.
+     * 
+     * @return Rows read.
+     */
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    /**
+     * Retrieves the number of rows stored in the database.
+     * 
+     * @return Rows imported.
+     */
+    public long getImported() {
+        return imported;
+    }
+
+    /**
+     * Retrieves the number of rows written to the quarantine file.
+     * 
+     * @return Rows rejected.
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Retrieves the time since the import started.
+     * 
+     * @return Elapsed time in milliseconds.
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d read, %d imported, %d rejected (%d ms)",
+            entity, rowsRead, imported, rejected, elapsedMillis);
+    }
+}
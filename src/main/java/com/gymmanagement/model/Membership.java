@@ -8,6 +8,12 @@ import java.time.format.DateTimeFormatter;
  * Tracks user associations and membership-related information for billing and scheduling purposes.
  */
 public class Membership {
+    /** Status of a membership whose end date has not passed yet. */
+    public static final String ACTIVE = "ACTIVE";
+
+    /** Status of a membership the expiry scheduler has closed after its end date. */
+    public static final String EXPIRED = "EXPIRED";
+
     private int id;
     private int userId;
     private String type;
@@ -16,6 +22,7 @@ public class Membership {
     private LocalDate endDate;
     private double price;
     private String paymentStatus;
+    private String status = ACTIVE;
 
     /**
      * Default constructor for creating an empty membership instance.
@@ -166,6 +173,24 @@ public class Membership {
         this.paymentStatus = paymentStatus;
     }
 
+    /**
+     * Retrieves the lifecycle status of the membership.
+     * 
+     * @return {@link #ACTIVE} or {@link #EXPIRED}.
+     */
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * Updates the lifecycle status of the membership.
+     * 
+     * @param status New status, {@link #ACTIVE} or {@link #EXPIRED}.
+     */
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
     /**
      * Provides a formatted table header for membership listings.
      * 
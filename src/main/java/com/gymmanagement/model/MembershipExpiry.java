@@ -0,0 +1,71 @@
+package com.gymmanagement.model;
+
+import java.time.LocalDate;
+
+/**
+ * Event describing a membership that the expiry scheduler has just moved to
+ * {@link Membership#EXPIRED}.
+ */
+public final class MembershipExpiry {
+    private final int membershipId;
+    private final int userId;
+    private final String type;
+    private final LocalDate endDate;
+
+    /**
+     * Creates an expiry event.
+     * 
+     * @param membershipId The ID of the expired membership.
+     * @param userId The ID of the member who held it.
+     * @param type The membership type.
+     * @param endDate The last day the membership was valid.
+     */
+    public MembershipExpiry(int membershipId, int userId, String type, LocalDate endDate) {
+        this.membershipId = membershipId;
+        this.userId = userId;
+        this.type = type;
+        this.endDate = endDate;
+    }
+
+    /**
+     * Retrieves the ID of the expired membership.
+     * 
+     * @return The membership ID.
+     */
+    public int getMembershipId() {
+        return membershipId;
+    }
+
+    /**
+     * Retrieves the ID of the member who held the membership.
+     * 
+     * @return The user ID.
+     */
+    public int getUserId() {
+        return userId;
+    }
+
+    /**
+     * Retrieves the membership type.
+     * 
+     * @return The membership type.
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Retrieves the last day the membership was valid.
+     * 
+     * @return The end date.
+     */
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MembershipExpiry[membershipId=%d, userId=%d, type='%s', endDate=%s]",
+            membershipId, userId, type, endDate);
+    }
+}
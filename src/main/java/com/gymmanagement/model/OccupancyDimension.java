@@ -0,0 +1,57 @@
+package com.gymmanagement.model;
+
+import java.util.Comparator;
+
+/**
+ * What class occupancy is grouped by in a fill rate report.
+ */
+public enum OccupancyDimension {
+    /** One group per class type. */
+    TYPE,
+
+    /** One group per trainer. */
+    TRAINER,
+
+    /** One group per day of the week, Monday first. */
+    WEEKDAY,
+
+    /** One group per start hour. */
+    HOUR;
+
+    /**
+     * Finds the label of the group a slot belongs to.
+     *
+     * @param slot Any slot.
+     * @return The label of its group.
+     */
+    public String labelOf(SlotStats slot) {
+        switch (this) {
+            case TRAINER:
+                return slot.getTrainerId() == 0 ? "(removed)" : "Trainer #" + slot.getTrainerId();
+            case WEEKDAY:
+                return slot.getWeekday().toString();
+            case HOUR:
+                return String.format("%02d:00", slot.getHour());
+            default:
+                return slot.getType();
+        }
+    }
+
+    /**
+     * Retrieves the order the groups are reported in.
+     *
+     * @return A comparator that puts slots of the same group together, groups in report order.
+     */
+    public Comparator<SlotStats> order() {
+        switch (this) {
+            case TRAINER:
+                return Comparator.comparingInt(SlotStats::getTrainerId);
+            case WEEKDAY:
+                return Comparator.comparing(SlotStats::getWeekday);
+            case HOUR:
+                return Comparator.comparingInt(SlotStats::getHour);
+            default:
+                return Comparator.comparing(SlotStats::getType);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.gymmanagement.model;
+
+/**
+ * Immutable occupancy totals for a group of classes that have already started.
+ */
+public final class OccupancyStats {
+    private final String label;
+    private final long classCount;
+    private final long seatsOffered;
+    private final long seatsTaken;
+    private final long waitlisted;
+    private final long leadMinutes;
+
+    /**
+     * Creates a set of totals.
+     *
+     * @param label What the classes have in common, such as a type or a weekday.
+     * @param classCount Number of classes.
+     * @param seatsOffered Summed capacity of those classes.
+     * @param seatsTaken Number of enrollments in those classes.
+     * @param waitlisted Number of members still waiting for a place when the classes started.
+     * @param leadMinutes Summed time between each enrollment and the start of its class, in minutes.
+     */
+    public OccupancyStats(String label, long classCount, long seatsOffered, long seatsTaken,
+                          long waitlisted, long leadMinutes) {
+        this.label = label;
+        this.classCount = classCount;
+        this.seatsOffered = seatsOffered;
+        this.seatsTaken = seatsTaken;
+        this.waitlisted = waitlisted;
+        this.leadMinutes = leadMinutes;
+    }
+
+    /**
+     * Returns these totals with another set of totals added, keeping this label.
+     *
+     * @param other The totals to add.
+     * @return A new {@link OccupancyStats} holding the sum.
+     */
+    public OccupancyStats plus(OccupancyStats other) {
+        return new OccupancyStats(label, classCount + other.classCount, seatsOffered + other.seatsOffered,
+            seatsTaken + other.seatsTaken, waitlisted + other.waitlisted, leadMinutes + other.leadMinutes);
+    }
+
+    /**
+     * Returns these totals under another label.
+     *
+     * @param label The new label.
+     * @return A new {@link OccupancyStats} with the same totals.
+     */
+    public OccupancyStats withLabel(String label) {
+        return new OccupancyStats(label, classCount, seatsOffered, seatsTaken, waitlisted, leadMinutes);
+    }
+
+    /**
+     * Retrieves what the classes have in common.
+     *
+     * @return The label.
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Retrieves the number of classes.
+     *
+     * @return The class count.
+     */
+    public long getClassCount() {
+        return classCount;
+    }
+
+    /**
+     * Retrieves the summed capacity of the classes.
+     *
+     * @return The seats offered.
+     */
+    public long getSeatsOffered() {
+        return seatsOffered;
+    }
+
+    /**
+     * Retrieves the number of enrollments in the classes.
+     *
+     * @return The seats taken.
+     */
+    public long getSeatsTaken() {
+        return seatsTaken;
+    }
+
+    /**
+     * Retrieves the number of members still on a waitlist when the classes started.
+     *
+     * @return The waitlisted count.
+     */
+    public long getWaitlisted() {
+        return waitlisted;
+    }
+
+    /**
+     * Retrieves the share of the seats offered that were taken.
+     *
+     * @return The fill rate as a percentage, or {@code 0} if no seats were offered.
+     */
+    public double getFillRate() {
+        return seatsOffered == 0 ? 0 : 100.0 * seatsTaken / seatsOffered;
+    }
+
+    /**
+     * Retrieves the number of members who wanted a place in an average class, including those
+     * left on the waitlist.
+     *
+     * @return The demand per class, or {@code 0} if there are no classes.
+     */
+    public double getDemandPerClass() {
+        return classCount == 0 ? 0 : (double) (seatsTaken + waitlisted) / classCount;
+    }
+
+    /**
+     * Retrieves the average capacity of the classes.
+     *
+     * @return The capacity per class, or {@code 0} if there are no classes.
+     */
+    public double getCapacityPerClass() {
+        return classCount == 0 ? 0 : (double) seatsOffered / classCount;
+    }
+
+    /**
+     * Retrieves how long before the start of a class members enrolled, on average.
+     *
+     * @return The average lead time in hours, or {@code 0} if there are no enrollments.
+     */
+    public double getAverageLeadHours() {
+        return seatsTaken == 0 ? 0 : leadMinutes / 60.0 / seatsTaken;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("OccupancyStats[label='%s', classes=%d, offered=%d, taken=%d, waitlisted=%d]",
+            label, classCount, seatsOffered, seatsTaken, waitlisted);
+    }
+}
@@ -0,0 +1,277 @@
+package com.gymmanagement.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * How often a class series repeats, written as a subset of the iCalendar RRULE syntax, for
+ * example {@code FREQ=WEEKLY;INTERVAL=1;BYDAY=MO,WE;UNTIL=20261231}.
+ *
+ * <p>Supported parts are {@code FREQ} ({@code DAILY} or {@code WEEKLY}), {@code INTERVAL},
+ * {@code BYDAY} (weekly rules only; weeks start on Monday), {@code UNTIL} (a date, or a date and
+ * time, both inclusive) and {@code COUNT}. Every occurrence keeps the time of day of the series
+ * start. Rules are immutable.</p>
+ */
+public final class RecurrenceRule {
+    private static final DateTimeFormatter UNTIL_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter UNTIL_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final String[] DAY_CODES = {"MO", "TU", "WE", "TH", "FR", "SA", "SU"};
+
+    /**
+     * How far apart the periods of a rule are.
+     */
+    public enum Frequency {
+        /** One occurrence every {@code INTERVAL} days. */
+        DAILY,
+        /** Occurrences on the {@code BYDAY} days of every {@code INTERVAL}-th week. */
+        WEEKLY
+    }
+
+    private final Frequency frequency;
+    private final int interval;
+    private final Set<DayOfWeek> days;
+    private final LocalDateTime until;
+    private final int count;
+
+    private RecurrenceRule(Frequency frequency, int interval, Set<DayOfWeek> days, LocalDateTime until, int count) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("INTERVAL must be at least 1");
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("COUNT must be at least 1");
+        }
+        if (until != null && count > 0) {
+            throw new IllegalArgumentException("A rule cannot have both UNTIL and COUNT");
+        }
+        if (frequency == Frequency.DAILY && !days.isEmpty()) {
+            throw new IllegalArgumentException("BYDAY is only supported for weekly rules");
+        }
+        this.frequency = frequency;
+        this.interval = interval;
+        this.days = Collections.unmodifiableSet(days.isEmpty() ? EnumSet.noneOf(DayOfWeek.class) : EnumSet.copyOf(days));
+        this.until = until;
+        this.count = count;
+    }
+
+    /**
+     * Creates a rule that repeats every week on the given days, with no end.
+     *
+     * @param days The days of the week; if empty, the weekday of the series start is used.
+     * @return A weekly rule.
+     */
+    public static RecurrenceRule weekly(Set<DayOfWeek> days) {
+        return new RecurrenceRule(Frequency.WEEKLY, 1, days, null, 0);
+    }
+
+    /**
+     * Parses a rule.
+     *
+     * @param rule The rule text, for example {@code FREQ=WEEKLY;BYDAY=TU,TH;COUNT=12}.
+     * @return The parsed rule.
+     * @throws IllegalArgumentException If the text is not a supported rule.
+     */
+    public static RecurrenceRule parse(String rule) {
+        Frequency frequency = null;
+        int interval = 1;
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        LocalDateTime until = null;
+        int count = 0;
+
+        for (String part : rule.trim().toUpperCase().split(";")) {
+            int eq = part.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Malformed rule part: " + part);
+            }
+            String name = part.substring(0, eq).trim();
+            String value = part.substring(eq + 1).trim();
+            try {
+                switch (name) {
+                    case "FREQ":
+                        frequency = Frequency.valueOf(value);
+                        break;
+                    case "INTERVAL":
+                        interval = Integer.parseInt(value);
+                        break;
+                    case "BYDAY":
+                        for (String code : value.split(",")) {
+                            days.add(dayOf(code.trim()));
+                        }
+                        break;
+                    case "UNTIL":
+                        until = value.length() == 8
+                            ? LocalDate.parse(value, UNTIL_DATE).atTime(LocalTime.MAX)
+                            : LocalDateTime.parse(value, UNTIL_DATE_TIME);
+                        break;
+                    case "COUNT":
+                        count = Integer.parseInt(value);
+                        if (count < 1) {
+                            throw new IllegalArgumentException("COUNT must be at least 1");
+                        }
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unsupported rule part: " + name);
+                }
+            } catch (NumberFormatException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid value for " + name + ": " + value, e);
+            }
+        }
+        if (frequency == null) {
+            throw new IllegalArgumentException("A rule needs a FREQ");
+        }
+        return new RecurrenceRule(frequency, interval, days, until, count);
+    }
+
+    /**
+     * Lists the occurrences of a series that start within a time range.
+     *
+     * <p>Without {@code COUNT}, the walk starts at the period containing {@code from}, so the
+     * cost depends on the size of the range and not on how long the series has been running.
+     * With {@code COUNT}, occurrences are counted from the series start, which is bounded by the
+     * count itself.</p>
+     *
+     * @param start The first occurrence of the series, which also fixes its time of day.
+     * @param from The earliest start to return, inclusive.
+     * @param to The latest start to return, exclusive.
+     * @return The occurrence start times in order.
+     */
+    public List<LocalDateTime> between(LocalDateTime start, LocalDateTime from, LocalDateTime to) {
+        List<LocalDateTime> found = new ArrayList<>();
+        walk(start, from, to, found);
+        return found;
+    }
+
+    /**
+     * Checks whether a series has no occurrences at or after a given time.
+     *
+     * @param start The first occurrence of the series.
+     * @param after The time to check from, inclusive.
+     * @return {@code true} if the series is over by {@code after}.
+     */
+    public boolean endsBefore(LocalDateTime start, LocalDateTime after) {
+        return !walk(start, after, LocalDateTime.MAX, null);
+    }
+
+    /**
+     * Walks the occurrences in {@code [from, to)}, stopping at the first one if {@code found} is
+     * {@code null}.
+     *
+     * @return {@code true} if an occurrence at or after {@code from} exists before {@code to}.
+     */
+    private boolean walk(LocalDateTime start, LocalDateTime from, LocalDateTime to, List<LocalDateTime> found) {
+        List<DayOfWeek> periodDays = new ArrayList<>(days.isEmpty() ? EnumSet.of(start.getDayOfWeek()) : days);
+        int periodLength = frequency == Frequency.DAILY ? interval : 7 * interval;
+        LocalDate firstPeriod = frequency == Frequency.DAILY
+            ? start.toLocalDate()
+            : start.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+
+        long period = 0;
+        if (count == 0 && from.isAfter(start)) {
+            // Skip whole periods before `from`; one period early in case `from` falls inside it
+            period = Math.max(0, ChronoUnit.DAYS.between(firstPeriod, from.toLocalDate()) / periodLength - 1);
+        }
+        int seen = 0;
+        boolean any = false;
+        while (true) {
+            LocalDate periodStart = firstPeriod.plusDays(period * periodLength);
+            for (DayOfWeek day : periodDays) {
+                LocalDateTime occurrence = frequency == Frequency.DAILY
+                    ? periodStart.atTime(start.toLocalTime())
+                    : periodStart.with(TemporalAdjusters.nextOrSame(day)).atTime(start.toLocalTime());
+                if (occurrence.isBefore(start)) {
+                    continue;
+                }
+                if ((until != null && occurrence.isAfter(until)) || (count > 0 && seen == count)
+                        || !occurrence.isBefore(to)) {
+                    return any;
+                }
+                seen++;
+                if (!occurrence.isBefore(from)) {
+                    any = true;
+                    if (found == null) {
+                        return true;
+                    }
+                    found.add(occurrence);
+                }
+            }
+            period++;
+        }
+    }
+
+    /**
+     * @return How far apart the periods are.
+     */
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    /**
+     * @return The number of days or weeks between periods.
+     */
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * @return The days of a weekly rule; empty to use the weekday of the series start.
+     */
+    public Set<DayOfWeek> getDays() {
+        return days;
+    }
+
+    /**
+     * @return The last allowed start, inclusive, or {@code null}.
+     */
+    public LocalDateTime getUntil() {
+        return until;
+    }
+
+    /**
+     * @return The number of occurrences, or {@code 0} for no limit.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Formats the rule in the syntax accepted by {@link #parse(String)}.
+     *
+     * @return The rule text.
+     */
+    @Override
+    public String toString() {
+        StringBuilder rule = new StringBuilder("FREQ=").append(frequency).append(";INTERVAL=").append(interval);
+        if (!days.isEmpty()) {
+            StringJoiner codes = new StringJoiner(",");
+            days.forEach(day -> codes.add(DAY_CODES[day.getValue() - 1]));
+            rule.append(";BYDAY=").append(codes);
+        }
+        if (until != null) {
+            rule.append(";UNTIL=").append(until.format(UNTIL_DATE_TIME));
+        }
+        if (count > 0) {
+            rule.append(";COUNT=").append(count);
+        }
+        return rule.toString();
+    }
+
+    private static DayOfWeek dayOf(String code) {
+        for (int i = 0; i < DAY_CODES.length; i++) {
+            if (DAY_CODES[i].equals(code)) {
+                return DayOfWeek.of(i + 1);
+            }
+        }
+        throw new IllegalArgumentException("Unknown day: " + code);
+    }
+}
@@ -0,0 +1,24 @@
+package com.gymmanagement.model;
+
+/**
+ * Outcome of registering a single user as part of a bulk registration.
+ */
+public enum RegistrationResult {
+    /** The user was created; their ID has been set on the {@link User}. */
+    REGISTERED,
+
+    /** The password is shorter than 8 characters; nothing was written. */
+    INVALID_PASSWORD,
+
+    /** An earlier entry in the same request used this username or email. */
+    DUPLICATE_IN_REQUEST,
+
+    /** An existing user already has this username. */
+    USERNAME_TAKEN,
+
+    /** An existing user already has this email address. */
+    EMAIL_TAKEN,
+
+    /** Another registration claimed the username or email while this one was in progress. */
+    CONFLICT
+}
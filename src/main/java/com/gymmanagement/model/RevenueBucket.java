@@ -0,0 +1,66 @@
+package com.gymmanagement.model;
+
+import java.time.LocalDate;
+
+/**
+ * Immutable revenue totals for one time bucket of a revenue series.
+ */
+public final class RevenueBucket {
+    private final LocalDate start;
+    private final TimeGranularity granularity;
+    private final TypeRevenue totals;
+
+    /**
+     * Creates a bucket.
+     * 
+     * @param start The first day of the bucket.
+     * @param granularity The size of the bucket.
+     * @param totals Totals of the memberships that started within the bucket.
+     */
+    public RevenueBucket(LocalDate start, TimeGranularity granularity, TypeRevenue totals) {
+        this.start = start;
+        this.granularity = granularity;
+        this.totals = totals;
+    }
+
+    /**
+     * Retrieves the first day of the bucket.
+     * 
+     * @return The start date.
+     */
+    public LocalDate getStart() {
+        return start;
+    }
+
+    /**
+     * Retrieves the last day of the bucket.
+     * 
+     * @return The end date, inclusive.
+     */
+    public LocalDate getEnd() {
+        return granularity.next(start).minusDays(1);
+    }
+
+    /**
+     * Retrieves the size of the bucket.
+     * 
+     * @return The granularity.
+     */
+    public TimeGranularity getGranularity() {
+        return granularity;
+    }
+
+    /**
+     * Retrieves the totals of the memberships that started within the bucket.
+     * 
+     * @return The totals; counts and amounts are zero for an empty bucket.
+     */
+    public TypeRevenue getTotals() {
+        return totals;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RevenueBucket[start=%s, granularity=%s, totals=%s]", start, granularity, totals);
+    }
+}
@@ -0,0 +1,99 @@
+package com.gymmanagement.model;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable membership revenue report: totals per membership type and for all types together.
+ *
+ * <p>Every figure in a report comes from the same set of memberships, so the per-type rows
+ * always add up to the grand total and paid plus pending always equals the total price.</p>
+ */
+public final class RevenueReport {
+    /** Label used for the grand total row. */
+    public static final String TOTAL = "TOTAL";
+
+    private final Map<String, TypeRevenue> byType;
+    private final TypeRevenue total;
+
+    /**
+     * Creates a report from totals that were read together.
+     * 
+     * @param byType Totals per membership type.
+     * @param total Totals over all membership types.
+     */
+    public RevenueReport(Map<String, TypeRevenue> byType, TypeRevenue total) {
+        this.byType = Collections.unmodifiableMap(new TreeMap<>(byType));
+        this.total = total;
+    }
+
+    /**
+     * Creates a report from per-type totals, summing them for the grand total.
+     * 
+     * @param byType Totals per membership type.
+     * @return The report.
+     */
+    public static RevenueReport fromTypes(Map<String, TypeRevenue> byType) {
+        TypeRevenue total = new TypeRevenue(TOTAL, 0, BigDecimal.ZERO, 0, BigDecimal.ZERO);
+        for (TypeRevenue totals : byType.values()) {
+            total = total.plus(totals);
+        }
+        return new RevenueReport(byType, total);
+    }
+
+    /**
+     * Retrieves the totals per membership type.
+     * 
+     * @return An unmodifiable map of type to totals, ordered by type.
+     */
+    public Map<String, TypeRevenue> getByType() {
+        return byType;
+    }
+
+    /**
+     * Retrieves the totals over all membership types.
+     * 
+     * @return The grand total, labelled {@link #TOTAL}.
+     */
+    public TypeRevenue getTotal() {
+        return total;
+    }
+
+    /**
+     * Retrieves the revenue actually collected, from paid memberships only.
+     * 
+     * @return The paid revenue over all types.
+     */
+    public BigDecimal getPaidRevenue() {
+        return total.getPaidRevenue();
+    }
+
+    /**
+     * Retrieves the revenue still outstanding on memberships that are not paid yet.
+     * 
+     * @return The pending revenue over all types.
+     */
+    public BigDecimal getPendingRevenue() {
+        return total.getPendingRevenue();
+    }
+
+    /**
+     * Calculates one type's share of the collected revenue.
+     * 
+     * @param totals The totals of one membership type from this report.
+     * @return The percentage of paid revenue, or {@code 0} if nothing has been paid.
+     */
+    public double getPaidShare(TypeRevenue totals) {
+        if (total.getPaidRevenue().signum() == 0) {
+            return 0;
+        }
+        return totals.getPaidRevenue().doubleValue() / total.getPaidRevenue().doubleValue() * 100;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RevenueReport[types=%d, total=%s]", byType.size(), total);
+    }
+}
@@ -0,0 +1,105 @@
+package com.gymmanagement.model;
+
+import java.time.DayOfWeek;
+
+/**
+ * Immutable demand forecast for one recurring class slot: the classes of a type that start on
+ * the same weekday within the same hour, whoever leads them.
+ */
+public final class SlotForecast {
+    private final String type;
+    private final DayOfWeek weekday;
+    private final int hour;
+    private final int weeksObserved;
+    private final double averageCapacity;
+    private final double forecastDemand;
+
+    /**
+     * Creates a forecast.
+     *
+     * @param type The class type.
+     * @param weekday The day the classes start on.
+     * @param hour The hour the classes start in, from 0 to 23.
+     * @param weeksObserved Number of recent weeks that had a class in this slot.
+     * @param averageCapacity Average capacity per class over those weeks.
+     * @param forecastDemand Expected members per class, including those who would be waitlisted.
+     */
+    public SlotForecast(String type, DayOfWeek weekday, int hour, int weeksObserved,
+                        double averageCapacity, double forecastDemand) {
+        this.type = type;
+        this.weekday = weekday;
+        this.hour = hour;
+        this.weeksObserved = weeksObserved;
+        this.averageCapacity = averageCapacity;
+        this.forecastDemand = forecastDemand;
+    }
+
+    /**
+     * Retrieves the class type.
+     *
+     * @return The type.
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Retrieves the day the classes start on.
+     *
+     * @return The weekday.
+     */
+    public DayOfWeek getWeekday() {
+        return weekday;
+    }
+
+    /**
+     * Retrieves the hour the classes start in.
+     *
+     * @return The hour, from 0 to 23.
+     */
+    public int getHour() {
+        return hour;
+    }
+
+    /**
+     * Retrieves the number of recent weeks that had a class in this slot.
+     *
+     * @return The weeks observed.
+     */
+    public int getWeeksObserved() {
+        return weeksObserved;
+    }
+
+    /**
+     * Retrieves the average capacity per class over the weeks observed.
+     *
+     * @return The average capacity.
+     */
+    public double getAverageCapacity() {
+        return averageCapacity;
+    }
+
+    /**
+     * Retrieves the expected number of members per class, including those who would be waitlisted.
+     *
+     * @return The forecast demand.
+     */
+    public double getForecastDemand() {
+        return forecastDemand;
+    }
+
+    /**
+     * Retrieves the capacity that would just fit the forecast demand.
+     *
+     * @return The suggested capacity; at least 1.
+     */
+    public int getSuggestedCapacity() {
+        return Math.max(1, (int) Math.ceil(forecastDemand));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SlotForecast[type='%s', weekday=%s, hour=%d, weeks=%d, capacity=%.1f, demand=%.1f]",
+            type, weekday, hour, weeksObserved, averageCapacity, forecastDemand);
+    }
+}
@@ -0,0 +1,97 @@
+package com.gymmanagement.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+/**
+ * Immutable occupancy totals for one class slot in one week: the classes of a type, led by one
+ * trainer, that started on the same weekday within the same hour.
+ */
+public final class SlotStats {
+    private final LocalDate weekStart;
+    private final String type;
+    private final int trainerId;
+    private final DayOfWeek weekday;
+    private final int hour;
+    private final OccupancyStats totals;
+
+    /**
+     * Creates a slot.
+     *
+     * @param weekStart The Monday of the week.
+     * @param type The class type.
+     * @param trainerId The ID of the trainer, or {@code 0} if the trainer has been removed.
+     * @param weekday The day the classes started on.
+     * @param hour The hour the classes started in, from 0 to 23.
+     * @param totals Totals of the classes in the slot.
+     */
+    public SlotStats(LocalDate weekStart, String type, int trainerId, DayOfWeek weekday, int hour,
+                     OccupancyStats totals) {
+        this.weekStart = weekStart;
+        this.type = type;
+        this.trainerId = trainerId;
+        this.weekday = weekday;
+        this.hour = hour;
+        this.totals = totals;
+    }
+
+    /**
+     * Retrieves the Monday of the week.
+     *
+     * @return The week start.
+     */
+    public LocalDate getWeekStart() {
+        return weekStart;
+    }
+
+    /**
+     * Retrieves the class type.
+     *
+     * @return The type.
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Retrieves the ID of the trainer.
+     *
+     * @return The trainer ID, or {@code 0} if the trainer has been removed.
+     */
+    public int getTrainerId() {
+        return trainerId;
+    }
+
+    /**
+     * Retrieves the day the classes started on.
+     *
+     * @return The weekday.
+     */
+    public DayOfWeek getWeekday() {
+        return weekday;
+    }
+
+    /**
+     * Retrieves the hour the classes started in.
+     *
+     * @return The hour, from 0 to 23.
+     */
+    public int getHour() {
+        return hour;
+    }
+
+    /**
+     * Retrieves the totals of the classes in the slot.
+     *
+     * @return The totals.
+     */
+    public OccupancyStats getTotals() {
+        return totals;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SlotStats[week=%s, type='%s', trainer=%d, weekday=%s, hour=%d, totals=%s]",
+            weekStart, type, trainerId, weekday, hour, totals);
+    }
+}
@@ -0,0 +1,53 @@
+package com.gymmanagement.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Size of the time buckets a revenue series is grouped into.
+ */
+public enum TimeGranularity {
+    /** One bucket per calendar day. */
+    DAY,
+
+    /** One bucket per ISO week, starting on Monday. */
+    WEEK,
+
+    /** One bucket per calendar month. */
+    MONTH;
+
+    /**
+     * Finds the first day of the bucket that contains a date.
+     * 
+     * @param date Any date.
+     * @return The first day of its bucket.
+     */
+    public LocalDate bucketStart(LocalDate date) {
+        switch (this) {
+            case WEEK:
+                return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH:
+                return date.withDayOfMonth(1);
+            default:
+                return date;
+        }
+    }
+
+    /**
+     * Finds the first day of the bucket after the one starting on {@code bucketStart}.
+     * 
+     * @param bucketStart The first day of a bucket.
+     * @return The first day of the next bucket.
+     */
+    public LocalDate next(LocalDate bucketStart) {
+        switch (this) {
+            case WEEK:
+                return bucketStart.plusWeeks(1);
+            case MONTH:
+                return bucketStart.plusMonths(1);
+            default:
+                return bucketStart.plusDays(1);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.gymmanagement.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Immutable revenue totals for one membership type.
+ */
+public final class TypeRevenue {
+    private final String type;
+    private final long membershipCount;
+    private final BigDecimal totalPrice;
+    private final long paidCount;
+    private final BigDecimal paidRevenue;
+
+    /**
+     * Creates a set of totals.
+     * 
+     * @param type The membership type.
+     * @param membershipCount Number of memberships of this type, whatever their payment status.
+     * @param totalPrice Sum of the prices of those memberships.
+     * @param paidCount Number of memberships of this type that are paid.
+     * @param paidRevenue Sum of the prices of the paid memberships.
+     */
+    public TypeRevenue(String type, long membershipCount, BigDecimal totalPrice, long paidCount, BigDecimal paidRevenue) {
+        this.type = type;
+        this.membershipCount = membershipCount;
+        this.totalPrice = totalPrice;
+        this.paidCount = paidCount;
+        this.paidRevenue = paidRevenue;
+    }
+
+    /**
+     * Returns these totals with a change applied.
+     * 
+     * @param countDelta Change in the number of memberships.
+     * @param priceDelta Change in the summed price.
+     * @param paidCountDelta Change in the number of paid memberships.
+     * @param paidDelta Change in paid revenue.
+     * @return A new {@link TypeRevenue} with the change applied.
+     */
+    public TypeRevenue plus(long countDelta, BigDecimal priceDelta, long paidCountDelta, BigDecimal paidDelta) {
+        return new TypeRevenue(type, membershipCount + countDelta, totalPrice.add(priceDelta),
+            paidCount + paidCountDelta, paidRevenue.add(paidDelta));
+    }
+
+    /**
+     * Returns these totals with another set of totals added, keeping this type label.
+     * 
+     * @param other The totals to add.
+     * @return A new {@link TypeRevenue} holding the sum.
+     */
+    public TypeRevenue plus(TypeRevenue other) {
+        return plus(other.membershipCount, other.totalPrice, other.paidCount, other.paidRevenue);
+    }
+
+    /**
+     * Retrieves the membership type.
+     * 
+     * @return The membership type.
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Retrieves the number of memberships of this type, whatever their payment status.
+     * 
+     * @return The membership count.
+     */
+    public long getMembershipCount() {
+        return membershipCount;
+    }
+
+    /**
+     * Retrieves the summed price of every membership of this type.
+     * 
+     * @return The total price.
+     */
+    public BigDecimal getTotalPrice() {
+        return totalPrice;
+    }
+
+    /**
+     * Retrieves the number of paid memberships of this type.
+     * 
+     * @return The paid membership count.
+     */
+    public long getPaidCount() {
+        return paidCount;
+    }
+
+    /**
+     * Retrieves the summed price of the paid memberships of this type.
+     * 
+     * @return The paid revenue.
+     */
+    public BigDecimal getPaidRevenue() {
+        return paidRevenue;
+    }
+
+    /**
+     * Retrieves the number of memberships of this type that are not paid yet.
+     * 
+     * @return The pending membership count.
+     */
+    public long getPendingCount() {
+        return membershipCount - paidCount;
+    }
+
+    /**
+     * Retrieves the summed price of the memberships of this type that are not paid yet.
+     * 
+     * @return The pending revenue.
+     */
+    public BigDecimal getPendingRevenue() {
+        return totalPrice.subtract(paidRevenue);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TypeRevenue[type='%s', count=%d, total=%s, paid=%d, paidRevenue=%s]",
+            type, membershipCount, totalPrice, paidCount, paidRevenue);
+    }
+}
@@ -0,0 +1,47 @@
+package com.gymmanagement.model;
+
+/**
+ * Outcome of removing a member from a workout class.
+ */
+public class UnenrollmentResult {
+    private final boolean removed;
+    private final int promotedMemberId;
+
+    /**
+     * Creates a result.
+     *
+     * @param removed Whether the member was enrolled and has been removed.
+     * @param promotedMemberId The waitlisted member who took the freed seat, or {@code 0} if none.
+     */
+    public UnenrollmentResult(boolean removed, int promotedMemberId) {
+        this.removed = removed;
+        this.promotedMemberId = promotedMemberId;
+    }
+
+    /**
+     * Indicates whether the member was enrolled and has been removed.
+     *
+     * @return {@code true} if an enrollment was removed.
+     */
+    public boolean isRemoved() {
+        return removed;
+    }
+
+    /**
+     * Indicates whether a waitlisted member was promoted into the freed seat.
+     *
+     * @return {@code true} if a member was promoted.
+     */
+    public boolean isPromoted() {
+        return promotedMemberId > 0;
+    }
+
+    /**
+     * Retrieves the waitlisted member who took the freed seat.
+     *
+     * @return The promoted member's ID, or {@code 0} if no one was promoted.
+     */
+    public int getPromotedMemberId() {
+        return promotedMemberId;
+    }
+}
@@ -0,0 +1,145 @@
+package com.gymmanagement.model;
+
+/**
+ * Lightweight, read-only view of a user for list screens.
+ * Leaves out the password hash and address, which list screens never show.
+ */
+public class UserSummary {
+    private int id;
+    private String username;
+    private String email;
+    private String phoneNumber;
+    private String role;
+
+    /**
+     * Default constructor for creating an empty summary.
+     */
+    public UserSummary() {}
+
+    /**
+     * Retrieves the user's unique system identifier.
+     * 
+     * @return Unique system identifier.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Sets the user's unique system identifier.
+     * 
+     * @param id New unique ID.
+     */
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Retrieves the user's login username.
+     * 
+     * @return Login username.
+     */
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * Updates the user's login username.
+     * 
+     * @param username New login name.
+     */
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    /**
+     * Retrieves the user's email address.
+     * 
+     * @return Email address.
+     */
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * Updates the user's email address.
+     * 
+     * @param email New email address.
+     */
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    /**
+     * Retrieves the user's phone number.
+     * 
+     * @return Phone number, or {@code null} if none is on file.
+     */
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    /**
+     * Updates the user's phone number.
+     * 
+     * @param phoneNumber New phone number.
+     */
+    public void setPhoneNumber(String phoneNumber) {
+        this.phoneNumber = phoneNumber;
+    }
+
+    /**
+     * Retrieves the user's role.
+     * 
+     * @return ADMIN, TRAINER or MEMBER.
+     */
+    public String getRole() {
+        return role;
+    }
+
+    /**
+     * Updates the user's role.
+     * 
+     * @param role New role.
+     */
+    public void setRole(String role) {
+        this.role = role;
+    }
+
+    // --- Display Methods ---
+
+    /**
+     * Provides a formatted table header for user listings.
+     * 
+     * @return Table header string.
+     */
+    public static String getTableHeader() {
+        return String.format(
+            "\n+------+-----------------+----------------------+----------+--------------+%n" +
+            "| %-4s | %-15s | %-20s | %-8s | %-12s |%n" +
+            "+------+-----------------+----------------------+----------+--------------+",
+            "ID", "Username", "Email", "Role", "Phone");
+    }
+
+    /**
+     * Provides a formatted table footer for user listings.
+     * 
+     * @return Table footer string.
+     */
+    public static String getTableFooter() {
+        return "+------+-----------------+----------------------+----------+--------------+\n";
+    }
+
+    /**
+     * Formats the user's details into a table row.
+     * 
+     * @return Formatted table row string.
+     */
+    public String toTableRow() {
+        String phone = (phoneNumber != null) ? phoneNumber : "N/A";
+
+        return String.format(
+            "| %-4d | %-15s | %-20s | %-8s | %-12s |",
+            id, username, email, role, phone);
+    }
+}
@@ -0,0 +1,121 @@
+package com.gymmanagement.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents a member waiting for a seat in a full workout class.
+ * Entries are served in ascending {@link #getId() ID} order, which matches the order they joined.
+ */
+public class WaitlistEntry implements Comparable<WaitlistEntry> {
+    private long id;
+    private int classId;
+    private int memberId;
+    private LocalDateTime requestedAt;
+    private int position;
+
+    /**
+     * Default constructor for creating an empty waitlist entry.
+     */
+    public WaitlistEntry() {}
+
+    /**
+     * Retrieves the entry's unique identifier, which also orders the queue.
+     *
+     * @return Waitlist entry ID.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Updates the entry's unique identifier.
+     *
+     * @param id New waitlist entry ID.
+     */
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    /**
+     * Retrieves the ID of the class being waited for.
+     *
+     * @return Workout class ID.
+     */
+    public int getClassId() {
+        return classId;
+    }
+
+    /**
+     * Updates the ID of the class being waited for.
+     *
+     * @param classId New workout class ID.
+     */
+    public void setClassId(int classId) {
+        this.classId = classId;
+    }
+
+    /**
+     * Retrieves the ID of the waiting member.
+     *
+     * @return Member ID.
+     */
+    public int getMemberId() {
+        return memberId;
+    }
+
+    /**
+     * Updates the ID of the waiting member.
+     *
+     * @param memberId New member ID.
+     */
+    public void setMemberId(int memberId) {
+        this.memberId = memberId;
+    }
+
+    /**
+     * Retrieves when the member joined the waitlist.
+     *
+     * @return Join timestamp.
+     */
+    public LocalDateTime getRequestedAt() {
+        return requestedAt;
+    }
+
+    /**
+     * Updates when the member joined the waitlist.
+     *
+     * @param requestedAt New join timestamp.
+     */
+    public void setRequestedAt(LocalDateTime requestedAt) {
+        this.requestedAt = requestedAt;
+    }
+
+    /**
+     * Retrieves the entry's 1-based place in the queue when it was added.
+     *
+     * @return Queue position, or {@code 0} if it was not read with the entry.
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * Updates the entry's place in the queue.
+     *
+     * @param position New 1-based queue position.
+     */
+    public void setPosition(int position) {
+        this.position = position;
+    }
+
+    /**
+     * Orders entries by queue position (earliest first).
+     *
+     * @param other The entry to compare with.
+     * @return A negative, zero or positive value as this entry is ahead of, level with or behind {@code other}.
+     */
+    @Override
+    public int compareTo(WaitlistEntry other) {
+        return Long.compare(id, other.id);
+    }
+}
@@ -0,0 +1,102 @@
+package com.gymmanagement.service;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.gymmanagement.exception.DatabaseException;
+
+/**
+ * Background task that keeps every recurring class series materialized up to the end of the
+ * rolling window.
+ *
+ * <p>Only series whose watermark is behind the window are read, through a partial index on
+ * {@code class_series}, and their new occurrences are inserted a batch of series per statement
+ * (see {@link ClassSeriesService#materializeDue(LocalDateTime)}). A pass over series that are
+ * already up to date costs a single index probe.</p>
+ */
+public class ClassSeriesMaterializer {
+    private final ClassSeriesService classSeriesService;
+    private final long intervalMillis;
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong classesCreated = new AtomicLong();
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Creates a materializer.
+     *
+     * @param intervalMillis Delay between runs in milliseconds; {@code 0} or less disables scheduling.
+     */
+    public ClassSeriesMaterializer(long intervalMillis) {
+        this.classSeriesService = new ClassSeriesService();
+        this.intervalMillis = intervalMillis;
+    }
+
+    /**
+     * Starts running the materializer in the background, the first pass straight away. Does
+     * nothing if it is already running or scheduling is disabled.
+     */
+    public synchronized void start() {
+        if (scheduler != null || intervalMillis <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "class-series-materializer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runQuietly, 0L, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs one materialization pass on the calling thread.
+     *
+     * @return The number of classes created.
+     * @throws DatabaseException If a batch fails; batches committed before it stay materialized.
+     */
+    public int runOnce() throws DatabaseException {
+        int created = classSeriesService.materializeDue(LocalDateTime.now());
+        runs.incrementAndGet();
+        classesCreated.addAndGet(created);
+        return created;
+    }
+
+    /**
+     * Retrieves the number of completed passes since startup.
+     *
+     * @return Completed passes.
+     */
+    public long getRuns() {
+        return runs.get();
+    }
+
+    /**
+     * Retrieves the number of classes created since startup.
+     *
+     * @return Created classes.
+     */
+    public long getClassesCreated() {
+        return classesCreated.get();
+    }
+
+    /**
+     * Stops the background schedule. A pass already in progress is allowed to finish.
+     */
+    public synchronized void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+    }
+
+    private void runQuietly() {
+        try {
+            runOnce();
+        } catch (DatabaseException e) {
+            // Keep the schedule alive; the next pass picks up whatever is still due
+            System.err.println("Class series materialization failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.gymmanagement.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.gymmanagement.config.AppProperties;
+import com.gymmanagement.dao.ClassSeriesDAO;
+import com.gymmanagement.exception.DatabaseException;
+import com.gymmanagement.model.ClassSeries;
+import com.gymmanagement.model.WorkoutClass;
+
+/**
+ * Service class for recurring class series.
+ *
+ * <p>A series is stored once, with a {@link com.gymmanagement.model.RecurrenceRule}, and its
+ * occurrences are materialized as ordinary classes only within a rolling window ahead of now.
+ * Creating a series stores the first window in the same transaction; the
+ * {@link ClassSeriesMaterializer} extends every series as the window moves forward, a batch of
+ * series per statement. Occurrences that would double-book the trainer are skipped.</p>
+ */
+public class ClassSeriesService {
+    private final ClassSeriesDAO classSeriesDAO;
+    private final ScheduleConflictService scheduleConflictService;
+    private final MemberScheduleService memberScheduleService;
+    private final int windowDays;
+    private final int batchSize;
+
+    /**
+     * Constructs a {@link ClassSeriesService} using the configured window and batch size.
+     */
+    public ClassSeriesService() {
+        this.classSeriesDAO = new ClassSeriesDAO();
+        this.scheduleConflictService = new ScheduleConflictService();
+        this.memberScheduleService = new MemberScheduleService();
+        this.windowDays = Math.max(1, AppProperties.get().getInt("classes.seriesWindowDays", 56));
+        this.batchSize = Math.max(1, AppProperties.get().getInt("classes.seriesBatchSize", 500));
+    }
+
+    /**
+     * Lists the occurrences in a new series' first window that would overlap one of the
+     * trainer's existing classes. Those occurrences are skipped when the series is created.
+     *
+     * @param series The series about to be created.
+     * @return The start times of the overlapping occurrences, in order.
+     * @throws DatabaseException If the trainer's classes could not be loaded.
+     */
+    public List<LocalDateTime> findConflicts(ClassSeries series) throws DatabaseException {
+        LocalDateTime now = LocalDateTime.now();
+        List<LocalDateTime> conflicts = new ArrayList<>();
+        WorkoutClass probe = new WorkoutClass();
+        probe.setTrainerId(series.getTrainerId());
+        probe.setDurationMinutes(series.getDurationMinutes());
+        for (LocalDateTime start : firstWindow(series, now)) {
+            probe.setSchedule(start);
+            if (scheduleConflictService.findConflict(probe) != 0) {
+                conflicts.add(start);
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * Creates a series and materializes its occurrences up to the end of the rolling window.
+     * Occurrences before now are not created.
+     *
+     * @param series The series to create; its ID is set once it is created.
+     * @return The classes created.
+     * @throws DatabaseException If a database error occurs; nothing is created in that case.
+     */
+    public List<WorkoutClass> createSeries(ClassSeries series) throws DatabaseException {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime windowEnd = now.plusDays(windowDays);
+            List<LocalDateTime> occurrences = firstWindow(series, now);
+            series.setMaterializedUntil(windowEnd);
+            series.setComplete(series.getRule().endsBefore(series.getStartsAt(), windowEnd));
+            List<WorkoutClass> created = classSeriesDAO.create(series, occurrences);
+            created.forEach(scheduleConflictService::recordSaved);
+            return created;
+        } catch (DatabaseException e) {
+            throw new DatabaseException("Error creating class series", e);
+        }
+    }
+
+    /**
+     * Retrieves the series led by a trainer.
+     *
+     * @param trainerId The ID of the trainer.
+     * @return A {@link List} of {@link ClassSeries} ordered by first start.
+     *         Returns an empty list if none are found or an error occurs.
+     */
+    public List<ClassSeries> getSeriesByTrainer(int trainerId) {
+        try {
+            return classSeriesDAO.findByTrainerId(trainerId);
+        } catch (DatabaseException e) {
+            System.err.println("Failed to get class series: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Retrieves a series by its ID.
+     *
+     * @param seriesId The ID of the series.
+     * @return The {@link ClassSeries}, or {@code null} if not found.
+     * @throws DatabaseException If a database error occurs during retrieval.
+     */
+    public ClassSeries getSeriesById(int seriesId) throws DatabaseException {
+        try {
+            return classSeriesDAO.findById(seriesId);
+        } catch (DatabaseException e) {
+            throw new DatabaseException("Failed to get class series with ID: " + seriesId, e);
+        }
+    }
+
+    /**
+     * Applies new details to a series and to all of its occurrences that have not started yet,
+     * with one set-based update. The time of day may change; the date of the first occurrence
+     * and the recurrence rule may not.
+     *
+     * @param series The series with its new name, description, type, time of day, duration and capacity.
+     * @return The updated occurrences, or {@code null} if the series does not exist or a moved
+     *         occurrence would overlap another of the trainer's classes.
+     * @throws DatabaseException If a database error occurs; nothing is changed in that case.
+     * @throws IllegalArgumentException If the date of the first occurrence was changed.
+     */
+    public List<WorkoutClass> updateSeries(ClassSeries series) throws DatabaseException {
+        try {
+            ClassSeries existing = classSeriesDAO.findById(series.getId());
+            if (existing == null) {
+                return null;
+            }
+            if (!existing.getStartsAt().toLocalDate().equals(series.getStartsAt().toLocalDate())) {
+                throw new IllegalArgumentException("Only the time of day of a series can be changed");
+            }
+            List<WorkoutClass> updated = classSeriesDAO.update(series, LocalDateTime.now());
+            if (updated == null) {
+                // The database saw an overlap the in-memory schedule may not know about
+                scheduleConflictService.invalidate(series.getTrainerId());
+                return null;
+            }
+            for (WorkoutClass wc : updated) {
+                scheduleConflictService.recordSaved(wc);
+                memberScheduleService.recordClassSaved(wc);
+            }
+            return updated;
+        } catch (DatabaseException e) {
+            throw new DatabaseException("Failed to update class series with ID: " + series.getId(), e);
+        }
+    }
+
+    /**
+     * Extends every series whose occurrences stop short of the rolling window, a batch of series
+     * per transaction, until none is left.
+     *
+     * @param now The current time; the window ends the configured number of days after it.
+     * @return The number of classes created.
+     * @throws DatabaseException If a batch fails; batches committed before it stay materialized.
+     */
+    public int materializeDue(LocalDateTime now) throws DatabaseException {
+        LocalDateTime windowEnd = now.plusDays(windowDays);
+        int created = 0;
+
+        while (true) {
+            List<ClassSeries> due = classSeriesDAO.findDue(windowEnd, batchSize);
+            if (due.isEmpty()) {
+                break;
+            }
+            Map<Integer, List<LocalDateTime>> occurrences = new HashMap<>();
+            for (ClassSeries series : due) {
+                LocalDateTime from = series.getMaterializedUntil().isAfter(now) ? series.getMaterializedUntil() : now;
+                occurrences.put(series.getId(), series.getRule().between(series.getStartsAt(), from, windowEnd));
+                series.setMaterializedUntil(windowEnd);
+                series.setComplete(series.getRule().endsBefore(series.getStartsAt(), windowEnd));
+            }
+            List<WorkoutClass> batch = classSeriesDAO.materialize(due, occurrences);
+            batch.forEach(scheduleConflictService::recordSaved);
+            created += batch.size();
+            if (due.size() < batchSize) {
+                break;
+            }
+        }
+        return created;
+    }
+
+    /**
+     * @return The number of days ahead of now that occurrences are materialized.
+     */
+    public int getWindowDays() {
+        return windowDays;
+    }
+
+    private List<LocalDateTime> firstWindow(ClassSeries series, LocalDateTime now) {
+        LocalDateTime from = series.getStartsAt().isAfter(now) ? series.getStartsAt() : now;
+        return series.getRule().between(series.getStartsAt(), from, now.plusDays(windowDays));
+    }
+}
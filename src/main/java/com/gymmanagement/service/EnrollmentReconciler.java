@@ -0,0 +1,103 @@
+package com.gymmanagement.service;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.gymmanagement.dao.WorkoutClassDAO;
+import com.gymmanagement.exception.DatabaseException;
+
+/**
+ * Background task that keeps each class's {@code current_enrollment} counter in line with the
+ * rows in {@code class_enrollments}.
+ *
+ * <p>The counter is maintained incrementally by enroll and unenroll, but it can drift, for
+ * example when a member is deleted and their enrollments are removed by a cascade. Each run
+ * repairs every class in a single set-based statement (see
+ * {@link WorkoutClassDAO#reconcileEnrollmentCounts()}).</p>
+ */
+public class EnrollmentReconciler {
+    private final WorkoutClassDAO workoutClassDAO;
+    private final long intervalMillis;
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong classesRepaired = new AtomicLong();
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Creates a reconciler.
+     *
+     * @param intervalMillis Delay between runs in milliseconds; {@code 0} or less disables scheduling.
+     */
+    public EnrollmentReconciler(long intervalMillis) {
+        this.workoutClassDAO = new WorkoutClassDAO();
+        this.intervalMillis = intervalMillis;
+    }
+
+    /**
+     * Starts running the reconciler in the background. Does nothing if it is already
+     * running or scheduling is disabled.
+     */
+    public synchronized void start() {
+        if (scheduler != null || intervalMillis <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "enrollment-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs one reconciliation pass on the calling thread.
+     *
+     * @return The IDs of the classes whose count was corrected.
+     * @throws DatabaseException If the pass fails; counts are left unchanged in that case.
+     */
+    public List<Integer> runOnce() throws DatabaseException {
+        List<Integer> repaired = workoutClassDAO.reconcileEnrollmentCounts();
+        runs.incrementAndGet();
+        classesRepaired.addAndGet(repaired.size());
+        return repaired;
+    }
+
+    /**
+     * Retrieves the number of completed passes since startup.
+     *
+     * @return Completed passes.
+     */
+    public long getRuns() {
+        return runs.get();
+    }
+
+    /**
+     * Retrieves the number of class counters corrected since startup.
+     *
+     * @return Corrected counters.
+     */
+    public long getClassesRepaired() {
+        return classesRepaired.get();
+    }
+
+    /**
+     * Stops the background schedule. A pass already in progress is allowed to finish.
+     */
+    public synchronized void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+    }
+
+    private void runQuietly() {
+        try {
+            runOnce();
+        } catch (DatabaseException e) {
+            // Keep the schedule alive; the next pass will try again
+            System.err.println("Enrollment reconciliation failed: " + e.getMessage());
+        }
+    }
+}
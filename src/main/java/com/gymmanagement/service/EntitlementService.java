@@ -0,0 +1,150 @@
+package com.gymmanagement.service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+import com.gymmanagement.cache.EntitlementIndex;
+import com.gymmanagement.dao.MembershipDAO;
+import com.gymmanagement.exception.DatabaseException;
+import com.gymmanagement.model.Membership;
+import com.gymmanagement.model.MembershipExpiry;
+
+/**
+ * Answers "does this user hold an active membership?" from memory.
+ *
+ * <p>All instances share one {@link EntitlementIndex}. It is filled at startup by
+ * {@link #load()} in a single streaming pass over the active memberships, kept current as
+ * memberships are purchased, and pruned as the expiry scheduler reports expired memberships and
+ * as users are deleted.
+ * Until the first load completes, checks fall back to a database query.</p>
+ */
+public class EntitlementService implements MembershipExpiryListener {
+    private static final EntitlementIndex INDEX = new EntitlementIndex();
+
+    /** Today as an epoch day, and the wall-clock time at which it stops being today. */
+    private static volatile long today;
+    private static volatile long nextMidnightMillis;
+
+    private final MembershipDAO membershipDAO;
+
+    /**
+     * Initializes service with default DAO implementation.
+     */
+    public EntitlementService() {
+        this.membershipDAO = new MembershipDAO();
+    }
+
+    /**
+     * Rebuilds the index from the database in one streaming pass. Purchases made while the
+     * pass runs are kept.
+     *
+     * @return The number of active memberships indexed.
+     * @throws DatabaseException If the read fails; the previous index stays in place.
+     */
+    public long load() throws DatabaseException {
+        EntitlementIndex.Builder builder = INDEX.beginLoad();
+        try {
+            long count = membershipDAO.streamActive(membership -> builder.add(toRange(membership)));
+            INDEX.finishLoad(builder);
+            return count;
+        } catch (DatabaseException e) {
+            INDEX.abortLoad();
+            throw e;
+        }
+    }
+
+    /**
+     * Checks whether a user holds an active membership today.
+     *
+     * @param userId The user ID.
+     * @return {@code true} if an active membership covers today.
+     * @throws DatabaseException If the index is not loaded yet and the fallback query fails.
+     */
+    public boolean hasActiveMembership(int userId) throws DatabaseException {
+        if (INDEX.isLoaded()) {
+            return INDEX.covers(userId, today());
+        }
+        return membershipDAO.hasActiveMembership(userId, LocalDate.now());
+    }
+
+    /**
+     * Checks whether a user holds an active membership on a given day.
+     *
+     * @param userId The user ID.
+     * @param day The day to check.
+     * @return {@code true} if an active membership covers the day.
+     * @throws DatabaseException If the index is not loaded yet and the fallback query fails.
+     */
+    public boolean hasActiveMembership(int userId, LocalDate day) throws DatabaseException {
+        if (INDEX.isLoaded()) {
+            return INDEX.covers(userId, day.toEpochDay());
+        }
+        return membershipDAO.hasActiveMembership(userId, day);
+    }
+
+    /**
+     * Checks whether a user holds an active membership of a given type today. Only answered
+     * from the index.
+     *
+     * @param userId The user ID.
+     * @param type The membership type, for example {@code PREMIUM}.
+     * @return {@code true} if a membership of that type covers today; {@code false} before the first load.
+     */
+    public boolean hasActiveMembership(int userId, String type) {
+        return INDEX.covers(userId, type, today());
+    }
+
+    /**
+     * Adds a newly purchased membership to the index.
+     *
+     * @param membership The membership that was just stored.
+     */
+    public void grant(Membership membership) {
+        INDEX.add(toRange(membership));
+    }
+
+    /**
+     * Removes every membership of a deleted user from the index.
+     *
+     * @param userId The ID of the user that was just deleted.
+     */
+    public void revoke(int userId) {
+        INDEX.remove(userId);
+    }
+
+    /**
+     * Removes expired memberships from the index.
+     *
+     * @param expired The memberships that were just expired.
+     */
+    @Override
+    public void onExpired(List<MembershipExpiry> expired) {
+        for (MembershipExpiry expiry : expired) {
+            INDEX.prune(expiry.getUserId(), expiry.getEndDate().toEpochDay() + 1);
+        }
+    }
+
+    private static EntitlementIndex.Range toRange(Membership membership) {
+        return new EntitlementIndex.Range(membership.getUserId(), membership.getType(),
+            (int) membership.getStartDate().toEpochDay(), (int) membership.getEndDate().toEpochDay());
+    }
+
+    /**
+     * Returns today's epoch day, recomputing it only once the clock passes midnight so the
+     * usual call allocates nothing.
+     */
+    private static long today() {
+        if (System.currentTimeMillis() >= nextMidnightMillis) {
+            refreshToday();
+        }
+        return today;
+    }
+
+    private static synchronized void refreshToday() {
+        ZoneId zone = ZoneId.systemDefault();
+        LocalDate now = LocalDate.now(zone);
+        today = now.toEpochDay();
+        nextMidnightMillis = now.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+    }
+}
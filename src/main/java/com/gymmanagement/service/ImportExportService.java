@@ -0,0 +1,377 @@
+package com.gymmanagement.service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import com.gymmanagement.config.AppProperties;
+import com.gymmanagement.dao.BulkTransferDAO;
+import com.gymmanagement.exception.DatabaseException;
+import com.gymmanagement.model.ImportReport;
+import com.gymmanagement.util.CsvReader;
+import com.gymmanagement.util.CsvWriter;
+
+/**
+ * Imports users and memberships from CSV files and exports them back to CSV, for example when
+ * migrating members from another system.
+ *
+ * <p>Files are streamed: rows are read, validated and stored one chunk at a time, so memory use
+ * does not depend on the size of the file. Each chunk is stored in a single transaction. Rows
+ * that fail validation or cannot be stored are written, with their line number and the reason,
+ * to a quarantine file next to the input, and the import carries on with the next row.</p>
+ *
+ * <p>User files need the columns {@code username, password_hash, email, phone_number, address,
+ * role}; passwords must already be BCrypt hashes. Membership files need {@code username, type,
+ * description, start_date, end_date, price, payment_status} and refer to users by username.
+ * Columns may appear in any order; the first row must be the header.</p>
+ */
+public class ImportExportService {
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[abxy]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+    private static final Set<String> ROLES = Set.of("ADMIN", "TRAINER", "MEMBER");
+    private static final Set<String> PAYMENT_STATUSES = Set.of("PAID", "PENDING");
+
+    private final BulkTransferDAO bulkTransferDAO;
+    private final EntitlementService entitlementService;
+    private final int chunkSize;
+
+    /**
+     * Initializes service with default DAO implementation and the configured chunk size.
+     */
+    public ImportExportService() {
+        this.bulkTransferDAO = new BulkTransferDAO();
+        this.entitlementService = new EntitlementService();
+        this.chunkSize = Math.max(1, AppProperties.get().getInt("import.chunkSize", 5000));
+    }
+
+    /**
+     * Imports users from a CSV file.
+     * @param csv The file to read
+     * @param quarantine Where rejected rows are written
+     * @param progress Receives a report after every chunk
+     * @return The final report
+     * @throws IOException If a file cannot be read or written, or the header is missing a column
+     * @throws DatabaseException If a chunk cannot be stored; earlier chunks stay imported
+     */
+    public ImportReport importUsers(Path csv, Path quarantine, Consumer<ImportReport> progress)
+            throws IOException, DatabaseException {
+        return importFile("users", csv, quarantine, BulkTransferDAO.USER_COLUMNS, new UserRows(), progress);
+    }
+
+    /**
+     * Imports memberships from a CSV file. Revenue figures include the new memberships as
+     * soon as each chunk commits, and the active-membership index is reloaded at the end.
+     * @param csv The file to read
+     * @param quarantine Where rejected rows are written
+     * @param progress Receives a report after every chunk
+     * @return The final report
+     * @throws IOException If a file cannot be read or written, or the header is missing a column
+     * @throws DatabaseException If a chunk cannot be stored; earlier chunks stay imported
+     */
+    public ImportReport importMemberships(Path csv, Path quarantine, Consumer<ImportReport> progress)
+            throws IOException, DatabaseException {
+        try {
+            return importFile("memberships", csv, quarantine, BulkTransferDAO.MEMBERSHIP_COLUMNS,
+                new MembershipRows(), progress);
+        } finally {
+            try {
+                entitlementService.load();
+            } catch (DatabaseException e) {
+                System.err.println("Failed to reload active memberships: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Exports every user to a CSV file that {@link #importUsers} can read.
+     * @param csv The file to write
+     * @return Number of users written
+     * @throws IOException If the file cannot be written
+     * @throws DatabaseException On SQL errors
+     */
+    public long exportUsers(Path csv) throws IOException, DatabaseException {
+        try (Writer out = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            return bulkTransferDAO.exportUsers(out);
+        }
+    }
+
+    /**
+     * Exports every membership to a CSV file that {@link #importMemberships} can read.
+     * @param csv The file to write
+     * @return Number of memberships written
+     * @throws IOException If the file cannot be written
+     * @throws DatabaseException On SQL errors
+     */
+    public long exportMemberships(Path csv) throws IOException, DatabaseException {
+        try (Writer out = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            return bulkTransferDAO.exportMemberships(out);
+        }
+    }
+
+    /**
+     * Validates and stores the rows of one kind of file.
+     */
+    private interface RowHandler {
+        /**
+         * Checks one row and puts it in the form the DAO expects.
+         *
+         * @param fields The row's fields in DAO column order.
+         * @return {@code null} if the row is valid, otherwise the reason it was rejected.
+         */
+        String validate(List<String> fields);
+
+        /**
+         * Stores a chunk of valid rows.
+         *
+         * @param chunk Valid rows keyed by line number.
+         * @return Rejected rows as line number to reason.
+         * @throws DatabaseException If the chunk cannot be stored.
+         */
+        Map<Long, String> store(Map<Long, List<String>> chunk) throws DatabaseException;
+
+        /** Called when a chunk has been stored, before the next one starts. */
+        default void chunkDone() {}
+    }
+
+    private ImportReport importFile(String entity, Path csv, Path quarantine, List<String> columns,
+                                    RowHandler handler, Consumer<ImportReport> progress)
+            throws IOException, DatabaseException {
+        long start = System.nanoTime();
+        long read = 0;
+        long imported = 0;
+        long rejected = 0;
+
+        try (BufferedReader in = Files.newBufferedReader(csv, StandardCharsets.UTF_8);
+             CsvReader reader = new CsvReader(in);
+             BufferedWriter out = Files.newBufferedWriter(quarantine, StandardCharsets.UTF_8);
+             CsvWriter rejects = new CsvWriter(out)) {
+
+            List<String> header = reader.next();
+            if (header == null) {
+                throw new IOException("File is empty: " + csv);
+            }
+            int[] positions = locate(header, columns);
+            List<String> rejectHeader = new ArrayList<>(header);
+            rejectHeader.add("line");
+            rejectHeader.add("reason");
+            rejects.write(rejectHeader);
+
+            Map<Long, List<String>> chunk = new LinkedHashMap<>();
+            Map<Long, List<String>> originals = new LinkedHashMap<>();
+            List<String> record;
+            while ((record = reader.next()) != null) {
+                if (record.size() == 1 && record.get(0).isEmpty()) {
+                    continue; // blank line
+                }
+                read++;
+                long line = reader.getRecordLine();
+                List<String> fields = pick(record, positions);
+                String problem = fields == null ? "expected " + header.size() + " fields" : handler.validate(fields);
+                if (problem != null) {
+                    reject(rejects, record, line, problem);
+                    rejected++;
+                    continue;
+                }
+                chunk.put(line, fields);
+                originals.put(line, record);
+
+                if (chunk.size() >= chunkSize) {
+                    long stored = flush(handler, chunk, originals, rejects);
+                    imported += stored;
+                    rejected += chunk.size() - stored;
+                    chunk.clear();
+                    originals.clear();
+                    progress.accept(new ImportReport(entity, read, imported, rejected, elapsedMillis(start)));
+                }
+            }
+            if (!chunk.isEmpty()) {
+                long stored = flush(handler, chunk, originals, rejects);
+                imported += stored;
+                rejected += chunk.size() - stored;
+            }
+        }
+
+        ImportReport report = new ImportReport(entity, read, imported, rejected, elapsedMillis(start));
+        progress.accept(report);
+        return report;
+    }
+
+    private long flush(RowHandler handler, Map<Long, List<String>> chunk, Map<Long, List<String>> originals,
+                       CsvWriter rejects) throws IOException, DatabaseException {
+        Map<Long, String> refused = handler.store(chunk);
+        for (Map.Entry<Long, String> row : refused.entrySet()) {
+            reject(rejects, originals.get(row.getKey()), row.getKey(), row.getValue());
+        }
+        rejects.flush();
+        handler.chunkDone();
+        return chunk.size() - refused.size();
+    }
+
+    private static void reject(CsvWriter rejects, List<String> record, long line, String reason) throws IOException {
+        List<String> row = new ArrayList<>(record);
+        row.add(Long.toString(line));
+        row.add(reason);
+        rejects.write(row);
+    }
+
+    /**
+     * Finds where each expected column sits in the file's header.
+     */
+    private static int[] locate(List<String> header, List<String> columns) throws IOException {
+        int[] positions = new int[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            positions[i] = -1;
+            for (int j = 0; j < header.size(); j++) {
+                if (header.get(j).trim().equalsIgnoreCase(columns.get(i))) {
+                    positions[i] = j;
+                }
+            }
+            if (positions[i] < 0) {
+                throw new IOException("Missing column in header: " + columns.get(i));
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Reorders a record's fields into DAO column order, trimming them and turning blanks into {@code null}.
+     *
+     * @return The fields, or {@code null} if the record has fewer fields than the header needs.
+     */
+    private static List<String> pick(List<String> record, int[] positions) {
+        List<String> fields = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            if (position >= record.size()) {
+                return null;
+            }
+            String value = record.get(position).trim();
+            fields.add(value.isEmpty() ? null : value);
+        }
+        return fields;
+    }
+
+    private static String checkLength(String value, String column, int max, boolean required) {
+        if (value == null) {
+            return required ? column + " is required" : null;
+        }
+        return value.length() > max ? column + " is longer than " + max + " characters" : null;
+    }
+
+    private static long elapsedMillis(long start) {
+        return (System.nanoTime() - start) / 1_000_000L;
+    }
+
+    /**
+     * Validation for user rows. Usernames and emails must be unique within a chunk; clashes
+     * with existing users are caught by the database.
+     */
+    private final class UserRows implements RowHandler {
+        private final Set<String> usernames = new HashSet<>();
+        private final Set<String> emails = new HashSet<>();
+
+        @Override
+        public String validate(List<String> fields) {
+            String problem = checkLength(fields.get(0), "username", 50, true);
+            if (problem == null) {
+                problem = checkLength(fields.get(2), "email", 100, true);
+            }
+            if (problem == null) {
+                problem = checkLength(fields.get(3), "phone_number", 20, false);
+            }
+            if (problem != null) {
+                return problem;
+            }
+            if (fields.get(1) == null || !BCRYPT_HASH.matcher(fields.get(1)).matches()) {
+                return "password_hash is not a BCrypt hash";
+            }
+            if (fields.get(2).indexOf('@') < 1) {
+                return "email is not valid";
+            }
+            String role = fields.get(5) == null ? "MEMBER" : fields.get(5).toUpperCase(Locale.ROOT);
+            if (!ROLES.contains(role)) {
+                return "role must be ADMIN, TRAINER or MEMBER";
+            }
+            fields.set(5, role);
+            if (usernames.contains(fields.get(0)) || emails.contains(fields.get(2))) {
+                return "duplicate username or email in file";
+            }
+            usernames.add(fields.get(0));
+            emails.add(fields.get(2));
+            return null;
+        }
+
+        @Override
+        public Map<Long, String> store(Map<Long, List<String>> chunk) throws DatabaseException {
+            return bulkTransferDAO.importUsers(chunk);
+        }
+
+        @Override
+        public void chunkDone() {
+            // Keep memory constant: later clashes are caught by the database's unique constraints
+            usernames.clear();
+            emails.clear();
+        }
+    }
+
+    /**
+     * Validation for membership rows. Unknown usernames are caught by the database.
+     */
+    private final class MembershipRows implements RowHandler {
+        @Override
+        public String validate(List<String> fields) {
+            String problem = checkLength(fields.get(0), "username", 50, true);
+            if (problem == null) {
+                problem = checkLength(fields.get(1), "type", 50, true);
+            }
+            if (problem != null) {
+                return problem;
+            }
+            try {
+                if (fields.get(3) == null || fields.get(4) == null) {
+                    return "start_date and end_date are required";
+                }
+                LocalDate startDate = LocalDate.parse(fields.get(3));
+                LocalDate endDate = LocalDate.parse(fields.get(4));
+                if (endDate.isBefore(startDate)) {
+                    return "end_date is before start_date";
+                }
+            } catch (DateTimeParseException e) {
+                return "dates must be YYYY-MM-DD";
+            }
+            try {
+                BigDecimal price = new BigDecimal(fields.get(5) == null ? "" : fields.get(5));
+                if (price.signum() < 0 || price.scale() > 2 || price.precision() - price.scale() > 8) {
+                    return "price must be between 0 and 99999999.99 with at most 2 decimals";
+                }
+            } catch (NumberFormatException e) {
+                return "price is not a number";
+            }
+            String status = fields.get(6) == null ? "PENDING" : fields.get(6).toUpperCase(Locale.ROOT);
+            if (!PAYMENT_STATUSES.contains(status)) {
+                return "payment_status must be PAID or PENDING";
+            }
+            fields.set(6, status);
+            return null;
+        }
+
+        @Override
+        public Map<Long, String> store(Map<Long, List<String>> chunk) throws DatabaseException {
+            return bulkTransferDAO.importMemberships(chunk);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.gymmanagement.service;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.gymmanagement.dao.WorkoutClassDAO;
+import com.gymmanagement.exception.DatabaseException;
+import com.gymmanagement.model.ClassListing;
+import com.gymmanagement.model.EnrollmentResult;
+import com.gymmanagement.model.WorkoutClass;
+import com.gymmanagement.util.IntervalTree;
+
+/**
+ * Stops a member from enrolling twice in a class or in two classes that overlap, before any
+ * enrollment transaction is started.
+ *
+ * <p>Each member's enrolled classes are held in an {@link IntervalTree} of start and end
+ * minutes, loaded the first time the member enrolls and kept current as they join and leave
+ * classes. The start and length of every class seen are cached as well, so a repeated check
+ * needs no database access at all. The trees are shared by every instance of this service.</p>
+ *
+ * <p>The database still rejects a duplicate enrollment that this cache missed, for example one
+ * made by another application instance; the enrollment then reports
+ * {@link EnrollmentResult#ALREADY_ENROLLED} and the member's tree is reloaded.</p>
+ */
+public class MemberScheduleService {
+    private static final ConcurrentMap<Integer, IntervalTree> ENROLLED = new ConcurrentHashMap<>();
+
+    /** Start and end minute of each class seen, keyed by class ID. */
+    private static final ConcurrentMap<Integer, long[]> SLOTS = new ConcurrentHashMap<>();
+
+    /** Bumped on every write, so a slow load cannot install a tree that misses one. */
+    private static final AtomicLong WRITES = new AtomicLong();
+
+    private final WorkoutClassDAO workoutClassDAO;
+
+    /**
+     * Constructs a {@link MemberScheduleService} backed by the shared member schedules.
+     */
+    public MemberScheduleService() {
+        this.workoutClassDAO = new WorkoutClassDAO();
+    }
+
+    /**
+     * Checks whether a member may enroll in a class.
+     *
+     * @param memberId The ID of the member.
+     * @param classId The ID of the class.
+     * @return {@link EnrollmentResult#ALREADY_ENROLLED}, {@link EnrollmentResult#SCHEDULE_CONFLICT}
+     *         or {@link EnrollmentResult#CLASS_NOT_FOUND} if the member may not enroll, or
+     *         {@code null} if nothing stands in the way.
+     * @throws DatabaseException If the member's classes or the class could not be loaded.
+     */
+    public EnrollmentResult check(int memberId, int classId) throws DatabaseException {
+        IntervalTree enrolled = scheduleOf(memberId);
+        long[] slot = slotOf(classId);
+        if (slot == null) {
+            return EnrollmentResult.CLASS_NOT_FOUND;
+        }
+        synchronized (enrolled) {
+            if (enrolled.contains(classId)) {
+                return EnrollmentResult.ALREADY_ENROLLED;
+            }
+            return enrolled.overlapping(slot[0], slot[1]).isEmpty() ? null : EnrollmentResult.SCHEDULE_CONFLICT;
+        }
+    }
+
+    /**
+     * Records that a member now holds a seat in a class.
+     *
+     * @param memberId The ID of the member.
+     * @param classId The ID of the class.
+     */
+    public void recordEnrolled(int memberId, int classId) {
+        WRITES.incrementAndGet();
+        IntervalTree enrolled = ENROLLED.get(memberId);
+        long[] slot = SLOTS.get(classId);
+        if (enrolled == null) {
+            return;
+        }
+        if (slot == null) {
+            // Nothing to place the class with; load the member again on next use
+            ENROLLED.remove(memberId, enrolled);
+            return;
+        }
+        synchronized (enrolled) {
+            enrolled.add(classId, slot[0], slot[1]);
+        }
+    }
+
+    /**
+     * Records that a member left a class.
+     *
+     * @param memberId The ID of the member.
+     * @param classId The ID of the class.
+     */
+    public void recordUnenrolled(int memberId, int classId) {
+        WRITES.incrementAndGet();
+        IntervalTree enrolled = ENROLLED.get(memberId);
+        if (enrolled != null) {
+            synchronized (enrolled) {
+                enrolled.remove(classId);
+            }
+        }
+    }
+
+    /**
+     * Records a class's new start or length, moving it in the schedule of every loaded member
+     * enrolled in it.
+     *
+     * @param workoutClass The updated class.
+     */
+    public void recordClassSaved(WorkoutClass workoutClass) {
+        WRITES.incrementAndGet();
+        long[] slot = slot(workoutClass.getSchedule(), workoutClass.getDurationMinutes());
+        SLOTS.put(workoutClass.getId(), slot);
+        for (IntervalTree enrolled : ENROLLED.values()) {
+            synchronized (enrolled) {
+                if (enrolled.contains(workoutClass.getId())) {
+                    enrolled.add(workoutClass.getId(), slot[0], slot[1]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Records a deleted class, removing it from every loaded member's schedule.
+     *
+     * @param classId The ID of the deleted class.
+     */
+    public void recordClassDeleted(int classId) {
+        WRITES.incrementAndGet();
+        SLOTS.remove(classId);
+        for (IntervalTree enrolled : ENROLLED.values()) {
+            synchronized (enrolled) {
+                enrolled.remove(classId);
+            }
+        }
+    }
+
+    /**
+     * Drops a member's schedule so it is reloaded on next use.
+     *
+     * @param memberId The ID of the member.
+     */
+    public void invalidate(int memberId) {
+        WRITES.incrementAndGet();
+        ENROLLED.remove(memberId);
+    }
+
+    private IntervalTree scheduleOf(int memberId) throws DatabaseException {
+        IntervalTree enrolled = ENROLLED.get(memberId);
+        if (enrolled != null) {
+            return enrolled;
+        }
+        long writes = WRITES.get();
+        IntervalTree loaded = new IntervalTree();
+        for (ClassListing listing : workoutClassDAO.findListingsByMemberId(memberId)) {
+            long[] slot = slot(listing.getSchedule(), listing.getDurationMinutes());
+            SLOTS.putIfAbsent(listing.getId(), slot);
+            loaded.add(listing.getId(), slot[0], slot[1]);
+        }
+        if (writes != WRITES.get()) {
+            // A class or enrollment changed while loading; use this copy once without sharing it
+            return loaded;
+        }
+        IntervalTree existing = ENROLLED.putIfAbsent(memberId, loaded);
+        if (existing != null) {
+            return existing;
+        }
+        if (writes != WRITES.get()) {
+            // A write raced the install and may have missed this copy
+            ENROLLED.remove(memberId, loaded);
+        }
+        return loaded;
+    }
+
+    private long[] slotOf(int classId) throws DatabaseException {
+        long[] slot = SLOTS.get(classId);
+        if (slot != null) {
+            return slot;
+        }
+        WorkoutClass workoutClass = workoutClassDAO.findById(classId);
+        if (workoutClass == null) {
+            return null;
+        }
+        slot = slot(workoutClass.getSchedule(), workoutClass.getDurationMinutes());
+        long[] existing = SLOTS.putIfAbsent(classId, slot);
+        return existing != null ? existing : slot;
+    }
+
+    private static long[] slot(LocalDateTime schedule, int durationMinutes) {
+        long start = ScheduleConflictService.minutes(schedule);
+        return new long[] {start, start + Math.max(1, durationMinutes)};
+    }
+}
@@ -0,0 +1,18 @@
+package com.gymmanagement.service;
+
+import java.util.List;
+
+import com.gymmanagement.model.MembershipExpiry;
+
+/**
+ * Receives the memberships expired by {@link MembershipExpiryService}.
+ */
+@FunctionalInterface
+public interface MembershipExpiryListener {
+    /**
+     * Called once per committed chunk, on the scheduler thread.
+     *
+     * @param expired The memberships expired in the chunk, in end date order.
+     */
+    void onExpired(List<MembershipExpiry> expired);
+}
@@ -0,0 +1,169 @@
+package com.gymmanagement.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.gymmanagement.dao.MembershipDAO;
+import com.gymmanagement.exception.DatabaseException;
+import com.gymmanagement.model.ExpiryRun;
+import com.gymmanagement.model.MembershipExpiry;
+
+/**
+ * Background scheduler that moves memberships to {@code EXPIRED} once their end date has passed.
+ *
+ * <p>Each pass pulls due memberships oldest end date first, in chunks, and expires every chunk
+ * with one batched statement (see {@link MembershipDAO#expireDue(LocalDate, int)}), so the cost
+ * of a pass grows with the number of chunks rather than the number of memberships. Listeners
+ * are told about each chunk after it commits.</p>
+ */
+public class MembershipExpiryService {
+    private final MembershipDAO membershipDAO;
+    private final long intervalMillis;
+    private final int chunkSize;
+    private final List<MembershipExpiryListener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong membershipsExpired = new AtomicLong();
+    private volatile ExpiryRun lastRun;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Creates an expiry scheduler.
+     *
+     * @param intervalMillis Delay between passes in milliseconds; {@code 0} or less disables scheduling.
+     * @param chunkSize Maximum number of memberships expired per statement.
+     */
+    public MembershipExpiryService(long intervalMillis, int chunkSize) {
+        this.membershipDAO = new MembershipDAO();
+        this.intervalMillis = intervalMillis;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Registers a listener for expiry events.
+     *
+     * @param listener The listener to add.
+     */
+    public void addListener(MembershipExpiryListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Starts running passes in the background, the first one straight away. Does nothing if
+     * it is already running or scheduling is disabled.
+     */
+    public synchronized void start() {
+        if (scheduler != null || intervalMillis <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "membership-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runQuietly, 0L, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs one expiry pass on the calling thread, against today's date.
+     *
+     * @return The metrics of the pass.
+     * @throws DatabaseException If a chunk fails; chunks committed before it stay expired.
+     */
+    public ExpiryRun runOnce() throws DatabaseException {
+        return runOnce(LocalDate.now());
+    }
+
+    /**
+     * Runs one expiry pass on the calling thread.
+     *
+     * @param asOf The current date; memberships that ended before it are expired.
+     * @return The metrics of the pass.
+     * @throws DatabaseException If a chunk fails; chunks committed before it stay expired.
+     */
+    public ExpiryRun runOnce(LocalDate asOf) throws DatabaseException {
+        long start = System.nanoTime();
+        long expired = 0;
+        int chunks = 0;
+
+        while (true) {
+            List<MembershipExpiry> chunk = membershipDAO.expireDue(asOf, chunkSize);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            chunks++;
+            expired += chunk.size();
+            membershipsExpired.addAndGet(chunk.size());
+            notifyListeners(chunk);
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+        }
+
+        ExpiryRun run = new ExpiryRun(asOf, expired, chunks, (System.nanoTime() - start) / 1_000_000L);
+        runs.incrementAndGet();
+        lastRun = run;
+        return run;
+    }
+
+    /**
+     * Retrieves the number of completed passes since startup.
+     *
+     * @return Completed passes.
+     */
+    public long getRuns() {
+        return runs.get();
+    }
+
+    /**
+     * Retrieves the number of memberships expired since startup.
+     *
+     * @return Expired memberships.
+     */
+    public long getMembershipsExpired() {
+        return membershipsExpired.get();
+    }
+
+    /**
+     * Retrieves the metrics of the most recent completed pass.
+     *
+     * @return The last pass, or {@code null} if none has completed yet.
+     */
+    public ExpiryRun getLastRun() {
+        return lastRun;
+    }
+
+    /**
+     * Stops the background schedule. A pass already in progress is allowed to finish.
+     */
+    public synchronized void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+    }
+
+    private void notifyListeners(List<MembershipExpiry> chunk) {
+        for (MembershipExpiryListener listener : listeners) {
+            try {
+                listener.onExpired(chunk);
+            } catch (RuntimeException e) {
+                // One failing listener must not stop the others or the pass
+                System.err.println("Membership expiry listener failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void runQuietly() {
+        try {
+            runOnce();
+        } catch (DatabaseException e) {
+            // Keep the schedule alive; the next pass picks up whatever is still due
+            System.err.println("Membership expiry failed: " + e.getMessage());
+        }
+    }
+}
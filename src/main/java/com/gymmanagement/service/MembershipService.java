@@ -1,13 +1,16 @@
 package com.gymmanagement.service;
 
-import java.sql.SQLException;
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import com.gymmanagement.dao.MembershipDAO;
 import com.gymmanagement.exception.DatabaseException;
 import com.gymmanagement.model.Membership;
+import com.gymmanagement.model.RevenueReport;
+import com.gymmanagement.model.TypeRevenue;
 
 /**
  * Manages membership transactions including purchases, renewals, and revenue reporting.
@@ -15,12 +18,14 @@ import com.gymmanagement.model.Membership;
  */
 public class MembershipService {
     private final MembershipDAO membershipDAO;
+    private final EntitlementService entitlementService;
 
     /**
      * Initializes service with default DAO implementation.
      */
     public MembershipService() {
         this.membershipDAO = new MembershipDAO();
+        this.entitlementService = new EntitlementService();
     }
 
     /**
@@ -42,7 +47,11 @@ public class MembershipService {
             membership.setEndDate(LocalDate.now().plusMonths(1));
             membership.setPaymentStatus("PENDING");
 
-            return membershipDAO.create(membership);
+            if (!membershipDAO.create(membership)) {
+                return false;
+            }
+            entitlementService.grant(membership);
+            return true;
         } catch (DatabaseException e) {
             System.err.println("Purchase failed: " + e.getMessage());
             return false;
@@ -64,41 +73,96 @@ public class MembershipService {
     }
 
     /**
-     * Calculates gross revenue from all memberships.
-     * @return Total revenue amount
+     * Changes the payment status of a membership, keeping the revenue summary in step.
+     * @param membershipId Target membership ID
+     * @param paymentStatus New status (e.g., "PAID")
+     * @return true if the membership was updated, false if it does not exist or on failure
+     */
+    public boolean updatePaymentStatus(int membershipId, String paymentStatus) {
+        try {
+            return membershipDAO.updatePaymentStatus(membershipId, paymentStatus);
+        } catch (DatabaseException e) {
+            System.err.println("Payment update failed: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Retrieves the revenue summary: counts and totals for every membership type.
+     * Served from memory without reading the memberships table.
+     * @return Map of type → totals, ordered by type
+     * @throws DatabaseException If the summary cannot be loaded
+     */
+    public Map<String, TypeRevenue> getRevenueSummary() throws DatabaseException {
+        return membershipDAO.getRevenueSummary();
+    }
+
+    /**
+     * Builds the revenue report from the revenue summary: paid and pending totals per type and
+     * overall, all taken from one snapshot so the figures agree with each other.
+     * @return The revenue report
+     * @throws DatabaseException If the summary cannot be loaded
+     */
+    public RevenueReport getRevenueReport() throws DatabaseException {
+        return RevenueReport.fromTypes(getRevenueSummary());
+    }
+
+    /**
+     * Computes the revenue report straight from the memberships table in a single query,
+     * bypassing the revenue summary. Useful for checking the summary against the source data.
+     * @return The revenue report
      * @throws DatabaseException On SQL errors
      */
+    public RevenueReport computeLiveRevenueReport() throws DatabaseException {
+        return membershipDAO.computeRevenueReport();
+    }
+
+    /**
+     * Recomputes the revenue summary from the memberships table to repair drift.
+     * @return The revenue report built from the rebuilt summary
+     * @throws DatabaseException If the rebuild fails; the previous summary is kept
+     */
+    public RevenueReport rebuildRevenueSummary() throws DatabaseException {
+        return RevenueReport.fromTypes(membershipDAO.rebuildRevenueSummary());
+    }
+
+    /**
+     * Calculates revenue from all paid memberships.
+     * Prefer {@link #getRevenueReport()} when more than one figure is needed.
+     * @return Total revenue amount
+     * @throws DatabaseException If the summary cannot be loaded
+     */
     public double calculateTotalRevenue() throws DatabaseException {
-        try {
-            return membershipDAO.calculateTotalRevenue();
-        } catch (SQLException e) {
-            throw new DatabaseException("Revenue calculation failed", e);
+        BigDecimal total = BigDecimal.ZERO;
+        for (TypeRevenue totals : getRevenueSummary().values()) {
+            total = total.add(totals.getPaidRevenue());
         }
+        return total.doubleValue();
     }
 
     /**
      * Breaks down revenue by membership type.
      * @return Map of type → revenue (e.g., {"PREMIUM": 500.00})
-     * @throws DatabaseException On SQL errors
+     * @throws DatabaseException If the summary cannot be loaded
      */
     public Map<String, Double> getRevenueByMembershipType() throws DatabaseException {
-        try {
-            return membershipDAO.calculateRevenueByType();
-        } catch (SQLException e) {
-            throw new DatabaseException("Error calculating revenue by type", e);
+        Map<String, Double> revenueByType = new LinkedHashMap<>();
+        for (TypeRevenue totals : getRevenueSummary().values()) {
+            revenueByType.put(totals.getType(), totals.getTotalPrice().doubleValue());
         }
+        return revenueByType;
     }
 
     /**
-     * Counts active memberships by type.
+     * Counts memberships by type.
      * @return Map of type → count (e.g., {"STANDARD": 42})
-     * @throws DatabaseException On SQL errors
+     * @throws DatabaseException If the summary cannot be loaded
      */
     public Map<String, Integer> getMembershipCounts() throws DatabaseException {
-        try {
-            return membershipDAO.countMembershipsByType();
-        } catch (SQLException e) {
-            throw new DatabaseException("Error counting memberships", e);
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (TypeRevenue totals : getRevenueSummary().values()) {
+            counts.put(totals.getType(), (int) totals.getMembershipCount());
         }
+        return counts;
     }
-}
\ No newline at end of file
+}
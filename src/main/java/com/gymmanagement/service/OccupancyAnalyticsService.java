@@ -0,0 +1,136 @@
+package com.gymmanagement.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.gymmanagement.config.AppProperties;
+import com.gymmanagement.dao.OccupancyRollupDAO;
+import com.gymmanagement.exception.DatabaseException;
+import com.gymmanagement.model.OccupancyDimension;
+import com.gymmanagement.model.OccupancyStats;
+import com.gymmanagement.model.SlotForecast;
+import com.gymmanagement.model.SlotStats;
+
+/**
+ * Answers class occupancy questions (fill rate by type, trainer, weekday or hour, a weekday by
+ * hour heatmap, and a demand forecast per slot) from the weekly slot rollup rather than from the
+ * enrollment records. The rollup is kept current by the {@link OccupancyRollupJob}, which
+ * recounts a class whenever it or its enrollments change after it has started.
+ */
+public class OccupancyAnalyticsService {
+    private final OccupancyRollupDAO occupancyRollupDAO;
+    private final int forecastWeeks;
+
+    /**
+     * Initializes service with default DAO implementation and the configured forecast window.
+     */
+    public OccupancyAnalyticsService() {
+        this.occupancyRollupDAO = new OccupancyRollupDAO();
+        this.forecastWeeks = Math.max(1, AppProperties.get().getInt("analytics.forecastWeeks", 4));
+    }
+
+    /**
+     * Breaks down occupancy over a range of weeks by one dimension.
+     * @param from Any day of the first week to include
+     * @param to Any day of the last week to include
+     * @param by What to group by
+     * @return Map of group label → totals, in report order; groups with no classes are left out
+     * @throws DatabaseException On SQL errors
+     */
+    public Map<String, OccupancyStats> getFillRates(LocalDate from, LocalDate to, OccupancyDimension by)
+            throws DatabaseException {
+        List<SlotStats> slots = occupancyRollupDAO.findSlotStats(from, to);
+        slots.sort(by.order());
+
+        Map<String, OccupancyStats> groups = new LinkedHashMap<>();
+        for (SlotStats slot : slots) {
+            String label = by.labelOf(slot);
+            groups.merge(label, slot.getTotals().withLabel(label), OccupancyStats::plus);
+        }
+        return groups;
+    }
+
+    /**
+     * Builds a weekday by start hour grid of occupancy over a range of weeks.
+     * @param from Any day of the first week to include
+     * @param to Any day of the last week to include
+     * @param type Class type to report on, or null for all types together
+     * @return Map of weekday → (hour → totals); only cells that had classes are present
+     * @throws DatabaseException On SQL errors
+     */
+    public Map<DayOfWeek, Map<Integer, OccupancyStats>> getHeatmap(LocalDate from, LocalDate to, String type)
+            throws DatabaseException {
+        Map<DayOfWeek, Map<Integer, OccupancyStats>> grid = new EnumMap<>(DayOfWeek.class);
+        for (SlotStats slot : occupancyRollupDAO.findSlotStats(from, to)) {
+            if (type == null || type.equalsIgnoreCase(slot.getType())) {
+                String label = slot.getWeekday() + " " + slot.getHour();
+                grid.computeIfAbsent(slot.getWeekday(), day -> new TreeMap<>())
+                    .merge(slot.getHour(), slot.getTotals().withLabel(label), OccupancyStats::plus);
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Forecasts next week's demand per slot (type, weekday and start hour) as the moving average
+     * of the demand per class, enrollments plus waitlist, over the configured number of recent
+     * complete weeks. Slots with no class in those weeks are left out.
+     * @param today The current date; its own week is not complete and is not used
+     * @return Forecasts ordered by type, weekday and hour
+     * @throws DatabaseException On SQL errors
+     */
+    public List<SlotForecast> getForecast(LocalDate today) throws DatabaseException {
+        LocalDate lastWeek = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).minusWeeks(1);
+        LocalDate firstWeek = lastWeek.minusWeeks(forecastWeeks - 1L);
+
+        // slot → week → totals, trainers of the same slot added together
+        Map<String, Map<LocalDate, OccupancyStats>> weekly = new TreeMap<>();
+        Map<String, SlotStats> keys = new TreeMap<>();
+        for (SlotStats slot : occupancyRollupDAO.findSlotStats(firstWeek, lastWeek)) {
+            String key = String.format("%s|%d|%02d", slot.getType(), slot.getWeekday().getValue(), slot.getHour());
+            keys.putIfAbsent(key, slot);
+            weekly.computeIfAbsent(key, k -> new TreeMap<>())
+                .merge(slot.getWeekStart(), slot.getTotals(), OccupancyStats::plus);
+        }
+
+        List<SlotForecast> forecasts = new ArrayList<>();
+        for (Map.Entry<String, Map<LocalDate, OccupancyStats>> entry : weekly.entrySet()) {
+            double demand = 0;
+            double capacity = 0;
+            for (OccupancyStats week : entry.getValue().values()) {
+                demand += week.getDemandPerClass();
+                capacity += week.getCapacityPerClass();
+            }
+            int weeks = entry.getValue().size();
+            SlotStats slot = keys.get(entry.getKey());
+            forecasts.add(new SlotForecast(slot.getType(), slot.getWeekday(), slot.getHour(), weeks,
+                capacity / weeks, demand / weeks));
+        }
+        return forecasts;
+    }
+
+    /**
+     * Retrieves the number of complete weeks a forecast averages over.
+     * @return Forecast window in weeks
+     */
+    public int getForecastWeeks() {
+        return forecastWeeks;
+    }
+
+    /**
+     * Retrieves how far the rollup has got.
+     * @return Time up to which every started class is counted, or null if the rollup has not caught up yet
+     * @throws DatabaseException On SQL errors
+     */
+    public LocalDateTime getProcessedThrough() throws DatabaseException {
+        return occupancyRollupDAO.getProcessedThrough();
+    }
+}
@@ -0,0 +1,118 @@
+package com.gymmanagement.service;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.gymmanagement.dao.OccupancyRollupDAO;
+import com.gymmanagement.exception.DatabaseException;
+
+/**
+ * Background task that keeps the weekly occupancy rollup current.
+ *
+ * <p>Each pass recounts the classes that have started and changed since they were last counted,
+ * a chunk of classes at a time, each in its own transaction (see
+ * {@link OccupancyRollupDAO#processNextChunk(LocalDateTime, int)}). The first pass works through
+ * the whole history; later passes only read the classes that changed since the previous one.</p>
+ */
+public class OccupancyRollupJob {
+    private final OccupancyRollupDAO occupancyRollupDAO;
+    private final long intervalMillis;
+    private final int chunkSize;
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong chunks = new AtomicLong();
+    private volatile boolean stopped;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Creates a rollup job.
+     *
+     * @param intervalMillis Delay between runs in milliseconds; {@code 0} or less disables scheduling.
+     * @param chunkSize Number of classes recounted per transaction.
+     */
+    public OccupancyRollupJob(long intervalMillis, int chunkSize) {
+        this.occupancyRollupDAO = new OccupancyRollupDAO();
+        this.intervalMillis = intervalMillis;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Starts running the job in the background, the first pass straight away. Does nothing if it
+     * is already running or scheduling is disabled.
+     */
+    public synchronized void start() {
+        if (scheduler != null || intervalMillis <= 0) {
+            return;
+        }
+        stopped = false;
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "occupancy-rollup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runQuietly, 0L, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Recounts every started class that has changed since the last pass, on the calling thread.
+     *
+     * @return The number of chunks processed.
+     * @throws DatabaseException If a chunk fails; chunks committed before it are kept.
+     */
+    public int runOnce() throws DatabaseException {
+        LocalDateTime now = LocalDateTime.now();
+        int processed = 0;
+        while (!stopped) {
+            int classes = occupancyRollupDAO.processNextChunk(now, chunkSize);
+            if (classes > 0) {
+                processed++;
+                chunks.incrementAndGet();
+            }
+            if (classes < chunkSize) {
+                break;
+            }
+        }
+        runs.incrementAndGet();
+        return processed;
+    }
+
+    /**
+     * Retrieves the number of completed passes since startup.
+     *
+     * @return Completed passes.
+     */
+    public long getRuns() {
+        return runs.get();
+    }
+
+    /**
+     * Retrieves the number of chunks processed since startup.
+     *
+     * @return Processed chunks.
+     */
+    public long getChunksProcessed() {
+        return chunks.get();
+    }
+
+    /**
+     * Stops the background schedule after the chunk in progress, if any, has committed.
+     */
+    public synchronized void shutdown() {
+        stopped = true;
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+    }
+
+    private void runQuietly() {
+        try {
+            runOnce();
+        } catch (DatabaseException e) {
+            // Progress is kept; the next pass resumes after the last committed chunk
+            System.err.println("Occupancy rollup failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.gymmanagement.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import com.gymmanagement.dao.RevenueRollupDAO;
+import com.gymmanagement.exception.DatabaseException;
+import com.gymmanagement.model.RevenueBucket;
+import com.gymmanagement.model.TimeGranularity;
+import com.gymmanagement.model.TypeRevenue;
+
+/**
+ * Answers time-based revenue questions (per day, week or month, and per membership type) from
+ * the daily revenue rollup rather than from the membership records.
+ */
+public class RevenueAnalyticsService {
+    private final RevenueRollupDAO revenueRollupDAO;
+
+    /**
+     * Initializes service with default DAO implementation.
+     */
+    public RevenueAnalyticsService() {
+        this.revenueRollupDAO = new RevenueRollupDAO();
+    }
+
+    /**
+     * Retrieves revenue over a date range, one entry per time bucket.
+     * @param from First membership start date to include
+     * @param to Last membership start date to include
+     * @param granularity Bucket size (DAY, WEEK or MONTH)
+     * @param type Membership type, or null for all types together
+     * @return Buckets in date order, including empty ones
+     * @throws DatabaseException If the rollup cannot be loaded
+     */
+    public List<RevenueBucket> getRevenueSeries(LocalDate from, LocalDate to, TimeGranularity granularity,
+                                                String type) throws DatabaseException {
+        return revenueRollupDAO.findRevenue(from, to, granularity, type);
+    }
+
+    /**
+     * Breaks down revenue over a date range by membership type.
+     * @param from First membership start date to include
+     * @param to Last membership start date to include
+     * @return Map of type → totals, ordered by type
+     * @throws DatabaseException If the rollup cannot be loaded
+     */
+    public Map<String, TypeRevenue> getRevenueByType(LocalDate from, LocalDate to) throws DatabaseException {
+        return revenueRollupDAO.findRevenueByType(from, to);
+    }
+
+    /**
+     * Retrieves how far the history backfill has got.
+     * @return Last processed start date, or null if the backfill has not started
+     * @throws DatabaseException On SQL errors
+     */
+    public LocalDate getBackfilledThrough() throws DatabaseException {
+        return revenueRollupDAO.getBackfilledThrough();
+    }
+}
@@ -0,0 +1,110 @@
+package com.gymmanagement.service;
+
+import java.time.LocalDate;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.gymmanagement.dao.RevenueRollupDAO;
+import com.gymmanagement.exception.DatabaseException;
+
+/**
+ * Background job that fills the daily revenue rollup from membership history.
+ *
+ * <p>History is processed one chunk of start dates at a time, each in its own short transaction
+ * (see {@link RevenueRollupDAO#backfillNextChunk(int)}), so membership writes are only held back
+ * briefly. Progress is stored in the database, so a job that is stopped or fails resumes from
+ * the last completed chunk the next time it runs.</p>
+ */
+public class RevenueBackfillJob {
+    private final RevenueRollupDAO revenueRollupDAO;
+    private final int chunkDays;
+    private final AtomicLong chunks = new AtomicLong();
+    private volatile boolean stopped;
+    private volatile boolean complete;
+    private ExecutorService executor;
+
+    /**
+     * Creates a backfill job.
+     *
+     * @param chunkDays Number of days of history processed per transaction.
+     */
+    public RevenueBackfillJob(int chunkDays) {
+        this.revenueRollupDAO = new RevenueRollupDAO();
+        this.chunkDays = Math.max(1, chunkDays);
+    }
+
+    /**
+     * Starts the backfill in the background. Does nothing if it is already running.
+     */
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        stopped = false;
+        executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "revenue-backfill");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.submit(this::runQuietly);
+    }
+
+    /**
+     * Processes chunks on the calling thread until the history is covered or the job is stopped.
+     *
+     * @return The number of chunks processed by this call.
+     * @throws DatabaseException If a chunk fails; chunks completed before it are kept.
+     */
+    public int runToCompletion() throws DatabaseException {
+        int processed = 0;
+        while (!stopped) {
+            LocalDate through = revenueRollupDAO.backfillNextChunk(chunkDays);
+            if (through == null) {
+                complete = true;
+                break;
+            }
+            processed++;
+            chunks.incrementAndGet();
+        }
+        return processed;
+    }
+
+    /**
+     * Retrieves the number of chunks processed since startup.
+     *
+     * @return Processed chunks.
+     */
+    public long getChunksProcessed() {
+        return chunks.get();
+    }
+
+    /**
+     * Reports whether the backfill has reached the newest membership.
+     *
+     * @return {@code true} once a run has found no history left to process.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Stops the job after the chunk in progress, if any, has committed.
+     */
+    public synchronized void shutdown() {
+        stopped = true;
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    private void runQuietly() {
+        try {
+            runToCompletion();
+        } catch (DatabaseException e) {
+            // Progress is kept; the next start resumes after the last committed chunk
+            System.err.println("Revenue backfill failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.gymmanagement.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.gymmanagement.dao.WorkoutClassDAO;
+import com.gymmanagement.exception.DatabaseException;
+import com.gymmanagement.model.WorkoutClass;
+import com.gymmanagement.util.IntervalTree;
+
+/**
+ * Detects classes that would double-book a trainer.
+ *
+ * <p>Each trainer's classes are held in an {@link IntervalTree} of start and end minutes,
+ * loaded from the database the first time the trainer is checked and kept current as classes
+ * are saved and deleted. An overlap check or a free-slot search therefore costs O(log n) in
+ * the number of classes the trainer has ever led, instead of a scan of their history.</p>
+ *
+ * <p>The trees are shared by every instance of this service. The exclusion constraint on
+ * {@code workout_classes} remains the authority: when it rejects a write that the tree allowed,
+ * the trainer's tree is dropped and reloaded on next use.</p>
+ */
+public class ScheduleConflictService {
+    private static final ConcurrentMap<Integer, IntervalTree> SCHEDULES = new ConcurrentHashMap<>();
+
+    /** Bumped on every write, so a slow load cannot install a schedule that misses one. */
+    private static final AtomicLong WRITES = new AtomicLong();
+
+    private final WorkoutClassDAO workoutClassDAO;
+
+    /**
+     * Constructs a {@link ScheduleConflictService} backed by the shared trainer schedules.
+     */
+    public ScheduleConflictService() {
+        this.workoutClassDAO = new WorkoutClassDAO();
+    }
+
+    /**
+     * Finds a class of the same trainer that overlaps a class being created or updated.
+     *
+     * @param workoutClass The class with its trainer, schedule and duration set. When updating,
+     *                     its own earlier slot is ignored.
+     * @return The ID of an overlapping class, or {@code 0} if the trainer is free.
+     * @throws DatabaseException If the trainer's classes could not be loaded.
+     */
+    public int findConflict(WorkoutClass workoutClass) throws DatabaseException {
+        long start = minutes(workoutClass.getSchedule());
+        long end = start + Math.max(1, workoutClass.getDurationMinutes());
+        IntervalTree schedule = scheduleOf(workoutClass.getTrainerId());
+        synchronized (schedule) {
+            for (int classId : schedule.overlapping(start, end)) {
+                if (classId != workoutClass.getId()) {
+                    return classId;
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Suggests the earliest start at or after a given time when the trainer is free for a
+     * class of the given length.
+     *
+     * @param trainerId The ID of the trainer.
+     * @param from The earliest acceptable start.
+     * @param durationMinutes The length of the class in minutes.
+     * @return The earliest free start.
+     * @throws DatabaseException If the trainer's classes could not be loaded.
+     */
+    public LocalDateTime suggestNextFreeSlot(int trainerId, LocalDateTime from, int durationMinutes)
+            throws DatabaseException {
+        IntervalTree schedule = scheduleOf(trainerId);
+        long start;
+        synchronized (schedule) {
+            start = schedule.nextFree(minutes(from), Math.max(1, durationMinutes));
+        }
+        // Keep the seconds of `from` if it was already free
+        return start == minutes(from) ? from : LocalDateTime.ofEpochSecond(start * 60, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Records a class that was created or updated.
+     *
+     * @param workoutClass The saved class.
+     */
+    public void recordSaved(WorkoutClass workoutClass) {
+        WRITES.incrementAndGet();
+        IntervalTree schedule = SCHEDULES.get(workoutClass.getTrainerId());
+        if (schedule != null) {
+            long start = minutes(workoutClass.getSchedule());
+            synchronized (schedule) {
+                schedule.add(workoutClass.getId(), start, start + Math.max(1, workoutClass.getDurationMinutes()));
+            }
+        }
+    }
+
+    /**
+     * Records a deleted class.
+     *
+     * @param classId The ID of the deleted class.
+     */
+    public void recordDeleted(int classId) {
+        WRITES.incrementAndGet();
+        for (IntervalTree schedule : SCHEDULES.values()) {
+            synchronized (schedule) {
+                if (schedule.remove(classId)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops a trainer's schedule so it is reloaded on next use, for example after the database
+     * rejected a class the schedule allowed.
+     *
+     * @param trainerId The ID of the trainer.
+     */
+    public void invalidate(int trainerId) {
+        WRITES.incrementAndGet();
+        SCHEDULES.remove(trainerId);
+    }
+
+    private IntervalTree scheduleOf(int trainerId) throws DatabaseException {
+        IntervalTree schedule = SCHEDULES.get(trainerId);
+        if (schedule != null) {
+            return schedule;
+        }
+        long writes = WRITES.get();
+        IntervalTree loaded = new IntervalTree();
+        for (WorkoutClass wc : workoutClassDAO.findByTrainerId(trainerId)) {
+            long start = minutes(wc.getSchedule());
+            loaded.add(wc.getId(), start, start + Math.max(1, wc.getDurationMinutes()));
+        }
+        if (writes != WRITES.get()) {
+            // A class changed while loading; use this copy once without sharing it
+            return loaded;
+        }
+        IntervalTree existing = SCHEDULES.putIfAbsent(trainerId, loaded);
+        if (existing != null) {
+            return existing;
+        }
+        if (writes != WRITES.get()) {
+            // A write raced the install and may have missed this copy
+            SCHEDULES.remove(trainerId, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Converts a class start time to whole minutes, the unit the schedule trees are kept in.
+     *
+     * @param time The local date and time.
+     * @return Minutes since the epoch, reading {@code time} as UTC.
+     */
+    static long minutes(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+}
@@ -1,10 +1,30 @@
 package com.gymmanagement.service;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
+import com.gymmanagement.cache.CacheStats;
+import com.gymmanagement.config.AppProperties;
 import com.gymmanagement.dao.UserDAO;
 import com.gymmanagement.exception.DatabaseException;
+import com.gymmanagement.model.RegistrationResult;
 import com.gymmanagement.model.User;
+import com.gymmanagement.model.UserSummary;
+import com.gymmanagement.util.HashingExecutor;
+import com.gymmanagement.util.HashingStats;
 import com.gymmanagement.util.PasswordHasher;
 
 /**
@@ -14,13 +34,29 @@ import com.gymmanagement.util.PasswordHasher;
  * and management tasks, including retrieving and deleting users.</p>
  */
 public class UserService {
+    /**
+     * Stores regenerated password hashes off the hashing threads, which must not wait on the
+     * database. Rehashes are rare, so one thread and a short queue are enough; when it is full
+     * the write is dropped and retried on the user's next login.
+     */
+    private static final ExecutorService REHASH_WRITER = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(256), r -> {
+            Thread thread = new Thread(r, "password-rehash-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
     private final UserDAO userDAO;
+    private final EntitlementService entitlementService;
+    private final HashingExecutor hashingExecutor;
 
     /**
      * Constructs a {@link UserService} instance and initializes the default admin account if it doesn't exist.
      */
     public UserService() {
         this.userDAO = new UserDAO();
+        this.entitlementService = new EntitlementService();
+        this.hashingExecutor = HashingExecutor.shared();
         initializeDefaultAdmin();
     }
 
@@ -51,6 +87,7 @@ public class UserService {
         try {
             User user = userDAO.findByUsername(username);
             if (user != null && PasswordHasher.checkPassword(password, user.getPasswordHash())) {
+                rehashIfNeeded(user, password);
                 return user;
             }
         } catch (DatabaseException e) {
@@ -59,6 +96,86 @@ public class UserService {
         return null;
     }
 
+    /**
+     * Authenticates a user without blocking the caller on password hashing.
+     * 
+     * <p>The user record is looked up on the calling thread (usually a cache hit); the BCrypt
+     * verification then runs on the dedicated {@link HashingExecutor}. When that executor is
+     * saturated the returned future fails immediately with a {@link RejectedExecutionException},
+     * so callers can back off instead of queueing indefinitely.</p>
+     * 
+     * @param username The username provided by the user.
+     * @param password The password provided by the user.
+     * @return A future completed with the {@link User} if authentication succeeds, or with {@code null} if it fails.
+     */
+    public CompletableFuture<User> loginAsync(String username, String password) {
+        User user;
+        try {
+            user = userDAO.findByUsername(username);
+        } catch (DatabaseException e) {
+            System.err.println("Login error: " + e.getMessage());
+            return CompletableFuture.completedFuture(null);
+        }
+        if (user == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return hashingExecutor.submit(() -> {
+            if (!PasswordHasher.checkPassword(password, user.getPasswordHash())) {
+                return null;
+            }
+            rehashIfNeeded(user, password);
+            return user;
+        });
+    }
+
+    /**
+     * Reports how many stored password hashes use each BCrypt cost factor.
+     * 
+     * @return Counts keyed by cost factor; unrecognised hashes are counted under {@code -1}.
+     *         Returns an empty map if an error occurs.
+     */
+    public SortedMap<Integer, Long> getPasswordCostDistribution() {
+        try {
+            return PasswordHasher.costDistribution(userDAO.countPasswordHashPrefixes());
+        } catch (DatabaseException e) {
+            System.err.println("Failed to read password costs: " + e.getMessage());
+            return new TreeMap<>();
+        }
+    }
+
+    /**
+     * Regenerates a user's password hash at the configured cost after a successful login, if the
+     * stored hash uses a different cost. The new hash is computed in the background on the hashing
+     * executor and stored from a separate writer thread, so no hashing thread waits on the
+     * database. It is skipped when either is saturated and retried on the next login.
+     * 
+     * @param user The authenticated user, holding the hash that was just verified.
+     * @param password The verified plaintext password.
+     */
+    private void rehashIfNeeded(User user, String password) {
+        String currentHash = user.getPasswordHash();
+        if (!PasswordHasher.needsRehash(currentHash)) {
+            return;
+        }
+        hashingExecutor.submit(() -> PasswordHasher.hashPassword(password))
+            .thenAcceptAsync(newHash -> {
+                try {
+                    userDAO.updatePasswordHash(user.getId(), currentHash, newHash);
+                } catch (DatabaseException e) {
+                    System.err.println("Password rehash failed: " + e.getMessage());
+                }
+            }, REHASH_WRITER);
+    }
+
+    /**
+     * Reports load and rejection counters for the password hashing executor.
+     * 
+     * @return A {@link HashingStats} snapshot.
+     */
+    public HashingStats getHashingStats() {
+        return hashingExecutor.getStats();
+    }
+
     /**
      * Registers a new user in the system.
      * 
@@ -83,6 +200,107 @@ public class UserService {
         }
     }
 
+    /**
+     * Registers many users at once, for example when onboarding a partner gym.
+     * 
+     * <p>Passwords are validated and duplicates within the request are rejected in memory.
+     * Existing usernames and emails are then found with one query, so no password is hashed
+     * for a user who cannot be registered. The remaining passwords are hashed in parallel on
+     * the {@link HashingExecutor}'s bulk pool, and the users are inserted in batches of
+     * {@code registration.batchSize}. A user that a concurrent registration claims in the
+     * meantime is reported as {@link RegistrationResult#CONFLICT}.</p>
+     * 
+     * @param users The users to register (excluding passwords); registered users have their ID set.
+     * @param passwords The plaintext passwords, in the same order as {@code users}.
+     * @return One {@link RegistrationResult} per user, in the same order as {@code users}.
+     * @throws IllegalArgumentException If the two lists differ in size.
+     * @throws DatabaseException If a database error occurs; users already reported as inserted by
+     *                           earlier batches remain registered.
+     */
+    public List<RegistrationResult> registerAll(List<User> users, List<String> passwords) throws DatabaseException {
+        if (users.size() != passwords.size()) {
+            throw new IllegalArgumentException("Expected one password per user");
+        }
+        RegistrationResult[] results = new RegistrationResult[users.size()];
+        List<Integer> candidates = new ArrayList<>();
+        Set<String> requestedUsernames = new HashSet<>();
+        Set<String> requestedEmails = new HashSet<>();
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            String password = passwords.get(i);
+            if (password == null || password.length() < 8) {
+                results[i] = RegistrationResult.INVALID_PASSWORD;
+            } else if (requestedUsernames.contains(user.getUsername())
+                    || requestedEmails.contains(user.getEmail())) {
+                results[i] = RegistrationResult.DUPLICATE_IN_REQUEST;
+            } else {
+                requestedUsernames.add(user.getUsername());
+                requestedEmails.add(user.getEmail());
+                candidates.add(i);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return List.of(results);
+        }
+
+        List<String> usernames = new ArrayList<>(candidates.size());
+        List<String> emails = new ArrayList<>(candidates.size());
+        for (int i : candidates) {
+            usernames.add(users.get(i).getUsername());
+            emails.add(users.get(i).getEmail());
+        }
+        Map<String, String> taken = userDAO.findTakenIdentities(usernames, emails);
+        Set<String> takenEmails = new HashSet<>(taken.values());
+
+        List<Integer> available = new ArrayList<>(candidates.size());
+        for (int i : candidates) {
+            User user = users.get(i);
+            if (taken.containsKey(user.getUsername())) {
+                results[i] = RegistrationResult.USERNAME_TAKEN;
+            } else if (takenEmails.contains(user.getEmail())) {
+                results[i] = RegistrationResult.EMAIL_TAKEN;
+            } else {
+                available.add(i);
+            }
+        }
+        if (available.isEmpty()) {
+            return List.of(results);
+        }
+
+        List<String> hashes = hashAll(available, passwords);
+        List<User> toInsert = new ArrayList<>(available.size());
+        for (int n = 0; n < available.size(); n++) {
+            User user = users.get(available.get(n));
+            user.setPasswordHash(hashes.get(n));
+            toInsert.add(user);
+        }
+        int batchSize = Math.max(1, AppProperties.get().getInt("registration.batchSize", 1000));
+        Map<String, Integer> created = userDAO.createAll(toInsert, batchSize);
+        for (int i : available) {
+            results[i] = created.containsKey(users.get(i).getUsername())
+                ? RegistrationResult.REGISTERED : RegistrationResult.CONFLICT;
+        }
+        return List.of(results);
+    }
+
+    /**
+     * Hashes the passwords at the given positions in parallel.
+     * 
+     * @param positions Indexes into {@code passwords}.
+     * @param passwords The plaintext passwords.
+     * @return The hashes, in the order of {@code positions}.
+     */
+    private List<String> hashAll(List<Integer> positions, List<String> passwords) {
+        try {
+            return hashingExecutor.invokeAll(positions, i -> PasswordHasher.hashPassword(passwords.get(i)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing passwords", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
     /**
      * Retrieves all users from the system.
      * 
@@ -97,6 +315,42 @@ public class UserService {
         }
     }
 
+    /**
+     * Retrieves one page of user summaries in ascending ID order, for list screens.
+     * 
+     * @param afterId The ID of the last user on the previous page, or {@code 0} for the first page.
+     * @param limit The maximum number of users to return.
+     * @return A {@link List} of {@link UserSummary} objects; empty once there are no more users or an error occurs.
+     */
+    public List<UserSummary> getUsersPage(int afterId, int limit) {
+        try {
+            return userDAO.findSummaryPage(afterId, limit);
+        } catch (DatabaseException e) {
+            System.err.println("Failed to get users: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Passes every user to a callback, one at a time, without loading them all into memory.
+     * 
+     * @param action Receives each {@link User}.
+     * @return The number of users visited.
+     * @throws DatabaseException If a database error occurs while reading users.
+     */
+    public long forEachUser(Consumer<? super User> action) throws DatabaseException {
+        return userDAO.streamAll(action);
+    }
+
+    /**
+     * Reports hit, miss and eviction counters for the user lookup cache.
+     * 
+     * @return A {@link CacheStats} snapshot.
+     */
+    public CacheStats getUserCacheStats() {
+        return userDAO.getCacheStats();
+    }
+
     /**
      * Deletes a user from the system by their user ID.
      * 
@@ -105,7 +359,12 @@ public class UserService {
      */
     public boolean deleteUser(int userId) {
         try {
-            return userDAO.delete(userId);
+            boolean deleted = userDAO.delete(userId);
+            if (deleted) {
+                // Memberships went with the user; stop the index answering for them
+                entitlementService.revoke(userId);
+            }
+            return deleted;
         } catch (DatabaseException e) {
             System.err.println("Delete failed: " + e.getMessage());
             return false;
@@ -0,0 +1,179 @@
+package com.gymmanagement.service;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.PriorityBlockingQueue;
+
+import com.gymmanagement.dao.WaitlistDAO;
+import com.gymmanagement.exception.DatabaseException;
+import com.gymmanagement.model.WaitlistEntry;
+
+/**
+ * Service class for managing waitlists on full workout classes.
+ *
+ * <p>The {@code class_waitlist} table is the source of truth. Alongside it each class has an
+ * in-memory priority queue, loaded from the table the first time the class is touched, so
+ * queue positions and depths are answered without a query. Queues are shared by every service
+ * instance. Promotion itself happens in the unenroll transaction
+ * ({@link com.gymmanagement.dao.WorkoutClassDAO#unenrollMember(int, int)}), which may also drop
+ * entries it passes over, so this service is told afterwards through {@link #onSeatsFreed(int)}
+ * and reloads the queue. A member who enrolls directly leaves the waitlist in the enrollment
+ * transaction and is pruned through {@link #onEnrolled(int, int)}.</p>
+ */
+public class WaitlistService {
+    private static final ConcurrentMap<Integer, PriorityBlockingQueue<WaitlistEntry>> QUEUES = new ConcurrentHashMap<>();
+
+    private final WaitlistDAO waitlistDAO;
+
+    /**
+     * Constructs a {@link WaitlistService} instance.
+     */
+    public WaitlistService() {
+        this.waitlistDAO = new WaitlistDAO();
+    }
+
+    /**
+     * Adds a member to the end of a class's waitlist.
+     *
+     * @param memberId The ID of the member.
+     * @param classId The ID of the full class.
+     * @return The member's 1-based position in the queue (their existing position if already waiting).
+     * @throws DatabaseException If a database error occurs.
+     */
+    public int join(int memberId, int classId) throws DatabaseException {
+        PriorityBlockingQueue<WaitlistEntry> queue = queue(classId);
+        WaitlistEntry entry;
+        try {
+            entry = waitlistDAO.add(classId, memberId);
+        } catch (DatabaseException e) {
+            throw new DatabaseException("Failed to add member ID: " + memberId + " to waitlist for class ID: " + classId, e);
+        }
+        if (entry == null) {
+            return getPosition(memberId, classId);
+        }
+        // The insert counted the members ahead, so the queue need not be scanned
+        queue.offer(entry);
+        return entry.getPosition();
+    }
+
+    /**
+     * Removes a member from a class's waitlist.
+     *
+     * @param memberId The ID of the member.
+     * @param classId The ID of the class.
+     * @return {@code true} if the member was waiting, {@code false} otherwise.
+     * @throws DatabaseException If a database error occurs.
+     */
+    public boolean leave(int memberId, int classId) throws DatabaseException {
+        try {
+            boolean removed = waitlistDAO.remove(classId, memberId);
+            removeFromQueue(classId, memberId);
+            return removed;
+        } catch (DatabaseException e) {
+            throw new DatabaseException("Failed to remove member ID: " + memberId + " from waitlist for class ID: " + classId, e);
+        }
+    }
+
+    /**
+     * Retrieves a member's position on a class's waitlist.
+     *
+     * @param memberId The ID of the member.
+     * @param classId The ID of the class.
+     * @return The 1-based position, or {@code 0} if the member is not waiting.
+     * @throws DatabaseException If the queue had to be loaded and the lookup failed.
+     */
+    public int getPosition(int memberId, int classId) throws DatabaseException {
+        PriorityBlockingQueue<WaitlistEntry> queue = queue(classId);
+        WaitlistEntry mine = null;
+        for (WaitlistEntry entry : queue) {
+            if (entry.getMemberId() == memberId) {
+                mine = entry;
+                break;
+            }
+        }
+        if (mine == null) {
+            return 0;
+        }
+        int ahead = 0;
+        for (WaitlistEntry entry : queue) {
+            if (entry.compareTo(mine) < 0) {
+                ahead++;
+            }
+        }
+        return ahead + 1;
+    }
+
+    /**
+     * Records that a member enrolled in a class directly, which removes them from its waitlist.
+     *
+     * @param classId The ID of the class.
+     * @param memberId The ID of the enrolled member.
+     */
+    public void onEnrolled(int classId, int memberId) {
+        removeFromQueue(classId, memberId);
+    }
+
+    /**
+     * Records that seats in a class were freed. Promotion may have taken and dropped any number
+     * of waitlist entries, so the in-memory queue is reloaded on next use.
+     *
+     * @param classId The ID of the class.
+     */
+    public void onSeatsFreed(int classId) {
+        QUEUES.remove(classId);
+    }
+
+    /**
+     * Forgets the in-memory queue for a class, for example after the class was deleted.
+     *
+     * @param classId The ID of the class.
+     */
+    public void evict(int classId) {
+        QUEUES.remove(classId);
+    }
+
+    /**
+     * Retrieves the number of members waiting for a class.
+     *
+     * @param classId The ID of the class.
+     * @return The queue depth.
+     * @throws DatabaseException If the queue had to be loaded and the lookup failed.
+     */
+    public int getQueueDepth(int classId) throws DatabaseException {
+        return queue(classId).size();
+    }
+
+    /**
+     * Reports the depth of every waitlist currently held in memory.
+     *
+     * @return A {@link Map} of class ID to number of waiting members, in ascending class ID order.
+     */
+    public Map<Integer, Integer> getQueueDepths() {
+        Map<Integer, Integer> depths = new TreeMap<>();
+        QUEUES.forEach((classId, queue) -> depths.put(classId, queue.size()));
+        return depths;
+    }
+
+    private void removeFromQueue(int classId, int memberId) {
+        PriorityBlockingQueue<WaitlistEntry> queue = QUEUES.get(classId);
+        if (queue != null) {
+            queue.removeIf(entry -> entry.getMemberId() == memberId);
+        }
+    }
+
+    /**
+     * Returns the in-memory queue for a class, loading it from the database on first use.
+     */
+    private PriorityBlockingQueue<WaitlistEntry> queue(int classId) throws DatabaseException {
+        PriorityBlockingQueue<WaitlistEntry> queue = QUEUES.get(classId);
+        if (queue != null) {
+            return queue;
+        }
+        PriorityBlockingQueue<WaitlistEntry> loaded = new PriorityBlockingQueue<>();
+        loaded.addAll(waitlistDAO.findByClassId(classId));
+        PriorityBlockingQueue<WaitlistEntry> existing = QUEUES.putIfAbsent(classId, loaded);
+        return existing != null ? existing : loaded;
+    }
+}
@@ -1,9 +1,20 @@
 package com.gymmanagement.service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import com.gymmanagement.dao.WorkoutClassDAO;
 import com.gymmanagement.exception.DatabaseException;
+import com.gymmanagement.model.ClassListing;
+import com.gymmanagement.model.ClassQuery;
+import com.gymmanagement.model.EnrollmentResult;
+import com.gymmanagement.model.UnenrollmentResult;
 import com.gymmanagement.model.WorkoutClass;
 
 /**
@@ -11,16 +22,27 @@ import com.gymmanagement.model.WorkoutClass;
  * 
  * <p>Provides functionalities for creating, updating, retrieving, deleting,
  * and enrolling members in workout classes. It also handles fetching workout
- * classes assigned to trainers or enrolled by members.</p>
+ * classes assigned to trainers or enrolled by members. Members who try to join a full
+ * class are placed on its waitlist and promoted automatically when a seat frees up. Only
+ * members with an active membership today may enroll. Classes that would double-book their
+ * trainer are rejected, and so are enrollments that would double-book a member.</p>
  */
 public class WorkoutClassService {
     private final WorkoutClassDAO workoutClassDAO;
+    private final WaitlistService waitlistService;
+    private final EntitlementService entitlementService;
+    private final ScheduleConflictService scheduleConflictService;
+    private final MemberScheduleService memberScheduleService;
 
     /**
      * Constructs a {@link WorkoutClassService} instance to manage workout class operations.
      */
     public WorkoutClassService() {
         this.workoutClassDAO = new WorkoutClassDAO();
+        this.waitlistService = new WaitlistService();
+        this.entitlementService = new EntitlementService();
+        this.scheduleConflictService = new ScheduleConflictService();
+        this.memberScheduleService = new MemberScheduleService();
     }
 
     /**
@@ -38,6 +60,65 @@ public class WorkoutClassService {
         }
     }
 
+    /**
+     * Retrieves a listing of all workout classes for display, without their descriptions.
+     * 
+     * @return A {@link List} of {@link ClassListing} objects.
+     *         Returns an empty list if no classes are found or an error occurs.
+     */
+    public List<ClassListing> getClassListings() {
+        try {
+            return workoutClassDAO.findAllListings();
+        } catch (DatabaseException e) {
+            System.err.println("Failed to get classes: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Searches class listings by start time, type, trainer and free seats. Searches from today
+     * onward are answered from memory, so their cost does not grow with class history.
+     * 
+     * @param query The search criteria, for example {@code ClassQuery.upcoming().withOpenSeats()}.
+     * @return A {@link List} of {@link ClassListing} objects ordered by start time.
+     *         Returns an empty list if no classes match or an error occurs.
+     */
+    public List<ClassListing> searchClasses(ClassQuery query) {
+        try {
+            return workoutClassDAO.search(query);
+        } catch (DatabaseException e) {
+            System.err.println("Failed to search classes: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Retrieves one page of class listings in ascending ID order.
+     * 
+     * @param afterId The ID of the last class on the previous page, or {@code 0} for the first page.
+     * @param limit The maximum number of classes to return.
+     * @return A {@link List} of {@link ClassListing} objects; empty once there are no more classes or an error occurs.
+     */
+    public List<ClassListing> getClassesPage(int afterId, int limit) {
+        try {
+            return workoutClassDAO.findListingPage(afterId, limit);
+        } catch (DatabaseException e) {
+            System.err.println("Failed to get classes: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Passes every workout class to a callback, one at a time, without loading them all into memory.
+     * 
+     * @param action Receives each {@link WorkoutClass}.
+     * @return The number of classes visited.
+     * @throws DatabaseException If a database error occurs while reading classes.
+     */
+    public long forEachClass(Consumer<? super WorkoutClass> action) throws DatabaseException {
+        return workoutClassDAO.streamAll(action);
+    }
+
     /**
      * Retrieves workout classes assigned to a specific trainer.
      * 
@@ -54,16 +135,63 @@ public class WorkoutClassService {
         }
     }
 
+    /**
+     * Retrieves listings of the workout classes assigned to a trainer, without their descriptions.
+     * 
+     * @param trainerId The ID of the trainer.
+     * @return A {@link List} of {@link ClassListing} objects.
+     *         Returns an empty list if no classes are found or an error occurs.
+     */
+    public List<ClassListing> getClassListingsByTrainer(int trainerId) {
+        try {
+            return workoutClassDAO.findListingsByTrainerId(trainerId);
+        } catch (DatabaseException e) {
+            System.err.println("Failed to get trainer classes: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Finds a class led by the same trainer that overlaps a class being created or updated.
+     * 
+     * @param workoutClass The class with its trainer, schedule and duration set.
+     * @return The ID of an overlapping class, or {@code 0} if the trainer is free.
+     * @throws DatabaseException If the trainer's schedule could not be loaded.
+     */
+    public int findScheduleConflict(WorkoutClass workoutClass) throws DatabaseException {
+        return scheduleConflictService.findConflict(workoutClass);
+    }
+
+    /**
+     * Suggests the earliest start at or after a given time when a trainer is free for a class.
+     * 
+     * @param trainerId The ID of the trainer.
+     * @param from The earliest acceptable start.
+     * @param durationMinutes The length of the class in minutes.
+     * @return The earliest free start.
+     * @throws DatabaseException If the trainer's schedule could not be loaded.
+     */
+    public LocalDateTime suggestNextFreeSlot(int trainerId, LocalDateTime from, int durationMinutes)
+            throws DatabaseException {
+        return scheduleConflictService.suggestNextFreeSlot(trainerId, from, durationMinutes);
+    }
+
     /**
      * Creates a new workout class in the system.
      * 
      * @param workoutClass The {@link WorkoutClass} object containing class details.
-     * @return {@code true} if the class is created successfully, {@code false} otherwise.
+     * @return {@code true} if the class is created successfully, {@code false} otherwise, including
+     *         when it overlaps another class led by the same trainer.
      * @throws DatabaseException If a database error occurs during class creation.
      */
     public boolean createClass(WorkoutClass workoutClass) throws DatabaseException {
         try {
-            return workoutClassDAO.create(workoutClass);
+            if (scheduleConflictService.findConflict(workoutClass) != 0) {
+                return false;
+            }
+            boolean created = workoutClassDAO.create(workoutClass);
+            recordSave(workoutClass, created);
+            return created;
         } catch (DatabaseException e) {
             throw new DatabaseException("Error creating class", e);
         }
@@ -88,12 +216,18 @@ public class WorkoutClassService {
      * Updates the details of an existing workout class.
      * 
      * @param workoutClass The {@link WorkoutClass} object containing updated class details.
-     * @return {@code true} if the class is updated successfully, {@code false} otherwise.
+     * @return {@code true} if the class is updated successfully, {@code false} otherwise, including
+     *         when it would overlap another class led by the same trainer.
      * @throws DatabaseException If a database error occurs during the update process.
      */
     public boolean updateClass(WorkoutClass workoutClass) throws DatabaseException {
         try {
-            return workoutClassDAO.update(workoutClass);
+            if (scheduleConflictService.findConflict(workoutClass) != 0) {
+                return false;
+            }
+            boolean updated = workoutClassDAO.update(workoutClass);
+            recordSave(workoutClass, updated);
+            return updated;
         } catch (DatabaseException e) {
             throw new DatabaseException("Failed to update class with ID: " + workoutClass.getId(), e);
         }
@@ -108,7 +242,11 @@ public class WorkoutClassService {
      */
     public boolean deleteClass(int classId) throws DatabaseException {
         try {
-            return workoutClassDAO.delete(classId);
+            boolean deleted = workoutClassDAO.delete(classId);
+            waitlistService.evict(classId);
+            scheduleConflictService.recordDeleted(classId);
+            memberScheduleService.recordClassDeleted(classId);
+            return deleted;
         } catch (DatabaseException e) {
             throw new DatabaseException("Failed to delete class with ID: " + classId, e);
         }
@@ -119,17 +257,186 @@ public class WorkoutClassService {
      * 
      * @param memberId The ID of the member to enroll.
      * @param classId The ID of the class in which to enroll the member.
-     * @return {@code true} if the enrollment is successful, {@code false} otherwise.
+     * @return {@code true} if the enrollment is successful, {@code false} otherwise, including
+     *         when the member has no active membership, is already enrolled, or is enrolled in
+     *         an overlapping class.
      * @throws DatabaseException If a database error occurs during enrollment.
      */
     public boolean enrollMember(int memberId, int classId) throws DatabaseException {
         try {
-            return workoutClassDAO.enrollMember(memberId, classId);
+            if (!entitlementService.hasActiveMembership(memberId)
+                    || memberScheduleService.check(memberId, classId) != null) {
+                return false;
+            }
+            return enroll(memberId, classId) == EnrollmentResult.ENROLLED;
         } catch (DatabaseException e) {
             throw new DatabaseException("Failed to enroll member with ID: " + memberId + " into class ID: " + classId, e);
         }
     }
 
+    /**
+     * Enrolls a member in a workout class, or places them on the class's waitlist if it is full.
+     *
+     * <p>Duplicate and overlapping enrollments are caught in memory by the
+     * {@link MemberScheduleService} before any enrollment transaction starts.</p>
+     * 
+     * @param memberId The ID of the member to enroll.
+     * @param classId The ID of the class in which to enroll the member.
+     * @return {@link EnrollmentResult#ENROLLED}, {@link EnrollmentResult#WAITLISTED},
+     *         {@link EnrollmentResult#ALREADY_ENROLLED}, {@link EnrollmentResult#SCHEDULE_CONFLICT},
+     *         {@link EnrollmentResult#CLASS_NOT_FOUND} or {@link EnrollmentResult#NO_ACTIVE_MEMBERSHIP}.
+     * @throws DatabaseException If a database error occurs during enrollment.
+     */
+    public EnrollmentResult enrollOrWaitlist(int memberId, int classId) throws DatabaseException {
+        try {
+            if (!entitlementService.hasActiveMembership(memberId)) {
+                return EnrollmentResult.NO_ACTIVE_MEMBERSHIP;
+            }
+            EnrollmentResult blocked = memberScheduleService.check(memberId, classId);
+            if (blocked != null) {
+                return blocked;
+            }
+            EnrollmentResult result = enroll(memberId, classId);
+            if (result != EnrollmentResult.CLASS_FULL) {
+                return result;
+            }
+            // The schedule check above has already reported a missing class
+            waitlistService.join(memberId, classId);
+            return EnrollmentResult.WAITLISTED;
+        } catch (DatabaseException e) {
+            throw new DatabaseException("Failed to enroll member with ID: " + memberId + " into class ID: " + classId, e);
+        }
+    }
+
+    /**
+     * Removes a member from a workout class. The first member on the class's waitlist with an
+     * active membership and no overlapping class, if any, is promoted into the freed seat in the
+     * same transaction.
+     * 
+     * @param memberId The ID of the member leaving the class.
+     * @param classId The ID of the class.
+     * @return An {@link UnenrollmentResult} describing what changed.
+     * @throws DatabaseException If a database error occurs during unenrollment.
+     */
+    public UnenrollmentResult unenrollMember(int memberId, int classId) throws DatabaseException {
+        try {
+            UnenrollmentResult result = workoutClassDAO.unenrollMember(memberId, classId);
+            notifyPromotions(classId, Collections.singletonMap(memberId, result));
+            return result;
+        } catch (DatabaseException e) {
+            throw new DatabaseException("Failed to unenroll member with ID: " + memberId + " from class ID: " + classId, e);
+        }
+    }
+
+    /**
+     * Retrieves a member's position on a class's waitlist.
+     * 
+     * @param memberId The ID of the member.
+     * @param classId The ID of the class.
+     * @return The 1-based position, or {@code 0} if the member is not waiting.
+     * @throws DatabaseException If a database error occurs.
+     */
+    public int getWaitlistPosition(int memberId, int classId) throws DatabaseException {
+        return waitlistService.getPosition(memberId, classId);
+    }
+
+    /**
+     * Reports how many members are waiting for each class with a waitlist in memory.
+     * 
+     * @return A {@link Map} of class ID to waitlist depth.
+     */
+    public Map<Integer, Integer> getWaitlistDepths() {
+        return waitlistService.getQueueDepths();
+    }
+
+    /**
+     * Enrolls a group of members in a workout class, for example a corporate or group booking.
+     * The whole group is handled with a fixed number of database round trips.
+     * 
+     * @param classId The ID of the class.
+     * @param memberIds The IDs of the members to enroll; duplicates are ignored.
+     * @return The outcome for each distinct member, in the order they were given. Members without
+     *         an active membership get {@link EnrollmentResult#NO_ACTIVE_MEMBERSHIP}.
+     * @throws DatabaseException If a database error occurs during enrollment; no member is enrolled in that case.
+     */
+    public Map<Integer, EnrollmentResult> enrollMembers(int classId, Collection<Integer> memberIds) throws DatabaseException {
+        try {
+            Map<Integer, EnrollmentResult> results = new LinkedHashMap<>();
+            List<Integer> eligible = filterEligible(classId, memberIds, results);
+            Map<Integer, EnrollmentResult> enrolled = workoutClassDAO.enrollMembers(classId, eligible);
+            results.replaceAll((memberId, result) -> result != null ? result : enrolled.get(memberId));
+            recordEnrollments(classId, enrolled);
+            return results;
+        } catch (DatabaseException e) {
+            throw new DatabaseException("Failed to enroll " + memberIds.size() + " members into class ID: " + classId, e);
+        }
+    }
+
+    /**
+     * Enrolls groups of members in several workout classes as a single all-or-nothing operation.
+     * 
+     * @param memberIdsByClass The members to enroll, keyed by class ID.
+     * @return The outcome for each distinct member, keyed by class ID and then member ID. Members
+     *         without an active membership get {@link EnrollmentResult#NO_ACTIVE_MEMBERSHIP}.
+     * @throws DatabaseException If a database error occurs during enrollment; no member is enrolled in that case.
+     */
+    public Map<Integer, Map<Integer, EnrollmentResult>> enrollMembers(
+            Map<Integer, ? extends Collection<Integer>> memberIdsByClass) throws DatabaseException {
+        try {
+            Map<Integer, Map<Integer, EnrollmentResult>> results = new LinkedHashMap<>();
+            Map<Integer, List<Integer>> entitledByClass = new LinkedHashMap<>();
+            for (Map.Entry<Integer, ? extends Collection<Integer>> group : memberIdsByClass.entrySet()) {
+                Map<Integer, EnrollmentResult> classResults = new LinkedHashMap<>();
+                entitledByClass.put(group.getKey(), filterEligible(group.getKey(), group.getValue(), classResults));
+                results.put(group.getKey(), classResults);
+            }
+            Map<Integer, Map<Integer, EnrollmentResult>> enrolled = workoutClassDAO.enrollMembers(entitledByClass);
+            results.forEach((classId, classResults) -> classResults.replaceAll((memberId, result) ->
+                result != null ? result : enrolled.get(classId).get(memberId)));
+            enrolled.forEach(this::recordEnrollments);
+            return results;
+        } catch (DatabaseException e) {
+            throw new DatabaseException("Failed to enroll members into classes: " + memberIdsByClass.keySet(), e);
+        }
+    }
+
+    /**
+     * Removes a group of members from a workout class in one transaction. Freed seats are
+     * offered to the class's waitlist first, in queue order.
+     * 
+     * @param classId The ID of the class.
+     * @param memberIds The IDs of the members to remove; duplicates are ignored.
+     * @return The outcome for each distinct member, in the order they were given.
+     * @throws DatabaseException If a database error occurs; no member is removed in that case.
+     */
+    public Map<Integer, UnenrollmentResult> unenrollMembers(int classId, Collection<Integer> memberIds) throws DatabaseException {
+        try {
+            Map<Integer, UnenrollmentResult> results = workoutClassDAO.unenrollMembers(classId, memberIds);
+            notifyPromotions(classId, results);
+            return results;
+        } catch (DatabaseException e) {
+            throw new DatabaseException("Failed to unenroll " + memberIds.size() + " members from class ID: " + classId, e);
+        }
+    }
+
+    /**
+     * Removes groups of members from several workout classes as a single all-or-nothing operation.
+     * 
+     * @param memberIdsByClass The members to remove, keyed by class ID.
+     * @return The outcome for each distinct member, keyed by class ID and then member ID.
+     * @throws DatabaseException If a database error occurs; no member is removed in that case.
+     */
+    public Map<Integer, Map<Integer, UnenrollmentResult>> unenrollMembers(
+            Map<Integer, ? extends Collection<Integer>> memberIdsByClass) throws DatabaseException {
+        try {
+            Map<Integer, Map<Integer, UnenrollmentResult>> results = workoutClassDAO.unenrollMembers(memberIdsByClass);
+            results.forEach(this::notifyPromotions);
+            return results;
+        } catch (DatabaseException e) {
+            throw new DatabaseException("Failed to unenroll members from classes: " + memberIdsByClass.keySet(), e);
+        }
+    }
+
     /**
      * Retrieves all workout classes in which a specific member is enrolled.
      * 
@@ -148,4 +455,132 @@ public class WorkoutClassService {
             throw new DatabaseException("Failed to retrieve enrolled classes for user ID: " + userId, e);
         }
     }
+
+    /**
+     * Retrieves listings of the workout classes a member is enrolled in, without their descriptions.
+     * 
+     * @param userId The ID of the member.
+     * @return A {@link List} of {@link ClassListing} objects.
+     * @throws DatabaseException If a database error occurs during retrieval.
+     * @throws IllegalArgumentException If the provided user ID is invalid.
+     */
+    public List<ClassListing> getEnrolledClassListings(int userId) throws DatabaseException {
+        if (userId <= 0) {
+            throw new IllegalArgumentException("Invalid user ID provided: " + userId);
+        }
+        try {
+            return workoutClassDAO.findListingsByMemberId(userId);
+        } catch (DatabaseException e) {
+            throw new DatabaseException("Failed to retrieve enrolled classes for user ID: " + userId, e);
+        }
+    }
+
+    /**
+     * Splits members into those allowed to enroll in a class and those who are not, recording a
+     * placeholder for each distinct member so results keep the given order.
+     * 
+     * @param classId The ID of the class.
+     * @param memberIds The members to check; duplicates are ignored.
+     * @param results Receives one entry per distinct member: {@code null} for eligible members,
+     *                {@link EnrollmentResult#NO_ACTIVE_MEMBERSHIP}, {@link EnrollmentResult#ALREADY_ENROLLED},
+     *                {@link EnrollmentResult#SCHEDULE_CONFLICT} or {@link EnrollmentResult#CLASS_NOT_FOUND}
+     *                for the others.
+     * @return The eligible members.
+     * @throws DatabaseException If the entitlement or schedule check fails.
+     */
+    private List<Integer> filterEligible(int classId, Collection<Integer> memberIds,
+                                         Map<Integer, EnrollmentResult> results) throws DatabaseException {
+        List<Integer> eligible = new ArrayList<>();
+        for (Integer memberId : memberIds) {
+            if (results.containsKey(memberId)) {
+                continue;
+            }
+            EnrollmentResult blocked = entitlementService.hasActiveMembership(memberId)
+                ? memberScheduleService.check(memberId, classId)
+                : EnrollmentResult.NO_ACTIVE_MEMBERSHIP;
+            results.put(memberId, blocked);
+            if (blocked == null) {
+                eligible.add(memberId);
+            }
+        }
+        return eligible;
+    }
+
+    /**
+     * Enrolls one member who has passed the in-memory checks, and keeps their schedule current.
+     * 
+     * @param memberId The ID of the member.
+     * @param classId The ID of the class.
+     * @return The outcome reported by the database.
+     * @throws DatabaseException If a database error occurs during enrollment.
+     */
+    private EnrollmentResult enroll(int memberId, int classId) throws DatabaseException {
+        EnrollmentResult result = workoutClassDAO.enrollMember(memberId, classId);
+        if (result == EnrollmentResult.ENROLLED) {
+            memberScheduleService.recordEnrolled(memberId, classId);
+            waitlistService.onEnrolled(classId, memberId);
+        } else if (result == EnrollmentResult.ALREADY_ENROLLED) {
+            // The database knew of an enrollment the schedule missed
+            memberScheduleService.invalidate(memberId);
+        }
+        return result;
+    }
+
+    /**
+     * Adds the members a bulk enrollment placed in a class to their schedules.
+     * 
+     * @param classId The ID of the class.
+     * @param results The enrollment outcomes for the class.
+     */
+    private void recordEnrollments(int classId, Map<Integer, EnrollmentResult> results) {
+        results.forEach((memberId, result) -> {
+            if (result == EnrollmentResult.ENROLLED) {
+                memberScheduleService.recordEnrolled(memberId, classId);
+                waitlistService.onEnrolled(classId, memberId);
+            } else if (result == EnrollmentResult.ALREADY_ENROLLED) {
+                memberScheduleService.invalidate(memberId);
+            }
+        });
+    }
+
+    /**
+     * Keeps the trainer's schedule in line with a create or update. A rejected write usually
+     * means the database saw an overlap the schedule missed, so the schedule is reloaded.
+     * 
+     * @param workoutClass The class that was written.
+     * @param saved Whether the write succeeded.
+     */
+    private void recordSave(WorkoutClass workoutClass, boolean saved) {
+        if (saved) {
+            scheduleConflictService.recordSaved(workoutClass);
+            memberScheduleService.recordClassSaved(workoutClass);
+        } else {
+            scheduleConflictService.invalidate(workoutClass.getTrainerId());
+        }
+    }
+
+    /**
+     * Reloads a class's in-memory waitlist once seats were freed, since promotion may have taken
+     * or dropped entries, and updates the schedules of the members who left and those who took
+     * their seats.
+     * 
+     * @param classId The ID of the class.
+     * @param results The unenrollment outcomes for the class, keyed by member ID.
+     */
+    private void notifyPromotions(int classId, Map<Integer, UnenrollmentResult> results) {
+        boolean freed = false;
+        for (Map.Entry<Integer, UnenrollmentResult> entry : results.entrySet()) {
+            UnenrollmentResult result = entry.getValue();
+            if (result.isRemoved()) {
+                freed = true;
+                memberScheduleService.recordUnenrolled(entry.getKey(), classId);
+            }
+            if (result.isPromoted()) {
+                memberScheduleService.recordEnrolled(result.getPromotedMemberId(), classId);
+            }
+        }
+        if (freed) {
+            waitlistService.onSeatsFreed(classId);
+        }
+    }
 }
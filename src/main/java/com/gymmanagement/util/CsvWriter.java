@@ -0,0 +1,72 @@
+package com.gymmanagement.util;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes comma-separated values that {@link CsvReader} and PostgreSQL's {@code COPY ... (FORMAT csv)}
+ * can read back.
+ *
+ * <p>A {@code null} field is written as nothing at all, which {@code COPY} reads as SQL
+ * {@code NULL}; an empty string is written as {@code ""}. Fields containing commas, quotes or
+ * line breaks are quoted.</p>
+ */
+public final class CsvWriter implements Closeable, Flushable {
+    private final Writer writer;
+
+    /**
+     * Creates a writer over a character stream.
+     *
+     * @param writer The stream to write to.
+     */
+    public CsvWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Writes one record followed by a line break.
+     *
+     * @param fields The fields of the record; {@code null} entries are written as SQL {@code NULL}.
+     * @throws IOException If the output cannot be written.
+     */
+    public void write(List<String> fields) throws IOException {
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeField(fields.get(i));
+        }
+        writer.write('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private void writeField(String field) throws IOException {
+        if (field == null) {
+            return;
+        }
+        boolean quote = field.isEmpty();
+        for (int i = 0; i < field.length() && !quote; i++) {
+            char c = field.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(field);
+            return;
+        }
+        writer.write('"');
+        writer.write(field.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
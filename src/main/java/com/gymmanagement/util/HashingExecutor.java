@@ -0,0 +1,168 @@
+package com.gymmanagement.util;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import com.gymmanagement.config.AppProperties;
+
+/**
+ * Dedicated, bounded executor for CPU-bound password hashing.
+ *
+ * <p>Hashing runs on its own fixed set of threads, sized to the number of cores by default,
+ * so a burst of logins cannot occupy the threads that wait on database I/O. The queue in front
+ * of those threads is bounded: once it is full new work is rejected immediately rather than
+ * piling up, and the rejection is counted so the pressure is visible.</p>
+ *
+ * <p>Bulk work, such as hashing the passwords of thousands of new users, goes to a separate
+ * fork-join pool of the same size instead. It would otherwise flood the bounded queue and
+ * get interactive logins rejected; the caller of a bulk task waits for it anyway.</p>
+ */
+public final class HashingExecutor {
+    private static volatile HashingExecutor shared;
+
+    private final ThreadPoolExecutor executor;
+    private final ForkJoinPool bulkPool;
+    private final int queueCapacity;
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong totalTaskNanos = new AtomicLong();
+
+    /**
+     * Creates an executor.
+     *
+     * @param threads Number of hashing threads (at least 1).
+     * @param queueCapacity Maximum number of tasks that may wait for a thread (at least 1).
+     */
+    public HashingExecutor(int threads, int queueCapacity) {
+        if (threads < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Hashing threads and queue capacity must be at least 1.");
+        }
+        this.queueCapacity = queueCapacity;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            r -> {
+                Thread thread = new Thread(r, "password-hashing-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        this.bulkPool = new ForkJoinPool(threads, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("password-hashing-bulk-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * Returns the process-wide executor, sized from {@code security.hashing.threads}
+     * (default: number of cores) and {@code security.hashing.queueCapacity}
+     * (default: 16 tasks per thread).
+     *
+     * @return The shared {@link HashingExecutor}.
+     */
+    public static HashingExecutor shared() {
+        HashingExecutor current = shared;
+        if (current != null) {
+            return current;
+        }
+        synchronized (HashingExecutor.class) {
+            if (shared == null) {
+                AppProperties props = AppProperties.get();
+                int threads = props.getInt("security.hashing.threads", Runtime.getRuntime().availableProcessors());
+                int capacity = props.getInt("security.hashing.queueCapacity", threads * 16);
+                shared = new HashingExecutor(threads, capacity);
+            }
+            return shared;
+        }
+    }
+
+    /**
+     * Runs a hashing task on the executor.
+     *
+     * @param <T> The task's result type.
+     * @param task The CPU-bound work to run.
+     * @return A future completed with the task's result. If the queue is full the future is
+     *         already failed with a {@link RejectedExecutionException}.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> {
+                long start = System.nanoTime();
+                try {
+                    return task.get();
+                } finally {
+                    totalTaskNanos.addAndGet(System.nanoTime() - start);
+                    completed.incrementAndGet();
+                }
+            }, executor);
+            submitted.incrementAndGet();
+            return future;
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Applies a hashing task to every item, split across the bulk fork-join pool, and waits for
+     * all of them. Bulk tasks are counted as submitted and completed like single tasks, but are
+     * never rejected.
+     *
+     * @param <T> The input type.
+     * @param <R> The result type.
+     * @param items The inputs, for example plaintext passwords.
+     * @param task The CPU-bound work to apply to each input.
+     * @return The results, in the same order as {@code items}.
+     * @throws InterruptedException If the caller is interrupted while waiting.
+     * @throws ExecutionException If any task throws; the remaining results are discarded.
+     */
+    public <T, R> List<R> invokeAll(List<T> items, Function<? super T, ? extends R> task)
+            throws InterruptedException, ExecutionException {
+        submitted.addAndGet(items.size());
+        return bulkPool.submit(() -> items.parallelStream()
+            .map(item -> {
+                long start = System.nanoTime();
+                try {
+                    return task.apply(item);
+                } finally {
+                    totalTaskNanos.addAndGet(System.nanoTime() - start);
+                    completed.incrementAndGet();
+                }
+            })
+            .collect(Collectors.<R>toList())).get();
+    }
+
+    /**
+     * Takes a snapshot of the executor's load and backpressure counters.
+     *
+     * @return A {@link HashingStats} snapshot.
+     */
+    public HashingStats getStats() {
+        return new HashingStats(executor.getMaximumPoolSize(), executor.getActiveCount(),
+            executor.getQueue().size(), queueCapacity, submitted.get(), completed.get(),
+            rejected.get(), totalTaskNanos.get());
+    }
+
+    /**
+     * Stops accepting work and lets queued tasks finish.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        bulkPool.shutdown();
+    }
+}
@@ -0,0 +1,89 @@
+package com.gymmanagement.util;
+
+/**
+ * Immutable snapshot of a {@link HashingExecutor}'s load and backpressure counters.
+ */
+public final class HashingStats {
+    private final int threads;
+    private final int active;
+    private final int queued;
+    private final int queueCapacity;
+    private final long submitted;
+    private final long completed;
+    private final long rejected;
+    private final long totalTaskNanos;
+
+    HashingStats(int threads, int active, int queued, int queueCapacity,
+                 long submitted, long completed, long rejected, long totalTaskNanos) {
+        this.threads = threads;
+        this.active = active;
+        this.queued = queued;
+        this.queueCapacity = queueCapacity;
+        this.submitted = submitted;
+        this.completed = completed;
+        this.rejected = rejected;
+        this.totalTaskNanos = totalTaskNanos;
+    }
+
+    /**
+     * @return Number of hashing threads.
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * @return Number of hashing tasks currently running.
+     */
+    public int getActive() {
+        return active;
+    }
+
+    /**
+     * @return Number of hashing tasks waiting for a thread.
+     */
+    public int getQueued() {
+        return queued;
+    }
+
+    /**
+     * @return Maximum number of tasks that may wait before new work is rejected.
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * @return Number of tasks accepted since the executor started.
+     */
+    public long getSubmitted() {
+        return submitted;
+    }
+
+    /**
+     * @return Number of tasks that have finished, successfully or not.
+     */
+    public long getCompleted() {
+        return completed;
+    }
+
+    /**
+     * @return Number of tasks turned away because the queue was full.
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * @return Mean time a hashing task spent running, in milliseconds.
+     */
+    public double getMeanTaskMillis() {
+        return completed == 0 ? 0.0 : (totalTaskNanos / (double) completed) / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("HashingStats[threads=%d, active=%d, queued=%d/%d, submitted=%d, completed=%d, rejected=%d, meanTask=%.1fms]",
+            threads, active, queued, queueCapacity, submitted, completed, rejected, getMeanTaskMillis());
+    }
+}
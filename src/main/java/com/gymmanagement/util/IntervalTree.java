@@ -0,0 +1,245 @@
+package com.gymmanagement.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Balanced (AVL) interval tree of half-open intervals {@code [start, end)}, each identified by
+ * an integer ID.
+ *
+ * <p>Nodes are ordered by start, then ID, and each node records the largest end in its subtree.
+ * An overlap search can therefore skip every subtree that ends before the query starts or
+ * starts after it ends, so finding the overlaps of a query costs O(log n + k) for k results.
+ * Insertion and removal are O(log n). The tree is not thread-safe.</p>
+ */
+public final class IntervalTree {
+    private Node root;
+    private final Map<Integer, Node> byId = new HashMap<>();
+
+    /**
+     * Creates an empty tree.
+     */
+    public IntervalTree() {}
+
+    /**
+     * Adds an interval, replacing any interval already stored under the same ID.
+     *
+     * @param id The interval's ID.
+     * @param start The start, inclusive.
+     * @param end The end, exclusive; must be after {@code start}.
+     */
+    public void add(int id, long start, long end) {
+        if (end <= start) {
+            throw new IllegalArgumentException("An interval must end after it starts");
+        }
+        remove(id);
+        Node node = new Node(id, start, end);
+        root = insert(root, node);
+        byId.put(id, node);
+    }
+
+    /**
+     * Removes the interval stored under an ID.
+     *
+     * @param id The interval's ID.
+     * @return {@code true} if an interval was removed.
+     */
+    public boolean remove(int id) {
+        Node node = byId.remove(id);
+        if (node == null) {
+            return false;
+        }
+        root = delete(root, node.start, node.id);
+        return true;
+    }
+
+    /**
+     * Checks whether an ID is stored.
+     *
+     * @param id The interval's ID.
+     * @return {@code true} if the tree holds an interval with this ID.
+     */
+    public boolean contains(int id) {
+        return byId.containsKey(id);
+    }
+
+    /**
+     * @return The number of intervals stored.
+     */
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * Finds the stored intervals that overlap {@code [start, end)}, ordered by start.
+     *
+     * @param start The query start, inclusive.
+     * @param end The query end, exclusive.
+     * @return The IDs of the overlapping intervals.
+     */
+    public List<Integer> overlapping(long start, long end) {
+        List<Integer> found = new ArrayList<>();
+        collect(root, start, end, found);
+        return found;
+    }
+
+    /**
+     * Finds the earliest start at or after {@code from} where an interval of the given length
+     * overlaps nothing in the tree.
+     *
+     * @param from The earliest acceptable start.
+     * @param length The interval length (at least 1).
+     * @return The earliest free start.
+     */
+    public long nextFree(long from, long length) {
+        long candidate = from;
+        while (true) {
+            long blockedUntil = Long.MIN_VALUE;
+            for (Integer id : overlapping(candidate, candidate + length)) {
+                blockedUntil = Math.max(blockedUntil, byId.get(id).end);
+            }
+            if (blockedUntil == Long.MIN_VALUE) {
+                return candidate;
+            }
+            candidate = blockedUntil;
+        }
+    }
+
+    private static void collect(Node node, long start, long end, List<Integer> found) {
+        if (node == null || node.maxEnd <= start) {
+            return;
+        }
+        collect(node.left, start, end, found);
+        if (node.start < end) {
+            if (node.end > start) {
+                found.add(node.id);
+            }
+            // Right subtree starts no earlier than this node, so it can only overlap if this node does start in range
+            collect(node.right, start, end, found);
+        }
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.start, added.id, node) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return rebalance(node);
+    }
+
+    private static Node delete(Node node, long start, int id) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, id, node);
+        if (cmp < 0) {
+            node.left = delete(node.left, start, id);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, start, id);
+        } else {
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            // Replace the node with its in-order successor
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = deleteMin(node.right);
+            successor.left = node.left;
+            return rebalance(successor);
+        }
+        return rebalance(node);
+    }
+
+    private static Node deleteMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = deleteMin(node.left);
+        return rebalance(node);
+    }
+
+    private static int compare(long start, int id, Node node) {
+        int cmp = Long.compare(start, node.start);
+        return cmp != 0 ? cmp : Integer.compare(id, node.id);
+    }
+
+    private static Node rebalance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.maxEnd = Math.max(node.end, Math.max(maxEnd(node.left), maxEnd(node.right)));
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static long maxEnd(Node node) {
+        return node == null ? Long.MIN_VALUE : node.maxEnd;
+    }
+
+    /**
+     * One stored interval.
+     */
+    private static final class Node {
+        private final int id;
+        private final long start;
+        private final long end;
+        private long maxEnd;
+        private int height = 1;
+        private Node left;
+        private Node right;
+
+        private Node(int id, long start, long end) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+        }
+    }
+}
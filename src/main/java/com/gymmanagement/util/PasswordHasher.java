@@ -1,22 +1,71 @@
 package com.gymmanagement.util;
 
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
 import org.mindrot.jbcrypt.BCrypt;
 
+import com.gymmanagement.config.AppProperties;
+
 /**
  * Utility class for hashing and verifying passwords using BCrypt.
+ * 
+ * <p>The BCrypt cost factor used for new hashes is read from {@code security.bcrypt.cost}
+ * (default 10). Each increment doubles the CPU time needed to create or verify a hash.
+ * Verification cost is set by the hash being checked, not by the configuration, so the class
+ * also exposes a small policy for spotting stored hashes that should be regenerated at the
+ * current cost the next time the plaintext is available.</p>
  */
 public final class PasswordHasher {
+    /** Lowest cost factor BCrypt accepts. */
+    public static final int MIN_COST = 4;
+    /** Highest cost factor BCrypt accepts. */
+    public static final int MAX_COST = 31;
+
+    private static volatile int cost = validateCost(AppProperties.get().getInt("security.bcrypt.cost", 10));
 
     private PasswordHasher() {} // Prevent instantiation
 
     /**
-     * Hashes a plaintext password.
+     * Hashes a plaintext password using the configured cost factor.
      * 
      * @param plainTextPassword The password to hash.
      * @return The hashed password.
      */
     public static String hashPassword(String plainTextPassword) {
-        return BCrypt.hashpw(plainTextPassword, BCrypt.gensalt());
+        return hashPassword(plainTextPassword, cost);
+    }
+
+    /**
+     * Hashes a plaintext password using an explicit cost factor.
+     * 
+     * @param plainTextPassword The password to hash.
+     * @param cost The BCrypt cost factor (between {@link #MIN_COST} and {@link #MAX_COST}).
+     * @return The hashed password.
+     * @throws IllegalArgumentException If the cost factor is out of range.
+     */
+    public static String hashPassword(String plainTextPassword, int cost) {
+        return BCrypt.hashpw(plainTextPassword, BCrypt.gensalt(validateCost(cost)));
+    }
+
+    /**
+     * Retrieves the cost factor used for new hashes.
+     * 
+     * @return The configured BCrypt cost factor.
+     */
+    public static int getCost() {
+        return cost;
+    }
+
+    /**
+     * Changes the cost factor used for new hashes.
+     * 
+     * @param newCost The BCrypt cost factor (between {@link #MIN_COST} and {@link #MAX_COST}).
+     * @throws IllegalArgumentException If the cost factor is out of range.
+     */
+    public static void setCost(int newCost) {
+        cost = validateCost(newCost);
     }
 
     /**
@@ -29,4 +78,58 @@ public final class PasswordHasher {
     public static boolean checkPassword(String plainTextPassword, String hashedPassword) {
         return BCrypt.checkpw(plainTextPassword, hashedPassword);
     }
+
+    /**
+     * Extracts the cost factor from a stored BCrypt hash (e.g. {@code 10} from {@code "$2a$10$..."}).
+     * Only the first seven characters are inspected, so a hash prefix is also accepted.
+     * 
+     * @param hashedPassword The stored hash or hash prefix.
+     * @return The cost factor, or {@code -1} if the value is not a recognisable BCrypt hash.
+     */
+    public static int costOf(String hashedPassword) {
+        if (hashedPassword == null || hashedPassword.length() < 7
+                || hashedPassword.charAt(0) != '$' || hashedPassword.charAt(1) != '2') {
+            return -1;
+        }
+        int costStart = hashedPassword.charAt(2) == '$' ? 3 : 4;
+        if (hashedPassword.length() < costStart + 3 || hashedPassword.charAt(costStart + 2) != '$') {
+            return -1;
+        }
+        char tens = hashedPassword.charAt(costStart);
+        char ones = hashedPassword.charAt(costStart + 1);
+        if (!Character.isDigit(tens) || !Character.isDigit(ones)) {
+            return -1;
+        }
+        return (tens - '0') * 10 + (ones - '0');
+    }
+
+    /**
+     * Checks whether a stored hash was created at a different cost from the configured one.
+     * Unrecognised hashes are reported as needing a rehash.
+     * 
+     * @param hashedPassword The stored hash.
+     * @return {@code true} if the hash should be regenerated at {@link #getCost()}.
+     */
+    public static boolean needsRehash(String hashedPassword) {
+        return costOf(hashedPassword) != cost;
+    }
+
+    /**
+     * Summarises how many stored hashes use each cost factor.
+     * 
+     * @param countsByHash Counts keyed by stored hash or hash prefix.
+     * @return Counts keyed by cost factor in ascending order; unrecognised hashes are counted under {@code -1}.
+     */
+    public static SortedMap<Integer, Long> costDistribution(Map<String, Long> countsByHash) {
+        SortedMap<Integer, Long> distribution = new TreeMap<>();
+        countsByHash.forEach((hash, count) -> distribution.merge(costOf(hash), count, Long::sum));
+        return distribution;
+    }
+
+    private static int validateCost(int value) {
+        if (value < MIN_COST || value > MAX_COST) {
+            throw new IllegalArgumentException("BCrypt cost must be between " + MIN_COST + " and " + MAX_COST + ".");
+        }
+        return value;
+    }
 }
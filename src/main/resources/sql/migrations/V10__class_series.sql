@@ -0,0 +1,25 @@
+-- Recurring class series. Occurrences are inserted into workout_classes ahead of time, up to a
+-- rolling window; materialized_until is the start of the part of the series not yet inserted.
+CREATE TABLE IF NOT EXISTS class_series (
+    series_id SERIAL PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    description TEXT,
+    type VARCHAR(50) NOT NULL,
+    trainer_id INTEGER NOT NULL REFERENCES users(user_id) ON DELETE CASCADE,
+    starts_at TIMESTAMP NOT NULL,
+    duration_minutes INTEGER NOT NULL,
+    max_capacity INTEGER NOT NULL,
+    rrule VARCHAR(200) NOT NULL,
+    materialized_until TIMESTAMP NOT NULL,
+    complete BOOLEAN NOT NULL DEFAULT FALSE
+);
+
+CREATE INDEX IF NOT EXISTS idx_series_due ON class_series(materialized_until) WHERE NOT complete;
+CREATE INDEX IF NOT EXISTS idx_series_trainer ON class_series(trainer_id);
+
+-- Occurrences keep their classes when a series is removed
+ALTER TABLE workout_classes ADD COLUMN IF NOT EXISTS series_id INTEGER
+    REFERENCES class_series(series_id) ON DELETE SET NULL;
+
+-- One class per series and start time, so materializing the same window twice inserts nothing
+CREATE UNIQUE INDEX IF NOT EXISTS idx_classes_series_schedule ON workout_classes(series_id, schedule);
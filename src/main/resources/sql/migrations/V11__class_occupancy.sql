@@ -0,0 +1,22 @@
+-- Weekly occupancy per class slot (type, trainer, ISO weekday and start hour). A class is added
+-- once it has started, when its enrollments and waitlist no longer change; trainer_id 0 stands
+-- for classes whose trainer has been removed.
+CREATE TABLE IF NOT EXISTS class_slot_stats (
+    week_start DATE NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    trainer_id INTEGER NOT NULL,
+    weekday SMALLINT NOT NULL,
+    hour SMALLINT NOT NULL,
+    class_count INTEGER NOT NULL DEFAULT 0,
+    seats_offered BIGINT NOT NULL DEFAULT 0,
+    seats_taken BIGINT NOT NULL DEFAULT 0,
+    waitlisted BIGINT NOT NULL DEFAULT 0,
+    lead_minutes BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (week_start, type, trainer_id, weekday, hour)
+);
+
+-- Start time of the last class added to class_slot_stats, so each run only reads newer classes
+CREATE TABLE IF NOT EXISTS occupancy_rollup_state (
+    rollup VARCHAR(50) PRIMARY KEY,
+    processed_through TIMESTAMP
+);
@@ -0,0 +1,74 @@
+-- What each class currently contributes to class_slot_stats, so a class can be taken out of
+-- the rollup and counted again when it changes instead of being added a second time.
+CREATE TABLE IF NOT EXISTS class_occupancy_counted (
+    class_id INTEGER PRIMARY KEY,
+    week_start DATE NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    trainer_id INTEGER NOT NULL,
+    weekday SMALLINT NOT NULL,
+    hour SMALLINT NOT NULL,
+    seats_offered BIGINT NOT NULL,
+    seats_taken BIGINT NOT NULL,
+    waitlisted BIGINT NOT NULL,
+    lead_minutes BIGINT NOT NULL
+);
+
+-- Classes whose slot, capacity, enrollments or waitlist changed since the rollup last counted
+-- them. Filled by the triggers below; emptied by the rollup once a class has been recounted.
+-- changes is bumped on every write so a write that races a recount waits for it to commit
+-- and then marks the class again.
+CREATE TABLE IF NOT EXISTS occupancy_dirty_classes (
+    class_id INTEGER PRIMARY KEY,
+    changes INTEGER NOT NULL DEFAULT 1
+);
+
+CREATE OR REPLACE FUNCTION mark_occupancy_class_dirty() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO occupancy_dirty_classes (class_id)
+    VALUES (CASE WHEN TG_OP = 'DELETE' THEN OLD.class_id ELSE NEW.class_id END)
+    ON CONFLICT (class_id) DO UPDATE SET changes = occupancy_dirty_classes.changes + 1;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Enrollment and waitlist writes come in batches (bulk enroll, COPY imports, cascades), so
+-- these triggers fire once per statement and mark each class once, in class order.
+CREATE OR REPLACE FUNCTION mark_occupancy_classes_dirty() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO occupancy_dirty_classes (class_id)
+    SELECT DISTINCT class_id FROM changed_rows ORDER BY class_id
+    ON CONFLICT (class_id) DO UPDATE SET changes = occupancy_dirty_classes.changes + 1;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_occupancy_class_changed ON workout_classes;
+CREATE TRIGGER trg_occupancy_class_changed
+    AFTER INSERT OR DELETE OR UPDATE OF schedule, type, trainer_id, max_capacity ON workout_classes
+    FOR EACH ROW EXECUTE FUNCTION mark_occupancy_class_dirty();
+
+DROP TRIGGER IF EXISTS trg_occupancy_enrollments_added ON class_enrollments;
+CREATE TRIGGER trg_occupancy_enrollments_added
+    AFTER INSERT ON class_enrollments REFERENCING NEW TABLE AS changed_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION mark_occupancy_classes_dirty();
+
+DROP TRIGGER IF EXISTS trg_occupancy_enrollments_removed ON class_enrollments;
+CREATE TRIGGER trg_occupancy_enrollments_removed
+    AFTER DELETE ON class_enrollments REFERENCING OLD TABLE AS changed_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION mark_occupancy_classes_dirty();
+
+DROP TRIGGER IF EXISTS trg_occupancy_waitlist_added ON class_waitlist;
+CREATE TRIGGER trg_occupancy_waitlist_added
+    AFTER INSERT ON class_waitlist REFERENCING NEW TABLE AS changed_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION mark_occupancy_classes_dirty();
+
+DROP TRIGGER IF EXISTS trg_occupancy_waitlist_removed ON class_waitlist;
+CREATE TRIGGER trg_occupancy_waitlist_removed
+    AFTER DELETE ON class_waitlist REFERENCING OLD TABLE AS changed_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION mark_occupancy_classes_dirty();
+
+-- The slots counted so far cannot be split back into classes; count every class again
+DELETE FROM class_slot_stats;
+INSERT INTO occupancy_dirty_classes (class_id) SELECT class_id FROM workout_classes
+ON CONFLICT (class_id) DO NOTHING;
+UPDATE occupancy_rollup_state SET processed_through = NULL;
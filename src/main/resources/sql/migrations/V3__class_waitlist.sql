@@ -0,0 +1,10 @@
+-- Waitlist for full classes; waitlist_id gives the queue order
+CREATE TABLE IF NOT EXISTS class_waitlist (
+    waitlist_id BIGSERIAL PRIMARY KEY,
+    class_id INTEGER NOT NULL REFERENCES workout_classes(class_id) ON DELETE CASCADE,
+    member_id INTEGER NOT NULL REFERENCES users(user_id) ON DELETE CASCADE,
+    requested_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE (class_id, member_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_waitlist_class_order ON class_waitlist(class_id, waitlist_id);
@@ -0,0 +1,9 @@
+-- Revenue totals only ever read paid memberships
+CREATE INDEX IF NOT EXISTS idx_memberships_paid ON memberships(type, price) WHERE payment_status = 'PAID';
+
+-- Class browsing is ordered by start time. Classes are not inserted in schedule order,
+-- so a B-tree serves this better than BRIN.
+CREATE INDEX IF NOT EXISTS idx_classes_schedule ON workout_classes(schedule);
+
+-- Enrollment lookups by class; the primary key (member_id, class_id) only covers lookups by member
+CREATE INDEX IF NOT EXISTS idx_enrollments_class ON class_enrollments(class_id);
@@ -0,0 +1,18 @@
+-- Per-type revenue totals, kept up to date by the application on every membership write
+CREATE TABLE IF NOT EXISTS revenue_summary (
+    type VARCHAR(50) PRIMARY KEY,
+    membership_count BIGINT NOT NULL DEFAULT 0,
+    total_price DECIMAL(14, 2) NOT NULL DEFAULT 0,
+    paid_count BIGINT NOT NULL DEFAULT 0,
+    paid_revenue DECIMAL(14, 2) NOT NULL DEFAULT 0
+);
+
+INSERT INTO revenue_summary (type, membership_count, total_price, paid_count, paid_revenue)
+SELECT type,
+       COUNT(*),
+       COALESCE(SUM(price), 0),
+       COUNT(*) FILTER (WHERE payment_status = 'PAID'),
+       COALESCE(SUM(price) FILTER (WHERE payment_status = 'PAID'), 0)
+FROM memberships
+GROUP BY type
+ON CONFLICT (type) DO NOTHING;
@@ -0,0 +1,20 @@
+-- Per-day, per-type revenue rollup keyed by membership start date. New memberships are added
+-- by the application; history is filled in by the chunked backfill job.
+CREATE TABLE IF NOT EXISTS revenue_daily (
+    day DATE NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    membership_count BIGINT NOT NULL DEFAULT 0,
+    total_price DECIMAL(14, 2) NOT NULL DEFAULT 0,
+    paid_count BIGINT NOT NULL DEFAULT 0,
+    paid_revenue DECIMAL(14, 2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (day, type)
+);
+
+-- How far each rollup's backfill has got, so an interrupted backfill resumes where it stopped
+CREATE TABLE IF NOT EXISTS revenue_rollup_state (
+    rollup VARCHAR(50) PRIMARY KEY,
+    backfilled_through DATE
+);
+
+-- Lets each backfill chunk read only its own range of memberships
+CREATE INDEX IF NOT EXISTS idx_memberships_start_date ON memberships(start_date);
@@ -0,0 +1,7 @@
+-- Lifecycle status of a membership, moved to EXPIRED by the expiry scheduler once end_date has passed
+ALTER TABLE memberships ADD COLUMN IF NOT EXISTS status VARCHAR(20) NOT NULL DEFAULT 'ACTIVE'
+    CHECK (status IN ('ACTIVE', 'EXPIRED'));
+
+-- Only active memberships can become due, so the index shrinks as memberships expire
+CREATE INDEX IF NOT EXISTS idx_memberships_active_end ON memberships(end_date, membership_id)
+    WHERE status = 'ACTIVE';
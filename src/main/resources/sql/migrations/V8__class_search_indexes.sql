@@ -0,0 +1,3 @@
+-- Class searches filtered by type or trainer scan one start-time range within that type or trainer
+CREATE INDEX IF NOT EXISTS idx_classes_type_schedule ON workout_classes(type, schedule);
+CREATE INDEX IF NOT EXISTS idx_classes_trainer_schedule ON workout_classes(trainer_id, schedule);
@@ -0,0 +1,21 @@
+-- A trainer cannot lead two classes at once. The application checks this in memory; this
+-- constraint also covers writes from other instances. schedule is a TIMESTAMP without time
+-- zone, so the range type is tsrange.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+DO $$
+BEGIN
+    IF EXISTS (
+        SELECT 1 FROM workout_classes a
+        JOIN workout_classes b ON a.trainer_id = b.trainer_id AND a.class_id < b.class_id
+        WHERE tsrange(a.schedule, a.schedule + a.duration_minutes * INTERVAL '1 minute')
+           && tsrange(b.schedule, b.schedule + b.duration_minutes * INTERVAL '1 minute')
+    ) THEN
+        RAISE EXCEPTION 'Some trainers have overlapping classes; reschedule them before applying this migration';
+    END IF;
+END $$;
+
+ALTER TABLE workout_classes ADD CONSTRAINT excl_classes_trainer_overlap EXCLUDE USING gist (
+    trainer_id WITH =,
+    tsrange(schedule, schedule + duration_minutes * INTERVAL '1 minute') WITH &&
+);
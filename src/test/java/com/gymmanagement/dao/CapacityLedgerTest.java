@@ -0,0 +1,132 @@
+package com.gymmanagement.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Races many threads through one {@link CapacityLedger} counter and checks that no more seats
+ * are ever handed out than the class has.
+ */
+class CapacityLedgerTest {
+    private static final int THREADS = 32;
+    private static final int CLASS_ID = 1;
+    private static final int CAPACITY = 25;
+
+    private ExecutorService pool;
+
+    @BeforeEach
+    void startPool() {
+        pool = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void stopPool() throws InterruptedException {
+        pool.shutdownNow();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void singleSeatReservationsNeverExceedCapacity() throws Exception {
+        CapacityLedger ledger = new CapacityLedger(Long.MAX_VALUE);
+        AtomicInteger granted = new AtomicInteger();
+
+        race(() -> {
+            for (int i = 0; i < 100; i++) {
+                granted.addAndGet(ledger.tryReserve(CLASS_ID, 1, classId -> CAPACITY));
+            }
+            return null;
+        });
+
+        assertEquals(CAPACITY, granted.get());
+        assertEquals(0, ledger.remaining(CLASS_ID));
+        assertEquals(CAPACITY, ledger.getReservations());
+    }
+
+    @Test
+    void bulkReservationsNeverExceedCapacity() throws Exception {
+        CapacityLedger ledger = new CapacityLedger(Long.MAX_VALUE);
+        AtomicInteger granted = new AtomicInteger();
+
+        race(() -> {
+            for (int i = 0; i < 20; i++) {
+                int wanted = ThreadLocalRandom.current().nextInt(1, 8);
+                int got = ledger.tryReserve(CLASS_ID, wanted, classId -> CAPACITY);
+                assertTrue(got >= 0 && got <= wanted, "granted " + got + " of " + wanted);
+                granted.addAndGet(got);
+            }
+            return null;
+        });
+
+        assertEquals(CAPACITY, granted.get());
+        assertEquals(0, ledger.remaining(CLASS_ID));
+    }
+
+    @Test
+    void seatsHeldNeverExceedCapacityWhileReleasing() throws Exception {
+        CapacityLedger ledger = new CapacityLedger(Long.MAX_VALUE);
+        AtomicInteger held = new AtomicInteger();
+        AtomicInteger maxHeld = new AtomicInteger();
+
+        race(() -> {
+            for (int i = 0; i < 2_000; i++) {
+                if (ledger.tryReserve(CLASS_ID, 1, classId -> CAPACITY) == 1) {
+                    maxHeld.accumulateAndGet(held.incrementAndGet(), Math::max);
+                    held.decrementAndGet();
+                    ledger.release(CLASS_ID, 1);
+                }
+            }
+            return null;
+        });
+
+        assertTrue(maxHeld.get() <= CAPACITY, "held " + maxHeld.get() + " seats at once");
+        assertEquals(0, held.get());
+        assertEquals(CAPACITY, ledger.remaining(CLASS_ID));
+    }
+
+    @Test
+    void missingClassIsRejectedWithoutReservation() throws Exception {
+        CapacityLedger ledger = new CapacityLedger(Long.MAX_VALUE);
+        AtomicInteger granted = new AtomicInteger();
+
+        race(() -> {
+            granted.addAndGet(ledger.tryReserve(CLASS_ID, 1, classId -> -1));
+            return null;
+        });
+
+        assertEquals(0, granted.get());
+        assertEquals(THREADS, ledger.getFastRejections());
+    }
+
+    /**
+     * Runs a task on every thread at once and rethrows the first failure.
+     */
+    private void race(Callable<Void> task) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        start.countDown();
+        for (Future<Void> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.gymmanagement.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.gymmanagement.config.DatabaseConfig;
+import com.gymmanagement.config.SchemaMigrator;
+import com.gymmanagement.model.EnrollmentResult;
+
+/**
+ * Races many members through {@link WorkoutClassDAO#enrollMember(int, int)} for the same class
+ * and checks the class is never overbooked.
+ *
+ * <p>Needs the database configured in {@code application.properties}; the tests are skipped
+ * when it cannot be reached. Every row they create is removed afterwards.</p>
+ */
+class EnrollmentConcurrencyTest {
+    private static final int THREADS = 32;
+    private static final int MEMBERS = 64;
+    private static final int CAPACITY = 10;
+    private static final String PREFIX = "stress_" + System.nanoTime() + "_";
+
+    private static boolean available;
+    private static final List<Integer> memberIds = new ArrayList<>();
+
+    @BeforeAll
+    static void createFixtures() throws Exception {
+        try {
+            SchemaMigrator.migrate();
+        } catch (SQLException e) {
+            return;
+        }
+        available = true;
+        for (int i = 0; i <= MEMBERS; i++) {
+            memberIds.add(createUser(PREFIX + i, i == 0 ? "TRAINER" : "MEMBER"));
+        }
+    }
+
+    @AfterAll
+    static void removeFixtures() throws SQLException {
+        if (available) {
+            // Enrollments go with their classes; classes must go before their trainer
+            try (Connection conn = DatabaseConfig.getConnection()) {
+                for (String sql : new String[] {"DELETE FROM workout_classes WHERE name LIKE ?",
+                                                "DELETE FROM users WHERE username LIKE ?"}) {
+                    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                        stmt.setString(1, PREFIX + "%");
+                        stmt.executeUpdate();
+                    }
+                }
+            }
+        }
+        DatabaseConfig.shutdown();
+    }
+
+    @Test
+    void distinctMembersNeverOverbookAClass() throws Exception {
+        assumeTrue(available, "database not reachable");
+        int classId = createClass(LocalDateTime.now().plusDays(1));
+        WorkoutClassDAO dao = new WorkoutClassDAO();
+
+        List<EnrollmentResult> results = race(MEMBERS, i -> dao.enrollMember(memberIds.get(i + 1), classId));
+
+        assertEquals(CAPACITY, results.stream().filter(r -> r == EnrollmentResult.ENROLLED).count());
+        assertEquals(MEMBERS - CAPACITY, results.stream().filter(r -> r == EnrollmentResult.CLASS_FULL).count());
+        assertEquals(CAPACITY, countEnrollments(classId));
+        assertEquals(CAPACITY, currentEnrollment(classId));
+    }
+
+    @Test
+    void oneMemberIsEnrolledOnce() throws Exception {
+        assumeTrue(available, "database not reachable");
+        int classId = createClass(LocalDateTime.now().plusDays(2));
+        WorkoutClassDAO dao = new WorkoutClassDAO();
+
+        List<EnrollmentResult> results = race(THREADS, i -> dao.enrollMember(memberIds.get(1), classId));
+
+        assertEquals(1, results.stream().filter(r -> r == EnrollmentResult.ENROLLED).count());
+        assertEquals(1, countEnrollments(classId));
+        assertEquals(1, currentEnrollment(classId));
+    }
+
+    /**
+     * One enrollment attempt, numbered from zero.
+     */
+    @FunctionalInterface
+    private interface Attempt {
+        EnrollmentResult run(int i) throws Exception;
+    }
+
+    /**
+     * Runs every attempt at once across the thread pool and collects their results.
+     */
+    private static List<EnrollmentResult> race(int attempts, Attempt attempt) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<EnrollmentResult>> futures = new ArrayList<>();
+            for (int i = 0; i < attempts; i++) {
+                int n = i;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return attempt.run(n);
+                }));
+            }
+            start.countDown();
+            List<EnrollmentResult> results = new ArrayList<>();
+            for (Future<EnrollmentResult> future : futures) {
+                results.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static int createUser(String username, String role) throws SQLException {
+        String sql = "INSERT INTO users (username, password_hash, email, role) VALUES (?, 'x', ?, ?) RETURNING user_id";
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, username);
+            stmt.setString(2, username + "@example.com");
+            stmt.setString(3, role);
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+
+    private static int createClass(LocalDateTime schedule) throws SQLException {
+        String sql = "INSERT INTO workout_classes (name, type, trainer_id, schedule, duration_minutes, max_capacity) "
+                   + "VALUES (?, 'STRESS', ?, ?, 60, ?) RETURNING class_id";
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, PREFIX + "class");
+            stmt.setInt(2, memberIds.get(0));
+            stmt.setTimestamp(3, Timestamp.valueOf(schedule));
+            stmt.setInt(4, CAPACITY);
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+
+    private static int countEnrollments(int classId) throws SQLException {
+        return queryInt("SELECT COUNT(*) FROM class_enrollments WHERE class_id = ?", classId);
+    }
+
+    private static int currentEnrollment(int classId) throws SQLException {
+        return queryInt("SELECT current_enrollment FROM workout_classes WHERE class_id = ?", classId);
+    }
+
+    private static int queryInt(String sql, int classId) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, classId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+}
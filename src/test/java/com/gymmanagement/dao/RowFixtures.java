@@ -0,0 +1,206 @@
+package com.gymmanagement.dao;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+
+import com.gymmanagement.model.ClassListing;
+import com.gymmanagement.model.Membership;
+import com.gymmanagement.model.User;
+import com.gymmanagement.model.UserSummary;
+import com.gymmanagement.model.WorkoutClass;
+
+/**
+ * In-memory result sets shaped like the DAO queries, and the name-based row mapping the DAOs used
+ * before their mappers were compiled to column indexes. Shared by the mapper tests and the
+ * {@code benchmark} profile.
+ */
+final class RowFixtures {
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2025, 1, 6, 6, 0);
+
+    private RowFixtures() {}
+
+    /**
+     * One column of a fixture result set, with the value it holds on each row.
+     */
+    static final class Column {
+        final String label;
+        final int sqlType;
+        final IntFunction<Object> value;
+
+        Column(String label, int sqlType, IntFunction<Object> value) {
+            this.label = label;
+            this.sqlType = sqlType;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Builds a scrollable result set, positioned before the first row.
+     *
+     * @param count Number of rows.
+     * @param columns The columns, in result set order.
+     * @return The result set.
+     * @throws SQLException If the row set cannot be populated.
+     */
+    static CachedRowSet rows(int count, List<Column> columns) throws SQLException {
+        RowSetMetaDataImpl meta = new RowSetMetaDataImpl();
+        meta.setColumnCount(columns.size());
+        for (int i = 1; i <= columns.size(); i++) {
+            Column column = columns.get(i - 1);
+            meta.setColumnName(i, column.label);
+            meta.setColumnLabel(i, column.label);
+            meta.setColumnType(i, column.sqlType);
+        }
+
+        CachedRowSet rs = RowSetProvider.newFactory().createCachedRowSet();
+        rs.setMetaData(meta);
+        for (int row = 0; row < count; row++) {
+            rs.moveToInsertRow();
+            for (int i = 1; i <= columns.size(); i++) {
+                Object value = columns.get(i - 1).value.apply(row);
+                if (value == null) {
+                    rs.updateNull(i);
+                } else {
+                    rs.updateObject(i, value);
+                }
+            }
+            rs.insertRow();
+            rs.moveToCurrentRow();
+        }
+        rs.beforeFirst();
+        return rs;
+    }
+
+    static List<Column> userColumns() {
+        return Arrays.asList(
+            new Column("user_id", Types.INTEGER, row -> row + 1),
+            new Column("username", Types.VARCHAR, row -> "user" + row),
+            new Column("password_hash", Types.VARCHAR, row -> "$2a$10$hash" + row),
+            new Column("email", Types.VARCHAR, row -> "user" + row + "@example.com"),
+            new Column("phone_number", Types.VARCHAR, row -> row % 3 == 0 ? null : "709-555-" + (1000 + row % 9000)),
+            new Column("address", Types.VARCHAR, row -> row % 4 == 0 ? null : row + " Water St"),
+            new Column("role", Types.VARCHAR, row -> row % 5 == 0 ? "TRAINER" : "MEMBER"));
+    }
+
+    static List<Column> summaryColumns() {
+        return Arrays.asList(
+            new Column("user_id", Types.INTEGER, row -> row + 1),
+            new Column("username", Types.VARCHAR, row -> "user" + row),
+            new Column("email", Types.VARCHAR, row -> "user" + row + "@example.com"),
+            new Column("phone_number", Types.VARCHAR, row -> row % 3 == 0 ? null : "709-555-" + (1000 + row % 9000)),
+            new Column("role", Types.VARCHAR, row -> row % 5 == 0 ? "TRAINER" : "MEMBER"));
+    }
+
+    static List<Column> membershipColumns() {
+        return Arrays.asList(
+            new Column("membership_id", Types.INTEGER, row -> row + 1),
+            new Column("user_id", Types.INTEGER, row -> row % 50 + 1),
+            new Column("type", Types.VARCHAR, row -> row % 2 == 0 ? "MONTHLY" : "ANNUAL"),
+            new Column("description", Types.VARCHAR, row -> row % 3 == 0 ? null : "Plan " + row),
+            new Column("start_date", Types.DATE, row -> Date.valueOf(LocalDate.of(2025, 1, 1).plusDays(row % 365))),
+            new Column("end_date", Types.DATE, row -> Date.valueOf(LocalDate.of(2025, 2, 1).plusDays(row % 365))),
+            new Column("price", Types.DOUBLE, row -> 29.99 + row % 7),
+            new Column("payment_status", Types.VARCHAR, row -> row % 4 == 0 ? "PENDING" : "PAID"),
+            new Column("status", Types.VARCHAR, row -> row % 6 == 0 ? Membership.EXPIRED : Membership.ACTIVE));
+    }
+
+    static List<Column> classColumns() {
+        return Arrays.asList(
+            new Column("class_id", Types.INTEGER, row -> row + 1),
+            new Column("name", Types.VARCHAR, row -> "Class " + row),
+            new Column("description", Types.VARCHAR, row -> row % 3 == 0 ? null : "Session " + row),
+            new Column("type", Types.VARCHAR, row -> row % 2 == 0 ? "YOGA" : "HIIT"),
+            new Column("trainer_id", Types.INTEGER, row -> row % 12 + 1),
+            new Column("schedule", Types.TIMESTAMP, row -> Timestamp.valueOf(EPOCH.plusMinutes(90L * row))),
+            new Column("duration_minutes", Types.INTEGER, row -> 30 + row % 4 * 15),
+            new Column("max_capacity", Types.INTEGER, row -> 10 + row % 20),
+            new Column("current_enrollment", Types.INTEGER, row -> row % 10));
+    }
+
+    static List<Column> listingColumns() {
+        return Arrays.asList(
+            new Column("class_id", Types.INTEGER, row -> row + 1),
+            new Column("name", Types.VARCHAR, row -> "Class " + row),
+            new Column("type", Types.VARCHAR, row -> row % 2 == 0 ? "YOGA" : "HIIT"),
+            new Column("trainer_id", Types.INTEGER, row -> row % 12 + 1),
+            new Column("schedule", Types.TIMESTAMP, row -> Timestamp.valueOf(EPOCH.plusMinutes(90L * row))),
+            new Column("duration_minutes", Types.INTEGER, row -> 30 + row % 4 * 15),
+            new Column("max_capacity", Types.INTEGER, row -> 10 + row % 20),
+            new Column("current_enrollment", Types.INTEGER, row -> row % 10));
+    }
+
+    static User userByName(ResultSet rs) throws SQLException {
+        User user = new User();
+        user.setId(rs.getInt("user_id"));
+        user.setUsername(rs.getString("username"));
+        user.setPasswordHash(rs.getString("password_hash"));
+        user.setEmail(rs.getString("email"));
+        user.setPhoneNumber(rs.getString("phone_number"));
+        user.setAddress(rs.getString("address"));
+        user.setRole(rs.getString("role"));
+        return user;
+    }
+
+    static UserSummary summaryByName(ResultSet rs) throws SQLException {
+        UserSummary summary = new UserSummary();
+        summary.setId(rs.getInt("user_id"));
+        summary.setUsername(rs.getString("username"));
+        summary.setEmail(rs.getString("email"));
+        summary.setPhoneNumber(rs.getString("phone_number"));
+        summary.setRole(rs.getString("role"));
+        return summary;
+    }
+
+    static Membership membershipByName(ResultSet rs) throws SQLException {
+        Membership m = new Membership();
+        m.setId(rs.getInt("membership_id"));
+        m.setUserId(rs.getInt("user_id"));
+        m.setType(rs.getString("type"));
+        m.setDescription(rs.getString("description"));
+        m.setStartDate(rs.getDate("start_date").toLocalDate());
+        m.setEndDate(rs.getDate("end_date").toLocalDate());
+        m.setPrice(rs.getDouble("price"));
+        m.setPaymentStatus(rs.getString("payment_status"));
+        m.setStatus(rs.getString("status"));
+        return m;
+    }
+
+    static WorkoutClass classByName(ResultSet rs) throws SQLException {
+        WorkoutClass wc = new WorkoutClass();
+        wc.setId(rs.getInt("class_id"));
+        wc.setName(rs.getString("name"));
+        wc.setDescription(rs.getString("description"));
+        wc.setType(rs.getString("type"));
+        wc.setTrainerId(rs.getInt("trainer_id"));
+        wc.setSchedule(rs.getTimestamp("schedule").toLocalDateTime());
+        wc.setDurationMinutes(rs.getInt("duration_minutes"));
+        wc.setMaxCapacity(rs.getInt("max_capacity"));
+        wc.setCurrentEnrollment(rs.getInt("current_enrollment"));
+        return wc;
+    }
+
+    static ClassListing listingByName(ResultSet rs) throws SQLException {
+        ClassListing listing = new ClassListing();
+        listing.setId(rs.getInt("class_id"));
+        listing.setName(rs.getString("name"));
+        listing.setType(rs.getString("type"));
+        listing.setTrainerId(rs.getInt("trainer_id"));
+        listing.setSchedule(rs.getTimestamp("schedule").toLocalDateTime());
+        listing.setDurationMinutes(rs.getInt("duration_minutes"));
+        listing.setMaxCapacity(rs.getInt("max_capacity"));
+        listing.setCurrentEnrollment(rs.getInt("current_enrollment"));
+        return listing;
+    }
+}
@@ -0,0 +1,142 @@
+package com.gymmanagement.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.gymmanagement.dao.RowFixtures.Column;
+
+/**
+ * Checks that the index-based mappers compiled by the DAOs build the same objects as looking
+ * every column up by name, whatever order the query returns its columns in.
+ */
+class RowMapperEquivalenceTest {
+    private static final int ROWS = 500;
+
+    @Test
+    void userMapperMatchesNameBasedMapping() throws Exception {
+        for (List<Column> columns : layouts(RowFixtures.userColumns())) {
+            assertSameRows(columns, UserDAO::compileUserMapper, RowFixtures::userByName);
+        }
+    }
+
+    @Test
+    void summaryMapperMatchesNameBasedMapping() throws Exception {
+        for (List<Column> columns : layouts(RowFixtures.summaryColumns())) {
+            assertSameRows(columns, UserDAO::compileSummaryMapper, RowFixtures::summaryByName);
+        }
+    }
+
+    @Test
+    void membershipMapperMatchesNameBasedMapping() throws Exception {
+        for (List<Column> columns : layouts(RowFixtures.membershipColumns())) {
+            assertSameRows(columns, MembershipDAO::compileMembershipMapper, RowFixtures::membershipByName);
+        }
+    }
+
+    @Test
+    void classMapperMatchesNameBasedMapping() throws Exception {
+        for (List<Column> columns : layouts(RowFixtures.classColumns())) {
+            assertSameRows(columns, WorkoutClassDAO::compileClassMapper, RowFixtures::classByName);
+        }
+    }
+
+    @Test
+    void listingMapperMatchesNameBasedMapping() throws Exception {
+        for (List<Column> columns : layouts(RowFixtures.listingColumns())) {
+            assertSameRows(columns, WorkoutClassDAO::compileListingMapper, RowFixtures::listingByName);
+        }
+    }
+
+    @Test
+    void missingColumnFailsWhenCompiled() throws Exception {
+        List<Column> columns = new ArrayList<>(RowFixtures.classColumns());
+        columns.removeIf(column -> column.label.equals("current_enrollment"));
+        ResultSet rs = RowFixtures.rows(1, columns);
+
+        SQLException e = assertThrows(SQLException.class,
+            () -> WorkoutClassDAO.compileClassMapper(ColumnIndexes.of(rs.getMetaData())));
+        assertTrue(e.getMessage().contains("current_enrollment"), e.getMessage());
+    }
+
+    @Test
+    void mapperIsCompiledOncePerQuery() throws Exception {
+        AtomicInteger compiled = new AtomicInteger();
+        MapperCache<Object> cache = new MapperCache<>(columns -> {
+            compiled.incrementAndGet();
+            return rs -> rs.getObject(columns.require("user_id"));
+        });
+
+        RowMapper<Object> first = cache.forQuery("q", RowFixtures.rows(1, RowFixtures.userColumns()));
+        RowMapper<Object> second = cache.forQuery("q", RowFixtures.rows(1, RowFixtures.userColumns()));
+        cache.forQuery("other", RowFixtures.rows(1, RowFixtures.summaryColumns()));
+
+        assertSame(first, second);
+        assertEquals(2, compiled.get());
+    }
+
+    /**
+     * The column order the fixture declares, the same columns reversed with an unrelated one in
+     * the middle, and upper-case labels.
+     */
+    private static List<List<Column>> layouts(List<Column> columns) {
+        List<Column> reversed = new ArrayList<>(columns);
+        Collections.reverse(reversed);
+        reversed.add(reversed.size() / 2, new Column("extra", Types.VARCHAR, row -> "x" + row));
+
+        List<Column> upper = new ArrayList<>();
+        for (Column column : columns) {
+            upper.add(new Column(column.label.toUpperCase(Locale.ROOT), column.sqlType, column.value));
+        }
+
+        List<List<Column>> layouts = new ArrayList<>();
+        layouts.add(columns);
+        layouts.add(reversed);
+        layouts.add(upper);
+        return layouts;
+    }
+
+    private static <T> void assertSameRows(List<Column> columns, MapperCache.Compiler<T> compiler,
+            RowMapper<T> byName) throws Exception {
+        ResultSet rs = RowFixtures.rows(ROWS, columns);
+        RowMapper<T> byIndex = compiler.compile(ColumnIndexes.of(rs.getMetaData()));
+        int rows = 0;
+        while (rs.next()) {
+            assertSameFields(byName.mapRow(rs), byIndex.mapRow(rs), rows);
+            rows++;
+        }
+        assertEquals(ROWS, rows);
+    }
+
+    /**
+     * Compares every field, as the models do not implement {@code equals}. {@code createdAt} is
+     * stamped by the {@code User} constructor and neither mapper reads it.
+     */
+    private static void assertSameFields(Object expected, Object actual, int row) throws IllegalAccessException {
+        assertEquals(expected.getClass(), actual.getClass());
+        for (Class<?> type = expected.getClass(); type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.getName().equals("createdAt")) {
+                    continue;
+                }
+                field.setAccessible(true);
+                assertEquals(field.get(expected), field.get(actual),
+                    type.getSimpleName() + "." + field.getName() + " on row " + row);
+            }
+        }
+    }
+}